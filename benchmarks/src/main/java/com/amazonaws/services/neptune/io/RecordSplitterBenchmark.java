@@ -0,0 +1,106 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.io;
+
+import org.apache.commons.lang.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Splits a batch of Neptune Streams events into individual Kinesis records. With the smaller record size,
+ * each event is too large for a record, and its value is shredded across several records. The large event
+ * benchmark shreds a single event with a multi-MB value into 1 MB records.
+ * <p>
+ * The {@code tree} implementation is the previous, tree-based splitter, for comparison.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class RecordSplitterBenchmark {
+
+    @Param({"streaming", "tree"})
+    public String implementation;
+
+    @Param({"propertyGraph", "rdf"})
+    public String eventType;
+
+    @Param({"1024", "160"})
+    public int maxSize;
+
+    @Param({"100"})
+    public int events;
+
+    private Function<String, Collection<String>> recordSplitter;
+    private Function<String, Collection<String>> largeEventRecordSplitter;
+    private String input;
+    private String largeEventInput;
+
+    @Setup
+    public void setup() {
+        recordSplitter = createRecordSplitter(maxSize);
+        largeEventRecordSplitter = createRecordSplitter(1000000);
+
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 1; i <= events; i++) {
+            if (i > 1) {
+                builder.append(",");
+            }
+            String value = String.format("value %s %s", i, StringUtils.repeat("lorem ipsum ", 12));
+            builder.append(event(i, value));
+        }
+        input = builder.append("]").toString();
+
+        largeEventInput = String.format("[%s]", event(1, StringUtils.repeat("lorem ipsum ", 250000)));
+    }
+
+    private Function<String, Collection<String>> createRecordSplitter(int maxSize) {
+        if (implementation.equals("tree")) {
+            return new TreeRecordSplitter(maxSize, LargeStreamRecordHandlingStrategy.splitAndShred)::split;
+        } else {
+            return new RecordSplitter(maxSize, LargeStreamRecordHandlingStrategy.splitAndShred)::split;
+        }
+    }
+
+    private String event(int i, String value) {
+        String data = eventType.equals("rdf") ?
+                String.format("{\"stmt\":\"<https://example.com/s%s> <https://example.com/p> \\\"%s\\\" .\\n\"}", i, value) :
+                String.format("{\"id\":\"v-%s\",\"type\":\"vp\",\"key\":\"description\",\"value\":{\"value\":\"%s\",\"dataType\":\"String\"}}", i, value);
+        return String.format("{\"eventId\":{\"commitNum\":1,\"opNum\":%s},\"data\":%s,\"op\":\"ADD\"}", i, data);
+    }
+
+    @Benchmark
+    public Collection<String> split() {
+        return recordSplitter.apply(input);
+    }
+
+    @Benchmark
+    public Collection<String> splitLargeEvent() {
+        return largeEventRecordSplitter.apply(largeEventInput);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies a Gremlin filter to the traversal for a range, compiling the filter for every range (a new
+ * GremlinFilters instance each time, which is how filters used to be applied), and reusing the compiled filter.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class GremlinFiltersBenchmark {
+
+    private static final String FILTER = "has('age', gt(30)).has('name', within('alice', 'bob')).has('created', gte(datetime('2020-01-01T00:00:00Z')))";
+    private static final long RANGE_SIZE = 1000;
+
+    private final GraphTraversalSource g = EmptyGraph.instance().traversal();
+    private GremlinFilters gremlinFilters;
+    private long rangeIndex = 0;
+
+    @Setup
+    public void setup() {
+        gremlinFilters = new GremlinFilters(FILTER, null, null, false);
+        // The filter is compiled once, before the first range
+        gremlinFilters.applyToNodes(g.V());
+    }
+
+    @Benchmark
+    public GraphTraversal<? extends Element, ?> compileFilterPerRange() {
+        return new GremlinFilters(FILTER, null, null, false).applyToNodes(nextRange());
+    }
+
+    @Benchmark
+    public GraphTraversal<? extends Element, ?> reuseCompiledFilter() {
+        return gremlinFilters.applyToNodes(nextRange());
+    }
+
+    private GraphTraversal<? extends Element, ?> nextRange() {
+        long start = (rangeIndex++) * RANGE_SIZE;
+        return g.V().range(start, start + RANGE_SIZE);
+    }
+}
@@ -0,0 +1,159 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph.io;
+
+import com.amazonaws.services.neptune.cli.PrinterOptionsModule;
+import com.amazonaws.services.neptune.cluster.ConcurrencyConfig;
+import com.amazonaws.services.neptune.export.FeatureToggles;
+import com.amazonaws.services.neptune.io.CompressionCodec;
+import com.amazonaws.services.neptune.io.Directories;
+import com.amazonaws.services.neptune.io.DirectoryStructure;
+import com.amazonaws.services.neptune.io.FileConfig;
+import com.amazonaws.services.neptune.io.OutputFileListener;
+import com.amazonaws.services.neptune.io.Target;
+import com.amazonaws.services.neptune.propertygraph.AllLabels;
+import com.amazonaws.services.neptune.propertygraph.EdgeLabelStrategy;
+import com.amazonaws.services.neptune.propertygraph.ExportStats;
+import com.amazonaws.services.neptune.propertygraph.GremlinFilters;
+import com.amazonaws.services.neptune.propertygraph.NodeLabelStrategy;
+import com.amazonaws.services.neptune.propertygraph.RangeConfig;
+import com.amazonaws.services.neptune.propertygraph.schema.ExportSpecification;
+import com.amazonaws.services.neptune.propertygraph.schema.GraphElementType;
+import com.amazonaws.services.neptune.propertygraph.schema.GraphSchema;
+import org.apache.commons.io.FileUtils;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exports the nodes and edges of a synthetic in-memory TinkerGraph to the devnull target, covering range
+ * scheduling, queries, schema inference and printing, but not file IO.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ExportPropertyGraphBenchmark {
+
+    @Param({"10000"})
+    public int nodes;
+
+    @Param({"csv", "json"})
+    public PropertyGraphExportFormat format;
+
+    @Param({"1", "4"})
+    public int concurrency;
+
+    private GraphTraversalSource g;
+    private File root;
+    private PropertyGraphTargetConfig targetConfig;
+
+    @Setup
+    public void setup() throws Exception {
+        g = TinkerGraph.open().traversal();
+        List<String> labels = Arrays.asList("person", "software", "place");
+        Vertex previous = null;
+        for (int i = 0; i < nodes; i++) {
+            Vertex vertex = g.addV(labels.get(i % labels.size()))
+                    .property(T.id, String.valueOf(i))
+                    .property("name", "name-" + i)
+                    .property("age", i % 100)
+                    .property("score", i * 0.25)
+                    .property("created", new Date(1500000000000L + i))
+                    .next();
+            if (previous != null) {
+                g.addE(i % 2 == 0 ? "knows" : "created")
+                        .from(previous).to(vertex)
+                        .property("weight", (i % 10) / 10.0)
+                        .iterate();
+            }
+            previous = vertex;
+        }
+
+        root = Files.createTempDirectory("export-pg-benchmark").toFile();
+        targetConfig = new PropertyGraphTargetConfig(
+                Directories.createFor(DirectoryStructure.PropertyGraph, root, "benchmark", "", ""),
+                null,
+                new FileConfig(FileConfig.DEFAULT_BUFFER_SIZE, FileConfig.DEFAULT.commitPolicy(), OutputFileListener.NULL_LISTENER, CompressionCodec.none),
+                new PrinterOptionsModule().config(),
+                format,
+                Target.devnull,
+                false,
+                false,
+                false,
+                FileRolloverPolicy.NONE,
+                true);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        g.close();
+        FileUtils.deleteDirectory(root);
+    }
+
+    @Benchmark
+    public GraphSchema export() throws Exception {
+        FeatureToggles featureToggles = new FeatureToggles(Collections.emptyList());
+        Collection<ExportSpecification> exportSpecifications = Arrays.asList(
+                new ExportSpecification(
+                        GraphElementType.nodes,
+                        new AllLabels(NodeLabelStrategy.nodeLabelsOnly),
+                        GremlinFilters.EMPTY,
+                        new ExportStats(),
+                        false,
+                        featureToggles),
+                new ExportSpecification(
+                        GraphElementType.edges,
+                        new AllLabels(EdgeLabelStrategy.edgeLabelsOnly),
+                        GremlinFilters.EMPTY,
+                        new ExportStats(),
+                        false,
+                        featureToggles));
+
+        return new ExportPropertyGraphJob(
+                exportSpecifications,
+                new GraphSchema(),
+                g,
+                new RangeConfig(1000, 0, Long.MAX_VALUE, -1, -1),
+                GremlinFilters.EMPTY,
+                new ConcurrencyConfig(concurrency),
+                targetConfig,
+                featureToggles,
+                100,
+                ExportPropertyGraphJobOptions.DEFAULT_OPTIONS).execute();
+    }
+}
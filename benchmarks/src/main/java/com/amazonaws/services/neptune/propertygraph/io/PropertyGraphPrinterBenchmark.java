@@ -0,0 +1,122 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph.io;
+
+import com.amazonaws.services.neptune.cli.PrinterOptionsModule;
+import com.amazonaws.services.neptune.io.PrintOutputWriter;
+import com.amazonaws.services.neptune.propertygraph.Label;
+import com.amazonaws.services.neptune.propertygraph.schema.LabelSchema;
+import com.amazonaws.services.neptune.propertygraph.schema.PropertySchema;
+import org.apache.commons.io.output.NullWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prints a node with a mix of string, numeric, date and multi-valued properties as CSV or JSON, and a node
+ * with only a handful of the properties of a wide label.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class PropertyGraphPrinterBenchmark {
+
+    @Param({"csv", "json"})
+    public PropertyGraphExportFormat format;
+
+    private final List<String> labels = Collections.singletonList("person");
+    private final Map<String, Object> properties = new HashMap<>();
+    private final Map<String, Object> sparseProperties = new HashMap<>();
+    private PropertyGraphPrinter printer;
+    private PropertyGraphPrinter sparsePrinter;
+
+    @Setup
+    public void setup() throws Exception {
+        properties.put("name", "Alice \"Al\" Smith, Jr.");
+        properties.put("age", 42);
+        properties.put("score", 3.14159);
+        properties.put("active", true);
+        properties.put("created", new Date(1500000000000L));
+        properties.put("tags", Arrays.asList("graph", "export", "semi;colon"));
+        properties.put("bio", "Works on graph databases.\nLikes long walks through adjacency lists.");
+
+        LabelSchema labelSchema = new LabelSchema(new Label("person"));
+        for (Map.Entry<String, Object> entry : properties.entrySet()) {
+            PropertySchema propertySchema = new PropertySchema(entry.getKey());
+            propertySchema.accept(entry.getValue(), true);
+            labelSchema.put(entry.getKey(), propertySchema);
+        }
+
+        printer = format.createPrinter(
+                new PrintOutputWriter("benchmark", NullWriter.NULL_WRITER),
+                labelSchema,
+                new PrinterOptionsModule().config());
+
+        LabelSchema wideLabelSchema = new LabelSchema(new Label("entity"));
+        for (int i = 0; i < 1000; i++) {
+            PropertySchema propertySchema = new PropertySchema("property" + i);
+            propertySchema.accept(i, true);
+            wideLabelSchema.put("property" + i, propertySchema);
+        }
+        for (int i = 0; i < 1000; i += 200) {
+            sparseProperties.put("property" + i, i);
+        }
+
+        sparsePrinter = format.createPrinter(
+                new PrintOutputWriter("benchmark", NullWriter.NULL_WRITER),
+                wideLabelSchema,
+                new PrinterOptionsModule().config());
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        printer.close();
+        sparsePrinter.close();
+    }
+
+    @Benchmark
+    public void printNode() throws Exception {
+        printer.printStartRow();
+        printer.printNode("person-1", labels);
+        printer.printProperties(properties);
+        printer.printEndRow();
+    }
+
+    @Benchmark
+    public void printSparseNode() throws Exception {
+        sparsePrinter.printStartRow();
+        sparsePrinter.printNode("entity-1", labels);
+        sparsePrinter.printProperties(sparseProperties);
+        sparsePrinter.printEndRow();
+    }
+}
@@ -0,0 +1,144 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph.io;
+
+import com.amazonaws.services.neptune.cli.PrinterOptionsModule;
+import com.amazonaws.services.neptune.cluster.ConcurrencyConfig;
+import com.amazonaws.services.neptune.export.FeatureToggles;
+import com.amazonaws.services.neptune.io.CompressionCodec;
+import com.amazonaws.services.neptune.io.Directories;
+import com.amazonaws.services.neptune.io.DirectoryStructure;
+import com.amazonaws.services.neptune.io.FileConfig;
+import com.amazonaws.services.neptune.io.OutputFileListener;
+import com.amazonaws.services.neptune.io.Target;
+import com.amazonaws.services.neptune.propertygraph.Label;
+import com.amazonaws.services.neptune.propertygraph.schema.FileSpecificLabelSchemas;
+import com.amazonaws.services.neptune.propertygraph.schema.GraphElementType;
+import com.amazonaws.services.neptune.propertygraph.schema.LabelSchema;
+import com.amazonaws.services.neptune.propertygraph.schema.MasterLabelSchema;
+import com.amazonaws.services.neptune.propertygraph.schema.MasterLabelSchemas;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rewrites synthetic CSV node files, whose columns differ from file to file, against their union schema.
+ * The files are recreated before each invocation, because a rewrite replaces them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class RewriteCsvBenchmark {
+
+    private static final Label PERSON = new Label("person");
+
+    @Param({"4"})
+    public int files;
+
+    @Param({"10000"})
+    public int rowsPerFile;
+
+    private File root;
+    private RewriteCsv rewriteCsv;
+    private MasterLabelSchemas masterLabelSchemas;
+
+    @Setup(Level.Trial)
+    public void setupTrial() throws Exception {
+        root = Files.createTempDirectory("rewrite-csv-benchmark").toFile();
+    }
+
+    @Setup(Level.Invocation)
+    public void setupInvocation() throws Exception {
+        FileUtils.cleanDirectory(root);
+        Directories directories = Directories.createFor(DirectoryStructure.PropertyGraph, root, "benchmark", "", "");
+        PropertyGraphTargetConfig targetConfig = new PropertyGraphTargetConfig(
+                directories,
+                null,
+                new FileConfig(FileConfig.DEFAULT_BUFFER_SIZE, FileConfig.DEFAULT.commitPolicy(), OutputFileListener.NULL_LISTENER, CompressionCodec.none),
+                new PrinterOptionsModule().config(),
+                PropertyGraphExportFormat.csv,
+                Target.files,
+                false,
+                false,
+                false,
+                FileRolloverPolicy.NONE,
+                true);
+        rewriteCsv = new RewriteCsv(targetConfig, new ConcurrencyConfig(1), new FeatureToggles(Collections.emptyList()));
+
+        FileSpecificLabelSchemas fileSpecificLabelSchemas = new FileSpecificLabelSchemas();
+        LabelSchema masterLabelSchema = new LabelSchema(PERSON);
+        for (int i = 0; i < files; i++) {
+            LabelSchema labelSchema = new LabelSchema(PERSON);
+            try (PropertyGraphPrinter printer = targetConfig.createPrinterForNodes("person-" + i, labelSchema)) {
+                for (int j = 0; j < rowsPerFile; j++) {
+                    printer.printStartRow();
+                    printer.printNode(String.format("p-%s-%s", i, j), Collections.singletonList("person"));
+                    printer.printProperties(row(i, j));
+                    printer.printEndRow();
+                }
+                fileSpecificLabelSchemas.add(printer.outputId(), targetConfig.format(), labelSchema);
+            }
+            masterLabelSchema = masterLabelSchema.union(labelSchema);
+        }
+
+        Map<Label, MasterLabelSchema> schemas = new HashMap<>();
+        schemas.put(PERSON, new MasterLabelSchema(masterLabelSchema, fileSpecificLabelSchemas.fileSpecificLabelSchemasFor(PERSON)));
+        masterLabelSchemas = new MasterLabelSchemas(schemas, GraphElementType.nodes);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        FileUtils.deleteDirectory(root);
+    }
+
+    @Benchmark
+    public MasterLabelSchemas rewrite() throws Exception {
+        return rewriteCsv.execute(masterLabelSchemas);
+    }
+
+    private static Map<String, Object> row(int file, int row) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("name", "Person \"" + row + "\"");
+        properties.put("age", row % 100);
+        properties.put("tags", Arrays.asList("a", "b", "c" + row % 10));
+        // Each file has a column the others do not, so every file is rewritten with extra empty columns
+        properties.put("column" + file, new Date(1500000000000L + row));
+        if (row % 2 == 0) {
+            properties.put("score", row * 0.5);
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph.io;
+
+import com.amazonaws.services.neptune.io.Status;
+import com.amazonaws.services.neptune.io.StatusOutputFormat;
+import com.amazonaws.services.neptune.propertygraph.ExportStats;
+import com.amazonaws.services.neptune.propertygraph.Label;
+import com.amazonaws.services.neptune.propertygraph.StatsContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records status and stats for every exported element, with every thread updating the same label, using shared
+ * atomic counters (which is how stats used to be recorded), and using a striped status counter and task-local
+ * stats that are flushed once per range. Use {@code -t} to change the number of threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Threads(4)
+public class StatsContentionBenchmark {
+
+    private static final Label LABEL = new Label("person");
+    private static final int RANGE_SIZE = 10000;
+
+    private final ExportStats exportStats = new ExportStats();
+    private final StatsContainer statsContainer = new StatsContainer() {
+        @Override
+        public void updateStats(Label label) {
+            exportStats.incrementNodeStats(label);
+        }
+
+        @Override
+        public void updateStats(Label label, long count) {
+            exportStats.incrementNodeStats(label, count);
+        }
+    };
+    private final AtomicLong sharedStatusCounter = new AtomicLong();
+    private final ConcurrentHashMap<Label, AtomicLong> sharedLabelCounts = new ConcurrentHashMap<>();
+    private Status status;
+
+    @State(Scope.Thread)
+    public static class Task {
+
+        private TaskStats taskStats;
+        private int elementsInRange = 0;
+
+        @Setup
+        public void setup(StatsContentionBenchmark benchmark) {
+            taskStats = new TaskStats(benchmark.statsContainer, "node");
+        }
+
+        @TearDown
+        public void tearDown() {
+            taskStats.flush();
+        }
+    }
+
+    @Setup
+    public void setup() {
+        status = new Status(StatusOutputFormat.Description);
+    }
+
+    @TearDown
+    public void tearDown() {
+        status.halt();
+    }
+
+    @Benchmark
+    public void sharedCounters() {
+        if (sharedStatusCounter.incrementAndGet() % 100000 == 0) {
+            // Status used to log here
+            Thread.yield();
+        }
+        sharedLabelCounts.computeIfAbsent(LABEL, l -> new AtomicLong()).incrementAndGet();
+    }
+
+    @Benchmark
+    public void taskLocalStats(Task task) {
+        status.update();
+        task.taskStats.updateStats(LABEL);
+        if (++task.elementsInRange == RANGE_SIZE) {
+            task.taskStats.flush();
+            task.elementsInRange = 0;
+        }
+    }
+}
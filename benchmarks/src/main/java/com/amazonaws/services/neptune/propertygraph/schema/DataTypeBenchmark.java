@@ -0,0 +1,124 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph.schema;
+
+import com.amazonaws.services.neptune.propertygraph.io.CsvPrinterOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Formats single values and lists of values as they are written to CSV files, both as new strings, and by
+ * appending them to a reused builder, as {@code CsvPropertyGraphPrinter} does. Run with {@code -prof gc} to
+ * compare allocation rates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class DataTypeBenchmark {
+
+    private final CsvPrinterOptions options = CsvPrinterOptions.builder().setMultiValueSeparator(";").build();
+    private final String plainString = "The quick brown fox jumps over the lazy dog";
+    private final String escapedString = "Alice \"Al\" Smith,\nJr.";
+    private final Date date = new Date(1500000000000L);
+    private final Double doubleValue = 3.14159;
+    private final List<String> strings = Arrays.asList("graph", "export", "semi;colon", "quote \"q\"");
+    private final List<Integer> integers = Arrays.asList(1, 22, 333, 4444, 55555);
+    private final StringBuilder builder = new StringBuilder(256);
+
+    @Benchmark
+    public String formatPlainString() {
+        return DataType.String.format(plainString, options.escapeNewline());
+    }
+
+    @Benchmark
+    public String formatEscapedString() {
+        return DataType.String.format(escapedString, options.escapeNewline());
+    }
+
+    @Benchmark
+    public String formatDate() {
+        return DataType.Date.format(date);
+    }
+
+    @Benchmark
+    public String formatDouble() {
+        return DataType.Double.format(doubleValue);
+    }
+
+    @Benchmark
+    public String formatStringList() {
+        return DataType.String.formatList(strings, options);
+    }
+
+    @Benchmark
+    public String formatIntegerList() {
+        return DataType.Integer.formatList(integers, options);
+    }
+
+    @Benchmark
+    public int appendPlainString() {
+        builder.setLength(0);
+        DataType.String.appendTo(builder, plainString, options.escapeNewline());
+        return builder.length();
+    }
+
+    @Benchmark
+    public int appendEscapedString() {
+        builder.setLength(0);
+        DataType.String.appendTo(builder, escapedString, options.escapeNewline());
+        return builder.length();
+    }
+
+    @Benchmark
+    public int appendDate() {
+        builder.setLength(0);
+        DataType.Date.appendTo(builder, date, options.escapeNewline());
+        return builder.length();
+    }
+
+    @Benchmark
+    public int appendDouble() {
+        builder.setLength(0);
+        DataType.Double.appendTo(builder, doubleValue, options.escapeNewline());
+        return builder.length();
+    }
+
+    @Benchmark
+    public int appendStringList() {
+        builder.setLength(0);
+        DataType.String.appendListTo(builder, strings, options);
+        return builder.length();
+    }
+
+    @Benchmark
+    public int appendIntegerList() {
+        builder.setLength(0);
+        DataType.Integer.appendListTo(builder, integers, options);
+        return builder.length();
+    }
+}
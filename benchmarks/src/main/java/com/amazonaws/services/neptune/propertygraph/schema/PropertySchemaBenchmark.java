@@ -0,0 +1,92 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph.schema;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Infers and updates a property's data type and multi-value status from each value, as is done for every
+ * property of every exported element.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class PropertySchemaBenchmark {
+
+    @Param({"true", "false"})
+    public boolean updateDataType;
+
+    private final Object stringValue = "name";
+    private final Object integerValue = 42;
+    private final Object dateValue = new Date(1500000000000L);
+    private final List<Object> listValue = Arrays.asList(1L, 2L, 3L);
+    private final List<Object> mixedListValue = Arrays.asList(1, 2.5, "three");
+
+    private PropertySchema stringSchema;
+    private PropertySchema integerSchema;
+    private PropertySchema dateSchema;
+    private PropertySchema listSchema;
+    private PropertySchema mixedListSchema;
+
+    @Setup
+    public void setup() {
+        stringSchema = new PropertySchema("name");
+        integerSchema = new PropertySchema("age");
+        dateSchema = new PropertySchema("created");
+        listSchema = new PropertySchema("ids");
+        mixedListSchema = new PropertySchema("mixed");
+    }
+
+    @Benchmark
+    public PropertySchema.PropertyValueMetadata acceptString() {
+        return stringSchema.accept(stringValue, updateDataType);
+    }
+
+    @Benchmark
+    public PropertySchema.PropertyValueMetadata acceptInteger() {
+        return integerSchema.accept(integerValue, updateDataType);
+    }
+
+    @Benchmark
+    public PropertySchema.PropertyValueMetadata acceptDate() {
+        return dateSchema.accept(dateValue, updateDataType);
+    }
+
+    @Benchmark
+    public PropertySchema.PropertyValueMetadata acceptList() {
+        return listSchema.accept(listValue, updateDataType);
+    }
+
+    @Benchmark
+    public PropertySchema.PropertyValueMetadata acceptMixedList() {
+        return mixedListSchema.accept(mixedListValue, updateDataType);
+    }
+}
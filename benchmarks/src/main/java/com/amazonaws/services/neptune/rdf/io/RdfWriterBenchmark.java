@@ -0,0 +1,99 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.rdf.io;
+
+import com.amazonaws.services.neptune.export.FeatureToggles;
+import com.amazonaws.services.neptune.io.OutputWriter;
+import com.amazonaws.services.neptune.io.PrintOutputWriter;
+import com.amazonaws.services.neptune.rdf.Prefixes;
+import org.apache.commons.io.output.NullWriter;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.rio.RDFWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes a batch of statements, with IRI, typed, language-tagged and date objects in a named graph, in each
+ * RDF export format. Scores are per statement.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class RdfWriterBenchmark {
+
+    private static final int STATEMENTS = 1000;
+
+    @Param({"turtle", "nquads", "ntriples", "neptuneStreamsJson", "neptuneStreamsSimpleJson"})
+    public RdfExportFormat format;
+
+    private final List<Statement> statements = new ArrayList<>();
+    private OutputWriter outputWriter;
+    private Prefixes prefixes;
+
+    @Setup
+    public void setup() {
+        outputWriter = new PrintOutputWriter("benchmark", NullWriter.NULL_WRITER);
+        prefixes = new Prefixes(new FeatureToggles(Collections.emptyList()));
+
+        ValueFactory factory = SimpleValueFactory.getInstance();
+        IRI graph = factory.createIRI("http://example.com/graph");
+        IRI type = factory.createIRI("http://example.com/ontology#Person");
+        IRI name = factory.createIRI("http://example.com/ontology#name");
+        IRI age = factory.createIRI("http://example.com/ontology#age");
+        IRI born = factory.createIRI("http://example.com/ontology#born");
+        IRI knows = factory.createIRI("http://example.com/ontology#knows");
+
+        for (int i = 0; statements.size() < STATEMENTS; i++) {
+            IRI subject = factory.createIRI("http://example.com/person/" + i);
+            statements.add(factory.createStatement(subject, RDF.TYPE, type, graph));
+            statements.add(factory.createStatement(subject, name, factory.createLiteral("Person \"" + i + "\"", "en"), graph));
+            statements.add(factory.createStatement(subject, age, factory.createLiteral(i % 100), graph));
+            statements.add(factory.createStatement(subject, born, factory.createLiteral(new Date(1500000000000L + i)), graph));
+            statements.add(factory.createStatement(subject, knows, factory.createIRI("http://example.com/person/" + (i + 1)), graph));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STATEMENTS)
+    public void write() {
+        RDFWriter writer = format.createWriter(outputWriter, prefixes);
+        writer.startRDF();
+        for (int i = 0; i < STATEMENTS; i++) {
+            writer.handleStatement(statements.get(i));
+        }
+        writer.endRDF();
+    }
+}
@@ -20,6 +20,7 @@ import com.amazonaws.services.neptune.io.Target;
 import com.amazonaws.services.neptune.propertygraph.ExportStats;
 import com.amazonaws.services.neptune.propertygraph.NeptuneGremlinClient;
 import com.amazonaws.services.neptune.propertygraph.io.ExportPropertyGraphJob;
+import com.amazonaws.services.neptune.propertygraph.io.ExportPropertyGraphJobOptions;
 import com.amazonaws.services.neptune.propertygraph.io.JsonResource;
 import com.amazonaws.services.neptune.propertygraph.io.PropertyGraphTargetConfig;
 import com.amazonaws.services.neptune.propertygraph.schema.CreateGraphSchemaCommand;
@@ -90,15 +91,14 @@ public class CreatePropertyGraphExportConfig extends NeptuneExportCommand implem
                         GraphSchema graphSchema = new GraphSchema();
                         ExportStats stats = new ExportStats();
 
-                        PropertyGraphTargetConfig targetConfig = target.config(directories, new PrinterOptionsModule().config());
-
                         Collection<ExportSpecification> exportSpecifications = scope.exportSpecifications(
                                 graphSchema,
                                 gremlinFilters.filters(),
                                 stats,
                                 featureToggles());
 
-                        try (NeptuneGremlinClient client = NeptuneGremlinClient.create(cluster, serialization.config());
+                        try (PropertyGraphTargetConfig targetConfig = target.config(directories, new PrinterOptionsModule().config());
+                             NeptuneGremlinClient client = NeptuneGremlinClient.create(cluster, serialization.config());
                              GraphTraversalSource g = client.newTraversalSource()) {
 
                             ExportPropertyGraphJob exportJob = new ExportPropertyGraphJob(
@@ -109,7 +109,8 @@ public class CreatePropertyGraphExportConfig extends NeptuneExportCommand implem
                                     gremlinFilters.filters(),
                                     cluster.concurrencyConfig(),
                                     targetConfig, featureToggles(),
-                                    getMaxFileDescriptorCount()
+                                    getMaxFileDescriptorCount(),
+                                    ExportPropertyGraphJobOptions.DEFAULT_OPTIONS
                             );
 
                             graphSchema = exportJob.execute();
@@ -141,7 +142,7 @@ public class CreatePropertyGraphExportConfig extends NeptuneExportCommand implem
                         try (NeptuneGremlinClient client = NeptuneGremlinClient.create(cluster, serialization.config());
                              GraphTraversalSource g = client.newTraversalSource()) {
 
-                            CreateGraphSchemaCommand createGraphSchemaCommand = sampling.createSchemaCommand(exportSpecifications, g);
+                            CreateGraphSchemaCommand createGraphSchemaCommand = sampling.createSchemaCommand(exportSpecifications, g, cluster.connectionConfig());
                             GraphSchema graphSchema = createGraphSchemaCommand.execute();
 
                             configFileResource.save(graphSchema, false);
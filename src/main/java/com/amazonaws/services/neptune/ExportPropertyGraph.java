@@ -20,6 +20,7 @@ import com.amazonaws.services.neptune.io.Directories;
 import com.amazonaws.services.neptune.propertygraph.ExportStats;
 import com.amazonaws.services.neptune.propertygraph.NeptuneGremlinClient;
 import com.amazonaws.services.neptune.propertygraph.io.ExportPropertyGraphJob;
+import com.amazonaws.services.neptune.propertygraph.io.ExportPropertyGraphJobOptions;
 import com.amazonaws.services.neptune.propertygraph.io.JsonResource;
 import com.amazonaws.services.neptune.propertygraph.io.PropertyGraphTargetConfig;
 import com.amazonaws.services.neptune.propertygraph.schema.ExportSpecification;
@@ -84,12 +85,16 @@ public class ExportPropertyGraph extends NeptuneExportCommand implements Runnabl
     @Inject
     private NeptuneStreamsModule streams = new NeptuneStreamsModule();
 
+    @Inject
+    private MetricsModule metrics = new MetricsModule();
+
     @Override
     public void run() {
 
         try {
             Timer.timedActivity("exporting property graph", (CheckedActivity.Runnable) () -> {
-                try (Cluster cluster = cloneStrategy.cloneCluster(
+                try (AutoCloseable metricsReporter = metrics.start();
+                     Cluster cluster = cloneStrategy.cloneCluster(
                         connection.clusterMetadata(),
                         connection.config(),
                         concurrency.config(),
@@ -107,15 +112,14 @@ public class ExportPropertyGraph extends NeptuneExportCommand implements Runnabl
                     GraphSchema graphSchema = graphSchemaProvider.graphSchema();
                     ExportStats stats = new ExportStats();
 
-                    PropertyGraphTargetConfig targetConfig = target.config(directories, printerOptions.config());
-
                     Collection<ExportSpecification> exportSpecifications = scope.exportSpecifications(
                             graphSchema,
                             gremlinFilters.filters(),
                             stats,
                             featureToggles());
 
-                    try (NeptuneGremlinClient client = NeptuneGremlinClient.create(cluster, serialization.config());
+                    try (PropertyGraphTargetConfig targetConfig = target.config(directories, printerOptions.config(), outputFileListener(directories));
+                         NeptuneGremlinClient client = NeptuneGremlinClient.create(cluster, serialization.config());
                          GraphTraversalSource g = client.newTraversalSource()) {
 
                         ExportPropertyGraphJob exportJob = new ExportPropertyGraphJob(
@@ -127,7 +131,13 @@ public class ExportPropertyGraph extends NeptuneExportCommand implements Runnabl
                                 cluster.concurrencyConfig(),
                                 targetConfig,
                                 featureToggles(),
-                                getMaxFileDescriptorCount()
+                                getMaxFileDescriptorCount(),
+                                ExportPropertyGraphJobOptions.builder()
+                                        .setCheckpoint(target.checkpoint(directories))
+                                        .setRewriteConcurrencyConfig(concurrency.rewriteConfig())
+                                        .setPipelineRewrites(concurrency.pipelineRewrites())
+                                        .setSerializerConcurrency(concurrency.serializerConcurrency())
+                                        .build()
                         );
 
                         graphSchema = Timer.timedActivity(
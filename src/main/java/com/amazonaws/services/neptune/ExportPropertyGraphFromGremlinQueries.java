@@ -72,6 +72,9 @@ public class ExportPropertyGraphFromGremlinQueries extends NeptuneExportCommand
     @Inject
     private PropertyGraphRangeModule range = new PropertyGraphRangeModule();
 
+    @Inject
+    private MetricsModule metrics = new MetricsModule();
+
     @Option(name = {"-q", "--queries", "--query", "--gremlin"}, description = "Gremlin queries (format: name=\"semi-colon-separated list of queries\" OR \"semi-colon-separated list of queries\").",
             arity = 1, typeConverterProvider = NameQueriesTypeConverter.class)
     private List<NamedQueries> queries = new ArrayList<>();
@@ -107,7 +110,8 @@ public class ExportPropertyGraphFromGremlinQueries extends NeptuneExportCommand
 
         try {
             Timer.timedActivity("exporting property graph from queries", (CheckedActivity.Runnable) () -> {
-                try (Cluster cluster = cloneStrategy.cloneCluster(
+                try (AutoCloseable metricsReporter = metrics.start();
+                     Cluster cluster = cloneStrategy.cloneCluster(
                         connection.clusterMetadata(),
                         connection.config(),
                         concurrency.config(),
@@ -123,7 +127,6 @@ public class ExportPropertyGraphFromGremlinQueries extends NeptuneExportCommand
                     CsvPrinterOptions csvPrinterOptions = CsvPrinterOptions.builder().setIncludeTypeDefinitions(includeTypeDefinitions).build();
                     JsonPrinterOptions jsonPrinterOptions = JsonPrinterOptions.builder().setStrictCardinality(true).build();
 
-                    PropertyGraphTargetConfig targetConfig = target.config(directories, new PrinterOptions(csvPrinterOptions, jsonPrinterOptions));
                     NamedQueriesCollection namedQueries = getNamedQueriesCollection(queries, queriesFile, queriesResource);
 
                     GraphSchema graphSchema = new GraphSchema();
@@ -139,7 +142,8 @@ public class ExportPropertyGraphFromGremlinQueries extends NeptuneExportCommand
                         directories.createResultsSubdirectories(namedQueries.names());
                     }
 
-                    try (NeptuneGremlinClient client = NeptuneGremlinClient.create(cluster, serialization.config());
+                    try (PropertyGraphTargetConfig targetConfig = target.config(directories, new PrinterOptions(csvPrinterOptions, jsonPrinterOptions), outputFileListener(directories));
+                         NeptuneGremlinClient client = NeptuneGremlinClient.create(cluster, serialization.config());
                          NeptuneGremlinClient.QueryClient queryClient = client.queryClient()) {
 
                         if (splitQueries) {
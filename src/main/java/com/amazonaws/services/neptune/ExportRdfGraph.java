@@ -22,6 +22,7 @@ import com.amazonaws.services.neptune.propertygraph.ExportStats;
 import com.amazonaws.services.neptune.propertygraph.io.JsonResource;
 import com.amazonaws.services.neptune.rdf.NeptuneSparqlClient;
 import com.amazonaws.services.neptune.rdf.ExportRdfJob;
+import com.amazonaws.services.neptune.rdf.io.RdfTargetConfig;
 import com.amazonaws.services.neptune.util.CheckedActivity;
 import com.amazonaws.services.neptune.util.Timer;
 import com.github.rvesse.airline.annotations.Command;
@@ -53,12 +54,16 @@ public class ExportRdfGraph extends NeptuneExportCommand implements Runnable {
     @Inject
     private NeptuneStreamsModule streams = new NeptuneStreamsModule();
 
+    @Inject
+    private MetricsModule metrics = new MetricsModule();
+
     @Override
     public void run() {
 
         try {
             Timer.timedActivity(String.format("exporting rdf %s", exportScope.scope()), (CheckedActivity.Runnable) () -> {
-                try (Cluster cluster = cloneStrategy.cloneCluster(
+                try (AutoCloseable metricsReporter = metrics.start();
+                     Cluster cluster = cloneStrategy.cloneCluster(
                         connection.clusterMetadata(),
                         connection.config(),
                         new ConcurrencyConfig(1),
@@ -71,9 +76,10 @@ public class ExportRdfGraph extends NeptuneExportCommand implements Runnable {
                     GetLastEventIdStrategy getLastEventIdStrategy = streams.lastEventIdStrategy(cluster, eventIdFileResource);
                     getLastEventIdStrategy.saveLastEventId("sparql");
 
-                    try (NeptuneSparqlClient client = NeptuneSparqlClient.create(cluster.connectionConfig(), featureToggles())) {
+                    try (RdfTargetConfig targetConfig = target.config(directories, outputFileListener(directories));
+                         NeptuneSparqlClient client = NeptuneSparqlClient.create(cluster.connectionConfig(), featureToggles())) {
 
-                        ExportRdfJob job = exportScope.createJob(client, target.config(directories));
+                        ExportRdfJob job = exportScope.createJob(client, targetConfig);
                         job.execute();
                     }
 
@@ -18,7 +18,9 @@ import com.amazonaws.services.neptune.cli.ProfilesModule;
 import com.amazonaws.services.neptune.cluster.Cluster;
 import com.amazonaws.services.neptune.export.FeatureToggles;
 import com.amazonaws.services.neptune.export.NeptuneExportEventHandler;
+import com.amazonaws.services.neptune.export.OutputFileEventHandler;
 import com.amazonaws.services.neptune.io.Directories;
+import com.amazonaws.services.neptune.io.OutputFileListener;
 import com.amazonaws.services.neptune.propertygraph.ExportStats;
 import com.amazonaws.services.neptune.propertygraph.schema.GraphSchema;
 import org.apache.tinkerpop.gremlin.process.remote.RemoteConnectionException;
@@ -63,6 +65,15 @@ public abstract class NeptuneExportCommand extends NeptuneExportBaseCommand impl
         eventHandler.onError();
     }
 
+    OutputFileListener outputFileListener(Directories directories) {
+        if (OutputFileEventHandler.class.isAssignableFrom(eventHandler.getClass())) {
+            OutputFileEventHandler outputFileEventHandler = (OutputFileEventHandler) eventHandler;
+            return file -> outputFileEventHandler.onOutputFileClosed(directories, file);
+        } else {
+            return OutputFileListener.NULL_LISTENER;
+        }
+    }
+
     void handleException(Throwable e) {
         if (e.getCause() != null && RemoteConnectionException.class.isAssignableFrom(e.getCause().getClass())) {
             e.printStackTrace();
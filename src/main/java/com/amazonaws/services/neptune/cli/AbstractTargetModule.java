@@ -16,8 +16,13 @@ package com.amazonaws.services.neptune.cli;
 import com.amazonaws.auth.AWSCredentialsProvider;
 import com.amazonaws.services.neptune.io.CommandWriter;
 import com.amazonaws.services.neptune.io.Directories;
+import com.amazonaws.services.neptune.io.CommitPolicy;
+import com.amazonaws.services.neptune.io.CompressionCodec;
 import com.amazonaws.services.neptune.io.DirectoryStructure;
+import com.amazonaws.services.neptune.io.FileConfig;
 import com.amazonaws.services.neptune.io.LargeStreamRecordHandlingStrategy;
+import com.amazonaws.services.neptune.io.OutputFileListener;
+import com.amazonaws.services.neptune.io.PartitionKeyStrategy;
 import com.amazonaws.services.neptune.io.Target;
 import com.github.rvesse.airline.annotations.Option;
 import com.github.rvesse.airline.annotations.restrictions.AllowedEnumValues;
@@ -65,6 +70,15 @@ public abstract class AbstractTargetModule implements CommandWriter {
     @AllowedEnumValues(LargeStreamRecordHandlingStrategy.class)
     private LargeStreamRecordHandlingStrategy largeStreamRecordHandlingStrategy = LargeStreamRecordHandlingStrategy.splitAndShred;
 
+    @Option(name = {"--stream-partition-key-strategy"}, description = "Strategy for choosing the partition key of records sent to Amazon Kinesis (optional, default 'counter'). 'elementId' sends all records for the same node, edge or subject to the same shard.")
+    @Once
+    @AllowedEnumValues(PartitionKeyStrategy.class)
+    private PartitionKeyStrategy partitionKeyStrategy = PartitionKeyStrategy.counter;
+
+    @Option(name = {"--pack-stream-records"}, description = "Pack consecutive records with the same partition key into a single Amazon Kinesis record of up to 1 MB (optional).")
+    @Once
+    private boolean packStreamRecords = false;
+
     @Option(name = {"--disable-stream-aggregation"}, description = "Disable aggregation of Kinesis Data Stream records).")
     @Once
     private boolean disableAggregation = false;
@@ -89,6 +103,23 @@ public abstract class AbstractTargetModule implements CommandWriter {
     @Once
     private String partitionDirectories = "";
 
+    @Option(name = {"--file-buffer-size"}, description = "Size, in characters, of the write buffer for each output file (optional, default 65536).")
+    @Once
+    private int fileBufferSize = FileConfig.DEFAULT_BUFFER_SIZE;
+
+    @Option(name = {"--file-flush-threshold"}, description = "Number of characters written to an output file before it is flushed (optional, default 65536). Set to 0 to flush after every record.")
+    @Once
+    private long fileFlushThreshold = FileConfig.DEFAULT_FLUSH_THRESHOLD;
+
+    @Option(name = {"--file-flush-interval"}, description = "Maximum interval, in milliseconds, between flushes of an output file (optional, default 5000). Set to 0 to flush after every record.")
+    @Once
+    private long fileFlushIntervalMillis = FileConfig.DEFAULT_FLUSH_INTERVAL_MILLIS;
+
+    @Option(name = {"--compression"}, description = "Compression codec for output files (optional, default 'none'). Compressed files have the codec's extension (e.g. '.gz') appended to their name. Only applies to the files target.")
+    @Once
+    @AllowedEnumValues(CompressionCodec.class)
+    private CompressionCodec compressionCodec = CompressionCodec.none;
+
     public AbstractTargetModule() {}
     public AbstractTargetModule(Target target) {
         this.output =  target;
@@ -118,10 +149,26 @@ public abstract class AbstractTargetModule implements CommandWriter {
         return largeStreamRecordHandlingStrategy;
     }
 
+    public PartitionKeyStrategy getPartitionKeyStrategy() {
+        return partitionKeyStrategy;
+    }
+
+    public boolean isPackStreamRecords() {
+        return packStreamRecords;
+    }
+
     public boolean isEnableAggregation() {
         return !disableAggregation;
     }
 
+    public FileConfig fileConfig() {
+        return new FileConfig(
+                fileBufferSize,
+                new CommitPolicy(fileFlushThreshold, fileFlushIntervalMillis),
+                OutputFileListener.NULL_LISTENER,
+                compressionCodec);
+    }
+
     public Directories createDirectories() throws IOException {
         return Directories.createFor(directoryStructure(), directory, exportId, tag, partitionDirectories );
     }
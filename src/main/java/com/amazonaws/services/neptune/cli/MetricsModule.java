@@ -0,0 +1,63 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.cli;
+
+import com.amazonaws.services.neptune.metrics.ExportMetrics;
+import com.amazonaws.services.neptune.metrics.MetricsRegistry;
+import com.amazonaws.services.neptune.metrics.MetricsReporter;
+import com.github.rvesse.airline.annotations.Option;
+import com.github.rvesse.airline.annotations.restrictions.Once;
+import com.github.rvesse.airline.annotations.restrictions.ranges.IntegerRange;
+
+import java.nio.file.Paths;
+
+public class MetricsModule {
+
+    @Option(name = {"--metrics-file"}, description = "Path of a file to which export metrics are periodically written – in the Prometheus text format if the file name ends with .prom, otherwise as JSON (optional).")
+    @Once
+    private String metricsFile;
+
+    @Option(name = {"--metrics-interval"}, description = "Number of seconds between writes to the --metrics-file (optional, default 10).")
+    @Once
+    @IntegerRange(min = 1, minInclusive = true)
+    private int metricsIntervalSeconds = 10;
+
+    @Option(name = {"--jmx-metrics"}, description = "Expose export metrics as attributes of the com.amazonaws.services.neptune:type=ExportMetrics MBean (optional, default false).")
+    @Once
+    private boolean jmxMetrics = false;
+
+    /**
+     * Resets the metrics registry for a new export, and starts reporting metrics. Closing the returned resource
+     * writes the final metrics to the metrics file.
+     */
+    public AutoCloseable start() {
+        MetricsRegistry registry = MetricsRegistry.global();
+        registry.clear();
+
+        long start = System.currentTimeMillis();
+        registry.gauge(ExportMetrics.ELAPSED_SECONDS, () -> (System.currentTimeMillis() - start) / 1000);
+
+        if (jmxMetrics) {
+            registry.enableTiming();
+            registry.registerMBean();
+        }
+
+        if (metricsFile != null) {
+            registry.enableTiming();
+            return new MetricsReporter(registry, Paths.get(metricsFile), metricsIntervalSeconds);
+        }
+
+        return () -> {
+        };
+    }
+}
@@ -15,6 +15,7 @@ package com.amazonaws.services.neptune.cli;
 import com.amazonaws.services.neptune.propertygraph.TokenPrefix;
 import com.amazonaws.services.neptune.propertygraph.io.CsvPrinterOptions;
 import com.amazonaws.services.neptune.propertygraph.io.JsonPrinterOptions;
+import com.amazonaws.services.neptune.propertygraph.io.ParquetPrinterOptions;
 import com.amazonaws.services.neptune.propertygraph.io.PrinterOptions;
 import com.github.rvesse.airline.annotations.Option;
 import com.github.rvesse.airline.annotations.restrictions.Once;
@@ -45,6 +46,10 @@ public class PrinterOptionsModule {
     @Once
     private String tokenPrefix = "~";
 
+    @Option(name = {"--parquet-row-group-size"}, description = "Approximate size, in bytes, of the values buffered for each Parquet row group before it is written to the file (optional, default 16 MB).")
+    @Once
+    private long parquetRowGroupSize = ParquetPrinterOptions.DEFAULT_ROW_GROUP_SIZE;
+
     public PrinterOptions config(){
 
         CsvPrinterOptions csvPrinterOptions = CsvPrinterOptions.builder()
@@ -60,6 +65,11 @@ public class PrinterOptionsModule {
                 .setTokenPrefix(new TokenPrefix(tokenPrefix))
                 .build();
 
-        return new PrinterOptions(csvPrinterOptions, jsonPrinterOptions);
+        ParquetPrinterOptions parquetPrinterOptions = ParquetPrinterOptions.builder()
+                .setRowGroupSize(parquetRowGroupSize)
+                .setTokenPrefix(new TokenPrefix(tokenPrefix))
+                .build();
+
+        return new PrinterOptions(csvPrinterOptions, jsonPrinterOptions, parquetPrinterOptions);
     }
 }
@@ -22,6 +22,18 @@ public class PropertyGraphConcurrencyModule {
     @Once
     private int concurrency = 4;
 
+    @Option(name = {"--rewrite-concurrency"}, description = "Number of parallel threads used to rewrite and merge exported files (optional, defaults to the value of --concurrency).")
+    @Once
+    private int rewriteConcurrency = -1;
+
+    @Option(name = {"--pipeline-rewrites"}, description = "Start rewriting a label's files as soon as all of that label's files have been exported, while other labels are still being exported (optional, default false).")
+    @Once
+    private boolean pipelineRewrites = false;
+
+    @Option(name = {"--serializer-concurrency"}, description = "Number of threads used to write query results to files, separately from the threads that run queries. When greater than 0, each query thread hands its results to these threads and continues iterating results while they are written (optional, default 0 – results are written by the query threads).")
+    @Once
+    private int serializerConcurrency = 0;
+
     public ConcurrencyConfig config(){
         return config(true);
     }
@@ -29,4 +41,16 @@ public class PropertyGraphConcurrencyModule {
     public ConcurrencyConfig config(boolean allowConcurrentOperations){
         return new ConcurrencyConfig(allowConcurrentOperations ? concurrency : 1);
     }
+
+    public ConcurrencyConfig rewriteConfig(){
+        return new ConcurrencyConfig(rewriteConcurrency > 0 ? rewriteConcurrency : concurrency);
+    }
+
+    public boolean pipelineRewrites(){
+        return pipelineRewrites;
+    }
+
+    public int serializerConcurrency(){
+        return serializerConcurrency;
+    }
 }
@@ -13,7 +13,10 @@ permissions and limitations under the License.
 package com.amazonaws.services.neptune.cli;
 
 import com.amazonaws.services.neptune.propertygraph.RangeConfig;
+import com.amazonaws.services.neptune.propertygraph.RangeRetryPolicy;
+import com.amazonaws.services.neptune.propertygraph.RangeStrategy;
 import com.github.rvesse.airline.annotations.Option;
+import com.github.rvesse.airline.annotations.restrictions.AllowedEnumValues;
 import com.github.rvesse.airline.annotations.restrictions.Once;
 
 public class PropertyGraphRangeModule {
@@ -38,7 +41,29 @@ public class PropertyGraphRangeModule {
     @Once
     private long approxEdgeCount = -1;
 
+    @Option(name = {"--range-strategy"}, description = "Strategy for dividing the export into ranges: 'offset' pages using range() steps, 'keyset' partitions elements by sampled ID boundaries, 'adaptive' pages using range() steps whose size is adjusted to meet --range-target-latency (optional, default 'offset').")
+    @Once
+    @AllowedEnumValues(RangeStrategy.class)
+    private RangeStrategy rangeStrategy = RangeStrategy.offset;
+
+    @Option(name = {"--range-target-latency"}, description = "Target time in milliseconds to export a single range when using the 'adaptive' range strategy (optional, default 5000).")
+    @Once
+    private long targetRangeLatencyMillis = RangeConfig.DEFAULT_TARGET_RANGE_LATENCY_MILLIS;
+
+    @Option(name = {"--lazy-ranges"}, description = "Export without first counting the elements to be exported: ranges are issued until a range returns fewer items than requested. Applies to the 'offset' and 'adaptive' range strategies, and is ignored when resuming from a checkpoint, or when a filter is applied after each range (optional, default false).")
+    @Once
+    private boolean lazyRanges = false;
+
+    @Option(name = {"--max-range-attempts"}, description = "Maximum number of consecutive attempts to export a range that fails with a throttling, timeout or memory limit error (optional, default 3).")
+    @Once
+    private int maxRangeAttempts = RangeRetryPolicy.DEFAULT_MAX_ATTEMPTS;
+
+    @Option(name = {"--max-range-bisections"}, description = "Maximum number of times a range that fails with a timeout or memory limit error is split in half before being retried (optional, default 8).")
+    @Once
+    private int maxRangeBisections = RangeRetryPolicy.DEFAULT_MAX_BISECTIONS;
+
     public RangeConfig config(){
-        return new RangeConfig(rangeSize, skip, limit, approxNodeCount, approxEdgeCount);
+        return new RangeConfig(rangeSize, skip, limit, approxNodeCount, approxEdgeCount, rangeStrategy, targetRangeLatencyMillis, lazyRanges,
+                new RangeRetryPolicy(maxRangeAttempts, RangeRetryPolicy.DEFAULT_INITIAL_BACKOFF_MILLIS, maxRangeBisections));
     }
 }
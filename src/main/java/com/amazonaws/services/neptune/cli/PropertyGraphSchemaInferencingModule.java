@@ -12,10 +12,13 @@ permissions and limitations under the License.
 
 package com.amazonaws.services.neptune.cli;
 
+import com.amazonaws.services.neptune.cluster.ConnectionConfig;
+import com.amazonaws.services.neptune.propertygraph.LabelDiscoveryStrategy;
 import com.amazonaws.services.neptune.propertygraph.SchemaSamplingSpecification;
 import com.amazonaws.services.neptune.propertygraph.schema.ExportSpecification;
 import com.amazonaws.services.neptune.propertygraph.schema.CreateGraphSchemaCommand;
 import com.github.rvesse.airline.annotations.Option;
+import com.github.rvesse.airline.annotations.restrictions.AllowedEnumValues;
 import com.github.rvesse.airline.annotations.restrictions.Once;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 
@@ -32,6 +35,15 @@ public class PropertyGraphSchemaInferencingModule {
     @Once
     private long sampleSize = 1000;
 
+    @Option(name = {"--label-discovery-strategy"}, description = "Strategy for discovering labels when sampling (optional, default 'groupCount').")
+    @Once
+    @AllowedEnumValues(LabelDiscoveryStrategy.class)
+    private LabelDiscoveryStrategy labelDiscoveryStrategy = LabelDiscoveryStrategy.groupCount;
+
+    @Option(name = {"--label-discovery-slices"}, description = "Number of ID ranges over which labels are aggregated when using the 'groupCount' label discovery strategy (optional, default 1).")
+    @Once
+    private int labelDiscoverySlices = 1;
+
     public PropertyGraphSchemaInferencingModule(){
     }
 
@@ -40,7 +52,12 @@ public class PropertyGraphSchemaInferencingModule {
     }
 
     public CreateGraphSchemaCommand createSchemaCommand(Collection<ExportSpecification> exportSpecifications,
-                                                        GraphTraversalSource g){
-        return new SchemaSamplingSpecification(sample, sampleSize).createSchemaCommand(exportSpecifications, g);
+                                                        GraphTraversalSource g,
+                                                        ConnectionConfig connectionConfig){
+        return new SchemaSamplingSpecification(
+                sample,
+                sampleSize,
+                labelDiscoveryStrategy.labelDiscoveryFor(connectionConfig, labelDiscoverySlices))
+                .createSchemaCommand(exportSpecifications, g);
     }
 }
@@ -13,12 +13,16 @@ permissions and limitations under the License.
 package com.amazonaws.services.neptune.cli;
 
 import com.amazonaws.services.neptune.io.*;
+import com.amazonaws.services.neptune.propertygraph.io.ExportCheckpoint;
+import com.amazonaws.services.neptune.propertygraph.io.FileRolloverPolicy;
 import com.amazonaws.services.neptune.propertygraph.io.PrinterOptions;
 import com.amazonaws.services.neptune.propertygraph.io.PropertyGraphExportFormat;
 import com.amazonaws.services.neptune.propertygraph.io.PropertyGraphTargetConfig;
 import com.github.rvesse.airline.annotations.Option;
 import com.github.rvesse.airline.annotations.restrictions.*;
 
+import java.io.IOException;
+
 public class PropertyGraphTargetModule extends AbstractTargetModule {
 
     @Option(name = {"--format"}, description = "Output format (optional, default 'csv').")
@@ -26,7 +30,7 @@ public class PropertyGraphTargetModule extends AbstractTargetModule {
     @AllowedEnumValues(PropertyGraphExportFormat.class)
     private PropertyGraphExportFormat format = PropertyGraphExportFormat.csv;
 
-    @Option(name = {"--merge-files"}, description = "Merge files for each vertex or edge label (currently only supports CSV files for export-pg).")
+    @Option(name = {"--merge-files"}, description = "Merge files for each vertex or edge label (currently only supports CSV and Parquet files for export-pg).")
     @Once
     private boolean mergeFiles = false;
 
@@ -34,6 +38,26 @@ public class PropertyGraphTargetModule extends AbstractTargetModule {
     @Once
     private boolean perLabelDirectories = false;
 
+    @Option(name = {"--use-spill-files"}, description = "Write intermediate CSV export output to typed binary spill files, and produce the final CSV files from them in a single streaming pass, instead of rewriting temporary CSV files (optional, default 'false').")
+    @Once
+    private boolean useSpillFiles = false;
+
+    @Option(name = {"--max-file-size"}, description = "Approximate maximum size, in bytes, of each node or edge file. Once a file reaches this size, output for the label continues in a new file (optional, default no limit).")
+    @Once
+    private long maxFileSize = 0;
+
+    @Option(name = {"--max-rows-per-file"}, description = "Maximum number of nodes or edges written to each file. Once a file reaches this number of rows, output for the label continues in a new file (optional, default no limit).")
+    @Once
+    private long maxRowsPerFile = 0;
+
+    @Option(name = {"--checkpoint"}, description = "Record completed ranges and closed files in a checkpoint file in the output directory, so that an interrupted export can be resumed using --resume. Each range is written to its own files (optional, default 'false'). Only applies to the files target.")
+    @Once
+    private boolean checkpoint = false;
+
+    @Option(name = {"--resume"}, description = "Resume an interrupted export from the checkpoint file in its output directory, skipping ranges that have already been exported. Supply the same --dir, --tag and --export-id as the interrupted export. Implies --checkpoint.")
+    @Once
+    private boolean resume = false;
+
     public PropertyGraphTargetModule() {
     }
 
@@ -42,14 +66,35 @@ public class PropertyGraphTargetModule extends AbstractTargetModule {
     }
 
     public PropertyGraphTargetConfig config(Directories directories, PrinterOptions printerOptions){
+        return config(directories, printerOptions, OutputFileListener.NULL_LISTENER);
+    }
+
+    public PropertyGraphTargetConfig config(Directories directories, PrinterOptions printerOptions, OutputFileListener outputFileListener){
+
+        if (mergeFiles && (format != PropertyGraphExportFormat.csv && format != PropertyGraphExportFormat.csvNoHeaders && format != PropertyGraphExportFormat.parquet)){
+            throw new IllegalArgumentException("Merge files is only supported for CSV and Parquet formats for export-pg");
+        }
 
-        if (mergeFiles && (format != PropertyGraphExportFormat.csv && format != PropertyGraphExportFormat.csvNoHeaders)){
-            throw new IllegalArgumentException("Merge files is only supported for CSV formats for export-pg");
+        if (format.writesBinaryFiles() && getOutput() != Target.files && getOutput() != Target.devnull){
+            throw new IllegalArgumentException(String.format("%s format is only supported for file output", format.description()));
         }
 
         KinesisConfig kinesisConfig = new KinesisConfig(this);
 
-        return new PropertyGraphTargetConfig(directories, kinesisConfig, printerOptions, format, getOutput(), mergeFiles, perLabelDirectories, true);
+        return new PropertyGraphTargetConfig(directories, kinesisConfig, fileConfig().withListener(outputFileListener), printerOptions, format, getOutput(), mergeFiles, perLabelDirectories, useSpillFiles, new FileRolloverPolicy(maxFileSize, maxRowsPerFile), true);
+    }
+
+    public ExportCheckpoint checkpoint(Directories directories) throws IOException {
+
+        if (!checkpoint && !resume) {
+            return ExportCheckpoint.disabled();
+        }
+
+        if (getOutput() != Target.files) {
+            throw new IllegalArgumentException("Checkpointing is only supported for file output");
+        }
+
+        return ExportCheckpoint.create(directories.checkpointFilePath(), resume);
     }
 
     public String description(){
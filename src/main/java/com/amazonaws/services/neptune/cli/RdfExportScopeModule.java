@@ -36,7 +36,19 @@ public class RdfExportScopeModule {
     @Once
     private String namedGraph;
 
+    @Option(name = {"--rdf-partition-strategy"}, description = "Split the export into partitions that are exported concurrently, each to its own file: by named graph, by predicate, or by a hash of the subject (optional, default 'none'). Not supported with `--rdf-export-scope query`.")
+    @Once
+    @AllowedEnumValues(RdfPartitionStrategy.class)
+    private RdfPartitionStrategy partitionStrategy = RdfPartitionStrategy.none;
+
+    @Option(name = {"--rdf-partition-concurrency"}, description = "Number of partitions exported concurrently when using `--rdf-partition-strategy` (optional, default 4).")
+    @Once
+    private int partitionConcurrency = 4;
+
     public ExportRdfJob createJob(NeptuneSparqlClient client, RdfTargetConfig targetConfig){
+        if (partitionConcurrency < 1){
+            throw new IllegalArgumentException("`--rdf-partition-concurrency` must be at least 1");
+        }
         if (scope == RdfExportScope.graph){
             if (StringUtils.isNotEmpty(namedGraph)) {
                 //Test that namedGraph is a valid URI
@@ -46,16 +58,25 @@ public class RdfExportScopeModule {
                     throw new IllegalArgumentException("Invalid named-graph URI provided", e);
                 }
             }
-            return new ExportRdfGraphJob(client, targetConfig, namedGraph);
+            if (StringUtils.isNotEmpty(namedGraph) && partitionStrategy == RdfPartitionStrategy.namedGraph){
+                throw new IllegalStateException("`--rdf-partition-strategy namedGraph` cannot be used with `--named-graph`");
+            }
+            return new ExportRdfGraphJob(client, targetConfig, namedGraph, partitionStrategy, partitionConcurrency);
         } else if (scope == RdfExportScope.edges){
             if (StringUtils.isNotEmpty(namedGraph)){
                 throw new IllegalStateException("`--named-graph` can only be used with `--rdf-export-scope graph`");
             }
-            return new ExportRdfEdgesJob(client, targetConfig);
+            if (partitionStrategy == RdfPartitionStrategy.namedGraph){
+                throw new IllegalStateException("`--rdf-partition-strategy namedGraph` can only be used with `--rdf-export-scope graph`");
+            }
+            return new ExportRdfEdgesJob(client, targetConfig, partitionStrategy, partitionConcurrency);
         } else if (scope == RdfExportScope.query){
             if (StringUtils.isNotEmpty(namedGraph)){
                 throw new IllegalStateException("`--named-graph` can only be used with `--rdf-export-scope graph`");
             }
+            if (partitionStrategy != RdfPartitionStrategy.none){
+                throw new IllegalStateException("`--rdf-partition-strategy` cannot be used with `--rdf-export-scope query`");
+            }
             if (StringUtils.isEmpty(query)){
                 throw new IllegalStateException("You must supply a SPARQL query if exporting from a query");
             }
@@ -26,8 +26,13 @@ public class RdfTargetModule extends AbstractTargetModule {
     private RdfExportFormat format = RdfExportFormat.turtle;
 
     public RdfTargetConfig config(Directories directories) {
+        return config(directories, OutputFileListener.NULL_LISTENER);
+    }
+
+    public RdfTargetConfig config(Directories directories, OutputFileListener outputFileListener) {
         return new RdfTargetConfig(directories,
                 new KinesisConfig(this),
+                fileConfig().withListener(outputFileListener),
                 getOutput(), format);
     }
 
@@ -18,15 +18,17 @@ import com.amazonaws.services.neptune.propertygraph.ExportStats;
 import com.amazonaws.services.neptune.propertygraph.schema.GraphSchema;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
-public class EventHandlerCollection implements NeptuneExportServiceEventHandler {
+public class EventHandlerCollection implements NeptuneExportServiceEventHandler, OutputFileEventHandler {
 
     private final List<NeptuneExportEventHandler> exportHandlers = new ArrayList<>();
     private final List<NeptuneExportServiceEventHandler> serviceHandlers = new ArrayList<>();
+    private final List<OutputFileEventHandler> outputFileHandlers = new ArrayList<>();
 
     private static final org.slf4j.Logger logger = LoggerFactory.getLogger(EventHandlerCollection.class);
 
@@ -35,6 +37,9 @@ public class EventHandlerCollection implements NeptuneExportServiceEventHandler
         if (NeptuneExportServiceEventHandler.class.isAssignableFrom(handler.getClass())){
             serviceHandlers.add((NeptuneExportServiceEventHandler) handler);
         }
+        if (OutputFileEventHandler.class.isAssignableFrom(handler.getClass())){
+            outputFileHandlers.add((OutputFileEventHandler) handler);
+        }
     }
 
     @Override
@@ -86,6 +91,13 @@ public class EventHandlerCollection implements NeptuneExportServiceEventHandler
         }
     }
 
+    @Override
+    public void onOutputFileClosed(Directories directories, File file) {
+        for (OutputFileEventHandler handler : outputFileHandlers) {
+            handler.onOutputFileClosed(directories, file);
+        }
+    }
+
     @Override
     public void onBeforeExport(Args args, ExportToS3NeptuneExportEventHandler.S3UploadParams s3UploadParams) {
         boolean error = false;
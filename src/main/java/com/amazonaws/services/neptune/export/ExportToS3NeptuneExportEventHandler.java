@@ -18,6 +18,7 @@ import com.amazonaws.event.ProgressEvent;
 import com.amazonaws.event.ProgressListener;
 import com.amazonaws.services.neptune.cluster.Cluster;
 import com.amazonaws.services.neptune.io.Directories;
+import com.amazonaws.services.neptune.metrics.MetricsRegistry;
 import com.amazonaws.services.neptune.propertygraph.ExportStats;
 import com.amazonaws.services.neptune.propertygraph.schema.GraphSchema;
 import com.amazonaws.services.neptune.util.CheckedActivity;
@@ -55,11 +56,13 @@ import java.util.regex.Pattern;
 import static com.amazonaws.services.neptune.export.NeptuneExportService.NEPTUNE_EXPORT_TAGS;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
-public class ExportToS3NeptuneExportEventHandler implements NeptuneExportEventHandler {
+public class ExportToS3NeptuneExportEventHandler implements NeptuneExportEventHandler, OutputFileEventHandler {
 
     public static class S3UploadParams {
         private boolean createExportSubdirectory = true;
         private boolean overwriteExisting = false;
+        private boolean uploadDuringExport = false;
+        private int uploadConcurrency = DEFAULT_UPLOAD_CONCURRENCY;
 
         public boolean createExportSubdirectory() {
             return createExportSubdirectory;
@@ -79,11 +82,31 @@ public class ExportToS3NeptuneExportEventHandler implements NeptuneExportEventHa
             return this;
         }
 
+        public boolean uploadDuringExport() {
+            return uploadDuringExport;
+        }
+
+        public S3UploadParams setUploadDuringExport(boolean uploadDuringExport) {
+            this.uploadDuringExport = uploadDuringExport;
+            return this;
+        }
+
+        public int uploadConcurrency() {
+            return uploadConcurrency;
+        }
+
+        public S3UploadParams setUploadConcurrency(int uploadConcurrency) {
+            this.uploadConcurrency = uploadConcurrency;
+            return this;
+        }
+
         @Override
         public String toString() {
             return "{" +
                     "createExportSubdirectory=" + createExportSubdirectory +
                     ", overwriteExisting=" + overwriteExisting +
+                    ", uploadDuringExport=" + uploadDuringExport +
+                    ", uploadConcurrency=" + uploadConcurrency +
                     '}';
         }
     }
@@ -98,6 +121,8 @@ public class ExportToS3NeptuneExportEventHandler implements NeptuneExportEventHa
     }
 
     private static final org.slf4j.Logger logger = LoggerFactory.getLogger(ExportToS3NeptuneExportEventHandler.class);
+    private static final int DEFAULT_UPLOAD_CONCURRENCY = 4;
+    private static final int UPLOAD_QUEUE_CAPACITY_PER_THREAD = 4;
 
     private final String localOutputPath;
     private final String outputS3Path;
@@ -112,6 +137,8 @@ public class ExportToS3NeptuneExportEventHandler implements NeptuneExportEventHa
     private static final Pattern STATUS_CODE_5XX_PATTERN = Pattern.compile("Status Code: (5\\d+)");
     private final String sseKmsKeyId;
     private final AWSCredentialsProvider s3CredentialsProvider;
+    private TransferManagerWrapper uploadPipelineTransferManager;
+    private S3UploadPipeline uploadPipeline;
 
     public ExportToS3NeptuneExportEventHandler(String localOutputPath,
                                                String outputS3Path,
@@ -165,11 +192,62 @@ public class ExportToS3NeptuneExportEventHandler implements NeptuneExportEventHa
 
             Timer.timedActivity("uploading files to S3", (CheckedActivity.Runnable) () -> {
                 deleteS3Directories(directories, outputS3ObjectInfo);
-                uploadExportFilesToS3(transferManager.get(), outputDirectory, outputS3ObjectInfo);
+                S3UploadPipeline pipeline = currentUploadPipeline();
+                if (pipeline != null) {
+                    pipeline.awaitCompletion();
+                    List<File> pendingFiles = pipeline.pendingFiles();
+                    logger.info("{} files uploaded during export, {} files remaining", pipeline.uploadedFileCount(), pendingFiles.size());
+                    uploadExportFilesToS3(transferManager.get(), outputDirectory, outputS3ObjectInfo, pendingFiles);
+                } else {
+                    uploadExportFilesToS3(transferManager.get(), outputDirectory, outputS3ObjectInfo);
+                }
                 uploadCompletionFileToS3(transferManager.get(), outputDirectory, outputS3ObjectInfo, stats, graphSchema);
             });
 
             result.set(outputS3ObjectInfo);
+        } finally {
+            closeUploadPipeline();
+        }
+    }
+
+    @Override
+    public void onOutputFileClosed(Directories directories, File file) {
+
+        if (!s3UploadParams.uploadDuringExport() || StringUtils.isEmpty(outputS3Path)) {
+            return;
+        }
+
+        uploadPipeline(directories).submit(file);
+    }
+
+    private synchronized S3UploadPipeline uploadPipeline(Directories directories) {
+        if (uploadPipeline == null) {
+            File outputDirectory = directories.rootDirectory().toFile();
+            int concurrency = Math.max(1, s3UploadParams.uploadConcurrency());
+            uploadPipelineTransferManager = new TransferManagerWrapper(s3Region, s3CredentialsProvider);
+            uploadPipeline = new S3UploadPipeline(
+                    uploadPipelineTransferManager.get(),
+                    outputDirectory,
+                    calculateOutputS3Path(outputDirectory),
+                    sseKmsKeyId,
+                    createObjectTags(profiles),
+                    concurrency,
+                    concurrency * UPLOAD_QUEUE_CAPACITY_PER_THREAD);
+            logger.info("Uploading export files to S3 as they are completed [Concurrency: {}]", concurrency);
+        }
+        return uploadPipeline;
+    }
+
+    private synchronized S3UploadPipeline currentUploadPipeline() {
+        return uploadPipeline;
+    }
+
+    private synchronized void closeUploadPipeline() {
+        if (uploadPipeline != null) {
+            uploadPipeline.close();
+            uploadPipelineTransferManager.close();
+            uploadPipeline = null;
+            uploadPipelineTransferManager = null;
         }
     }
 
@@ -180,6 +258,8 @@ public class ExportToS3NeptuneExportEventHandler implements NeptuneExportEventHa
     @Override
     public void onError() {
 
+        closeUploadPipeline();
+
         if (!uploadToS3OnError) {
             return;
         }
@@ -284,6 +364,11 @@ public class ExportToS3NeptuneExportEventHandler implements NeptuneExportEventHa
         neptuneExportNode.put("outputS3Path", outputS3ObjectInfo.toString());
         stats.addTo(neptuneExportNode, graphSchema);
 
+        MetricsRegistry metrics = MetricsRegistry.global();
+        if (!metrics.isEmpty()) {
+            neptuneExportNode.set("metrics", metrics.toJson());
+        }
+
         for (CompletionFileWriter completionFileWriter : completionFileWriters) {
             completionFileWriter.updateCompletionFile(completionFilePayload);
         }
@@ -320,12 +405,23 @@ public class ExportToS3NeptuneExportEventHandler implements NeptuneExportEventHa
     }
 
     private void uploadExportFilesToS3(TransferManager transferManager, File directory, S3ObjectInfo outputS3ObjectInfo) {
+        uploadExportFilesToS3(transferManager, directory, outputS3ObjectInfo, null);
+    }
+
+    private void uploadExportFilesToS3(TransferManager transferManager,
+                                       File directory,
+                                       S3ObjectInfo outputS3ObjectInfo,
+                                       List<File> files) {
 
         if (directory == null || !directory.exists()) {
             logger.warn("Ignoring request to upload files to S3 because upload directory from which to upload files does not exist");
             return;
         }
 
+        if (files != null && files.isEmpty()) {
+            return;
+        }
+
         boolean allowRetry = true;
         int retryCount = 0;
 
@@ -340,13 +436,23 @@ public class ExportToS3NeptuneExportEventHandler implements NeptuneExportEventHa
 
                 logger.info("Uploading export files to {}", outputS3ObjectInfo.toString());
 
-                MultipleFileUpload upload = transferManager.uploadDirectory(
-                        outputS3ObjectInfo.bucket(),
-                        outputS3ObjectInfo.key(),
-                        directory,
-                        true,
-                        metadataProvider,
-                        taggingProvider);
+                long start = System.currentTimeMillis();
+
+                MultipleFileUpload upload = files == null ?
+                        transferManager.uploadDirectory(
+                                outputS3ObjectInfo.bucket(),
+                                outputS3ObjectInfo.key(),
+                                directory,
+                                true,
+                                metadataProvider,
+                                taggingProvider) :
+                        transferManager.uploadFileList(
+                                outputS3ObjectInfo.bucket(),
+                                outputS3ObjectInfo.key(),
+                                directory,
+                                files,
+                                metadataProvider,
+                                taggingProvider);
 
                 AmazonClientException amazonClientException = upload.waitForException();
 
@@ -365,6 +471,7 @@ public class ExportToS3NeptuneExportEventHandler implements NeptuneExportEventHa
                     }
                 } else {
                     allowRetry = false;
+                    S3UploadPipeline.recordUpload(upload.getProgress().getBytesTransferred(), start);
                 }
             } catch (InterruptedException e) {
                 logger.warn(e.getMessage());
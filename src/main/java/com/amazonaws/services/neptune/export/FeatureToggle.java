@@ -18,6 +18,7 @@ public enum FeatureToggle {
     NeptuneML_V2,
     Edge_Features,
     Inject_Fault,
+    Inject_Time_Limit_Exceeded,
     Simulate_Cloned_Cluster,
     Keep_Rewritten_Files,
     Infer_RDF_Prefixes,
@@ -93,6 +93,11 @@ public class NeptuneExportLambda implements RequestStreamHandler {
                         json.path("uploadToS3OnError").toString() :
                         EnvironmentVariableUtils.getOptionalEnv("UPLOAD_TO_S3_ON_ERROR", "true"));
 
+        boolean uploadDuringExport = Boolean.parseBoolean(
+                json.has("uploadDuringExport") ?
+                        json.path("uploadDuringExport").toString() :
+                        EnvironmentVariableUtils.getOptionalEnv("UPLOAD_DURING_EXPORT", "false"));
+
         String configFileS3Path = json.has("configFileS3Path") ?
                 json.path("configFileS3Path").textValue() :
                 EnvironmentVariableUtils.getOptionalEnv("CONFIG_FILE_S3_PATH", "");
@@ -140,6 +145,7 @@ public class NeptuneExportLambda implements RequestStreamHandler {
         logger.log("createExportSubdirectory  : " + createExportSubdirectory);
         logger.log("overwriteExisting         : " + overwriteExisting);
         logger.log("uploadToS3OnError         : " + uploadToS3OnError);
+        logger.log("uploadDuringExport        : " + uploadDuringExport);
         logger.log("configFileS3Path          : " + configFileS3Path);
         logger.log("queriesFileS3Path         : " + queriesFileS3Path);
         logger.log("completionFileS3Path      : " + completionFileS3Path);
@@ -163,6 +169,7 @@ public class NeptuneExportLambda implements RequestStreamHandler {
                 createExportSubdirectory,
                 overwriteExisting,
                 uploadToS3OnError,
+                uploadDuringExport,
                 configFileS3Path,
                 queriesFileS3Path,
                 completionFileS3Path,
@@ -53,6 +53,7 @@ public class NeptuneExportService {
     private final boolean createExportSubdirectory;
     private final boolean overwriteExisting;
     private final boolean uploadToS3OnError;
+    private final boolean uploadDuringExport;
     private final String configFileS3Path;
     private final String queriesFileS3Path;
     private final String completionFileS3Path;
@@ -71,6 +72,7 @@ public class NeptuneExportService {
                                 boolean createExportSubdirectory,
                                 boolean overwriteExisting,
                                 boolean uploadToS3OnError,
+                                boolean uploadDuringExport,
                                 String configFileS3Path,
                                 String queriesFileS3Path,
                                 String completionFileS3Path,
@@ -88,6 +90,7 @@ public class NeptuneExportService {
         this.createExportSubdirectory = createExportSubdirectory;
         this.overwriteExisting = overwriteExisting;
         this.uploadToS3OnError = uploadToS3OnError;
+        this.uploadDuringExport = uploadDuringExport;
         this.configFileS3Path = configFileS3Path;
         this.queriesFileS3Path = queriesFileS3Path;
         this.completionFileS3Path = completionFileS3Path;
@@ -167,7 +170,8 @@ public class NeptuneExportService {
         ExportToS3NeptuneExportEventHandler.S3UploadParams s3UploadParams =
                 new ExportToS3NeptuneExportEventHandler.S3UploadParams()
                 .setCreateExportSubdirectory(createExportSubdirectory)
-                .setOverwriteExisting(overwriteExisting);
+                .setOverwriteExisting(overwriteExisting)
+                .setUploadDuringExport(uploadDuringExport);
 
         ExportToS3NeptuneExportEventHandler exportToS3EventHandler = new ExportToS3NeptuneExportEventHandler(
                 localOutputPath,
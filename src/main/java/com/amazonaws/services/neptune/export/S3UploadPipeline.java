@@ -0,0 +1,179 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.export;
+
+import com.amazonaws.services.neptune.metrics.ExportMetrics;
+import com.amazonaws.services.neptune.metrics.MetricsRegistry;
+import com.amazonaws.services.neptune.util.S3ObjectInfo;
+import com.amazonaws.services.s3.model.ObjectTagging;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.transfer.TransferManager;
+import org.apache.commons.io.FileUtils;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Uploads export files to S3 as soon as they are closed, so that uploading overlaps with the rest of the export.
+ * Concurrency is bounded by the number of upload threads; once the queue of waiting files is full, the thread
+ * closing the file performs the upload itself, which throttles the export to the speed of the upload.
+ */
+public class S3UploadPipeline implements AutoCloseable {
+
+    private static final org.slf4j.Logger logger = LoggerFactory.getLogger(S3UploadPipeline.class);
+
+    private final TransferManager transferManager;
+    private final Path rootDirectory;
+    private final S3ObjectInfo outputS3ObjectInfo;
+    private final String sseKmsKeyId;
+    private final ObjectTagging objectTagging;
+    private final ThreadPoolExecutor executor;
+    private final Map<File, UploadedVersion> uploadedFiles = new ConcurrentHashMap<>();
+
+    public S3UploadPipeline(TransferManager transferManager,
+                            File rootDirectory,
+                            S3ObjectInfo outputS3ObjectInfo,
+                            String sseKmsKeyId,
+                            ObjectTagging objectTagging,
+                            int concurrency,
+                            int queueCapacity) {
+
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Upload concurrency must be at least 1");
+        }
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Upload queue capacity must be at least 1");
+        }
+
+        this.transferManager = transferManager;
+        this.rootDirectory = rootDirectory.toPath().toAbsolutePath().normalize();
+        this.outputS3ObjectInfo = outputS3ObjectInfo;
+        this.sseKmsKeyId = sseKmsKeyId;
+        this.objectTagging = objectTagging;
+        this.executor = new ThreadPoolExecutor(
+                concurrency,
+                concurrency,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    public void submit(File file) {
+
+        Path path = file.toPath().toAbsolutePath().normalize();
+
+        if (!path.startsWith(rootDirectory) || !file.isFile()) {
+            logger.debug("Ignoring {} because it is not an export file", file);
+            return;
+        }
+
+        if (executor.isShutdown()) {
+            logger.debug("Ignoring {} because upload pipeline has been shut down", file);
+            return;
+        }
+
+        executor.execute(() -> upload(path.toFile()));
+    }
+
+    public void awaitCompletion() throws InterruptedException {
+        executor.shutdown();
+        while (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            logger.info("Waiting for {} in-flight S3 uploads to complete", executor.getActiveCount() + executor.getQueue().size());
+        }
+    }
+
+    /**
+     * Files under the root directory that have not been uploaded, or that have changed since they were uploaded.
+     */
+    public List<File> pendingFiles() {
+
+        List<File> pendingFiles = new ArrayList<>();
+
+        if (!rootDirectory.toFile().exists()) {
+            return pendingFiles;
+        }
+
+        for (File file : FileUtils.listFiles(rootDirectory.toFile(), null, true)) {
+            UploadedVersion uploadedVersion = uploadedFiles.get(file.getAbsoluteFile());
+            if (uploadedVersion == null || !uploadedVersion.matches(file)) {
+                pendingFiles.add(file);
+            }
+        }
+
+        return pendingFiles;
+    }
+
+    public int uploadedFileCount() {
+        return uploadedFiles.size();
+    }
+
+    static void recordUpload(long bytes, long start) {
+        MetricsRegistry metrics = MetricsRegistry.global();
+        metrics.counter(ExportMetrics.S3_UPLOAD_BYTES).add(bytes);
+        metrics.latencyHistogram(ExportMetrics.S3_UPLOAD_LATENCY).record(System.currentTimeMillis() - start);
+    }
+
+    private void upload(File file) {
+
+        UploadedVersion version = new UploadedVersion(file);
+        String relativePath = rootDirectory.relativize(file.toPath()).toString().replace(File.separatorChar, '/');
+        S3ObjectInfo s3ObjectInfo = outputS3ObjectInfo.withNewKeySuffix(relativePath);
+
+        try {
+            PutObjectRequest putObjectRequest = new PutObjectRequest(s3ObjectInfo.bucket(), s3ObjectInfo.key(), file)
+                    .withMetadata(S3ObjectInfo.createObjectMetadata(version.length, sseKmsKeyId))
+                    .withTagging(objectTagging);
+
+            long start = System.currentTimeMillis();
+            transferManager.upload(putObjectRequest).waitForUploadResult();
+            recordUpload(version.length, start);
+
+            uploadedFiles.put(file.getAbsoluteFile(), version);
+            logger.info("Uploaded {} to {}", file.getName(), s3ObjectInfo);
+
+        } catch (InterruptedException e) {
+            logger.warn("Interrupted while uploading {}, file will be uploaded at end of export", file);
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.warn("Failed to upload {}, file will be uploaded at end of export: {}", file, e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private static class UploadedVersion {
+        private final long length;
+        private final long lastModified;
+
+        private UploadedVersion(File file) {
+            this.length = file.length();
+            this.lastModified = file.lastModified();
+        }
+
+        boolean matches(File file) {
+            return file.length() == length && file.lastModified() == lastModified;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.io;
+
+public class CommitPolicy {
+
+    public static final CommitPolicy EVERY_COMMIT = new CommitPolicy(0, 0);
+
+    private final long flushThreshold;
+    private final long flushIntervalMillis;
+
+    public CommitPolicy(long flushThreshold, long flushIntervalMillis) {
+        if (flushThreshold < 0) {
+            throw new IllegalArgumentException("Flush threshold must be zero or greater");
+        }
+        if (flushIntervalMillis < 0) {
+            throw new IllegalArgumentException("Flush interval must be zero or greater");
+        }
+        this.flushThreshold = flushThreshold;
+        this.flushIntervalMillis = flushIntervalMillis;
+    }
+
+    public long flushThreshold() {
+        return flushThreshold;
+    }
+
+    public long flushIntervalMillis() {
+        return flushIntervalMillis;
+    }
+
+    boolean shouldFlush(long pendingChars, long lastFlushMillis) {
+        return pendingChars >= flushThreshold ||
+                System.currentTimeMillis() - lastFlushMillis >= flushIntervalMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "CommitPolicy{" +
+                "flushThreshold=" + flushThreshold +
+                ", flushIntervalMillis=" + flushIntervalMillis +
+                '}';
+    }
+}
@@ -0,0 +1,88 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.io;
+
+import java.io.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+public enum CompressionCodec {
+
+    none {
+        @Override
+        public String extension() {
+            return "";
+        }
+
+        @Override
+        public OutputStream compress(OutputStream out, int bufferSize) {
+            return out;
+        }
+
+        @Override
+        public InputStream decompress(InputStream in, int bufferSize) {
+            return in;
+        }
+    },
+    gzip {
+        @Override
+        public String extension() {
+            return ".gz";
+        }
+
+        @Override
+        public OutputStream compress(OutputStream out, int bufferSize) throws IOException {
+            return new GZIPOutputStream(out, bufferSize);
+        }
+
+        @Override
+        public InputStream decompress(InputStream in, int bufferSize) throws IOException {
+            return new GZIPInputStream(in, bufferSize);
+        }
+    };
+
+    public abstract String extension();
+
+    public abstract OutputStream compress(OutputStream out, int bufferSize) throws IOException;
+
+    public abstract InputStream decompress(InputStream in, int bufferSize) throws IOException;
+
+    public static CompressionCodec forFile(File file) {
+        for (CompressionCodec codec : values()) {
+            if (codec != none && file.getName().endsWith(codec.extension())) {
+                return codec;
+            }
+        }
+        return none;
+    }
+
+    public static String removeExtension(String filename) {
+        CompressionCodec codec = forFile(new File(filename));
+        return filename.substring(0, filename.length() - codec.extension().length());
+    }
+
+    public static Reader newReader(File file) throws IOException {
+        CompressionCodec codec = forFile(file);
+        if (codec == none) {
+            return new FileReader(file);
+        }
+        return new InputStreamReader(codec.decompress(new FileInputStream(file), FileConfig.DEFAULT_BUFFER_SIZE));
+    }
+
+    public Writer newWriter(File file, int bufferSize) throws IOException {
+        if (this == none) {
+            return new BufferedWriter(new FileWriter(file), bufferSize);
+        }
+        return new BufferedWriter(new OutputStreamWriter(compress(new FileOutputStream(file), bufferSize)), bufferSize);
+    }
+}
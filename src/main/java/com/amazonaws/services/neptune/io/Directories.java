@@ -48,6 +48,7 @@ public class Directories {
     private static final String STATS_FILE = "stats.json";
     private static final String LAST_EVENT_ID_FILE = "lastEventId.json";
     private static final String QUERIES_FILE = "queries.json";
+    private static final String CHECKPOINT_FILE = "checkpoint.json";
 
 
     public static Directories createFor(DirectoryStructure directoryStructure,
@@ -306,6 +307,10 @@ public class Directories {
         return directory.resolve(QUERIES_FILE).toAbsolutePath();
     }
 
+    public Path checkpointFilePath() {
+        return directory.resolve(CHECKPOINT_FILE).toAbsolutePath();
+    }
+
     public Path debugFilePath(String name) {
         return directory.resolve(name + ".txt").toAbsolutePath();
     }
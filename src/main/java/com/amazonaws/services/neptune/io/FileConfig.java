@@ -0,0 +1,67 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.io;
+
+public class FileConfig {
+
+    public static final int DEFAULT_BUFFER_SIZE = 65536;
+    public static final long DEFAULT_FLUSH_THRESHOLD = DEFAULT_BUFFER_SIZE;
+    public static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 5000;
+
+    public static final FileConfig DEFAULT = new FileConfig(
+            DEFAULT_BUFFER_SIZE,
+            new CommitPolicy(DEFAULT_FLUSH_THRESHOLD, DEFAULT_FLUSH_INTERVAL_MILLIS));
+
+    private final int bufferSize;
+    private final CommitPolicy commitPolicy;
+    private final OutputFileListener listener;
+    private final CompressionCodec compressionCodec;
+
+    public FileConfig(int bufferSize, CommitPolicy commitPolicy) {
+        this(bufferSize, commitPolicy, OutputFileListener.NULL_LISTENER);
+    }
+
+    public FileConfig(int bufferSize, CommitPolicy commitPolicy, OutputFileListener listener) {
+        this(bufferSize, commitPolicy, listener, CompressionCodec.none);
+    }
+
+    public FileConfig(int bufferSize, CommitPolicy commitPolicy, OutputFileListener listener, CompressionCodec compressionCodec) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("File buffer size must be greater than zero");
+        }
+        this.bufferSize = bufferSize;
+        this.commitPolicy = commitPolicy;
+        this.listener = listener;
+        this.compressionCodec = compressionCodec;
+    }
+
+    public int bufferSize() {
+        return bufferSize;
+    }
+
+    public CommitPolicy commitPolicy() {
+        return commitPolicy;
+    }
+
+    public OutputFileListener listener() {
+        return listener;
+    }
+
+    public CompressionCodec compressionCodec() {
+        return compressionCodec;
+    }
+
+    public FileConfig withListener(OutputFileListener listener) {
+        return new FileConfig(bufferSize, commitPolicy, listener, compressionCodec);
+    }
+}
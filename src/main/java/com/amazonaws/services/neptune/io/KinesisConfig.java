@@ -19,9 +19,10 @@ import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class KinesisConfig {
+public class KinesisConfig implements AutoCloseable {
 
     private final Stream stream;
+    private final StreamPublisher publisher;
     private static final Logger logger = LoggerFactory.getLogger(KinesisConfig.class);
 
     @Deprecated
@@ -66,10 +67,14 @@ public class KinesisConfig {
                             .setCredentialsProvider(targetModule.getCredentialsProvider())
                     ),
                     targetModule.getStreamName(),
-                    targetModule.getLargeStreamRecordHandlingStrategy());
+                    targetModule.getLargeStreamRecordHandlingStrategy(),
+                    targetModule.getPartitionKeyStrategy(),
+                    targetModule.isPackStreamRecords());
+            this.publisher = new StreamPublisher(stream);
         }
         else {
             this.stream = null;
+            this.publisher = null;
         }
     }
 
@@ -79,4 +84,16 @@ public class KinesisConfig {
         }
         return stream;
     }
+
+    public StreamPublisher publisher() {
+        stream();
+        return publisher;
+    }
+
+    @Override
+    public void close() {
+        if (publisher != null) {
+            publisher.close();
+        }
+    }
 }
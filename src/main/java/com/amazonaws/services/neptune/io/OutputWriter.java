@@ -26,6 +26,8 @@ public interface OutputWriter extends AutoCloseable {
 
     void print(String s);
 
+    void write(char[] buf, int off, int len);
+
     Writer writer();
 
     void startOp();
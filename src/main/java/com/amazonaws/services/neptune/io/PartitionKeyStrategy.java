@@ -0,0 +1,66 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.io;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.apache.commons.lang.StringUtils;
+
+import java.io.IOException;
+
+public enum PartitionKeyStrategy {
+    counter {
+        @Override
+        public String partitionKeyFor(String record) {
+            return null;
+        }
+    },
+    elementId {
+        @Override
+        public String partitionKeyFor(String record) {
+            String id = elementIdOf(record);
+            return id == null ? null : Integer.toHexString(id.hashCode());
+        }
+    };
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /**
+     * Returns the partition key for a record, or null if the record can be given any partition key, in which
+     * case it is assigned the next value of a counter when it is added to the stream.
+     */
+    public abstract String partitionKeyFor(String record);
+
+    // The ID of the first element in a Neptune Streams format record, or the subject of its first statement
+    static String elementIdOf(String record) {
+        try (JsonParser parser = JSON_FACTORY.createParser(record)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token == JsonToken.FIELD_NAME) {
+                    String fieldName = parser.getCurrentName();
+                    if (("id".equals(fieldName) || "stmt".equals(fieldName)) &&
+                            parser.nextToken() == JsonToken.VALUE_STRING) {
+                        String value = parser.getText();
+                        if (StringUtils.isNotEmpty(value)) {
+                            return "id".equals(fieldName) ? value : StringUtils.substringBefore(value, " ");
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // Not a JSON record, so it can be given any partition key
+        }
+        return null;
+    }
+}
@@ -18,57 +18,86 @@ public class PrintOutputWriter extends PrintWriter implements OutputWriter {
 
     private final String outputId;
     private final boolean isNewTarget;
+    private final CommitPolicy commitPolicy;
+    private final OutputFileListener listener;
+    private boolean isClosed = false;
+    private long pendingChars = 0;
+    private long lastFlushMillis = System.currentTimeMillis();
 
     public PrintOutputWriter(String outputId, Writer out) {
         this(outputId, true, out);
     }
 
     public PrintOutputWriter(String outputId, boolean isNewTarget, Writer out) {
+        this(outputId, isNewTarget, out, CommitPolicy.EVERY_COMMIT);
+    }
+
+    public PrintOutputWriter(String outputId, boolean isNewTarget, Writer out, CommitPolicy commitPolicy) {
+        this(outputId, isNewTarget, out, commitPolicy, OutputFileListener.NULL_LISTENER);
+    }
+
+    public PrintOutputWriter(String outputId, boolean isNewTarget, Writer out, CommitPolicy commitPolicy, OutputFileListener listener) {
         super(out);
         this.outputId = outputId;
         this.isNewTarget = isNewTarget;
+        this.commitPolicy = commitPolicy;
+        this.listener = listener;
     }
 
     PrintOutputWriter(String outputId, Writer out, boolean autoFlush) {
         super(out, autoFlush);
         this.outputId = outputId;
         this.isNewTarget = false;
+        this.commitPolicy = CommitPolicy.EVERY_COMMIT;
+        this.listener = OutputFileListener.NULL_LISTENER;
     }
 
     PrintOutputWriter(String outputId, OutputStream out) {
         super(out);
         this.outputId = outputId;
         this.isNewTarget = false;
+        this.commitPolicy = CommitPolicy.EVERY_COMMIT;
+        this.listener = OutputFileListener.NULL_LISTENER;
     }
 
     PrintOutputWriter(String outputId, OutputStream out, boolean autoFlush) {
         super(out, autoFlush);
         this.outputId = outputId;
         this.isNewTarget = false;
+        this.commitPolicy = CommitPolicy.EVERY_COMMIT;
+        this.listener = OutputFileListener.NULL_LISTENER;
     }
 
     PrintOutputWriter(String fileName) throws FileNotFoundException {
         super(fileName);
         this.outputId = fileName;
         this.isNewTarget = false;
+        this.commitPolicy = CommitPolicy.EVERY_COMMIT;
+        this.listener = OutputFileListener.NULL_LISTENER;
     }
 
     PrintOutputWriter(String fileName, String csn) throws FileNotFoundException, UnsupportedEncodingException {
         super(fileName, csn);
         this.outputId = fileName;
         this.isNewTarget = false;
+        this.commitPolicy = CommitPolicy.EVERY_COMMIT;
+        this.listener = OutputFileListener.NULL_LISTENER;
     }
 
     PrintOutputWriter(File file) throws FileNotFoundException {
         super(file);
         this.outputId = file.getAbsolutePath();
         this.isNewTarget = false;
+        this.commitPolicy = CommitPolicy.EVERY_COMMIT;
+        this.listener = OutputFileListener.NULL_LISTENER;
     }
 
     PrintOutputWriter(File file, String csn) throws FileNotFoundException, UnsupportedEncodingException {
         super(file, csn);
         this.outputId = file.getAbsolutePath();
         this.isNewTarget = false;
+        this.commitPolicy = CommitPolicy.EVERY_COMMIT;
+        this.listener = OutputFileListener.NULL_LISTENER;
     }
 
     @Override
@@ -88,7 +117,34 @@ public class PrintOutputWriter extends PrintWriter implements OutputWriter {
 
     @Override
     public void endCommit() {
-        flush();
+        if (commitPolicy.shouldFlush(pendingChars, lastFlushMillis)) {
+            flush();
+        }
+    }
+
+    @Override
+    public void write(int c) {
+        pendingChars++;
+        super.write(c);
+    }
+
+    @Override
+    public void write(char[] buf, int off, int len) {
+        pendingChars += len;
+        super.write(buf, off, len);
+    }
+
+    @Override
+    public void write(String s, int off, int len) {
+        pendingChars += len;
+        super.write(s, off, len);
+    }
+
+    @Override
+    public void flush() {
+        super.flush();
+        pendingChars = 0;
+        lastFlushMillis = System.currentTimeMillis();
     }
 
     @Override
@@ -115,5 +171,9 @@ public class PrintOutputWriter extends PrintWriter implements OutputWriter {
     public void close() {
         super.flush();
         super.close();
+        if (!isClosed) {
+            isClosed = true;
+            listener.onOutputFileClosed(new File(outputId));
+        }
     }
 }
@@ -0,0 +1,74 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.io;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Objects;
+
+/**
+ * Packs consecutive records that share a partition key into a single record, up to a maximum size. Each record is
+ * a JSON array of events, so records are packed by joining their arrays. Each publishing thread has its own packer,
+ * so packing does not contend on a shared lock, except when the stream is flushed.
+ */
+class RecordPacker {
+
+    interface Sink {
+        void addUserRecord(String partitionKey, byte[] bytes);
+    }
+
+    private final int maxSizeBytes;
+    private final Sink sink;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private String partitionKey;
+
+    RecordPacker(int maxSizeBytes, Sink sink) {
+        this.maxSizeBytes = maxSizeBytes;
+        this.sink = sink;
+    }
+
+    synchronized void add(String partitionKey, byte[] bytes) {
+        if (!isArray(bytes)) {
+            flush();
+            sink.addUserRecord(partitionKey, bytes);
+            return;
+        }
+
+        // Packing replaces the closing bracket of the packed record and the opening bracket of the new one with a comma
+        if (buffer.size() > 0 &&
+                (!Objects.equals(this.partitionKey, partitionKey) || buffer.size() + bytes.length > maxSizeBytes)) {
+            flush();
+        }
+
+        if (buffer.size() == 0) {
+            this.partitionKey = partitionKey;
+            buffer.write(bytes, 0, bytes.length - 1);
+        } else {
+            buffer.write(',');
+            buffer.write(bytes, 1, bytes.length - 2);
+        }
+    }
+
+    synchronized void flush() {
+        if (buffer.size() == 0) {
+            return;
+        }
+        buffer.write(']');
+        byte[] bytes = buffer.toByteArray();
+        buffer.reset();
+        sink.addUserRecord(partitionKey, bytes);
+    }
+
+    private static boolean isArray(byte[] bytes) {
+        return bytes.length >= 2 && bytes[0] == '[' && bytes[bytes.length - 1] == ']';
+    }
+}
@@ -12,11 +12,12 @@ permissions and limitations under the License.
 
 package com.amazonaws.services.neptune.io;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.JsonNodeType;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Resource;
@@ -34,13 +35,24 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
-
+import java.util.function.Supplier;
+
+/**
+ * Splits a batch of records into individual Kinesis records, shredding the values of records that are still too
+ * large across several records.
+ * <p>
+ * The batch is read with a streaming parser, and each element is copied once into a reusable buffer. The opNum
+ * and the value to be shredded are located in the buffer as they are copied, so that each shredded record can be
+ * assembled from the copied text either side of them, without re-serializing the event.
+ */
 public class RecordSplitter {
 
     private static final Logger logger = LoggerFactory.getLogger(RecordSplitter.class);
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
 
     public static Collection<String> splitByLength(String s, int length){
         return splitByLength(s ,length, 10);
@@ -49,139 +61,251 @@ public class RecordSplitter {
     public static Collection<String> splitByLength(String s, int length, int wordBoundaryMargin) {
 
         int startIndex = 0;
+        // A record with very little room left for its value still makes progress, rather than looping forever
+        length = Math.max(1, length);
 
         Collection<String> results = new ArrayList<>();
 
         while (startIndex < s.length()) {
 
-            boolean foundWordBoundary = false;
-
             int endIndex = Math.min(startIndex + length, s.length());
             int minCandidateEndIndex = Math.max(startIndex +1, endIndex - wordBoundaryMargin);
 
-            for (int actualEndIndex = endIndex; actualEndIndex >= minCandidateEndIndex; actualEndIndex--){
-
-                if (!StringUtils.isAlphanumeric( s.substring(actualEndIndex - 1, actualEndIndex))){
-
-                    String result = s.substring(startIndex, actualEndIndex);
-                    String trimmedResult = result.trim();
-                    if (StringUtils.isNotEmpty(trimmedResult)){
-                        results.add(trimmedResult);
-                    }
-                    startIndex = actualEndIndex;
-                    foundWordBoundary = true;
+            // Fall back to splitting mid-word if there is no word boundary within the margin
+            int actualEndIndex = endIndex;
+            for (int candidateEndIndex = endIndex; candidateEndIndex >= minCandidateEndIndex; candidateEndIndex--){
+                if (!Character.isLetterOrDigit(s.charAt(candidateEndIndex - 1))){
+                    actualEndIndex = candidateEndIndex;
                     break;
                 }
             }
 
-            if (!foundWordBoundary){
-                String result = s.substring(startIndex, endIndex);
-                String trimmedResult = result.trim();
-                if (StringUtils.isNotEmpty(trimmedResult)){
-                    results.add(trimmedResult);
-                }
-                startIndex = endIndex;
-            }
-
+            addTrimmed(s, startIndex, actualEndIndex, results);
+            startIndex = actualEndIndex;
         }
 
         return results;
 
     }
 
+    private static void addTrimmed(String s, int startIndex, int endIndex, Collection<String> results) {
+        while (startIndex < endIndex && s.charAt(startIndex) <= ' ') {
+            startIndex++;
+        }
+        while (endIndex > startIndex && s.charAt(endIndex - 1) <= ' ') {
+            endIndex--;
+        }
+        if (startIndex < endIndex) {
+            results.add(s.substring(startIndex, endIndex));
+        }
+    }
+
     private static int calculateStringMaxLength(int maxLength, int recordLength, int valueLength) {
         return maxLength - (recordLength - valueLength) - 2;
     }
 
     private final int maxSize;
     private final LargeStreamRecordHandlingStrategy largeStreamRecordHandlingStrategy;
-    private final ObjectMapper mapper = new ObjectMapper();
     private final RDFParser parser = new NQuadsParserFactory().getParser();
     private final StatementHandler handler = new StatementHandler();
+    private final StringWriter buffer = new StringWriter();
+    private final StringBuilder record = new StringBuilder();
+    private JsonGenerator generator;
+    private final EventTemplate template = new EventTemplate();
 
     public RecordSplitter(int maxSize, LargeStreamRecordHandlingStrategy largeStreamRecordHandlingStrategy) {
         this.maxSize = maxSize;
         this.largeStreamRecordHandlingStrategy = largeStreamRecordHandlingStrategy;
         this.parser.setRDFHandler(handler);
+        this.generator = createGenerator();
     }
 
     public Collection<String> split(String s) {
+        try (JsonParser jsonParser = JSON_FACTORY.createParser(s)) {
+            return split(jsonParser, () -> s);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public Collection<String> split(byte[] bytes) {
+        try (JsonParser jsonParser = JSON_FACTORY.createParser(bytes)) {
+            return split(jsonParser, () -> new String(bytes, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Collection<String> split(JsonParser jsonParser, Supplier<String> s) throws IOException {
         Collection<String> results = new ArrayList<>();
         int opNum = 1;
         try {
-            JsonNode json = mapper.readTree(s);
-            for (JsonNode jsonNode : json) {
-                if (isNeptuneStreamEvent(jsonNode)) {
-                    Collection<String> events = splitNeptuneStreamEvent(jsonNode, opNum);
-                    results.addAll(events);
-                    opNum += events.size();
-                } else {
-                    JsonNodeType nodeType = jsonNode.getNodeType();
-                    if (nodeType == JsonNodeType.NUMBER) {
-                        results.addAll(splitNumber(jsonNode));
-                    } else if (nodeType == JsonNodeType.STRING) {
-                        results.addAll(splitString(jsonNode));
-                    } else {
-                        // This may end up being dropped
-                        results.add(format(jsonNode.toString()));
-                    }
+            JsonToken token = jsonParser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                while ((token = jsonParser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+                    opNum = splitElement(jsonParser, token, opNum, results);
+                }
+            } else if (token == JsonToken.START_OBJECT) {
+                // As with a tree, the elements of an object are its field values
+                while (jsonParser.nextToken() == JsonToken.FIELD_NAME) {
+                    opNum = splitElement(jsonParser, jsonParser.nextToken(), opNum, results);
                 }
             }
         } catch (JsonProcessingException e) {
+            // The generator may have been left part way through an object
+            generator = createGenerator();
+            results.clear();
             // This will almost certainly be dropped
-            results.add(s);
+            results.add(s.get());
         }
         return results;
     }
 
-    private Collection<String> splitNeptuneStreamEvent(JsonNode jsonNode, int opNum) {
-        Collection<String> results = new ArrayList<>();
-        ((ObjectNode) jsonNode.get("eventId")).replace("opNum", mapper.valueToTree(opNum));
-        String jsonString = jsonNode.toString();
-        int eventJsonLength = jsonString.length();
-        if (eventJsonLength > maxSize && largeStreamRecordHandlingStrategy.allowShred()) {
-            if (isProperytGraphEvent(jsonNode)) {
-                String value = jsonNode.get("data").get("value").get("value").textValue();
+    private JsonGenerator createGenerator() {
+        try {
+            JsonGenerator jsonGenerator = JSON_FACTORY.createGenerator(buffer);
+            jsonGenerator.setRootValueSeparator(null);
+            return jsonGenerator;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private int splitElement(JsonParser jsonParser, JsonToken token, int opNum, Collection<String> results) throws IOException {
+        if (token == JsonToken.START_OBJECT) {
+            template.reset();
+            buffer.getBuffer().setLength(0);
+            copyObject(jsonParser, opNum, 0);
+            generator.flush();
+            if (template.isNeptuneStreamEvent) {
+                return splitNeptuneStreamEvent(opNum, results);
+            }
+            results.add(format(buffer.getBuffer()));
+        } else if (token == JsonToken.VALUE_NUMBER_INT) {
+            results.add(format(String.valueOf(jsonParser.getNumberValue())));
+        } else if (token == JsonToken.VALUE_NUMBER_FLOAT) {
+            results.add(format(String.valueOf(jsonParser.getDoubleValue())));
+        } else if (token == JsonToken.VALUE_STRING) {
+            results.addAll(splitString(jsonParser.getText()));
+        } else {
+            // This may end up being dropped
+            buffer.getBuffer().setLength(0);
+            generator.copyCurrentStructure(jsonParser);
+            generator.flush();
+            results.add(format(buffer.getBuffer()));
+        }
+        return opNum;
+    }
+
+    // Copies an object into the buffer, replacing eventId.opNum and noting where it, and the data.value.value or
+    // data.stmt string that would be shredded, were written
+    private void copyObject(JsonParser jsonParser, int opNum, int depth) throws IOException {
+        String path = template.path;
+        generator.writeStartObject();
+        boolean hasOpNum = false;
+        while (jsonParser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = jsonParser.getCurrentName();
+            JsonToken token = jsonParser.nextToken();
+            generator.writeFieldName(fieldName);
+            String fieldPath = path + "/" + fieldName;
+            if (fieldPath.equals("/eventId/opNum")) {
+                hasOpNum = true;
+                jsonParser.skipChildren();
+                writeOpNum(opNum);
+            } else if (token == JsonToken.VALUE_STRING && (fieldPath.equals("/data/value/value") || fieldPath.equals("/data/stmt"))) {
+                String value = jsonParser.getText();
+                String quotedValue = quote(value);
+                generator.writeRawValue(quotedValue);
+                generator.flush();
+                template.value = value;
+                template.isStatement = fieldPath.equals("/data/stmt");
+                template.valueEnd = buffer.getBuffer().length();
+                template.valueStart = template.valueEnd - quotedValue.length();
+            } else if (token == JsonToken.START_OBJECT && depth < 2) {
+                template.path = fieldPath;
+                copyObject(jsonParser, opNum, depth + 1);
+                template.path = path;
+            } else {
+                generator.copyCurrentStructure(jsonParser);
+            }
+            if (depth == 0 && fieldName.equals("eventId")) {
+                template.isNeptuneStreamEvent = true;
+            }
+        }
+        if (path.equals("/eventId") && !hasOpNum) {
+            generator.writeFieldName("opNum");
+            writeOpNum(opNum);
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeOpNum(int opNum) throws IOException {
+        generator.writeNumber(opNum);
+        generator.flush();
+        template.opNumEnd = buffer.getBuffer().length();
+        template.opNumStart = template.opNumEnd - String.valueOf(opNum).length();
+    }
+
+    private int splitNeptuneStreamEvent(int opNum, Collection<String> results) {
+        StringBuffer event = buffer.getBuffer();
+        int eventJsonLength = event.length();
+        if (eventJsonLength > maxSize && largeStreamRecordHandlingStrategy.allowShred() && template.value != null) {
+            String value = template.value;
+            if (!template.isStatement) {
                 int maxStringLength = calculateStringMaxLength(maxSize, eventJsonLength, value.length());
-                Collection<String> splitValues = splitByLength(value, maxStringLength);
-                for (String splitValue : splitValues) {
-                    ((ObjectNode) jsonNode.get("eventId")).replace("opNum", mapper.valueToTree(opNum));
-                    ((ObjectNode) jsonNode.get("data").get("value")).replace("value", mapper.valueToTree(splitValue));
-                    results.add(format(jsonNode.toString()));
+                for (String splitValue : splitByLength(value, maxStringLength)) {
+                    results.add(formatEvent(event, opNum, quote(splitValue)));
                     opNum += 1;
                 }
             } else {
-                String statement = jsonNode.get("data").get("stmt").textValue();
-                int statementLength = statement.length();
+                int statementLength = value.length();
                 int maxStatementLength = calculateStringMaxLength(maxSize, eventJsonLength, statementLength);
                 handler.reset(statementLength, maxStatementLength);
                 try {
-                    parser.parse(new StringReader(statement));
+                    parser.parse(new StringReader(value));
                     for (String splitStatement : handler.statements()) {
-                        ((ObjectNode) jsonNode.get("eventId")).replace("opNum", mapper.valueToTree(opNum));
-                        ((ObjectNode) jsonNode.get("data")).replace("stmt", mapper.valueToTree(splitStatement));
-                        results.add(format(jsonNode.toString()));
+                        results.add(formatEvent(event, opNum, quote(splitStatement)));
                         opNum += 1;
                     }
                 } catch (IOException e) {
                     // What to do here?
-                    results.add(format(jsonString));
+                    results.add(format(event));
+                    opNum += 1;
                 }
             }
         } else {
-            results.add(format(jsonString));
+            results.add(format(event));
+            opNum += 1;
         }
-
-        return results;
+        return opNum;
     }
 
-    private boolean isProperytGraphEvent(JsonNode jsonNode) {
-        return jsonNode.get("data").has("value");
+    // Assembles a record from the copied event, with the given opNum and value
+    private String formatEvent(CharSequence event, int opNum, String quotedValue) {
+        record.setLength(0);
+        record.append('[');
+        if (template.opNumStart < 0) {
+            record.append(event, 0, template.valueStart)
+                    .append(quotedValue)
+                    .append(event, template.valueEnd, event.length());
+        } else if (template.opNumStart < template.valueStart) {
+            record.append(event, 0, template.opNumStart)
+                    .append(opNum)
+                    .append(event, template.opNumEnd, template.valueStart)
+                    .append(quotedValue)
+                    .append(event, template.valueEnd, event.length());
+        } else {
+            record.append(event, 0, template.valueStart)
+                    .append(quotedValue)
+                    .append(event, template.valueEnd, template.opNumStart)
+                    .append(opNum)
+                    .append(event, template.opNumEnd, event.length());
+        }
+        return record.append(']').toString();
     }
 
-    private Collection<String> splitString(JsonNode jsonNode) {
+    private Collection<String> splitString(String jsonString) {
         Collection<String> results = new ArrayList<>();
-        String jsonString = jsonNode.textValue();
         if (jsonString.length() > maxSize) {
             Collection<String> splitValues = splitByLength(jsonString, maxSize);
             for (String splitValue : splitValues) {
@@ -193,23 +317,46 @@ public class RecordSplitter {
         return results;
     }
 
-    private Collection<String> splitNumber(JsonNode jsonNode) {
-        return Collections.singletonList(format(jsonNode.asText()));
-    }
-
-    private boolean isNeptuneStreamEvent(JsonNode jsonNode) {
-        return jsonNode.has("eventId");
+    private String quote(String value) {
+        record.setLength(0);
+        record.append('"');
+        JsonStringEncoder.getInstance().quoteAsString(value, record);
+        return record.append('"').toString();
     }
 
-    private String format(String s) {
+    private String format(CharSequence s) {
         return format(s, false);
     }
 
-    private String format(String s, boolean addQuotes) {
+    private String format(CharSequence s, boolean addQuotes) {
+        record.setLength(0);
         if (addQuotes) {
-            return String.format("[\"%s\"]", s);
+            record.append("[\"").append(s).append("\"]");
         } else {
-            return String.format("[%s]", s);
+            record.append('[').append(s).append(']');
+        }
+        return record.toString();
+    }
+
+    private static class EventTemplate {
+        private String path;
+        private boolean isNeptuneStreamEvent;
+        private boolean isStatement;
+        private String value;
+        private int valueStart;
+        private int valueEnd;
+        private int opNumStart;
+        private int opNumEnd;
+
+        private void reset() {
+            path = "";
+            isNeptuneStreamEvent = false;
+            isStatement = false;
+            value = null;
+            valueStart = -1;
+            valueEnd = -1;
+            opNumStart = -1;
+            opNumEnd = -1;
         }
     }
 
@@ -12,8 +12,16 @@ permissions and limitations under the License.
 
 package com.amazonaws.services.neptune.io;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Supplier;
 
 import org.slf4j.Logger;
@@ -23,11 +31,16 @@ public class Status {
 
     private static final Logger logger = LoggerFactory.getLogger(Status.class);
 
-    private final AtomicLong counter = new AtomicLong();
+    static final long REPORT_INTERVAL_MILLIS = 1000;
+
+    // Updates only add to a striped counter, and progress is reported from a shared timer, so that threads
+    // updating the same status do not contend on a single counter
+    private final LongAdder counter = new LongAdder();
     private final AtomicBoolean allowContinue = new AtomicBoolean(true);
     private final StatusOutputFormat outputFormat;
     private final String description;
     private final Supplier<String> additionalDetailsSupplier;
+    private long lastReportedValue = 0;
 
     public Status(StatusOutputFormat outputFormat) {
         this(outputFormat, "");
@@ -41,15 +54,15 @@ public class Status {
         this.outputFormat = outputFormat;
         this.description = description;
         this.additionalDetailsSupplier = additionalDetailsSupplier;
+        Reporter.register(this);
     }
 
     public void update() {
-        long counterValue = counter.incrementAndGet();
-        if (counterValue % 10000 == 0 && outputFormat == StatusOutputFormat.Dot) {
-            System.err.print(".");
-        } else if (counterValue % 100000 == 0 && outputFormat == StatusOutputFormat.Description) {
-            logger.info("{} ({}){}", counterValue, description, additionalDetailsSupplier.get());
-        }
+        counter.increment();
+    }
+
+    public long count() {
+        return counter.sum();
     }
 
     public boolean allowContinue() {
@@ -58,5 +71,57 @@ public class Status {
 
     public void halt() {
         allowContinue.set(false);
+        // Report progress made since the last timer tick, which would otherwise never be shown
+        report();
+        Reporter.deregister(this);
+    }
+
+    synchronized void report() {
+        long counterValue = counter.sum();
+        if (outputFormat == StatusOutputFormat.Dot) {
+            for (long i = lastReportedValue / 10000; i < counterValue / 10000; i++) {
+                System.err.print(".");
+            }
+        } else if (outputFormat == StatusOutputFormat.Description && counterValue / 100000 > lastReportedValue / 100000) {
+            logger.info("{} ({}){}", counterValue, description, additionalDetailsSupplier.get());
+        }
+        lastReportedValue = counterValue;
+    }
+
+    private static class Reporter {
+
+        // Statuses that are never halted are released once they are no longer referenced
+        private static final Map<Status, Boolean> statuses = Collections.synchronizedMap(new WeakHashMap<>());
+        private static final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "status-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        static {
+            timer.scheduleAtFixedRate(Reporter::reportAll, REPORT_INTERVAL_MILLIS, REPORT_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+
+        static void register(Status status) {
+            statuses.put(status, Boolean.TRUE);
+        }
+
+        static void deregister(Status status) {
+            statuses.remove(status);
+        }
+
+        private static void reportAll() {
+            List<Status> snapshot;
+            synchronized (statuses) {
+                snapshot = new ArrayList<>(statuses.keySet());
+            }
+            for (Status status : snapshot) {
+                try {
+                    status.report();
+                } catch (Exception e) {
+                    logger.warn("Error while reporting status", e);
+                }
+            }
+        }
     }
 }
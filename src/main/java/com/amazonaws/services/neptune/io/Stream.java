@@ -13,9 +13,12 @@ permissions and limitations under the License.
 package com.amazonaws.services.neptune.io;
 
 import com.amazonaws.services.kinesis.producer.Attempt;
-import com.amazonaws.services.kinesis.producer.KinesisProducer;
+import com.amazonaws.services.kinesis.producer.IKinesisProducer;
 import com.amazonaws.services.kinesis.producer.UserRecordFailedException;
 import com.amazonaws.services.kinesis.producer.UserRecordResult;
+import com.amazonaws.services.neptune.metrics.Counter;
+import com.amazonaws.services.neptune.metrics.ExportMetrics;
+import com.amazonaws.services.neptune.metrics.MetricsRegistry;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
@@ -24,75 +27,130 @@ import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.UnsupportedEncodingException;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicLong;
 
 public class Stream {
 
-    private final KinesisProducer kinesisProducer;
+    private final IKinesisProducer kinesisProducer;
     private final String streamName;
     private final StreamThrottle streamThrottle;
     private final LargeStreamRecordHandlingStrategy largeStreamRecordHandlingStrategy;
-    private final RecordSplitter splitter;
+    private final PartitionKeyStrategy partitionKeyStrategy;
+    private final int maxSizeBytes;
+    private final ThreadLocal<RecordSplitter> splitters;
+    private final ThreadLocal<RecordPacker> packers;
+    private final Queue<RecordPacker> allPackers = new ConcurrentLinkedQueue<>();
     private final AtomicLong counter = new AtomicLong();
+    private final FutureCallback<UserRecordResult> callback;
+    private final Counter recordsCounter;
+    private final Counter bytesCounter;
 
     private static final Logger logger = LoggerFactory.getLogger(Stream.class);
     private static final int MAX_SIZE_BYTES = 1000000;
 
-    public Stream(KinesisProducer kinesisProducer,
+    public Stream(IKinesisProducer kinesisProducer,
                   String streamName,
                   LargeStreamRecordHandlingStrategy largeStreamRecordHandlingStrategy) {
+        this(kinesisProducer, streamName, largeStreamRecordHandlingStrategy, PartitionKeyStrategy.counter, false);
+    }
+
+    public Stream(IKinesisProducer kinesisProducer,
+                  String streamName,
+                  LargeStreamRecordHandlingStrategy largeStreamRecordHandlingStrategy,
+                  PartitionKeyStrategy partitionKeyStrategy,
+                  boolean packRecords) {
+        this(kinesisProducer, streamName, largeStreamRecordHandlingStrategy, partitionKeyStrategy, packRecords, MAX_SIZE_BYTES);
+    }
+
+    Stream(IKinesisProducer kinesisProducer,
+           String streamName,
+           LargeStreamRecordHandlingStrategy largeStreamRecordHandlingStrategy,
+           PartitionKeyStrategy partitionKeyStrategy,
+           boolean packRecords,
+           int maxSizeBytes) {
         this.kinesisProducer = kinesisProducer;
         this.streamName = streamName;
-        this.streamThrottle = new StreamThrottle(kinesisProducer);
+        this.streamThrottle = new StreamThrottle();
         this.largeStreamRecordHandlingStrategy = largeStreamRecordHandlingStrategy;
-        this.splitter = new RecordSplitter(MAX_SIZE_BYTES, largeStreamRecordHandlingStrategy);
+        this.partitionKeyStrategy = partitionKeyStrategy;
+        this.maxSizeBytes = maxSizeBytes;
+        this.splitters = ThreadLocal.withInitial(() -> new RecordSplitter(maxSizeBytes, largeStreamRecordHandlingStrategy));
+        this.packers = packRecords ?
+                ThreadLocal.withInitial(() -> {
+                    RecordPacker packer = new RecordPacker(maxSizeBytes, this::addUserRecord);
+                    allPackers.add(packer);
+                    return packer;
+                }) :
+                null;
+        this.callback = new StreamCallback(streamThrottle);
+        MetricsRegistry metrics = MetricsRegistry.global();
+        this.recordsCounter = metrics.counter(ExportMetrics.KINESIS_RECORDS, "stream", streamName);
+        this.bytesCounter = metrics.counter(ExportMetrics.KINESIS_BYTES, "stream", streamName);
+        metrics.gauge(ExportMetrics.KINESIS_OUTSTANDING_RECORDS, kinesisProducer::getOutstandingRecordsCount, "stream", streamName);
     }
 
-    public synchronized void publish(String s) {
+    public void publish(String s) {
 
         if (StringUtils.isNotEmpty(s) && s.length() > 2) {
 
-            try {
-                long partitionKeyValue = counter.incrementAndGet();
-                byte[] bytes = s.getBytes(StandardCharsets.UTF_8.name());
-
-                if (bytes.length > MAX_SIZE_BYTES && largeStreamRecordHandlingStrategy.allowSplit()) {
-                    Collection<String> splitRecords = splitter.split(s);
-                    for (String splitRecord : splitRecords) {
-                        publish(partitionKeyValue, splitRecord.getBytes(StandardCharsets.UTF_8.name()));
-                    }
-                } else {
-                    publish(partitionKeyValue, bytes);
-                }
-
+            String partitionKey = partitionKeyStrategy.partitionKeyFor(s);
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
 
-            } catch (UnsupportedEncodingException e) {
-                logger.error(e.getMessage());
+            if (bytes.length > maxSizeBytes && largeStreamRecordHandlingStrategy.allowSplit()) {
+                // All the parts of a split record share a partition key, so that they are kept in order
+                if (partitionKey == null) {
+                    partitionKey = String.valueOf(counter.incrementAndGet());
+                }
+                Collection<String> splitRecords = splitters.get().split(bytes);
+                for (String splitRecord : splitRecords) {
+                    publish(partitionKey, splitRecord.getBytes(StandardCharsets.UTF_8));
+                }
+            } else {
+                publish(partitionKey, bytes);
             }
         }
     }
 
-    private void publish(long partitionKeyValue, byte[] bytes) {
+    private void publish(String partitionKey, byte[] bytes) {
 
-        if (bytes.length > MAX_SIZE_BYTES) {
-            logger.warn("Dropping record because it is larger than 1 MB: [{}] '{}...'", bytes.length, new String(Arrays.copyOfRange(bytes, 0, 256)));
+        if (bytes.length > maxSizeBytes) {
+            logger.warn("Dropping record because it is larger than 1 MB: [{}] '{}...'", bytes.length, new String(Arrays.copyOfRange(bytes, 0, 256), StandardCharsets.UTF_8));
             return;
         }
 
+        if (packers != null) {
+            packers.get().add(partitionKey, bytes);
+        } else {
+            addUserRecord(partitionKey, bytes);
+        }
+    }
+
+    private void addUserRecord(String partitionKey, byte[] bytes) {
         try {
             ByteBuffer data = ByteBuffer.wrap(bytes);
+            String partitionKeyValue = partitionKey != null ? partitionKey : String.valueOf(counter.incrementAndGet());
 
-            streamThrottle.recalculateMaxBufferSize(partitionKeyValue, bytes.length);
+            streamThrottle.recalculateMaxBufferSize(bytes.length);
             streamThrottle.throttle();
 
-            ListenableFuture<UserRecordResult> future = kinesisProducer.addUserRecord(streamName, String.valueOf(partitionKeyValue), data);
-            Futures.addCallback(future, CALLBACK, MoreExecutors.directExecutor());
+            streamThrottle.recordAdded();
+            ListenableFuture<UserRecordResult> future;
+            try {
+                future = kinesisProducer.addUserRecord(streamName, partitionKeyValue, data);
+            } catch (RuntimeException e) {
+                streamThrottle.recordCompleted();
+                throw e;
+            }
+            Futures.addCallback(future, callback, MoreExecutors.directExecutor());
+            recordsCounter.increment();
+            bytesCounter.add(bytes.length);
 
         } catch (InterruptedException e) {
             logger.error(e.getMessage());
@@ -105,12 +163,23 @@ public class Stream {
     }
 
     public void flushRecords() {
+        for (RecordPacker packer : allPackers) {
+            packer.flush();
+        }
         kinesisProducer.flushSync();
     }
 
-    private static final FutureCallback<UserRecordResult> CALLBACK = new FutureCallback<UserRecordResult>() {
+    private static class StreamCallback implements FutureCallback<UserRecordResult> {
+
+        private final StreamThrottle streamThrottle;
+
+        private StreamCallback(StreamThrottle streamThrottle) {
+            this.streamThrottle = streamThrottle;
+        }
+
         @Override
         public void onSuccess(UserRecordResult userRecordResult) {
+            streamThrottle.recordCompleted();
             if (!userRecordResult.isSuccessful()) {
                 logger.error("Unsuccessful attempt to write to stream: " + formatAttempts(userRecordResult.getAttempts()));
             }
@@ -118,13 +187,14 @@ public class Stream {
 
         @Override
         public void onFailure(Throwable throwable) {
+            streamThrottle.recordCompleted();
             if (UserRecordFailedException.class.isAssignableFrom(throwable.getClass())) {
                 UserRecordFailedException e = (UserRecordFailedException) throwable;
                 logger.error("Error writing to stream: " + formatAttempts(e.getResult().getAttempts()));
             }
             logger.error("Error writing to stream.", throwable);
         }
-    };
+    }
 
     private static String formatAttempts(List<Attempt> attempts) {
         StringBuilder builder = new StringBuilder();
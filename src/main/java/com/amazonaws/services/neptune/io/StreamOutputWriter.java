@@ -0,0 +1,79 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.io;
+
+import org.apache.commons.lang.StringUtils;
+
+import java.io.StringWriter;
+
+/**
+ * Buffers each commit in memory, and hands it to a {@link StreamPublisher} as a single stream record when the
+ * commit ends. Closing the writer waits until all of its records have been published, and then flushes the
+ * stream.
+ */
+public class StreamOutputWriter extends KinesisStreamPrintOutputWriter {
+
+    private final StringWriter buffer;
+    private final StreamPublisher publisher;
+    private final StreamPublisher.Tracker tracker;
+    private boolean closed = false;
+
+    StreamOutputWriter(String outputId, StreamPublisher publisher) {
+        this(outputId, new StringWriter(), publisher);
+    }
+
+    private StreamOutputWriter(String outputId, StringWriter buffer, StreamPublisher publisher) {
+        super(String.format("%s [for stream %s]", outputId, publisher.streamName()), buffer);
+        this.buffer = buffer;
+        this.publisher = publisher;
+        this.tracker = publisher.newTracker();
+    }
+
+    @Override
+    public void endCommit() {
+        super.endCommit();
+        publishBuffer();
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        super.close();
+        publishBuffer();
+        try {
+            tracker.awaitPublished();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+        publisher.flush();
+    }
+
+    private void publishBuffer() {
+        StringBuffer pending = buffer.getBuffer();
+        if (pending.length() == 0) {
+            return;
+        }
+        String record = StringUtils.removeEnd(pending.toString(), System.lineSeparator());
+        pending.setLength(0);
+        try {
+            tracker.publish(record);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.io;
+
+import com.amazonaws.services.neptune.metrics.ExportMetrics;
+import com.amazonaws.services.neptune.metrics.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Publishes records to a stream from a bounded in-memory queue, which is drained by a small pool of daemon
+ * publisher threads. Writers block when the queue is full, and use a {@link Tracker} to wait until every
+ * record they have submitted has been handed to the stream. Closing the publisher stops its threads once the
+ * records already queued have been published.
+ */
+public class StreamPublisher implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(StreamPublisher.class);
+
+    static final int DEFAULT_PUBLISHER_THREADS = 2;
+    static final int DEFAULT_QUEUE_CAPACITY = 1000;
+    static final long AWAIT_INTERVAL_MILLIS = 1000;
+    static final long SHUTDOWN_TIMEOUT_MILLIS = 30000;
+
+    private static final PendingRecord SHUTDOWN = new PendingRecord(null, null);
+
+    private final Stream stream;
+    private final int publisherThreads;
+    private final BlockingQueue<PendingRecord> queue;
+    private final Collection<Thread> threads = new ArrayList<>();
+    private boolean closed = false;
+
+    public StreamPublisher(Stream stream) {
+        this(stream, DEFAULT_PUBLISHER_THREADS, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    StreamPublisher(Stream stream, int publisherThreads, int queueCapacity) {
+        this.stream = stream;
+        this.publisherThreads = publisherThreads;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        MetricsRegistry.global().gauge(ExportMetrics.KINESIS_QUEUED_RECORDS, queue::size, "stream", stream.name());
+    }
+
+    public String streamName() {
+        return stream.name();
+    }
+
+    public Tracker newTracker() {
+        return new Tracker();
+    }
+
+    void flush() {
+        stream.flushRecords();
+    }
+
+    @Override
+    public void close() {
+        Collection<Thread> publishers;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            publishers = new ArrayList<>(threads);
+        }
+
+        MetricsRegistry.global().removeGauge(ExportMetrics.KINESIS_QUEUED_RECORDS, "stream", stream.name());
+
+        try {
+            // Each publisher stops when it takes a shutdown marker, after any records queued ahead of it
+            for (int i = 0; i < publishers.size(); i++) {
+                queue.put(SHUTDOWN);
+            }
+            long deadline = System.currentTimeMillis() + SHUTDOWN_TIMEOUT_MILLIS;
+            for (Thread thread : publishers) {
+                thread.join(Math.max(deadline - System.currentTimeMillis(), 1));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        for (Thread thread : publishers) {
+            if (thread.isAlive()) {
+                logger.warn("Interrupting {} for stream {}", thread.getName(), stream.name());
+                thread.interrupt();
+            }
+        }
+    }
+
+    synchronized boolean isPublishing() {
+        return threads.stream().anyMatch(Thread::isAlive);
+    }
+
+    private void submit(PendingRecord record) throws InterruptedException {
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException(String.format("Stream publisher for stream %s has been closed", stream.name()));
+            }
+            if (threads.isEmpty()) {
+                for (int i = 0; i < publisherThreads; i++) {
+                    Thread thread = new Thread(this::publishRecords, String.format("stream-publisher-%s", i));
+                    thread.setDaemon(true);
+                    thread.start();
+                    threads.add(thread);
+                }
+            }
+        }
+        queue.put(record);
+    }
+
+    private void publishRecords() {
+        while (true) {
+            PendingRecord record;
+            try {
+                record = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (record == SHUTDOWN) {
+                return;
+            }
+            try {
+                stream.publish(record.value);
+                record.tracker.published(null);
+            } catch (Throwable e) {
+                logger.error("Error publishing record to stream {}", stream.name(), e);
+                record.tracker.published(e);
+            }
+        }
+    }
+
+    /**
+     * Tracks the records submitted by a single writer.
+     */
+    public class Tracker {
+
+        private long pending = 0;
+        private Throwable failure;
+
+        private Tracker() {
+        }
+
+        public void publish(String record) throws InterruptedException {
+            synchronized (this) {
+                pending++;
+            }
+            boolean submitted = false;
+            try {
+                submit(new PendingRecord(record, this));
+                submitted = true;
+            } finally {
+                if (!submitted) {
+                    published(null);
+                }
+            }
+        }
+
+        public void awaitPublished() throws InterruptedException {
+            synchronized (this) {
+                while (pending > 0) {
+                    wait(AWAIT_INTERVAL_MILLIS);
+                    // Records left on the queue by publishers that have been stopped will never be published
+                    if (pending > 0 && !isPublishing()) {
+                        throw new IllegalStateException(
+                                String.format("Stream publisher for stream %s stopped with %s record(s) still to be published", stream.name(), pending));
+                    }
+                }
+                if (failure != null) {
+                    throw new IllegalStateException(
+                            String.format("Unable to publish all records to stream %s", stream.name()), failure);
+                }
+            }
+        }
+
+        private synchronized void published(Throwable e) {
+            if (e != null && failure == null) {
+                failure = e;
+            }
+            pending--;
+            if (pending == 0) {
+                notifyAll();
+            }
+        }
+    }
+
+    private static class PendingRecord {
+
+        private final String value;
+        private final Tracker tracker;
+
+        private PendingRecord(String value, Tracker tracker) {
+            this.value = value;
+            this.tracker = tracker;
+        }
+    }
+}
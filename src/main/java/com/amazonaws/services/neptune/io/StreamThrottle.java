@@ -12,7 +12,6 @@ permissions and limitations under the License.
 
 package com.amazonaws.services.neptune.io;
 
-import com.amazonaws.services.kinesis.producer.KinesisProducer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -22,8 +21,11 @@ public class StreamThrottle {
 
     private static final Logger logger = LoggerFactory.getLogger(StreamThrottle.class);
 
-    private final KinesisProducer kinesisProducer;
+    private final AtomicLong counter = new AtomicLong();
     private final AtomicLong windowSizeBytes = new AtomicLong();
+    private final AtomicLong outstandingRecords = new AtomicLong();
+    private final Object monitor = new Object();
+    private volatile int waiters = 0;
     private volatile long queueHighWatermark = 10000;
     private volatile int tumblingWindowSize = 10;
 
@@ -31,29 +33,50 @@ public class StreamThrottle {
     private static final long QUEUE_SIZE_BYTES = 10000000;
     private static final int LENGTH_HIGH_WATERMARK = 900000;
 
-    public StreamThrottle(KinesisProducer kinesisProducer) {
-        this.kinesisProducer = kinesisProducer;
-    }
-
-    public void recalculateMaxBufferSize(long counter, long length) {
+    public void recalculateMaxBufferSize(long length) {
 
         long currentWindowSizeBytes = windowSizeBytes.addAndGet(length);
 
-        if (length > LENGTH_HIGH_WATERMARK || counter % tumblingWindowSize == 0) {
-            queueHighWatermark = Math.min(QUEUE_SIZE_BYTES / (currentWindowSizeBytes / tumblingWindowSize), MAX_QUEUE_HIGH_WATERMARK);
+        if (length > LENGTH_HIGH_WATERMARK || counter.incrementAndGet() % tumblingWindowSize == 0) {
+            queueHighWatermark = Math.min(QUEUE_SIZE_BYTES / Math.max(1, currentWindowSizeBytes / tumblingWindowSize), MAX_QUEUE_HIGH_WATERMARK);
             logger.trace("Current window has {} records totalling {} bytes, meaning that maxNumberOfQueuedRecords cannot exceed {}", tumblingWindowSize, currentWindowSizeBytes, queueHighWatermark);
             windowSizeBytes.set(0);
         }
     }
 
     public void throttle() throws InterruptedException {
-        if (kinesisProducer.getOutstandingRecordsCount() > (queueHighWatermark)) {
+        if (outstandingRecords.get() > queueHighWatermark) {
             long start = System.currentTimeMillis();
-            while (kinesisProducer.getOutstandingRecordsCount() > (queueHighWatermark)) {
-                Thread.sleep(1);
+            synchronized (monitor) {
+                waiters++;
+                try {
+                    // Woken by recordCompleted() once the producer's callbacks bring the queue back under the watermark
+                    while (outstandingRecords.get() > queueHighWatermark) {
+                        monitor.wait(100);
+                    }
+                } finally {
+                    waiters--;
+                }
             }
             long end = System.currentTimeMillis();
             logger.debug("Paused adding records to stream for {} millis while number of queued records exceeded maxNumberOfQueuedRecords of {}", end - start, queueHighWatermark);
         }
     }
+
+    public void recordAdded() {
+        outstandingRecords.incrementAndGet();
+    }
+
+    public void recordCompleted() {
+        long outstanding = outstandingRecords.decrementAndGet();
+        if (waiters > 0 && outstanding <= queueHighWatermark) {
+            synchronized (monitor) {
+                monitor.notifyAll();
+            }
+        }
+    }
+
+    long outstandingRecords() {
+        return outstandingRecords.get();
+    }
 }
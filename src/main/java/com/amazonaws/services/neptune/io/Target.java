@@ -12,9 +12,7 @@ permissions and limitations under the License.
 
 package com.amazonaws.services.neptune.io;
 
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.function.Supplier;
@@ -23,10 +21,16 @@ public enum Target implements CommandWriter {
 
     files {
         @Override
-        public OutputWriter createOutputWriter(Supplier<Path> pathSupplier, KinesisConfig kinesisConfig) throws IOException {
-            File file = pathSupplier.get().toFile();
+        public OutputWriter createOutputWriter(Supplier<Path> pathSupplier, KinesisConfig kinesisConfig, FileConfig fileConfig) throws IOException {
+            CompressionCodec compressionCodec = fileConfig.compressionCodec();
+            File file = new File(pathSupplier.get().toString() + compressionCodec.extension());
             boolean isNewTarget = !(file.exists());
-            return new PrintOutputWriter(file.getAbsolutePath(), isNewTarget, new BufferedWriter(new FileWriter(file)));
+            return new PrintOutputWriter(
+                    file.getAbsolutePath(),
+                    isNewTarget,
+                    compressionCodec.newWriter(file, fileConfig.bufferSize()),
+                    fileConfig.commitPolicy(),
+                    fileConfig.listener());
         }
 
         @Override
@@ -41,7 +45,7 @@ public enum Target implements CommandWriter {
     },
     stdout {
         @Override
-        public OutputWriter createOutputWriter(Supplier<Path> pathSupplier, KinesisConfig kinesisConfig) throws IOException {
+        public OutputWriter createOutputWriter(Supplier<Path> pathSupplier, KinesisConfig kinesisConfig, FileConfig fileConfig) throws IOException {
             return new StdOutPrintOutputWriter();
         }
 
@@ -57,7 +61,7 @@ public enum Target implements CommandWriter {
     },
     devnull {
         @Override
-        public OutputWriter createOutputWriter(Supplier<Path> pathSupplier, KinesisConfig kinesisConfig) throws IOException {
+        public OutputWriter createOutputWriter(Supplier<Path> pathSupplier, KinesisConfig kinesisConfig, FileConfig fileConfig) throws IOException {
             return new NoOpOutputWriter();
         }
 
@@ -73,15 +77,8 @@ public enum Target implements CommandWriter {
     },
     stream {
         @Override
-        public OutputWriter createOutputWriter(Supplier<Path> pathSupplier, KinesisConfig kinesisConfig) throws IOException {
-
-            Path filePath = pathSupplier.get();
-            File file = filePath.toFile();
-
-            return new FileToStreamOutputWriter(
-                    new KinesisStreamPrintOutputWriter(file.getAbsolutePath(), new BufferedWriter(new FileWriter(file))),
-                    filePath,
-                    kinesisConfig);
+        public OutputWriter createOutputWriter(Supplier<Path> pathSupplier, KinesisConfig kinesisConfig, FileConfig fileConfig) throws IOException {
+            return new StreamOutputWriter(pathSupplier.get().toString(), kinesisConfig.publisher());
         }
 
         @Override
@@ -100,7 +97,7 @@ public enum Target implements CommandWriter {
         System.err.println(value);
     }
 
-    public abstract OutputWriter createOutputWriter(Supplier<Path> pathSupplier, KinesisConfig kinesisConfig) throws IOException;
+    public abstract OutputWriter createOutputWriter(Supplier<Path> pathSupplier, KinesisConfig kinesisConfig, FileConfig fileConfig) throws IOException;
 
     public abstract boolean isFileBased();
 
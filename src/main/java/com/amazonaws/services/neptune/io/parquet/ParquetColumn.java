@@ -0,0 +1,411 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.io.parquet;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Buffers the values of one column for the current row group, and encodes them as a Parquet column chunk.
+ */
+public class ParquetColumn {
+
+    public enum Type {
+        BOOLEAN(0), INT32(1), INT64(2), FLOAT(4), DOUBLE(5), BYTE_ARRAY(6);
+
+        private final int value;
+
+        Type(int value) {
+            this.value = value;
+        }
+    }
+
+    public enum Repetition {
+        REQUIRED(0), OPTIONAL(1), REPEATED(2);
+
+        private final int value;
+
+        Repetition(int value) {
+            this.value = value;
+        }
+    }
+
+    public enum ConvertedType {
+        NONE(-1), UTF8(0), TIMESTAMP_MILLIS(9), INT_8(15), INT_16(16);
+
+        private final int value;
+
+        ConvertedType(int value) {
+            this.value = value;
+        }
+    }
+
+    static final int ENCODING_PLAIN = 0;
+    static final int ENCODING_PLAIN_DICTIONARY = 2;
+    static final int ENCODING_RLE = 3;
+
+    private static final int MAX_DICTIONARY_ENTRIES = 65536;
+    private static final long MAX_DICTIONARY_SIZE = 1024 * 1024;
+
+    private final String name;
+    private final Type type;
+    private final Repetition repetition;
+    private final ConvertedType convertedType;
+    private final boolean dictionaryEncoded;
+
+    private final List<Object> values = new ArrayList<>();
+    private final ByteArrayOutputStream definitionLevels = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream repetitionLevels = new ByteArrayOutputStream();
+    private long levelCount = 0;
+    private long estimatedSize = 0;
+
+    public ParquetColumn(String name, Type type, Repetition repetition, ConvertedType convertedType, boolean dictionaryEncoded) {
+        if (dictionaryEncoded && type != Type.BYTE_ARRAY) {
+            throw new IllegalArgumentException("Dictionary encoding is only supported for BYTE_ARRAY columns");
+        }
+        this.name = name;
+        this.type = type;
+        this.repetition = repetition;
+        this.convertedType = convertedType;
+        this.dictionaryEncoded = dictionaryEncoded;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public Type type() {
+        return type;
+    }
+
+    public Repetition repetition() {
+        return repetition;
+    }
+
+    /**
+     * Adds a value for the current row. The value must be null, or of the Java type that corresponds to the
+     * column's Parquet type (Boolean, Integer, Long, Float, Double or String). For repeated columns the value
+     * may also be a collection of such values.
+     */
+    public void write(Object value) {
+        switch (repetition) {
+            case REQUIRED:
+                if (value == null) {
+                    throw new IllegalArgumentException(String.format("Missing value for required column %s", name));
+                }
+                addValue(value);
+                levelCount++;
+                break;
+            case OPTIONAL:
+                if (value == null) {
+                    definitionLevels.write(0);
+                } else {
+                    definitionLevels.write(1);
+                    addValue(value);
+                }
+                levelCount++;
+                break;
+            case REPEATED:
+                Collection<?> collection = value == null ?
+                        Collections.emptyList() :
+                        value instanceof Collection ? (Collection<?>) value : Collections.singletonList(value);
+                if (collection.isEmpty()) {
+                    repetitionLevels.write(0);
+                    definitionLevels.write(0);
+                    levelCount++;
+                } else {
+                    int i = 0;
+                    for (Object o : collection) {
+                        repetitionLevels.write(i++ == 0 ? 0 : 1);
+                        definitionLevels.write(1);
+                        addValue(o);
+                        levelCount++;
+                    }
+                }
+                break;
+        }
+        estimatedSize++;
+    }
+
+    public long estimatedSize() {
+        return estimatedSize;
+    }
+
+    private void addValue(Object value) {
+        values.add(value);
+        if (type == Type.BYTE_ARRAY) {
+            estimatedSize += 4 + ((String) value).length();
+        } else if (type == Type.INT64 || type == Type.DOUBLE) {
+            estimatedSize += 8;
+        } else {
+            estimatedSize += 4;
+        }
+    }
+
+    void writeSchemaElement(ThriftCompactWriter writer) {
+        writer.structBegin()
+                .i32Field(1, type.value)
+                .i32Field(3, repetition.value)
+                .stringField(4, name);
+        if (convertedType != ConvertedType.NONE) {
+            writer.i32Field(6, convertedType.value);
+        }
+        writer.structEnd();
+    }
+
+    ColumnChunk writeChunk(ParquetOutputStream out, boolean gzip) throws IOException {
+
+        long chunkOffset = out.position();
+        long dictionaryPageOffset = -1;
+        long uncompressedSize = 0;
+
+        Map<String, Integer> dictionary = dictionaryEncoded ? createDictionary() : null;
+
+        if (dictionary != null) {
+            dictionaryPageOffset = out.position();
+            ByteArrayOutputStream dictionaryPage = new ByteArrayOutputStream();
+            writePlain(dictionaryPage, new ArrayList<>(dictionary.keySet()));
+            byte[] data = dictionaryPage.toByteArray();
+            byte[] compressedData = compress(data, gzip);
+            byte[] header = new ThriftCompactWriter().structBegin()
+                    .i32Field(1, 2)
+                    .i32Field(2, data.length)
+                    .i32Field(3, compressedData.length)
+                    .structFieldBegin(7)
+                    .i32Field(1, dictionary.size())
+                    .i32Field(2, ENCODING_PLAIN)
+                    .structEnd()
+                    .structEnd()
+                    .toByteArray();
+            uncompressedSize += header.length + data.length;
+            out.write(header);
+            out.write(compressedData);
+        }
+
+        long dataPageOffset = out.position();
+
+        ByteArrayOutputStream dataPage = new ByteArrayOutputStream();
+        if (repetition == Repetition.REPEATED) {
+            writeLevels(dataPage, repetitionLevels.toByteArray());
+        }
+        if (repetition != Repetition.REQUIRED) {
+            writeLevels(dataPage, definitionLevels.toByteArray());
+        }
+        if (dictionary != null) {
+            int[] indexes = new int[values.size()];
+            for (int i = 0; i < indexes.length; i++) {
+                indexes[i] = dictionary.get((String) values.get(i));
+            }
+            int bitWidth = Math.max(1, 32 - Integer.numberOfLeadingZeros(dictionary.size() - 1));
+            dataPage.write(bitWidth);
+            RunLengthEncoder.writeBitPacked(dataPage, indexes, bitWidth);
+        } else {
+            writePlain(dataPage, values);
+        }
+
+        byte[] data = dataPage.toByteArray();
+        byte[] compressedData = compress(data, gzip);
+        int valueEncoding = dictionary != null ? ENCODING_PLAIN_DICTIONARY : ENCODING_PLAIN;
+        byte[] header = new ThriftCompactWriter().structBegin()
+                .i32Field(1, 0)
+                .i32Field(2, data.length)
+                .i32Field(3, compressedData.length)
+                .structFieldBegin(5)
+                .i32Field(1, (int) levelCount)
+                .i32Field(2, valueEncoding)
+                .i32Field(3, ENCODING_RLE)
+                .i32Field(4, ENCODING_RLE)
+                .structEnd()
+                .structEnd()
+                .toByteArray();
+        uncompressedSize += header.length + data.length;
+        out.write(header);
+        out.write(compressedData);
+
+        ColumnChunk chunk = new ColumnChunk(
+                this,
+                valueEncoding,
+                dictionary != null,
+                levelCount,
+                chunkOffset,
+                dataPageOffset,
+                dictionaryPageOffset,
+                uncompressedSize,
+                out.position() - chunkOffset);
+
+        reset();
+
+        return chunk;
+    }
+
+    private Map<String, Integer> createDictionary() {
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        long size = 0;
+        for (Object value : values) {
+            String s = (String) value;
+            if (!dictionary.containsKey(s)) {
+                dictionary.put(s, dictionary.size());
+                size += 4 + s.length();
+                if (dictionary.size() > MAX_DICTIONARY_ENTRIES || size > MAX_DICTIONARY_SIZE) {
+                    // Too many distinct values for a dictionary to pay off
+                    return null;
+                }
+            }
+        }
+        return dictionary.isEmpty() ? null : dictionary;
+    }
+
+    private void writeLevels(ByteArrayOutputStream out, byte[] levels) throws IOException {
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        RunLengthEncoder.writeRuns(encoded, levels);
+        writeIntLittleEndian(out, encoded.size());
+        encoded.writeTo(out);
+    }
+
+    private void writePlain(ByteArrayOutputStream out, List<?> values) throws IOException {
+        switch (type) {
+            case BOOLEAN:
+                byte[] bits = new byte[(values.size() + 7) / 8];
+                for (int i = 0; i < values.size(); i++) {
+                    if ((Boolean) values.get(i)) {
+                        bits[i / 8] |= 1 << (i % 8);
+                    }
+                }
+                out.write(bits);
+                break;
+            case INT32:
+                for (Object value : values) {
+                    writeIntLittleEndian(out, (Integer) value);
+                }
+                break;
+            case INT64:
+                for (Object value : values) {
+                    writeLongLittleEndian(out, (Long) value);
+                }
+                break;
+            case FLOAT:
+                for (Object value : values) {
+                    writeIntLittleEndian(out, Float.floatToIntBits((Float) value));
+                }
+                break;
+            case DOUBLE:
+                for (Object value : values) {
+                    writeLongLittleEndian(out, Double.doubleToLongBits((Double) value));
+                }
+                break;
+            case BYTE_ARRAY:
+                for (Object value : values) {
+                    byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+                    writeIntLittleEndian(out, bytes.length);
+                    out.write(bytes);
+                }
+                break;
+        }
+    }
+
+    private void reset() {
+        values.clear();
+        definitionLevels.reset();
+        repetitionLevels.reset();
+        levelCount = 0;
+        estimatedSize = 0;
+    }
+
+    private static byte[] compress(byte[] data, boolean gzip) throws IOException {
+        if (!gzip) {
+            return data;
+        }
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(data);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static void writeIntLittleEndian(ByteArrayOutputStream out, int value) {
+        out.write(value & 0xFF);
+        out.write((value >>> 8) & 0xFF);
+        out.write((value >>> 16) & 0xFF);
+        out.write((value >>> 24) & 0xFF);
+    }
+
+    private static void writeLongLittleEndian(ByteArrayOutputStream out, long value) {
+        writeIntLittleEndian(out, (int) value);
+        writeIntLittleEndian(out, (int) (value >>> 32));
+    }
+
+    static class ColumnChunk {
+        private final ParquetColumn column;
+        private final int valueEncoding;
+        private final boolean hasDictionaryPage;
+        private final long valueCount;
+        private final long chunkOffset;
+        private final long dataPageOffset;
+        private final long dictionaryPageOffset;
+        private final long uncompressedSize;
+        private final long compressedSize;
+
+        private ColumnChunk(ParquetColumn column,
+                            int valueEncoding,
+                            boolean hasDictionaryPage,
+                            long valueCount,
+                            long chunkOffset,
+                            long dataPageOffset,
+                            long dictionaryPageOffset,
+                            long uncompressedSize,
+                            long compressedSize) {
+            this.column = column;
+            this.valueEncoding = valueEncoding;
+            this.hasDictionaryPage = hasDictionaryPage;
+            this.valueCount = valueCount;
+            this.chunkOffset = chunkOffset;
+            this.dataPageOffset = dataPageOffset;
+            this.dictionaryPageOffset = dictionaryPageOffset;
+            this.uncompressedSize = uncompressedSize;
+            this.compressedSize = compressedSize;
+        }
+
+        long uncompressedSize() {
+            return uncompressedSize;
+        }
+
+        void writeTo(ThriftCompactWriter writer, boolean gzip) {
+            // Every encoding used in the chunk: values, levels, and the PLAIN encoded dictionary page
+            writer.structBegin()
+                    .i64Field(2, chunkOffset)
+                    .structFieldBegin(3)
+                    .i32Field(1, column.type.value)
+                    .listFieldBegin(2, ThriftCompactWriter.TYPE_I32, hasDictionaryPage ? 3 : 2)
+                    .i32(valueEncoding)
+                    .i32(ENCODING_RLE);
+            if (hasDictionaryPage) {
+                writer.i32(ENCODING_PLAIN);
+            }
+            writer.listFieldBegin(3, ThriftCompactWriter.TYPE_BINARY, 1)
+                    .string(column.name)
+                    .i32Field(4, gzip ? 2 : 0)
+                    .i64Field(5, valueCount)
+                    .i64Field(6, uncompressedSize)
+                    .i64Field(7, compressedSize)
+                    .i64Field(9, dataPageOffset);
+            if (dictionaryPageOffset >= 0) {
+                writer.i64Field(11, dictionaryPageOffset);
+            }
+            writer.structEnd()
+                    .structEnd();
+        }
+    }
+}
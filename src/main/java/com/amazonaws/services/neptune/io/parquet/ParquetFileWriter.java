@@ -0,0 +1,156 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.io.parquet;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes a Parquet file with a flat schema. Rows are buffered in memory, column by column, until the
+ * estimated size of the buffered values reaches the row group size, at which point they are written
+ * as a row group with one data page (and optionally one dictionary page) per column.
+ */
+public class ParquetFileWriter implements AutoCloseable {
+
+    private static final byte[] MAGIC = "PAR1".getBytes(StandardCharsets.US_ASCII);
+    private static final String CREATED_BY = "neptune-export";
+
+    private final ParquetOutputStream out;
+    private final List<ParquetColumn> columns;
+    private final long rowGroupSize;
+    private final boolean gzip;
+    private final List<RowGroup> rowGroups = new ArrayList<>();
+    private long bufferedRows = 0;
+    private long totalRows = 0;
+    private boolean isClosed = false;
+
+    public ParquetFileWriter(OutputStream out, List<ParquetColumn> columns, long rowGroupSize, boolean gzip) throws IOException {
+        if (rowGroupSize <= 0) {
+            throw new IllegalArgumentException("Row group size must be greater than zero");
+        }
+        this.out = new ParquetOutputStream(out);
+        this.columns = columns;
+        this.rowGroupSize = rowGroupSize;
+        this.gzip = gzip;
+        this.out.write(MAGIC);
+    }
+
+    public List<ParquetColumn> columns() {
+        return columns;
+    }
+
+    /**
+     * Marks the end of a row. Every column must have been written exactly once since the previous row ended.
+     */
+    public void endRow() throws IOException {
+        bufferedRows++;
+        totalRows++;
+        if (bufferedSize() >= rowGroupSize) {
+            writeRowGroup();
+        }
+    }
+
+    public long rowCount() {
+        return totalRows;
+    }
+
+    private long bufferedSize() {
+        long size = 0;
+        for (ParquetColumn column : columns) {
+            size += column.estimatedSize();
+        }
+        return size;
+    }
+
+    private void writeRowGroup() throws IOException {
+        if (bufferedRows == 0) {
+            return;
+        }
+        List<ParquetColumn.ColumnChunk> chunks = new ArrayList<>();
+        for (ParquetColumn column : columns) {
+            chunks.add(column.writeChunk(out, gzip));
+        }
+        rowGroups.add(new RowGroup(chunks, bufferedRows));
+        bufferedRows = 0;
+    }
+
+    private byte[] fileMetadata() {
+        ThriftCompactWriter writer = new ThriftCompactWriter().structBegin()
+                .i32Field(1, 1)
+                .listFieldBegin(2, ThriftCompactWriter.TYPE_STRUCT, columns.size() + 1);
+
+        writer.structBegin()
+                .stringField(4, "schema")
+                .i32Field(5, columns.size())
+                .structEnd();
+        for (ParquetColumn column : columns) {
+            column.writeSchemaElement(writer);
+        }
+
+        writer.i64Field(3, totalRows)
+                .listFieldBegin(4, ThriftCompactWriter.TYPE_STRUCT, rowGroups.size());
+        for (RowGroup rowGroup : rowGroups) {
+            rowGroup.writeTo(writer, gzip);
+        }
+
+        return writer.stringField(6, CREATED_BY)
+                .structEnd()
+                .toByteArray();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (isClosed) {
+            return;
+        }
+        isClosed = true;
+        try {
+            writeRowGroup();
+            byte[] metadata = fileMetadata();
+            out.write(metadata);
+            out.write(metadata.length & 0xFF);
+            out.write((metadata.length >>> 8) & 0xFF);
+            out.write((metadata.length >>> 16) & 0xFF);
+            out.write((metadata.length >>> 24) & 0xFF);
+            out.write(MAGIC);
+        } finally {
+            out.close();
+        }
+    }
+
+    private static class RowGroup {
+        private final List<ParquetColumn.ColumnChunk> chunks;
+        private final long rowCount;
+
+        private RowGroup(List<ParquetColumn.ColumnChunk> chunks, long rowCount) {
+            this.chunks = chunks;
+            this.rowCount = rowCount;
+        }
+
+        void writeTo(ThriftCompactWriter writer, boolean gzip) {
+            long totalByteSize = 0;
+            writer.structBegin()
+                    .listFieldBegin(1, ThriftCompactWriter.TYPE_STRUCT, chunks.size());
+            for (ParquetColumn.ColumnChunk chunk : chunks) {
+                chunk.writeTo(writer, gzip);
+                totalByteSize += chunk.uncompressedSize();
+            }
+            writer.i64Field(2, totalByteSize)
+                    .i64Field(3, rowCount)
+                    .structEnd();
+        }
+    }
+}
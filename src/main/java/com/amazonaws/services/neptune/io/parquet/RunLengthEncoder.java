@@ -0,0 +1,68 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.io.parquet;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Encodes values using the Parquet RLE/bit-packing hybrid encoding.
+ */
+class RunLengthEncoder {
+
+    /**
+     * Writes repetition or definition levels (0 or 1) as RLE runs with a bit width of 1.
+     */
+    static void writeRuns(ByteArrayOutputStream out, byte[] levels) {
+        int i = 0;
+        while (i < levels.length) {
+            byte level = levels[i];
+            int j = i + 1;
+            while (j < levels.length && levels[j] == level) {
+                j++;
+            }
+            writeUnsignedVarint(out, (j - i) << 1);
+            out.write(level);
+            i = j;
+        }
+    }
+
+    /**
+     * Writes values as a single bit-packed run. The last group of eight values is padded with zeros.
+     */
+    static void writeBitPacked(ByteArrayOutputStream out, int[] values, int bitWidth) {
+        if (values.length == 0) {
+            return;
+        }
+        int groups = (values.length + 7) / 8;
+        writeUnsignedVarint(out, (groups << 1) | 1);
+        byte[] packed = new byte[groups * bitWidth];
+        long bitPosition = 0;
+        for (int value : values) {
+            for (int bit = 0; bit < bitWidth; bit++) {
+                if (((value >>> bit) & 1) != 0) {
+                    packed[(int) (bitPosition >>> 3)] |= 1 << (bitPosition & 7);
+                }
+                bitPosition++;
+            }
+        }
+        out.write(packed, 0, packed.length);
+    }
+
+    private static void writeUnsignedVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+}
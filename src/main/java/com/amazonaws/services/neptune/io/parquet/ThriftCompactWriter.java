@@ -0,0 +1,120 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.io.parquet;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Writes the subset of the Thrift compact protocol needed to serialize Parquet page headers and file metadata.
+ */
+class ThriftCompactWriter {
+
+    static final int TYPE_BOOLEAN_TRUE = 1;
+    static final int TYPE_BOOLEAN_FALSE = 2;
+    static final int TYPE_I32 = 5;
+    static final int TYPE_I64 = 6;
+    static final int TYPE_BINARY = 8;
+    static final int TYPE_LIST = 9;
+    static final int TYPE_STRUCT = 12;
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final Deque<Integer> lastFieldIds = new ArrayDeque<>();
+    private int lastFieldId = 0;
+
+    ThriftCompactWriter structBegin() {
+        lastFieldIds.push(lastFieldId);
+        lastFieldId = 0;
+        return this;
+    }
+
+    ThriftCompactWriter structEnd() {
+        out.write(0);
+        lastFieldId = lastFieldIds.pop();
+        return this;
+    }
+
+    ThriftCompactWriter i32Field(int id, int value) {
+        fieldHeader(id, TYPE_I32);
+        return i32(value);
+    }
+
+    ThriftCompactWriter i64Field(int id, long value) {
+        fieldHeader(id, TYPE_I64);
+        writeVarint((value << 1) ^ (value >> 63));
+        return this;
+    }
+
+    ThriftCompactWriter stringField(int id, String value) {
+        fieldHeader(id, TYPE_BINARY);
+        return string(value);
+    }
+
+    ThriftCompactWriter boolField(int id, boolean value) {
+        fieldHeader(id, value ? TYPE_BOOLEAN_TRUE : TYPE_BOOLEAN_FALSE);
+        return this;
+    }
+
+    ThriftCompactWriter structFieldBegin(int id) {
+        fieldHeader(id, TYPE_STRUCT);
+        return structBegin();
+    }
+
+    ThriftCompactWriter listFieldBegin(int id, int elementType, int size) {
+        fieldHeader(id, TYPE_LIST);
+        if (size < 15) {
+            out.write((size << 4) | elementType);
+        } else {
+            out.write(0xF0 | elementType);
+            writeVarint(size);
+        }
+        return this;
+    }
+
+    ThriftCompactWriter i32(int value) {
+        writeVarint(((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL);
+        return this;
+    }
+
+    ThriftCompactWriter string(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(bytes.length);
+        out.write(bytes, 0, bytes.length);
+        return this;
+    }
+
+    byte[] toByteArray() {
+        return out.toByteArray();
+    }
+
+    private void fieldHeader(int id, int type) {
+        int delta = id - lastFieldId;
+        if (delta > 0 && delta <= 15) {
+            out.write((delta << 4) | type);
+        } else {
+            out.write(type);
+            writeVarint(((id << 1) ^ (id >> 31)) & 0xFFFFFFFFL);
+        }
+        lastFieldId = id;
+    }
+
+    private void writeVarint(long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+}
@@ -0,0 +1,46 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.metrics;
+
+/**
+ * Names of the metrics recorded during an export. Rates, such as elements or bytes per second, can be derived
+ * from the counters and the elapsed time.
+ */
+public final class ExportMetrics {
+
+    public static final String ELAPSED_SECONDS = "neptune_export_elapsed_seconds";
+
+    public static final String ELEMENTS = "neptune_export_elements_total";
+    public static final String BYTES = "neptune_export_bytes_total";
+    public static final String OPEN_FILES = "neptune_export_open_files";
+
+    public static final String RANGE_LATENCY = "neptune_export_range_latency_ms";
+    public static final String RANGE_FAILURES = "neptune_export_range_failures_total";
+    public static final String QUERY_NANOS = "neptune_export_query_nanos_total";
+    public static final String WRITE_NANOS = "neptune_export_write_nanos_total";
+
+    public static final String QUERY_LATENCY = "neptune_export_query_latency_ms";
+    public static final String QUERY_RESULTS = "neptune_export_query_results_total";
+    public static final String STATEMENTS = "neptune_export_statements_total";
+
+    public static final String KINESIS_OUTSTANDING_RECORDS = "neptune_export_kinesis_outstanding_records";
+    public static final String KINESIS_QUEUED_RECORDS = "neptune_export_kinesis_queued_records";
+    public static final String KINESIS_RECORDS = "neptune_export_kinesis_records_total";
+    public static final String KINESIS_BYTES = "neptune_export_kinesis_bytes_total";
+
+    public static final String S3_UPLOAD_BYTES = "neptune_export_s3_upload_bytes_total";
+    public static final String S3_UPLOAD_LATENCY = "neptune_export_s3_upload_ms";
+
+    private ExportMetrics() {
+    }
+}
@@ -0,0 +1,261 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.metrics;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Counters, gauges and histograms describing a running export. Metrics are identified by a name and optional
+ * label key/value pairs, and can be written as JSON or in the Prometheus text format, or read through JMX.
+ * <p>
+ * Like the JVM's platform MBean server, there is a single process-wide registry, so that components deep inside
+ * an export can record metrics without every constructor along the way having to pass a registry through.
+ */
+public class MetricsRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetricsRegistry.class);
+
+    private static final MetricsRegistry GLOBAL = new MetricsRegistry();
+
+    static final String OBJECT_NAME = "com.amazonaws.services.neptune:type=ExportMetrics";
+
+    public static MetricsRegistry global() {
+        return GLOBAL;
+    }
+
+    private final Map<Series, Counter> counters = new ConcurrentSkipListMap<>();
+    private final Map<Series, LongSupplier> gauges = new ConcurrentSkipListMap<>();
+    private final Map<Series, Histogram> histograms = new ConcurrentSkipListMap<>();
+    private volatile boolean timingEnabled = false;
+
+    MetricsRegistry() {
+    }
+
+    public Counter counter(String name, String... labels) {
+        return counters.computeIfAbsent(Series.of(name, labels), s -> new Counter());
+    }
+
+    public Histogram latencyHistogram(String name, String... labels) {
+        return histograms.computeIfAbsent(Series.of(name, labels), s -> new Histogram(Histogram.LATENCY_BUCKETS_MILLIS));
+    }
+
+    public void gauge(String name, LongSupplier supplier, String... labels) {
+        gauges.put(Series.of(name, labels), supplier);
+    }
+
+    public void removeGauge(String name, String... labels) {
+        gauges.remove(Series.of(name, labels));
+    }
+
+    /**
+     * Per-element timings cost a couple of clock reads for every exported element, and so are only recorded once
+     * metrics are being reported.
+     */
+    public boolean isTimingEnabled() {
+        return timingEnabled;
+    }
+
+    public void enableTiming() {
+        timingEnabled = true;
+    }
+
+    public void clear() {
+        counters.clear();
+        gauges.clear();
+        histograms.clear();
+        timingEnabled = false;
+    }
+
+    public boolean isEmpty() {
+        return counters.isEmpty() && gauges.isEmpty() && histograms.isEmpty();
+    }
+
+    public void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(new MetricsMBean(this), objectName);
+                logger.info("Registered export metrics MBean {}", OBJECT_NAME);
+            }
+        } catch (InstanceAlreadyExistsException e) {
+            // Registered by another thread
+        } catch (Exception e) {
+            logger.warn("Unable to register export metrics MBean: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the current value of every counter and gauge, and the count, sum, maximum and approximate 50th, 95th
+     * and 99th percentiles of every histogram, keyed by series.
+     */
+    public Map<String, Long> snapshot() {
+        Map<String, Long> values = new LinkedHashMap<>();
+        counters.forEach((series, counter) -> values.put(series.toString(), counter.value()));
+        gauges.forEach((series, gauge) -> values.put(series.toString(), gaugeValue(gauge)));
+        histograms.forEach((series, histogram) -> {
+            values.put(series.withSuffix("_count").toString(), histogram.count());
+            values.put(series.withSuffix("_sum").toString(), histogram.sum());
+            values.put(series.withSuffix("_max").toString(), histogram.max());
+            values.put(series.withSuffix("_p50").toString(), histogram.quantile(0.5));
+            values.put(series.withSuffix("_p95").toString(), histogram.quantile(0.95));
+            values.put(series.withSuffix("_p99").toString(), histogram.quantile(0.99));
+        });
+        return values;
+    }
+
+    public ObjectNode toJson() {
+        ObjectNode json = JsonNodeFactory.instance.objectNode();
+
+        ObjectNode countersNode = json.putObject("counters");
+        counters.forEach((series, counter) -> countersNode.put(series.toString(), counter.value()));
+
+        ObjectNode gaugesNode = json.putObject("gauges");
+        gauges.forEach((series, gauge) -> gaugesNode.put(series.toString(), gaugeValue(gauge)));
+
+        ObjectNode histogramsNode = json.putObject("histograms");
+        histograms.forEach((series, histogram) -> {
+            ObjectNode histogramNode = histogramsNode.putObject(series.toString());
+            histogramNode.put("count", histogram.count());
+            histogramNode.put("sum", histogram.sum());
+            histogramNode.put("max", histogram.max());
+            histogramNode.put("p50", histogram.quantile(0.5));
+            histogramNode.put("p95", histogram.quantile(0.95));
+            histogramNode.put("p99", histogram.quantile(0.99));
+        });
+
+        return json;
+    }
+
+    public String toPrometheusText() {
+        StringBuilder builder = new StringBuilder();
+
+        String previousName = null;
+        for (Map.Entry<Series, Counter> entry : counters.entrySet()) {
+            previousName = appendType(builder, entry.getKey().name, "counter", previousName);
+            builder.append(entry.getKey()).append(' ').append(entry.getValue().value()).append('\n');
+        }
+
+        previousName = null;
+        for (Map.Entry<Series, LongSupplier> entry : gauges.entrySet()) {
+            previousName = appendType(builder, entry.getKey().name, "gauge", previousName);
+            builder.append(entry.getKey()).append(' ').append(gaugeValue(entry.getValue())).append('\n');
+        }
+
+        previousName = null;
+        for (Map.Entry<Series, Histogram> entry : histograms.entrySet()) {
+            Series series = entry.getKey();
+            Histogram histogram = entry.getValue();
+            previousName = appendType(builder, series.name, "histogram", previousName);
+            long[] bounds = histogram.bounds();
+            long[] counts = histogram.cumulativeCounts();
+            for (int i = 0; i < counts.length; i++) {
+                String bound = i < bounds.length ? String.valueOf(bounds[i]) : "+Inf";
+                builder.append(series.withSuffix("_bucket").withLabel("le", bound)).append(' ').append(counts[i]).append('\n');
+            }
+            builder.append(series.withSuffix("_sum")).append(' ').append(histogram.sum()).append('\n');
+            builder.append(series.withSuffix("_count")).append(' ').append(histogram.count()).append('\n');
+        }
+
+        return builder.toString();
+    }
+
+    private static String appendType(StringBuilder builder, String name, String type, String previousName) {
+        if (!name.equals(previousName)) {
+            builder.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        }
+        return name;
+    }
+
+    private static long gaugeValue(LongSupplier gauge) {
+        try {
+            return gauge.getAsLong();
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    private static class Series implements Comparable<Series> {
+
+        private final String name;
+        private final String labels;
+
+        private static Series of(String name, String... labels) {
+            if (labels.length % 2 != 0) {
+                throw new IllegalArgumentException("Metric labels must be supplied as key/value pairs");
+            }
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < labels.length; i += 2) {
+                if (builder.length() > 0) {
+                    builder.append(',');
+                }
+                builder.append(labels[i]).append("=\"").append(escape(labels[i + 1])).append('"');
+            }
+            return new Series(name, builder.toString());
+        }
+
+        private Series(String name, String labels) {
+            this.name = name;
+            this.labels = labels;
+        }
+
+        private Series withSuffix(String suffix) {
+            return new Series(name + suffix, labels);
+        }
+
+        private Series withLabel(String key, String value) {
+            String label = key + "=\"" + escape(value) + '"';
+            return new Series(name, labels.isEmpty() ? label : labels + "," + label);
+        }
+
+        private static String escape(String value) {
+            if (value == null) {
+                return "";
+            }
+            return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+        }
+
+        @Override
+        public int compareTo(Series o) {
+            int result = name.compareTo(o.name);
+            return result != 0 ? result : labels.compareTo(o.labels);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Series && compareTo((Series) o) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * name.hashCode() + labels.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return labels.isEmpty() ? name : name + "{" + labels + "}";
+        }
+    }
+}
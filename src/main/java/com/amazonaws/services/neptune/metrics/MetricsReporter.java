@@ -0,0 +1,75 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically writes the registry to a file, in the Prometheus text format if the file has a .prom extension,
+ * otherwise as JSON. Each write replaces the previous file, so readers never see a partially written file.
+ */
+public class MetricsReporter implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetricsReporter.class);
+
+    private final MetricsRegistry registry;
+    private final Path file;
+    private final ScheduledExecutorService timer;
+
+    public MetricsReporter(MetricsRegistry registry, Path file, long intervalSeconds) {
+        this.registry = registry;
+        this.file = file;
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.scheduleAtFixedRate(this::writeQuietly, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    public void write() throws IOException {
+        String contents = file.toString().endsWith(".prom") ?
+                registry.toPrometheusText() :
+                new ObjectMapper().writerWithDefaultPrettyPrinter().writeValueAsString(registry.toJson());
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        Files.write(temp, contents.getBytes(StandardCharsets.UTF_8));
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void writeQuietly() {
+        try {
+            write();
+        } catch (Exception e) {
+            logger.warn("Unable to write metrics to {}: {}", file, e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        timer.shutdownNow();
+        writeQuietly();
+    }
+}
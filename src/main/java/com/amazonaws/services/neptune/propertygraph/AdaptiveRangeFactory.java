@@ -0,0 +1,238 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph;
+
+import com.amazonaws.services.neptune.cluster.ConcurrencyConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+/**
+ * Issues offset ranges whose size is adjusted after each completed range so that a range takes roughly the target
+ * latency to export. Once the remaining work is less than one range per worker, it is split evenly between the
+ * workers, so that no single worker is left exporting a large final range. With lazy ranges, the items are not
+ * counted up front: ranges are issued until one of them comes back short, and the remaining work is never split.
+ */
+public class AdaptiveRangeFactory implements RangeFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveRangeFactory.class);
+
+    static final long DEFAULT_INITIAL_RANGE_SIZE = 1000;
+    static final long MIN_RANGE_SIZE = 100;
+    static final long MAX_RANGE_SIZE = 10000000;
+
+    private static final double SMOOTHING_FACTOR = 0.5;
+
+    public static RangeFactory create(GraphClient<?> graphClient,
+                                      LabelsFilter labelsFilter,
+                                      GremlinFilters gremlinFilters,
+                                      RangeConfig rangeConfig,
+                                      ConcurrencyConfig concurrencyConfig) {
+
+        String description = labelsFilter.description(String.format("%ss", graphClient.description()));
+
+        logger.info("Calculating adaptive ranges for {}", description);
+
+        long estimatedNumberOfItemsInGraph = rangeConfig.lazyRanges() ?
+                -1 :
+                graphClient.approxCount(labelsFilter, rangeConfig, gremlinFilters);
+        int effectiveConcurrency = estimatedNumberOfItemsInGraph >= 0 && estimatedNumberOfItemsInGraph < 1000 ?
+                1 :
+                concurrencyConfig.concurrency();
+        long initialRangeSize = rangeConfig.rangeSize() > 0 ?
+                rangeConfig.rangeSize() :
+                DEFAULT_INITIAL_RANGE_SIZE;
+
+        logger.info("Estimated number of {} to export: {}, Initial range size: {}, Target range latency: {} ms, Effective concurrency: {}",
+                description,
+                rangeConfig.lazyRanges() ? "unknown" : estimatedNumberOfItemsInGraph,
+                initialRangeSize,
+                rangeConfig.targetRangeLatencyMillis(),
+                effectiveConcurrency);
+
+        return new AdaptiveRangeFactory(
+                description,
+                initialRangeSize,
+                rangeConfig.targetRangeLatencyMillis(),
+                rangeConfig.numberOfItemsToExport(),
+                rangeConfig.numberOfItemsToSkip(),
+                estimatedNumberOfItemsInGraph,
+                effectiveConcurrency);
+    }
+
+    private final String description;
+    private final long targetLatencyMillis;
+    private final boolean exportAll;
+    private final boolean countKnown;
+    private final int concurrency;
+    private final long rangeUpperBound;
+    private final long numberOfItemsToExport;
+    private final long skip;
+
+    private long rangeSize;
+    private long currentEnd;
+    private boolean endReached = false;
+    private double itemsPerMillisecond = Double.NaN;
+
+    private long rangesIssued = 0;
+    private long tailRangesIssued = 0;
+    private long rangesCompleted = 0;
+    private long resizes = 0;
+    private long totalLatencyMillis = 0;
+    private long maxLatencyMillis = 0;
+    private long minRangeSizeIssued = Long.MAX_VALUE;
+    private long maxRangeSizeIssued = 0;
+
+    AdaptiveRangeFactory(String description,
+                         long initialRangeSize,
+                         long targetLatencyMillis,
+                         long limit,
+                         long skip,
+                         long estimatedNumberOfItemsInGraph,
+                         int concurrency) {
+        this.description = description;
+        this.rangeSize = clamp(initialRangeSize);
+        this.targetLatencyMillis = targetLatencyMillis;
+        this.exportAll = limit == Long.MAX_VALUE;
+        this.concurrency = concurrency;
+        this.skip = skip;
+        this.countKnown = !exportAll || estimatedNumberOfItemsInGraph >= 0;
+        if (exportAll && !countKnown) {
+            this.rangeUpperBound = Long.MAX_VALUE;
+            this.numberOfItemsToExport = -1;
+        } else if (exportAll) {
+            this.rangeUpperBound = estimatedNumberOfItemsInGraph;
+            this.numberOfItemsToExport = estimatedNumberOfItemsInGraph - skip;
+        } else {
+            this.rangeUpperBound = limit + skip;
+            this.numberOfItemsToExport = limit;
+        }
+        this.currentEnd = skip;
+    }
+
+    @Override
+    public synchronized Range nextRange() {
+
+        if (isExhausted()) {
+            return new Range(-1, -1);
+        }
+
+        long size = rangeSize;
+        long remaining = rangeUpperBound - currentEnd;
+
+        if (countKnown && remaining <= size * concurrency) {
+            size = max(MIN_RANGE_SIZE, (remaining + concurrency - 1) / concurrency);
+            tailRangesIssued++;
+        }
+
+        long start = currentEnd;
+        long end = min(start + size, rangeUpperBound);
+        currentEnd = end;
+
+        rangesIssued++;
+        minRangeSizeIssued = min(minRangeSizeIssued, end - start);
+        maxRangeSizeIssued = max(maxRangeSizeIssued, end - start);
+
+        if (end >= rangeUpperBound && exportAll) {
+            end = -1;
+        }
+
+        return new Range(start, end);
+    }
+
+    @Override
+    public synchronized void rangeCompleted(Range range, long numberOfItems, long durationMillis) {
+
+        rangesCompleted++;
+        totalLatencyMillis += durationMillis;
+        maxLatencyMillis = max(maxLatencyMillis, durationMillis);
+
+        if (!countKnown && range.sizeExceeds(numberOfItems)) {
+            endReached = true;
+        }
+
+        if (numberOfItems == 0) {
+            return;
+        }
+
+        double observed = (double) numberOfItems / max(durationMillis, 1);
+        itemsPerMillisecond = Double.isNaN(itemsPerMillisecond) ?
+                observed :
+                (SMOOTHING_FACTOR * observed) + ((1 - SMOOTHING_FACTOR) * itemsPerMillisecond);
+
+        // Move towards the size that would meet the target latency, but by no more than a factor of 2 at a time
+        long proposedRangeSize = (long) (itemsPerMillisecond * targetLatencyMillis);
+        long newRangeSize = clamp(min(max(proposedRangeSize, rangeSize / 2), rangeSize * 2));
+
+        if (newRangeSize != rangeSize) {
+            logger.info("Resizing ranges for {} from {} to {} (last range: {} items in {} ms, target latency: {} ms)",
+                    description,
+                    rangeSize,
+                    newRangeSize,
+                    numberOfItems,
+                    durationMillis,
+                    targetLatencyMillis);
+            rangeSize = newRangeSize;
+            resizes++;
+        }
+    }
+
+    @Override
+    public synchronized Map<String, Long> metrics() {
+        Map<String, Long> metrics = new LinkedHashMap<>();
+        metrics.put("rangesIssued", rangesIssued);
+        metrics.put("tailRangesIssued", tailRangesIssued);
+        metrics.put("rangesCompleted", rangesCompleted);
+        metrics.put("resizes", resizes);
+        metrics.put("currentRangeSize", rangeSize);
+        metrics.put("minRangeSize", rangesIssued == 0 ? 0 : minRangeSizeIssued);
+        metrics.put("maxRangeSize", maxRangeSizeIssued);
+        metrics.put("meanLatencyMillis", rangesCompleted == 0 ? 0 : totalLatencyMillis / rangesCompleted);
+        metrics.put("maxLatencyMillis", maxLatencyMillis);
+        return metrics;
+    }
+
+    @Override
+    public long numberOfItemsToExport() {
+        return numberOfItemsToExport;
+    }
+
+    @Override
+    public synchronized boolean isExhausted() {
+        return endReached || currentEnd >= rangeUpperBound;
+    }
+
+    @Override
+    public int concurrency() {
+        return concurrency;
+    }
+
+    @Override
+    public synchronized void reset() {
+        currentEnd = skip;
+        endReached = false;
+    }
+
+    synchronized long rangeSize() {
+        return rangeSize;
+    }
+
+    private static long clamp(long rangeSize) {
+        return min(max(rangeSize, MIN_RANGE_SIZE), MAX_RANGE_SIZE);
+    }
+}
@@ -18,6 +18,7 @@ import com.amazonaws.services.neptune.propertygraph.schema.GraphElementSchemas;
 import com.amazonaws.services.neptune.propertygraph.schema.GraphElementType;
 import com.amazonaws.services.neptune.propertygraph.schema.LabelSchema;
 import com.amazonaws.services.neptune.propertygraph.schema.PropertySchema;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.structure.Element;
 
@@ -37,8 +38,8 @@ public class AllLabels implements LabelsFilter {
     }
 
     @Override
-    public Collection<Label> getLabelsUsing(GraphClient<?> graphClient) {
-        return graphClient.labels(labelStrategy);
+    public Collection<Label> getLabelsUsing(GraphClient<?> graphClient, LabelDiscovery labelDiscovery) {
+        return graphClient.labels(labelStrategy, labelDiscovery);
     }
 
     @Override
@@ -78,6 +79,11 @@ public class AllLabels implements LabelsFilter {
         return labelStrategy.addAdditionalColumns(t);
     }
 
+    @Override
+    public Traversal<?, Map<String, Object>> labelKey() {
+        return labelStrategy.labelKey();
+    }
+
     @Override
     public LabelsFilter filterFor(Label label) {
         return new SpecifiedLabels(Collections.singletonList(label), labelStrategy);
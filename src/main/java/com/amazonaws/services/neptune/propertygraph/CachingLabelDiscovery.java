@@ -0,0 +1,49 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Caches discovered labels per cluster and label strategy, so that repeated exports in the same process
+ * (for example, when sampling several export specifications) only discover labels once.
+ */
+public class CachingLabelDiscovery implements LabelDiscovery {
+
+    private static final ConcurrentMap<String, Collection<Label>> CACHE = new ConcurrentHashMap<>();
+
+    static void clearCache() {
+        CACHE.clear();
+    }
+
+    private final String clusterKey;
+    private final LabelDiscovery labelDiscovery;
+
+    public CachingLabelDiscovery(String clusterKey, LabelDiscovery labelDiscovery) {
+        this.clusterKey = clusterKey;
+        this.labelDiscovery = labelDiscovery;
+    }
+
+    @Override
+    public Collection<Label> getLabels(GraphTraversalSource g, LabelStrategy labelStrategy) {
+        return CACHE.computeIfAbsent(
+                String.format("%s/%s", clusterKey, labelStrategy),
+                key -> Collections.unmodifiableList(new ArrayList<>(labelDiscovery.getLabels(g, labelStrategy))));
+    }
+}
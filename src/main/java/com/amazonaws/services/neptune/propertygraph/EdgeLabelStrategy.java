@@ -14,8 +14,10 @@ package com.amazonaws.services.neptune.propertygraph;
 
 import com.amazonaws.services.neptune.propertygraph.io.result.PGResult;
 import org.apache.commons.lang3.ArrayUtils;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.slf4j.Logger;
@@ -44,6 +46,16 @@ public enum EdgeLabelStrategy implements LabelStrategy {
             return labels;
         }
 
+        @Override
+        public GraphTraversal<? extends Element, ? extends Element> elements(GraphTraversalSource g) {
+            return g.E();
+        }
+
+        @Override
+        public Traversal<?, Map<String, Object>> labelKey() {
+            return __.<Edge, Object>project("~label").by(label());
+        }
+
         @Override
         public Label getLabelFor(Map<String, Object> input) {
             return new Label(input.get("~label").toString());
@@ -86,6 +98,19 @@ public enum EdgeLabelStrategy implements LabelStrategy {
             return labels;
         }
 
+        @Override
+        public GraphTraversal<? extends Element, ? extends Element> elements(GraphTraversalSource g) {
+            return g.E();
+        }
+
+        @Override
+        public Traversal<?, Map<String, Object>> labelKey() {
+            return __.<Edge, Object>project("~fromLabels", "~label", "~toLabels")
+                    .by(outV().label().fold())
+                    .by(label())
+                    .by(inV().label().fold());
+        }
+
         @Override
         public Label getLabelFor(Map<String, Object> input) {
             @SuppressWarnings("unchecked")
@@ -120,9 +120,6 @@ public class EdgesClient implements GraphClient<PGResult> {
 
         traversal.forEachRemaining(p -> {
             try {
-                if (featureToggles.containsFeature(FeatureToggle.Inject_Fault)){
-                    throw new IllegalStateException("Simulated fault in EdgesClient");
-                }
                 handler.handle(new PGEdgeResult(p), false);
             } catch (IOException e) {
                 throw new RuntimeException(e);
@@ -130,6 +127,12 @@ public class EdgesClient implements GraphClient<PGResult> {
         });
     }
 
+    @Override
+    public boolean filtersAfterRange(GremlinFilters gremlinFilters) {
+        return featureToggles.containsFeature(FeatureToggle.FilterByPropertyKeys) ||
+                (gremlinFilters.hasEdgeFilter() && !gremlinFilters.filterEdgesEarly());
+    }
+
     private GraphTraversal<? extends Element, ?> filterByPropertyKeys(GraphTraversal<? extends Element, ?> traversal,
                                                                       LabelsFilter labelsFilter,
                                                                       GraphElementSchemas graphElementSchemas) {
@@ -169,8 +172,51 @@ public class EdgesClient implements GraphClient<PGResult> {
     }
 
     @Override
-    public Collection<Label> labels(LabelStrategy labelStrategy) {
-        return labelStrategy.getLabels(g);
+    public Map<Label, Long> approxCountsByLabel(LabelsFilter labelsFilter, GremlinFilters gremlinFilters) {
+
+        String description = labelsFilter.description("edges");
+        System.err.println(String.format("Counting %s by label...", description));
+
+        return Timer.timedActivity(String.format("counting %s by label", description), (Activity.Callable<Map<Label, Long>>) () -> {
+            GraphTraversal<? extends Element, ?> traversal = traversal(Range.ALL, labelsFilter);
+            if (gremlinFilters.filterEdgesEarly()) {
+                traversal = gremlinFilters.applyToEdges(traversal);
+            }
+            GraphTraversal<? extends Element, Map<Object, Long>> t = traversal
+                    .groupCount()
+                    .by(labelsFilter.labelKey());
+
+            logger.info(GremlinQueryDebugger.queryAsString(t));
+
+            Map<Label, Long> counts = GroupCountLabelDiscovery.countsByLabel(t, labelsFilter::getLabelFor);
+            if (stats != null) {
+                stats.setEdgeCount(counts.values().stream().mapToLong(Long::longValue).sum());
+            }
+            return counts;
+        });
+    }
+
+    @Override
+    public Collection<Object> sampleIds(LabelsFilter labelsFilter, GremlinFilters gremlinFilters, double probability) {
+
+        String description = labelsFilter.description("edges");
+
+        return Timer.timedActivity(String.format("sampling %s IDs", description), (Activity.Callable<Collection<Object>>) () -> {
+            GraphTraversal<? extends Element, ?> traversal = traversal(Range.ALL, labelsFilter);
+            if (gremlinFilters.filterEdgesEarly()) {
+                traversal = gremlinFilters.applyToEdges(traversal);
+            }
+            GraphTraversal<? extends Element, Object> t = traversal.coin(probability).id();
+
+            logger.info(GremlinQueryDebugger.queryAsString(t));
+
+            return t.toList();
+        });
+    }
+
+    @Override
+    public Collection<Label> labels(LabelStrategy labelStrategy, LabelDiscovery labelDiscovery) {
+        return labelDiscovery.getLabels(g, labelStrategy);
     }
 
     @Override
@@ -183,6 +229,11 @@ public class EdgesClient implements GraphClient<PGResult> {
         stats.incrementEdgeStats(label);
     }
 
+    @Override
+    public void updateStats(Label label, long count) {
+        stats.incrementEdgeStats(label, count);
+    }
+
     private GraphTraversal<? extends Element, ?> traversal(Range range, LabelsFilter labelsFilter) {
         return range.applyRange(labelsFilter.apply(g.E(), featureToggles, GraphElementType.edges));
     }
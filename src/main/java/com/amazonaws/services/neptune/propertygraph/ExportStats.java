@@ -22,7 +22,8 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
 
 public class ExportStats implements Jsonizable<GraphSchema> {
     private long nodeCount = 0;
@@ -30,6 +31,7 @@ public class ExportStats implements Jsonizable<GraphSchema> {
 
     private final ConcurrentHashMap<Label, LabelStats> nodeStats = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<Label, LabelStats> edgeStats = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, Map<String, Long>> rangeMetrics = new ConcurrentSkipListMap<>();
 
     public void setNodeCount(long value) {
         nodeCount = value;
@@ -40,12 +42,29 @@ public class ExportStats implements Jsonizable<GraphSchema> {
     }
 
 
+    public void setSourceCountsFromExportCounts() {
+        nodeCount = nodeStats.values().stream().map(LabelStats::count).reduce(0L, Long::sum);
+        edgeCount = edgeStats.values().stream().map(LabelStats::count).reduce(0L, Long::sum);
+    }
+
     public void incrementNodeStats(Label label) {
-        nodeStats.computeIfAbsent(label, LabelStats::new).increment();
+        incrementNodeStats(label, 1);
+    }
+
+    public void incrementNodeStats(Label label, long count) {
+        nodeStats.computeIfAbsent(label, LabelStats::new).add(count);
     }
 
     public void incrementEdgeStats(Label label) {
-        edgeStats.computeIfAbsent(label, LabelStats::new).increment();
+        incrementEdgeStats(label, 1);
+    }
+
+    public void incrementEdgeStats(Label label, long count) {
+        edgeStats.computeIfAbsent(label, LabelStats::new).add(count);
+    }
+
+    public void addRangeMetrics(String description, Map<String, Long> metrics) {
+        rangeMetrics.put(description, metrics);
     }
 
     public String formatStats(GraphSchema graphSchema) {
@@ -86,6 +105,13 @@ public class ExportStats implements Jsonizable<GraphSchema> {
             }
         }
 
+        if (!rangeMetrics.isEmpty()) {
+            sb.append("Ranges:").append(System.lineSeparator());
+            for (Map.Entry<String, Map<String, Long>> entry : rangeMetrics.entrySet()) {
+                sb.append("  ").append(entry.getKey()).append(": ").append(entry.getValue()).append(System.lineSeparator());
+            }
+        }
+
         return sb.toString();
     }
 
@@ -208,6 +234,16 @@ public class ExportStats implements Jsonizable<GraphSchema> {
 
             edgeNode.set("properties", propertiesArray);
         }
+
+        if (!rangeMetrics.isEmpty()) {
+            ObjectNode rangesNode = JsonNodeFactory.instance.objectNode();
+            statsNode.set("ranges", rangesNode);
+            for (Map.Entry<String, Map<String, Long>> entry : rangeMetrics.entrySet()) {
+                ObjectNode metricsNode = JsonNodeFactory.instance.objectNode();
+                entry.getValue().forEach(metricsNode::put);
+                rangesNode.set(entry.getKey(), metricsNode);
+            }
+        }
     }
 
     private ArrayNode arrayNodeFromList(Collection<String> c) {
@@ -227,18 +263,18 @@ public class ExportStats implements Jsonizable<GraphSchema> {
 
     private static class LabelStats {
         private final Label label;
-        private final AtomicLong count = new AtomicLong(0);
+        private final LongAdder count = new LongAdder();
 
         private LabelStats(Label label) {
             this.label = label;
         }
 
-        public void increment() {
-            count.incrementAndGet();
+        public void add(long value) {
+            count.add(value);
         }
 
         public long count() {
-            return count.get();
+            return count.sum();
         }
 
         public Label label() {
@@ -247,7 +283,7 @@ public class ExportStats implements Jsonizable<GraphSchema> {
 
         @Override
         public String toString() {
-            return String.format("%s: %s", label.fullyQualifiedLabel(), count.get());
+            return String.format("%s: %s", label.fullyQualifiedLabel(), count.sum());
         }
     }
 }
@@ -0,0 +1,43 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+
+class FallbackLabelDiscovery implements LabelDiscovery {
+
+    private static final Logger logger = LoggerFactory.getLogger(FallbackLabelDiscovery.class);
+
+    private final LabelDiscovery primary;
+    private final LabelDiscovery fallback;
+
+    FallbackLabelDiscovery(LabelDiscovery primary, LabelDiscovery fallback) {
+        this.primary = primary;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public Collection<Label> getLabels(GraphTraversalSource g, LabelStrategy labelStrategy) {
+        try {
+            return primary.getLabels(g, labelStrategy);
+        } catch (Exception e) {
+            logger.warn("Unable to discover {} labels, so falling back to alternative label discovery: {}",
+                    labelStrategy, e.getMessage());
+            return fallback.getLabels(g, labelStrategy);
+        }
+    }
+}
@@ -25,9 +25,15 @@ public interface GraphClient<T> extends StatsContainer {
 
     void queryForValues(GraphElementHandler<T> handler, Range range, LabelsFilter labelsFilter, GremlinFilters gremlinFilters, GraphElementSchemas graphElementSchemas);
 
+    boolean filtersAfterRange(GremlinFilters gremlinFilters);
+
     long approxCount(LabelsFilter labelsFilter, RangeConfig rangeConfig, GremlinFilters gremlinFilters);
 
-    Collection<Label> labels(LabelStrategy labelStrategy);
+    Map<Label, Long> approxCountsByLabel(LabelsFilter labelsFilter, GremlinFilters gremlinFilters);
+
+    Collection<Object> sampleIds(LabelsFilter labelsFilter, GremlinFilters gremlinFilters, double probability);
+
+    Collection<Label> labels(LabelStrategy labelStrategy, LabelDiscovery labelDiscovery);
 
     Label getLabelFor(T input, LabelsFilter labelsFilter);
 }
@@ -24,8 +24,12 @@ import org.joda.time.format.ISODateTimeFormat;
 
 import javax.script.Bindings;
 import javax.script.ScriptException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class GremlinFilters {
 
@@ -35,6 +39,7 @@ public class GremlinFilters {
     private final String gremlinNodeFilter;
     private final String gremlinEdgeFilter;
     private final boolean filterEdgesEarly;
+    private final ConcurrentMap<String, List<Bytecode.Instruction>> compiledFilters = new ConcurrentHashMap<>();
 
     private static final List<String> INVALID_OPERATORS = Arrays.asList("addV", "addE", "write", "drop", "sideEffect", "property", "mergeV", "mergeE");
 
@@ -65,11 +70,28 @@ public class GremlinFilters {
         }
     }
 
+    public boolean hasEdgeFilter() {
+        return StringUtils.isNotEmpty(gremlinEdgeFilter) || StringUtils.isNotEmpty(gremlinFilter);
+    }
+
     public boolean filterEdgesEarly() {
         return filterEdgesEarly;
     }
 
     private GraphTraversal<? extends Element, ?> apply(GraphTraversal<? extends Element, ?> t, String gremlin) {
+        for (Bytecode.Instruction instruction : compile(gremlin)) {
+            t.asAdmin().getBytecode().addStep(instruction.getOperator(), instruction.getArguments());
+        }
+        return t;
+    }
+
+    // Evaluating a filter with the Groovy script engine is expensive, and filters are applied to
+    // every range traversal, so each filter is compiled and validated once and its bytecode replayed
+    private List<Bytecode.Instruction> compile(String gremlin) {
+        return compiledFilters.computeIfAbsent(gremlin, this::compileFilter);
+    }
+
+    private List<Bytecode.Instruction> compileFilter(String gremlin) {
         CachedGremlinScriptEngineManager scriptEngineManager = new CachedGremlinScriptEngineManager();
         GremlinScriptEngine engine = scriptEngineManager.getEngineByName("gremlin-groovy");
         Bindings engineBindings = engine.createBindings();
@@ -81,13 +103,13 @@ public class GremlinFilters {
         } catch (ScriptException e) {
             throw new IllegalStateException(String.format("Invalid Gremlin filter: %s. %s", gremlin, e.getMessage()), e);
         }
+        List<Bytecode.Instruction> instructions = new ArrayList<>();
         for (Bytecode.Instruction instruction : whereTraversal.getBytecode().getInstructions()) {
-            String operator = instruction.getOperator();
-            validateOperator(operator);
-            t.asAdmin().getBytecode().addStep(operator, instruction.getArguments());
+            validateOperator(instruction.getOperator());
+            instructions.add(instruction);
         }
 
-        return t;
+        return Collections.unmodifiableList(instructions);
     }
 
     private void validateOperator(String operator) {
@@ -0,0 +1,106 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph;
+
+import com.amazonaws.services.neptune.util.Activity;
+import com.amazonaws.services.neptune.util.Timer;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Aggregates labels on the server using groupCount(). When configured with more than one slice, the
+ * aggregation is split into ID ranges so that no single query has to group every element in the graph.
+ */
+public class GroupCountLabelDiscovery implements LabelDiscovery {
+
+    private static final Logger logger = LoggerFactory.getLogger(GroupCountLabelDiscovery.class);
+
+    private final int slices;
+
+    public GroupCountLabelDiscovery(int slices) {
+        if (slices < 1) {
+            throw new IllegalArgumentException("Number of label discovery slices must be greater than 0");
+        }
+        this.slices = slices;
+    }
+
+    @Override
+    public Collection<Label> getLabels(GraphTraversalSource g, LabelStrategy labelStrategy) {
+        return Timer.timedActivity(String.format("discovering %s labels", labelStrategy), (Activity.Callable<Collection<Label>>) () -> {
+            Map<Label, Long> counts = new HashMap<>();
+            for (Range range : ranges(g, labelStrategy)) {
+                countsByLabel(groupCount(g, labelStrategy, range), labelStrategy::getLabelFor)
+                        .forEach((label, count) -> counts.merge(label, count, Long::sum));
+            }
+            counts.forEach((label, count) -> logger.info("Discovered {} {} elements", count, label.fullyQualifiedLabel()));
+            return counts.keySet();
+        });
+    }
+
+    static Map<Label, Long> countsByLabel(Traversal<?, Map<Object, Long>> groupCount,
+                                          Function<Map<String, Object>, Label> labelFor) {
+        Map<Label, Long> counts = new HashMap<>();
+        for (Map.Entry<Object, Long> entry : groupCount.tryNext().orElse(Collections.emptyMap()).entrySet()) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> labelKey = (Map<String, Object>) entry.getKey();
+            counts.merge(labelFor.apply(labelKey), entry.getValue(), Long::sum);
+        }
+        return counts;
+    }
+
+    private Traversal<?, Map<Object, Long>> groupCount(GraphTraversalSource g, LabelStrategy labelStrategy, Range range) {
+        GraphTraversal<?, Map<Object, Long>> traversal = range.applyRange(labelStrategy.elements(g))
+                .groupCount()
+                .by(labelStrategy.labelKey());
+
+        logger.info(GremlinQueryDebugger.queryAsString(traversal));
+
+        return traversal;
+    }
+
+    private List<Range> ranges(GraphTraversalSource g, LabelStrategy labelStrategy) {
+        if (slices == 1) {
+            return Collections.singletonList(Range.ALL);
+        }
+
+        long count = labelStrategy.elements(g).count().next();
+        double probability = KeysetRangeFactory.sampleProbability(count, slices);
+
+        GraphTraversal<? extends Element, Object> sampleTraversal = labelStrategy.elements(g).coin(probability).id();
+        logger.info(GremlinQueryDebugger.queryAsString(sampleTraversal));
+
+        List<Object> boundaries = KeysetRangeFactory.boundaries(sampleTraversal.toList(), slices);
+
+        List<Range> ranges = new ArrayList<>();
+        Object lowerBound = null;
+        for (Object boundary : boundaries) {
+            ranges.add(new IdRange(lowerBound, boundary));
+            lowerBound = boundary;
+        }
+        ranges.add(new IdRange(lowerBound, null));
+
+        return ranges;
+    }
+}
@@ -0,0 +1,161 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.T;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A range of elements bounded by element ID rather than by position. The lower bound is inclusive, the upper
+ * bound exclusive; a null bound leaves that side of the range open.
+ */
+public class IdRange extends Range {
+
+    private final Object lowerBound;
+    private final Object upperBound;
+
+    public IdRange(Object lowerBound, Object upperBound) {
+        super(0, -1);
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+    }
+
+    @Override
+    public GraphTraversal<? extends Element, ?> applyRange(GraphTraversal<? extends Element, ?> traversal) {
+
+        GraphTraversal<? extends Element, ?> t = traversal;
+
+        if (lowerBound != null) {
+            t = t.has(T.id, P.gte(lowerBound));
+        }
+        if (upperBound != null) {
+            t = t.has(T.id, P.lt(upperBound));
+        }
+
+        return t;
+    }
+
+    @Override
+    public long difference() {
+        return -1;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return false;
+    }
+
+    @Override
+    public boolean isAll() {
+        return lowerBound == null && upperBound == null;
+    }
+
+    @Override
+    public boolean sizeExceeds(long value) {
+        // ID ranges are not bounded by count, so the number of results says nothing about whether there is more to come
+        return isAll();
+    }
+
+    @Override
+    public Range resumeAfter(long numberOfElements) {
+        throw new UnsupportedOperationException("ID ranges cannot be resumed part way through");
+    }
+
+    @Override
+    public List<Range> bisect() {
+
+        if (!isIntegral(lowerBound) || !isIntegral(upperBound)) {
+            return Collections.emptyList();
+        }
+
+        long lower = ((Number) lowerBound).longValue();
+        long upper = ((Number) upperBound).longValue();
+
+        if (upper - lower < 2) {
+            return Collections.emptyList();
+        }
+
+        long middle = lower + ((upper - lower) / 2);
+        Object middleId = lowerBound instanceof Integer && upperBound instanceof Integer ? (Object) (int) middle : (Object) middle;
+        return Arrays.asList(new IdRange(lowerBound, middleId), new IdRange(middleId, upperBound));
+    }
+
+    @Override
+    public boolean hasStableOrder() {
+        return false;
+    }
+
+    @Override
+    public JsonNode toJson() {
+        ObjectNode json = JsonNodeFactory.instance.objectNode();
+        putId(json, "lowerBound", lowerBound);
+        putId(json, "upperBound", upperBound);
+        return json;
+    }
+
+    @Override
+    public String toString() {
+
+        if (isAll()) {
+            return super.toString();
+        }
+
+        StringBuilder builder = new StringBuilder();
+
+        if (lowerBound != null) {
+            builder.append("has(T.id, gte(").append(formatId(lowerBound)).append("))");
+        }
+        if (upperBound != null) {
+            if (builder.length() > 0) {
+                builder.append(".");
+            }
+            builder.append("has(T.id, lt(").append(formatId(upperBound)).append("))");
+        }
+
+        return builder.toString();
+    }
+
+    private static boolean isIntegral(Object id) {
+        return id instanceof Integer || id instanceof Long;
+    }
+
+    private static String formatId(Object id) {
+        if (id instanceof Number) {
+            return String.valueOf(id);
+        }
+        return String.format("'%s'", String.valueOf(id).replace("\\", "\\\\").replace("'", "\\'"));
+    }
+
+    private static void putId(ObjectNode json, String fieldName, Object id) {
+        if (id == null) {
+            json.putNull(fieldName);
+        } else if (id instanceof Integer) {
+            json.put(fieldName, (Integer) id);
+        } else if (id instanceof Long) {
+            json.put(fieldName, (Long) id);
+        } else if (id instanceof Number) {
+            json.put(fieldName, ((Number) id).doubleValue());
+        } else {
+            json.put(fieldName, String.valueOf(id));
+        }
+    }
+}
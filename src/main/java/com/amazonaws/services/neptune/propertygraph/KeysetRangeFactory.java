@@ -0,0 +1,171 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph;
+
+import com.amazonaws.services.neptune.cluster.ConcurrencyConfig;
+import org.apache.tinkerpop.gremlin.util.NumberHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.Math.min;
+
+public class KeysetRangeFactory implements RangeFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(KeysetRangeFactory.class);
+
+    private static final int OVERSAMPLING_FACTOR = 10;
+    private static final long MAX_SAMPLE_SIZE = 1000000;
+
+    static final Comparator<Object> ID_COMPARATOR = (id1, id2) -> {
+        if (id1 instanceof Number && id2 instanceof Number) {
+            return NumberHelper.compare((Number) id1, (Number) id2);
+        }
+        return String.valueOf(id1).compareTo(String.valueOf(id2));
+    };
+
+    public static RangeFactory create(GraphClient<?> graphClient,
+                                      LabelsFilter labelsFilter,
+                                      GremlinFilters gremlinFilters,
+                                      RangeConfig rangeConfig,
+                                      ConcurrencyConfig concurrencyConfig) {
+
+        if (rangeConfig.numberOfItemsToSkip() > 0 || rangeConfig.numberOfItemsToExport() != Long.MAX_VALUE) {
+            throw new IllegalArgumentException("Skip and limit are not supported by the keyset range strategy");
+        }
+
+        String description = labelsFilter.description(String.format("%ss", graphClient.description()));
+
+        logger.info("Calculating keyset ranges for {}", description);
+
+        long estimatedNumberOfItemsInGraph = graphClient.approxCount(labelsFilter, rangeConfig, gremlinFilters);
+        int effectiveConcurrency = estimatedNumberOfItemsInGraph < 1000 ?
+                1 :
+                concurrencyConfig.concurrency();
+        long numberOfRanges = concurrencyConfig.isUnboundedParallelExecution(rangeConfig) ?
+                effectiveConcurrency :
+                numberOfRanges(estimatedNumberOfItemsInGraph, rangeConfig.rangeSize());
+
+        List<Object> boundaries = numberOfRanges > 1 ?
+                sampleBoundaries(graphClient, labelsFilter, gremlinFilters, estimatedNumberOfItemsInGraph, numberOfRanges) :
+                new ArrayList<>();
+
+        logger.info("Estimated number of {} to export: {}, Number of ranges: {}, Effective concurrency: {}",
+                description,
+                estimatedNumberOfItemsInGraph,
+                boundaries.size() + 1,
+                effectiveConcurrency);
+
+        return new KeysetRangeFactory(boundaries, estimatedNumberOfItemsInGraph, effectiveConcurrency);
+    }
+
+    private static long numberOfRanges(long estimatedNumberOfItemsInGraph, long rangeSize) {
+        if (rangeSize <= 0) {
+            return 1;
+        }
+        return (estimatedNumberOfItemsInGraph + rangeSize - 1) / rangeSize;
+    }
+
+    static List<Object> sampleBoundaries(GraphClient<?> graphClient,
+                                         LabelsFilter labelsFilter,
+                                         GremlinFilters gremlinFilters,
+                                         long estimatedNumberOfItemsInGraph,
+                                         long numberOfRanges) {
+
+        double probability = sampleProbability(estimatedNumberOfItemsInGraph, numberOfRanges);
+
+        Collection<Object> sample = graphClient.sampleIds(labelsFilter, gremlinFilters, probability);
+
+        return boundaries(sample, numberOfRanges);
+    }
+
+    static double sampleProbability(long estimatedNumberOfItemsInGraph, long numberOfRanges) {
+        long sampleSize = min(numberOfRanges * OVERSAMPLING_FACTOR, MAX_SAMPLE_SIZE);
+        return min(1.0, (double) sampleSize / Math.max(estimatedNumberOfItemsInGraph, 1));
+    }
+
+    static List<Object> boundaries(Collection<Object> sample, long numberOfRanges) {
+
+        TreeSet<Object> sortedIds = new TreeSet<>(ID_COMPARATOR);
+        sortedIds.addAll(sample);
+
+        List<Object> ids = new ArrayList<>(sortedIds);
+        List<Object> boundaries = new ArrayList<>();
+
+        long numberOfBoundaries = min(numberOfRanges - 1, ids.size());
+        double step = (double) ids.size() / (numberOfBoundaries + 1);
+
+        for (int i = 1; i <= numberOfBoundaries; i++) {
+            Object boundary = ids.get((int) (i * step));
+            if (boundaries.isEmpty() || ID_COMPARATOR.compare(boundaries.get(boundaries.size() - 1), boundary) < 0) {
+                boundaries.add(boundary);
+            }
+        }
+
+        logger.info("Sampled {} IDs to create {} ID boundaries", ids.size(), boundaries.size());
+
+        return boundaries;
+    }
+
+    private final List<Object> boundaries;
+    private final long numberOfItemsToExport;
+    private final int concurrency;
+    private final AtomicInteger currentIndex = new AtomicInteger();
+
+    KeysetRangeFactory(List<Object> boundaries, long numberOfItemsToExport, int concurrency) {
+        this.boundaries = boundaries;
+        this.numberOfItemsToExport = numberOfItemsToExport;
+        this.concurrency = concurrency;
+    }
+
+    @Override
+    public Range nextRange() {
+
+        int index = currentIndex.getAndIncrement();
+
+        if (index > boundaries.size()) {
+            return new Range(-1, -1);
+        }
+
+        Object lowerBound = index == 0 ? null : boundaries.get(index - 1);
+        Object upperBound = index == boundaries.size() ? null : boundaries.get(index);
+
+        return new IdRange(lowerBound, upperBound);
+    }
+
+    @Override
+    public long numberOfItemsToExport() {
+        return numberOfItemsToExport;
+    }
+
+    @Override
+    public boolean isExhausted() {
+        return currentIndex.get() > boundaries.size();
+    }
+
+    @Override
+    public int concurrency() {
+        return concurrency;
+    }
+
+    @Override
+    public void reset() {
+        currentIndex.set(0);
+    }
+}
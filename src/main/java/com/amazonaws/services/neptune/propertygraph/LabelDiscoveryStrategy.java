@@ -0,0 +1,46 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph;
+
+import com.amazonaws.services.neptune.cluster.ConnectionConfig;
+
+public enum LabelDiscoveryStrategy {
+
+    clientSide {
+        @Override
+        LabelDiscovery createLabelDiscovery(ConnectionConfig connectionConfig, int slices) {
+            return LabelDiscovery.CLIENT_SIDE;
+        }
+    },
+    groupCount {
+        @Override
+        LabelDiscovery createLabelDiscovery(ConnectionConfig connectionConfig, int slices) {
+            return new GroupCountLabelDiscovery(slices)
+                    .withFallback(LabelDiscovery.CLIENT_SIDE);
+        }
+    },
+    summary {
+        @Override
+        LabelDiscovery createLabelDiscovery(ConnectionConfig connectionConfig, int slices) {
+            return SummaryLabelDiscovery.forCluster(connectionConfig)
+                    .withFallback(groupCount.createLabelDiscovery(connectionConfig, slices));
+        }
+    };
+
+    public LabelDiscovery labelDiscoveryFor(ConnectionConfig connectionConfig, int slices) {
+        String clusterKey = String.format("%s:%s", String.join(",", connectionConfig.endpoints()), connectionConfig.port());
+        return new CachingLabelDiscovery(clusterKey, createLabelDiscovery(connectionConfig, slices));
+    }
+
+    abstract LabelDiscovery createLabelDiscovery(ConnectionConfig connectionConfig, int slices);
+}
@@ -13,6 +13,7 @@ permissions and limitations under the License.
 package com.amazonaws.services.neptune.propertygraph;
 
 import com.amazonaws.services.neptune.propertygraph.io.result.PGResult;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.structure.Element;
@@ -23,6 +24,13 @@ import java.util.Map;
 public interface LabelStrategy {
     Collection<Label> getLabels(GraphTraversalSource g);
 
+    GraphTraversal<? extends Element, ? extends Element> elements(GraphTraversalSource g);
+
+    /**
+     * Traversal that projects an element into a map that {@link #getLabelFor(Map)} can turn into a label.
+     */
+    Traversal<?, Map<String, Object>> labelKey();
+
     Label getLabelFor(Map<String, Object> input);
 
     Label getLabelFor(PGResult input);
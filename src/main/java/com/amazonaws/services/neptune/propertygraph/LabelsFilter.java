@@ -16,6 +16,7 @@ import com.amazonaws.services.neptune.export.FeatureToggles;
 import com.amazonaws.services.neptune.propertygraph.io.result.PGResult;
 import com.amazonaws.services.neptune.propertygraph.schema.GraphElementSchemas;
 import com.amazonaws.services.neptune.propertygraph.schema.GraphElementType;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.structure.Element;
 
@@ -26,7 +27,7 @@ public interface LabelsFilter {
 
     GraphTraversal<? extends Element, ?> apply(GraphTraversal<? extends Element, ?> traversal, FeatureToggles featureToggles, GraphElementType graphElementType);
 
-    Collection<Label> getLabelsUsing(GraphClient<?> graphClient);
+    Collection<Label> getLabelsUsing(GraphClient<?> graphClient, LabelDiscovery labelDiscovery);
 
     String[] getPropertiesForLabels(GraphElementSchemas graphElementSchemas);
 
@@ -38,6 +39,8 @@ public interface LabelsFilter {
 
     <T> GraphTraversal<? extends Element, T> addAdditionalColumns(GraphTraversal<? extends Element, T> t);
 
+    Traversal<?, Map<String, Object>> labelKey();
+
     LabelsFilter filterFor(Label label);
 
     LabelsFilter intersection(Collection<Label> labels);
@@ -0,0 +1,123 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph;
+
+import com.amazonaws.services.neptune.cluster.ConcurrencyConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.lang.Math.min;
+
+/**
+ * Issues offset ranges without first counting the items to be exported. Ranges are issued until one of them
+ * comes back short, at which point the end of the data has been reached. Only used when nothing is filtered out of
+ * a range after it has been applied.
+ */
+public class LazyRangeFactory implements RangeFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(LazyRangeFactory.class);
+
+    static final long DEFAULT_RANGE_SIZE = 100000;
+
+    public static RangeFactory create(GraphClient<?> graphClient,
+                                      LabelsFilter labelsFilter,
+                                      RangeConfig rangeConfig,
+                                      ConcurrencyConfig concurrencyConfig) {
+
+        String description = labelsFilter.description(String.format("%ss", graphClient.description()));
+
+        // With a single worker and no range size, the whole export can be issued as one range
+        long rangeSize = rangeConfig.rangeSize() > 0 ?
+                rangeConfig.rangeSize() :
+                concurrencyConfig.concurrency() > 1 ? DEFAULT_RANGE_SIZE : -1;
+
+        logger.info("Exporting {} without counting, Range size: {}, Concurrency: {}",
+                description,
+                rangeSize > 0 ? rangeSize : "all",
+                concurrencyConfig.concurrency());
+
+        return new LazyRangeFactory(
+                rangeSize,
+                rangeConfig.numberOfItemsToExport(),
+                rangeConfig.numberOfItemsToSkip(),
+                concurrencyConfig.concurrency());
+    }
+
+    private final long rangeSize;
+    private final boolean exportAll;
+    private final int concurrency;
+    private final long rangeUpperBound;
+    private final long numberOfItemsToExport;
+    private final long skip;
+
+    private long currentEnd;
+    private boolean endReached = false;
+
+    LazyRangeFactory(long rangeSize, long limit, long skip, int concurrency) {
+        this.rangeSize = rangeSize;
+        this.exportAll = limit == Long.MAX_VALUE;
+        this.concurrency = concurrency;
+        this.skip = skip;
+        this.rangeUpperBound = exportAll ? Long.MAX_VALUE : limit + skip;
+        this.numberOfItemsToExport = exportAll ? -1 : limit;
+        this.currentEnd = skip;
+    }
+
+    @Override
+    public synchronized Range nextRange() {
+
+        if (isExhausted()) {
+            return new Range(-1, -1);
+        }
+
+        long start = currentEnd;
+
+        if (rangeSize <= 0) {
+            currentEnd = rangeUpperBound;
+            return new Range(start, exportAll ? -1 : rangeUpperBound);
+        }
+
+        long end = min(start + rangeSize, rangeUpperBound);
+        currentEnd = end;
+
+        return new Range(start, end);
+    }
+
+    @Override
+    public synchronized void rangeCompleted(Range range, long numberOfItems, long durationMillis) {
+        if (range.sizeExceeds(numberOfItems)) {
+            endReached = true;
+        }
+    }
+
+    @Override
+    public long numberOfItemsToExport() {
+        return numberOfItemsToExport;
+    }
+
+    @Override
+    public synchronized boolean isExhausted() {
+        return endReached || currentEnd >= rangeUpperBound;
+    }
+
+    @Override
+    public int concurrency() {
+        return concurrency;
+    }
+
+    @Override
+    public synchronized void reset() {
+        currentEnd = skip;
+        endReached = false;
+    }
+}
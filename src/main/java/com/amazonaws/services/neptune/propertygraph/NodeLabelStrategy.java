@@ -13,8 +13,10 @@ permissions and limitations under the License.
 package com.amazonaws.services.neptune.propertygraph;
 
 import com.amazonaws.services.neptune.propertygraph.io.result.PGResult;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.slf4j.Logger;
@@ -38,6 +40,16 @@ public enum NodeLabelStrategy implements LabelStrategy {
             return labels;
         }
 
+        @Override
+        public GraphTraversal<? extends Element, ? extends Element> elements(GraphTraversalSource g) {
+            return g.V();
+        }
+
+        @Override
+        public Traversal<?, Map<String, Object>> labelKey() {
+            return __.<Vertex, Object>project("~label").by(__.label().fold());
+        }
+
         @Override
         public Label getLabelFor(Map<String, Object> input) {
             @SuppressWarnings("unchecked")
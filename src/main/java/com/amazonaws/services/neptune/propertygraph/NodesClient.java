@@ -109,9 +109,6 @@ public class NodesClient implements GraphClient<PGResult> {
 
         traversal.forEachRemaining(m -> {
             try {
-                if (featureToggles.containsFeature(FeatureToggle.Inject_Fault)){
-                    throw new IllegalStateException("Simulated fault in NodesClient");
-                }
                 handler.handle(new ExportPGNodeResult(m), false);
             } catch (IOException e) {
                 throw new RuntimeException(e);
@@ -119,6 +116,11 @@ public class NodesClient implements GraphClient<PGResult> {
         });
     }
 
+    @Override
+    public boolean filtersAfterRange(GremlinFilters gremlinFilters) {
+        return featureToggles.containsFeature(FeatureToggle.FilterByPropertyKeys);
+    }
+
     private GraphTraversal<? extends Element, ?> filterByPropertyKeys(GraphTraversal<? extends Element, ?> traversal,
                                                                       LabelsFilter labelsFilter,
                                                                       GraphElementSchemas graphElementSchemas) {
@@ -155,8 +157,43 @@ public class NodesClient implements GraphClient<PGResult> {
     }
 
     @Override
-    public Collection<Label> labels(LabelStrategy labelStrategy) {
-        return labelStrategy.getLabels(g);
+    public Map<Label, Long> approxCountsByLabel(LabelsFilter labelsFilter, GremlinFilters gremlinFilters) {
+
+        String description = labelsFilter.description("nodes");
+        System.err.println(String.format("Counting %s by label...", description));
+
+        return Timer.timedActivity(String.format("counting %s by label", description), (Activity.Callable<Map<Label, Long>>) () -> {
+            GraphTraversal<? extends Element, Map<Object, Long>> t = createTraversal(Range.ALL, labelsFilter, gremlinFilters)
+                    .groupCount()
+                    .by(labelsFilter.labelKey());
+
+            logger.info(GremlinQueryDebugger.queryAsString(t));
+
+            Map<Label, Long> counts = GroupCountLabelDiscovery.countsByLabel(t, labelsFilter::getLabelFor);
+            if (stats != null) {
+                stats.setNodeCount(counts.values().stream().mapToLong(Long::longValue).sum());
+            }
+            return counts;
+        });
+    }
+
+    @Override
+    public Collection<Object> sampleIds(LabelsFilter labelsFilter, GremlinFilters gremlinFilters, double probability) {
+
+        String description = labelsFilter.description("nodes");
+
+        return Timer.timedActivity(String.format("sampling %s IDs", description), (Activity.Callable<Collection<Object>>) () -> {
+            GraphTraversal<? extends Element, Object> t = createTraversal(Range.ALL, labelsFilter, gremlinFilters).coin(probability).id();
+
+            logger.info(GremlinQueryDebugger.queryAsString(t));
+
+            return t.toList();
+        });
+    }
+
+    @Override
+    public Collection<Label> labels(LabelStrategy labelStrategy, LabelDiscovery labelDiscovery) {
+        return labelDiscovery.getLabels(g, labelStrategy);
     }
 
     @Override
@@ -169,6 +206,11 @@ public class NodesClient implements GraphClient<PGResult> {
         stats.incrementNodeStats(label);
     }
 
+    @Override
+    public void updateStats(Label label, long count) {
+        stats.incrementNodeStats(label, count);
+    }
+
     private GraphTraversal<? extends Element, ?> createTraversal(Range range, LabelsFilter labelsFilter, GremlinFilters gremlinFilters) {
         GraphTraversal<Vertex, Vertex> t = tokensOnly ?
                 g.withSideEffect("x", new HashMap<String, Object>()).V() :
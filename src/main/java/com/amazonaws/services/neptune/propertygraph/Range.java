@@ -12,15 +12,43 @@ permissions and limitations under the License.
 
 package com.amazonaws.services.neptune.propertygraph;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.structure.Element;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 import static java.lang.Math.abs;
 
 public class Range {
 
     public static final Range ALL = new Range(0, -1);
 
+    public static Range fromJson(JsonNode json) {
+        if (json.has("lowerBound") || json.has("upperBound")) {
+            return new IdRange(idFromJson(json.path("lowerBound")), idFromJson(json.path("upperBound")));
+        }
+        return new Range(json.path("start").asLong(), json.path("end").asLong());
+    }
+
+    private static Object idFromJson(JsonNode json) {
+        if (json.isMissingNode() || json.isNull()) {
+            return null;
+        } else if (json.isInt()) {
+            return json.intValue();
+        } else if (json.isIntegralNumber()) {
+            return json.longValue();
+        } else if (json.isNumber()) {
+            return json.doubleValue();
+        } else {
+            return json.textValue();
+        }
+    }
+
     private final long start;
     private final long end;
 
@@ -50,6 +78,35 @@ public class Range {
         return start == 0 && end == -1;
     }
 
+    public Range resumeAfter(long numberOfElements) {
+        return new Range(start + numberOfElements, end);
+    }
+
+    public List<Range> bisect() {
+
+        if (isEmpty() || end < 0 || difference() < 2) {
+            return Collections.emptyList();
+        }
+
+        long middle = start + (difference() / 2);
+        return Arrays.asList(new Range(start, middle), new Range(middle, end));
+    }
+
+    /**
+     * Offset ranges depend on the database returning elements in a stable order, so a retried range can skip
+     * the elements written by a failed attempt.
+     */
+    public boolean hasStableOrder() {
+        return true;
+    }
+
+    public JsonNode toJson() {
+        ObjectNode json = JsonNodeFactory.instance.objectNode();
+        json.put("start", start);
+        json.put("end", end);
+        return json;
+    }
+
     @Override
     public String toString() {
         return "range(" + start + ", " + end + ")";
@@ -14,22 +14,82 @@ package com.amazonaws.services.neptune.propertygraph;
 
 public class RangeConfig {
 
+    public static final long DEFAULT_TARGET_RANGE_LATENCY_MILLIS = 5000;
+
     private final long rangeSize;
     private final long numberOfItemsToSkip;
     private final long numberOfItemsToExport;
     private final long approxNodeCount;
     private final long approxEdgeCount;
+    private final RangeStrategy rangeStrategy;
+    private final long targetRangeLatencyMillis;
+    private final boolean lazyRanges;
+    private final RangeRetryPolicy retryPolicy;
 
     public RangeConfig(long rangeSize,
                        long numberOfItemsToSkip,
                        long numberOfItemsToExport,
                        long approxNodeCount,
                        long approxEdgeCount) {
+        this(rangeSize, numberOfItemsToSkip, numberOfItemsToExport, approxNodeCount, approxEdgeCount, RangeStrategy.offset);
+    }
+
+    public RangeConfig(long rangeSize,
+                       long numberOfItemsToSkip,
+                       long numberOfItemsToExport,
+                       long approxNodeCount,
+                       long approxEdgeCount,
+                       RangeStrategy rangeStrategy) {
+        this(rangeSize, numberOfItemsToSkip, numberOfItemsToExport, approxNodeCount, approxEdgeCount, rangeStrategy, DEFAULT_TARGET_RANGE_LATENCY_MILLIS);
+    }
+
+    public RangeConfig(long rangeSize,
+                       long numberOfItemsToSkip,
+                       long numberOfItemsToExport,
+                       long approxNodeCount,
+                       long approxEdgeCount,
+                       RangeStrategy rangeStrategy,
+                       long targetRangeLatencyMillis) {
+        this(rangeSize, numberOfItemsToSkip, numberOfItemsToExport, approxNodeCount, approxEdgeCount, rangeStrategy, targetRangeLatencyMillis, false);
+    }
+
+    public RangeConfig(long rangeSize,
+                       long numberOfItemsToSkip,
+                       long numberOfItemsToExport,
+                       long approxNodeCount,
+                       long approxEdgeCount,
+                       RangeStrategy rangeStrategy,
+                       long targetRangeLatencyMillis,
+                       boolean lazyRanges) {
+        this(rangeSize, numberOfItemsToSkip, numberOfItemsToExport, approxNodeCount, approxEdgeCount, rangeStrategy, targetRangeLatencyMillis, lazyRanges, RangeRetryPolicy.DEFAULT);
+    }
+
+    public RangeConfig(long rangeSize,
+                       long numberOfItemsToSkip,
+                       long numberOfItemsToExport,
+                       long approxNodeCount,
+                       long approxEdgeCount,
+                       RangeStrategy rangeStrategy,
+                       long targetRangeLatencyMillis,
+                       boolean lazyRanges,
+                       RangeRetryPolicy retryPolicy) {
         this.rangeSize = rangeSize;
         this.numberOfItemsToSkip = numberOfItemsToSkip;
         this.numberOfItemsToExport = numberOfItemsToExport;
         this.approxNodeCount = approxNodeCount;
         this.approxEdgeCount = approxEdgeCount;
+        this.rangeStrategy = rangeStrategy;
+        this.targetRangeLatencyMillis = targetRangeLatencyMillis;
+        this.lazyRanges = lazyRanges;
+        this.retryPolicy = retryPolicy;
+    }
+
+    public RangeConfig withApproxCounts(long approxNodeCount, long approxEdgeCount) {
+        return new RangeConfig(rangeSize, numberOfItemsToSkip, numberOfItemsToExport, approxNodeCount, approxEdgeCount, rangeStrategy, targetRangeLatencyMillis, lazyRanges, retryPolicy);
+    }
+
+    public RangeConfig withLazyRanges(boolean lazyRanges) {
+        return new RangeConfig(rangeSize, numberOfItemsToSkip, numberOfItemsToExport, approxNodeCount, approxEdgeCount, rangeStrategy, targetRangeLatencyMillis, lazyRanges, retryPolicy);
     }
 
     public long rangeSize() {
@@ -51,4 +111,20 @@ public class RangeConfig {
     public long approxEdgeCount() {
         return approxEdgeCount;
     }
+
+    public RangeStrategy rangeStrategy() {
+        return rangeStrategy;
+    }
+
+    public long targetRangeLatencyMillis() {
+        return targetRangeLatencyMillis;
+    }
+
+    public boolean lazyRanges() {
+        return lazyRanges;
+    }
+
+    public RangeRetryPolicy retryPolicy() {
+        return retryPolicy;
+    }
 }
@@ -13,109 +13,40 @@ permissions and limitations under the License.
 package com.amazonaws.services.neptune.propertygraph;
 
 import com.amazonaws.services.neptune.cluster.ConcurrencyConfig;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
-import java.util.concurrent.atomic.AtomicLong;
-
-import static java.lang.Math.min;
-
-public class RangeFactory {
-
-    private static final Logger logger = LoggerFactory.getLogger(RangeFactory.class);
-
-    public static RangeFactory create(GraphClient<?> graphClient,
-                                      LabelsFilter labelsFilter,
-                                      GremlinFilters gremlinFilters,
-                                      RangeConfig rangeConfig,
-                                      ConcurrencyConfig concurrencyConfig) {
-
-        String description = labelsFilter.description(String.format("%ss", graphClient.description()));
-
-        logger.info("Calculating ranges for {}", description);
-
-        long estimatedNumberOfItemsInGraph = graphClient.approxCount(labelsFilter, rangeConfig, gremlinFilters);
-        int effectiveConcurrency =  estimatedNumberOfItemsInGraph < 1000 ?
-                1 :
-                concurrencyConfig.concurrency();
-        long rangeSize = concurrencyConfig.isUnboundedParallelExecution(rangeConfig) ?
-                (estimatedNumberOfItemsInGraph / effectiveConcurrency) + 1:
-                rangeConfig.rangeSize();
-
-        logger.info("Estimated number of {} to export: {}, Range size: {}, Effective concurrency: {}",
-                description,
-                estimatedNumberOfItemsInGraph,
-                rangeSize,
-                effectiveConcurrency);
-
-        return new RangeFactory(
-                rangeSize,
-                rangeConfig.numberOfItemsToExport(),
-                rangeConfig.numberOfItemsToSkip(),
-                estimatedNumberOfItemsInGraph,
-                effectiveConcurrency);
+import java.util.Collections;
+import java.util.Map;
+
+public interface RangeFactory {
+
+    static RangeFactory create(GraphClient<?> graphClient,
+                               LabelsFilter labelsFilter,
+                               GremlinFilters gremlinFilters,
+                               RangeConfig rangeConfig,
+                               ConcurrencyConfig concurrencyConfig) {
+        return rangeConfig.rangeStrategy().createRangeFactory(
+                graphClient,
+                labelsFilter,
+                gremlinFilters,
+                rangeConfig,
+                concurrencyConfig);
     }
 
-    private final long rangeSize;
-    private final boolean exportAll;
-    private final int concurrency;
-    private final long rangeUpperBound;
-    private final AtomicLong currentEnd;
-    private final long numberOfItemsToExport;
-    private final long skip;
+    Range nextRange();
 
-    private RangeFactory(long rangeSize,
-                         long limit,
-                         long skip,
-                         long estimatedNumberOfItemsInGraph,
-                         int concurrency) {
-        this.rangeSize = rangeSize;
-        this.exportAll = limit == Long.MAX_VALUE;
-        this.concurrency = concurrency;
-        this.skip = skip;
-        if (exportAll){
-            this.rangeUpperBound = estimatedNumberOfItemsInGraph;
-            this.numberOfItemsToExport = estimatedNumberOfItemsInGraph - skip;
-        } else {
-            this.rangeUpperBound = limit + skip;
-            this.numberOfItemsToExport = limit;
-        }
-        this.currentEnd = new AtomicLong(skip);
-    }
+    long numberOfItemsToExport();
 
-    public Range nextRange() {
+    boolean isExhausted();
 
-        if (isExhausted()){
-            return new Range(-1, -1);
-        }
+    int concurrency();
 
-        long proposedEnd = currentEnd.accumulateAndGet(rangeSize, (left, right) -> left + right);
-
-        long start = min(proposedEnd - rangeSize, rangeUpperBound);
-        long actualEnd =  min(proposedEnd, rangeUpperBound);
-
-        if ((proposedEnd >= rangeUpperBound) && exportAll){
-            actualEnd = -1;
-        }
-
-        return new Range(start, actualEnd);
-
-    }
-
-    public long numberOfItemsToExport() {
-        return numberOfItemsToExport;
-    }
-
-    public boolean isExhausted() {
-        long end = currentEnd.get();
-        return end == -1 || end >= rangeUpperBound;
-    }
+    void reset();
 
-    public int concurrency() {
-        return concurrency;
+    default void rangeCompleted(Range range, long numberOfItems, long durationMillis) {
+        // Do nothing
     }
 
-    public void reset() {
-        currentEnd.set(skip);
+    default Map<String, Long> metrics() {
+        return Collections.emptyMap();
     }
 }
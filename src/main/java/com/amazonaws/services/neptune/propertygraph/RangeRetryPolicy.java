@@ -0,0 +1,58 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph;
+
+import static java.lang.Math.min;
+
+public class RangeRetryPolicy {
+
+    public static final int DEFAULT_MAX_ATTEMPTS = 3;
+    public static final int DEFAULT_MAX_BISECTIONS = 8;
+    public static final long DEFAULT_INITIAL_BACKOFF_MILLIS = 1000;
+
+    public static final RangeRetryPolicy DEFAULT = new RangeRetryPolicy(DEFAULT_MAX_ATTEMPTS, DEFAULT_INITIAL_BACKOFF_MILLIS, DEFAULT_MAX_BISECTIONS);
+    public static final RangeRetryPolicy NO_RETRIES = new RangeRetryPolicy(1, 0, 0);
+
+    private static final long MAX_BACKOFF_MILLIS = 30000;
+
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final int maxBisections;
+
+    public RangeRetryPolicy(int maxAttempts, long initialBackoffMillis, int maxBisections) {
+
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Max attempts must be >= 1");
+        }
+
+        if (maxBisections < 0) {
+            throw new IllegalArgumentException("Max bisections must be >= 0");
+        }
+
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBisections = maxBisections;
+    }
+
+    public int maxAttempts() {
+        return maxAttempts;
+    }
+
+    public int maxBisections() {
+        return maxBisections;
+    }
+
+    public long backoffMillis(int failures) {
+        return min(initialBackoffMillis << min(failures - 1, 16), MAX_BACKOFF_MILLIS);
+    }
+}
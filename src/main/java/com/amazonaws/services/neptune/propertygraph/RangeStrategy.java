@@ -0,0 +1,58 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph;
+
+import com.amazonaws.services.neptune.cluster.ConcurrencyConfig;
+
+public enum RangeStrategy {
+
+    offset {
+        @Override
+        public RangeFactory createRangeFactory(GraphClient<?> graphClient,
+                                               LabelsFilter labelsFilter,
+                                               GremlinFilters gremlinFilters,
+                                               RangeConfig rangeConfig,
+                                               ConcurrencyConfig concurrencyConfig) {
+            if (rangeConfig.lazyRanges()) {
+                return LazyRangeFactory.create(graphClient, labelsFilter, rangeConfig, concurrencyConfig);
+            }
+            return OffsetRangeFactory.create(graphClient, labelsFilter, gremlinFilters, rangeConfig, concurrencyConfig);
+        }
+    },
+    keyset {
+        @Override
+        public RangeFactory createRangeFactory(GraphClient<?> graphClient,
+                                               LabelsFilter labelsFilter,
+                                               GremlinFilters gremlinFilters,
+                                               RangeConfig rangeConfig,
+                                               ConcurrencyConfig concurrencyConfig) {
+            return KeysetRangeFactory.create(graphClient, labelsFilter, gremlinFilters, rangeConfig, concurrencyConfig);
+        }
+    },
+    adaptive {
+        @Override
+        public RangeFactory createRangeFactory(GraphClient<?> graphClient,
+                                               LabelsFilter labelsFilter,
+                                               GremlinFilters gremlinFilters,
+                                               RangeConfig rangeConfig,
+                                               ConcurrencyConfig concurrencyConfig) {
+            return AdaptiveRangeFactory.create(graphClient, labelsFilter, gremlinFilters, rangeConfig, concurrencyConfig);
+        }
+    };
+
+    public abstract RangeFactory createRangeFactory(GraphClient<?> graphClient,
+                                                    LabelsFilter labelsFilter,
+                                                    GremlinFilters gremlinFilters,
+                                                    RangeConfig rangeConfig,
+                                                    ConcurrencyConfig concurrencyConfig);
+}
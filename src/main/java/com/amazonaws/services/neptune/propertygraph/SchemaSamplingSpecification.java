@@ -24,16 +24,18 @@ public class SchemaSamplingSpecification {
 
     private final boolean sample;
     private final long sampleSize;
+    private final LabelDiscovery labelDiscovery;
 
-    public SchemaSamplingSpecification(boolean sample, long sampleSize) {
+    public SchemaSamplingSpecification(boolean sample, long sampleSize, LabelDiscovery labelDiscovery) {
         this.sample = sample;
         this.sampleSize = sampleSize;
+        this.labelDiscovery = labelDiscovery;
     }
 
     public CreateGraphSchemaCommand createSchemaCommand(Collection<ExportSpecification> exportSpecifications,
                                                         GraphTraversalSource g) {
         if (sample) {
-            return new CreateGraphSchemaFromSample(exportSpecifications, g, sampleSize);
+            return new CreateGraphSchemaFromSample(exportSpecifications, g, sampleSize, labelDiscovery);
         } else {
             return new CreateGraphSchemaFromScan(exportSpecifications, g);
         }
@@ -121,7 +121,7 @@ public class SpecifiedLabels implements LabelsFilter {
     }
 
     @Override
-    public Collection<Label> getLabelsUsing(GraphClient<?> graphClient) {
+    public Collection<Label> getLabelsUsing(GraphClient<?> graphClient, LabelDiscovery labelDiscovery) {
         return labels;
     }
 
@@ -159,6 +159,11 @@ public class SpecifiedLabels implements LabelsFilter {
         return labelStrategy.addAdditionalColumns(t);
     }
 
+    @Override
+    public Traversal<?, Map<String, Object>> labelKey() {
+        return labelStrategy.labelKey();
+    }
+
     @Override
     public LabelsFilter filterFor(Label label) {
         return new SpecifiedLabels(Collections.singletonList(label), labelStrategy);
@@ -14,4 +14,10 @@ package com.amazonaws.services.neptune.propertygraph;
 
 public interface StatsContainer {
     void updateStats(Label label);
+
+    default void updateStats(Label label, long count) {
+        for (long i = 0; i < count; i++) {
+            updateStats(label);
+        }
+    }
 }
@@ -0,0 +1,114 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph;
+
+import com.amazonaws.regions.DefaultAwsRegionProviderChain;
+import com.amazonaws.services.neptune.cluster.ConnectionConfig;
+import com.amazonaws.services.neptune.cluster.NeptuneHttpsClient;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.tinkerpop.gremlin.process.traversal.TextP;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+/**
+ * Reads node and edge labels from the Neptune graph summary. The summary lists individual node labels, and
+ * has no from and to labels for edges, so graphs with multi-label nodes and the edgeAndVertexLabels strategy
+ * cannot be answered from it. In these cases an IllegalStateException is thrown, and callers should configure
+ * a fallback.
+ */
+public class SummaryLabelDiscovery implements LabelDiscovery {
+
+    private static final Logger logger = LoggerFactory.getLogger(SummaryLabelDiscovery.class);
+
+    public static SummaryLabelDiscovery forCluster(ConnectionConfig connectionConfig) {
+        String endpoint = connectionConfig.endpoints().iterator().next();
+        String summaryEndpoint = String.format("https://%s:%s/propertygraph/statistics/summary", endpoint, connectionConfig.port());
+
+        return new SummaryLabelDiscovery(() -> {
+            logger.info("Summary endpoint: {}", summaryEndpoint);
+            String region = new DefaultAwsRegionProviderChain().getRegion();
+            NeptuneHttpsClient neptuneHttpsClient = new NeptuneHttpsClient(summaryEndpoint, region, endpoint.equals("localhost"));
+            return neptuneHttpsClient.get(Collections.emptyMap()).getContentAsJson();
+        });
+    }
+
+    private final Callable<JsonNode> summarySource;
+    private JsonNode graphSummary;
+
+    public SummaryLabelDiscovery(Callable<JsonNode> summarySource) {
+        this.summarySource = summarySource;
+    }
+
+    @Override
+    public Collection<Label> getLabels(GraphTraversalSource g, LabelStrategy labelStrategy) {
+        String fieldName = summaryFieldFor(labelStrategy);
+
+        JsonNode labelsNode = graphSummary().path(fieldName);
+        if (!labelsNode.isArray()) {
+            throw new IllegalStateException(String.format("Graph summary does not contain %s", fieldName));
+        }
+
+        Set<Label> labels = new HashSet<>();
+        for (JsonNode labelNode : labelsNode) {
+            labels.add(new Label(labelNode.textValue()));
+        }
+
+        if (labelStrategy == NodeLabelStrategy.nodeLabelsOnly && hasMultiLabelNodes(g)) {
+            throw new IllegalStateException("Graph summary cannot describe nodes with multiple labels");
+        }
+
+        logger.info("Read {} {} from graph summary", labels.size(), fieldName);
+
+        return labels;
+    }
+
+    private synchronized JsonNode graphSummary() {
+        if (graphSummary == null) {
+            try {
+                graphSummary = summarySource.call().path("payload").path("graphSummary");
+            } catch (Exception e) {
+                throw new IllegalStateException("Unable to retrieve graph summary", e);
+            }
+        }
+        return graphSummary;
+    }
+
+    private boolean hasMultiLabelNodes(GraphTraversalSource g) {
+        // The summary lists individual labels, so check (without returning any labels to the client) whether
+        // some nodes would otherwise be reported under a combined label
+        GraphTraversal<Vertex, String> traversal = g.V().label().is(TextP.containing("::")).limit(1);
+
+        logger.info(GremlinQueryDebugger.queryAsString(traversal));
+
+        return traversal.hasNext();
+    }
+
+    private static String summaryFieldFor(LabelStrategy labelStrategy) {
+        if (labelStrategy == NodeLabelStrategy.nodeLabelsOnly) {
+            return "nodeLabels";
+        } else if (labelStrategy == EdgeLabelStrategy.edgeLabelsOnly) {
+            return "edgeLabels";
+        } else {
+            throw new IllegalStateException(String.format("Graph summary does not support %s label strategy", labelStrategy));
+        }
+    }
+}
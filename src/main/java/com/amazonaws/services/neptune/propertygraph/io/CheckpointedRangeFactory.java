@@ -0,0 +1,106 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph.io;
+
+import com.amazonaws.services.neptune.propertygraph.Range;
+import com.amazonaws.services.neptune.propertygraph.RangeFactory;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Replays a fixed list of ranges, skipping those that the checkpoint recorded as exported by a previous run.
+ */
+class CheckpointedRangeFactory implements RangeFactory {
+
+    static List<Range> planRanges(RangeFactory rangeFactory) {
+        List<Range> ranges = new ArrayList<>();
+        while (!rangeFactory.isExhausted()) {
+            Range range = rangeFactory.nextRange();
+            if (range.isEmpty()) {
+                break;
+            }
+            ranges.add(range);
+        }
+        return ranges;
+    }
+
+    private final ExportCheckpoint.LabelCheckpoint labelCheckpoint;
+    private final List<Range> ranges;
+    private final Set<Integer> completedRanges;
+    private final Map<Range, Integer> rangeIndexes = new IdentityHashMap<>();
+    private int currentIndex = 0;
+
+    CheckpointedRangeFactory(ExportCheckpoint.LabelCheckpoint labelCheckpoint,
+                             List<Range> ranges,
+                             Set<Integer> completedRanges) {
+        this.labelCheckpoint = labelCheckpoint;
+        this.ranges = ranges;
+        this.completedRanges = new HashSet<>(completedRanges);
+        for (int i = 0; i < ranges.size(); i++) {
+            rangeIndexes.put(ranges.get(i), i);
+        }
+    }
+
+    @Override
+    public synchronized Range nextRange() {
+        skipCompletedRanges();
+        if (currentIndex >= ranges.size()) {
+            return new Range(-1, -1);
+        }
+        return ranges.get(currentIndex++);
+    }
+
+    @Override
+    public long numberOfItemsToExport() {
+        return labelCheckpoint.numberOfItemsToExport();
+    }
+
+    @Override
+    public synchronized boolean isExhausted() {
+        skipCompletedRanges();
+        return currentIndex >= ranges.size();
+    }
+
+    @Override
+    public int concurrency() {
+        return labelCheckpoint.concurrency();
+    }
+
+    @Override
+    public synchronized void reset() {
+        currentIndex = 0;
+    }
+
+    int indexOf(Range range) {
+        Integer index = rangeIndexes.get(range);
+        if (index == null) {
+            throw new IllegalStateException(String.format("Range %s was not issued by this range factory", range));
+        }
+        return index;
+    }
+
+    ExportCheckpoint.LabelCheckpoint labelCheckpoint() {
+        return labelCheckpoint;
+    }
+
+    private void skipCompletedRanges() {
+        while (currentIndex < ranges.size() && completedRanges.contains(currentIndex)) {
+            currentIndex++;
+        }
+    }
+}
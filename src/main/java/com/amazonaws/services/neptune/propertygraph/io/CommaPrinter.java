@@ -14,7 +14,16 @@ package com.amazonaws.services.neptune.propertygraph.io;
 
 import com.amazonaws.services.neptune.io.OutputWriter;
 
+import java.util.Arrays;
+
 class CommaPrinter {
+
+    private static final char[] COMMAS = new char[256];
+
+    static {
+        Arrays.fill(COMMAS, ',');
+    }
+
     private final OutputWriter outputWriter;
     private boolean printComma = false;
 
@@ -30,6 +39,19 @@ class CommaPrinter {
         }
     }
 
+    // Equivalent to calling printComma() count times
+    void printCommas(int count) {
+        if (count > 0 && !printComma) {
+            printComma = true;
+            count--;
+        }
+        while (count > 0) {
+            int length = Math.min(count, COMMAS.length);
+            outputWriter.write(COMMAS, 0, length);
+            count -= length;
+        }
+    }
+
     void init() {
         printComma = false;
     }
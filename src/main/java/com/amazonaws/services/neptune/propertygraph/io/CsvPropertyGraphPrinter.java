@@ -31,6 +31,12 @@ public class CsvPropertyGraphPrinter implements PropertyGraphPrinter {
     private final CsvPrinterOptions printerOptions;
     private final boolean allowUpdateSchema;
     private final CommaPrinter commaPrinter;
+    private final PresentProperties presentProperties = new PresentProperties();
+    private StringBuilder valueBuilder = new StringBuilder(INITIAL_VALUE_BUFFER_SIZE);
+    private char[] valueChars = new char[INITIAL_VALUE_BUFFER_SIZE];
+
+    private static final int INITIAL_VALUE_BUFFER_SIZE = 256;
+    private static final int MAX_RETAINED_VALUE_BUFFER_SIZE = 1024 * 1024;
 
     public CsvPropertyGraphPrinter(OutputWriter writer,
                                    LabelSchema labelSchema,
@@ -87,6 +93,12 @@ public class CsvPropertyGraphPrinter implements PropertyGraphPrinter {
 
     @Override
     public void printProperties(Map<?, ?> properties, boolean applyFormatting) {
+
+        if (PresentProperties.isSparse(labelSchema, properties)) {
+            printSparseProperties(properties, applyFormatting);
+            return;
+        }
+
         for (PropertySchema propertySchema : labelSchema.propertySchemas()) {
 
             Object property = propertySchema.property();
@@ -102,6 +114,26 @@ public class CsvPropertyGraphPrinter implements PropertyGraphPrinter {
         }
     }
 
+    private void printSparseProperties(Map<?, ?> properties, boolean applyFormatting) {
+
+        presentProperties.resolve(labelSchema, properties);
+
+        int nextColumn = 0;
+        for (int i = 0; i < presentProperties.size(); i++) {
+            int column = presentProperties.column(i);
+            commaPrinter.printCommas(column - nextColumn);
+
+            PropertySchema propertySchema = labelSchema.propertySchemaAt(column);
+            Object value = properties.get(propertySchema.property());
+            PropertySchema.PropertyValueMetadata propertyValueMetadata = propertySchema.accept(value, allowUpdateSchema);
+            labelSchema.recordObservation(propertySchema, value, propertyValueMetadata);
+            printProperty(propertySchema, value, applyFormatting);
+
+            nextColumn = column + 1;
+        }
+        commaPrinter.printCommas(labelSchema.propertyCount() - nextColumn);
+    }
+
     public void printProperty(PropertySchema schema, Object value) {
         printProperty(schema, value, true);
     }
@@ -113,21 +145,50 @@ public class CsvPropertyGraphPrinter implements PropertyGraphPrinter {
         commaPrinter.printComma();
 
         if (applyFormatting) {
-            String formattedValue = isList(value) ?
-                    formatList(value, dataType, printerOptions) :
-                    dataType.format(value, printerOptions.escapeNewline());
-            writer.print(formattedValue);
+            if (isList(value)) {
+                dataType.appendListTo(valueBuilder, (List<?>) value, printerOptions);
+            } else {
+                dataType.appendTo(valueBuilder, value, printerOptions.escapeNewline());
+            }
         } else {
             if (dataType == DataType.String) {
                 if (isSingleValueColumnWithSemicolonSeparator(schema)) {
-                    writer.print(DataType.String.format(SemicolonUtils.unescape(value.toString()), printerOptions.escapeNewline()));
+                    DataType.String.appendTo(valueBuilder, SemicolonUtils.unescape(value.toString()), printerOptions.escapeNewline());
                 } else {
-                    writer.print(DataType.String.format(value, printerOptions.escapeNewline()));
+                    DataType.String.appendTo(valueBuilder, value, printerOptions.escapeNewline());
                 }
             } else {
-                writer.print(String.valueOf(value));
+                valueBuilder.append(value);
             }
         }
+        printValue();
+    }
+
+    private void printString(String value) {
+        DataType.String.appendTo(valueBuilder, value, printerOptions.escapeNewline());
+        printValue();
+    }
+
+    private void printStringList(Collection<String> values) {
+        DataType.String.appendListTo(valueBuilder, values, printerOptions);
+        printValue();
+    }
+
+    // Writes the value built up in valueBuilder through a reused char array, rather than as a new String
+    private void printValue() {
+        int length = valueBuilder.length();
+        if (length > valueChars.length) {
+            valueChars = new char[Math.max(length, valueChars.length * 2)];
+        }
+        valueBuilder.getChars(0, length, valueChars, 0);
+        writer.write(valueChars, 0, length);
+
+        if (length > MAX_RETAINED_VALUE_BUFFER_SIZE) {
+            valueBuilder = new StringBuilder(INITIAL_VALUE_BUFFER_SIZE);
+            valueChars = new char[INITIAL_VALUE_BUFFER_SIZE];
+        } else {
+            valueBuilder.setLength(0);
+        }
     }
 
     private boolean isSingleValueColumnWithSemicolonSeparator(PropertySchema schema) {
@@ -147,29 +208,29 @@ public class CsvPropertyGraphPrinter implements PropertyGraphPrinter {
     @Override
     public void printEdge(String id, String label, String from, String to, Collection<String> fromLabels, Collection<String> toLabels) throws IOException {
         commaPrinter.printComma();
-        writer.print(DataType.String.format(id, printerOptions.escapeNewline()));
+        printString(id);
         commaPrinter.printComma();
-        writer.print(DataType.String.format(label, printerOptions.escapeNewline()));
+        printString(label);
         commaPrinter.printComma();
-        writer.print(DataType.String.format(from, printerOptions.escapeNewline()));
+        printString(from);
         commaPrinter.printComma();
-        writer.print(DataType.String.format(to, printerOptions.escapeNewline()));
+        printString(to);
         if (fromLabels != null) {
             commaPrinter.printComma();
-            writer.print(DataType.String.formatList(fromLabels, printerOptions));
+            printStringList(fromLabels);
         }
         if (toLabels != null) {
             commaPrinter.printComma();
-            writer.print(DataType.String.formatList(toLabels, printerOptions));
+            printStringList(toLabels);
         }
     }
 
     @Override
     public void printNode(String id, List<String> labels) {
         commaPrinter.printComma();
-        writer.print(DataType.String.format(id, printerOptions.escapeNewline()));
+        printString(id);
         commaPrinter.printComma();
-        writer.print(DataType.String.formatList(labels, printerOptions));
+        printStringList(labels);
     }
 
     @Override
@@ -184,11 +245,6 @@ public class CsvPropertyGraphPrinter implements PropertyGraphPrinter {
         writer.endCommit();
     }
 
-    private String formatList(Object value, DataType dataType, CsvPrinterOptions options) {
-        List<?> values = (List<?>) value;
-        return dataType.formatList(values, options);
-    }
-
     private boolean isList(Object value) {
         return value instanceof List<?>;
     }
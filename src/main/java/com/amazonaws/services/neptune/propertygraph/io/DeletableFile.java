@@ -12,9 +12,10 @@ permissions and limitations under the License.
 
 package com.amazonaws.services.neptune.propertygraph.io;
 
+import com.amazonaws.services.neptune.io.CompressionCodec;
+
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileReader;
+import java.io.IOException;
 import java.io.Reader;
 
 class DeletableFile implements AutoCloseable {
@@ -26,8 +27,8 @@ class DeletableFile implements AutoCloseable {
         this.file = file;
     }
 
-    public Reader reader() throws FileNotFoundException {
-        return new FileReader(file);
+    public Reader reader() throws IOException {
+        return CompressionCodec.newReader(file);
     }
 
     public String name() {
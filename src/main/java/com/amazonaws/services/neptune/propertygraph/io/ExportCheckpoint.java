@@ -0,0 +1,364 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph.io;
+
+import com.amazonaws.services.neptune.propertygraph.Label;
+import com.amazonaws.services.neptune.propertygraph.Range;
+import com.amazonaws.services.neptune.propertygraph.RangeFactory;
+import com.amazonaws.services.neptune.propertygraph.schema.ExportSpecification;
+import com.amazonaws.services.neptune.propertygraph.schema.FileSpecificLabelSchema;
+import com.amazonaws.services.neptune.propertygraph.schema.FileSpecificLabelSchemas;
+import com.amazonaws.services.neptune.propertygraph.schema.GraphElementSchemas;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+/**
+ * Manifest of the work completed by a property graph export, saved alongside the exported files so that an
+ * interrupted export can be resumed. For each label-specific export specification the checkpoint records the
+ * planned ranges, the ranges whose files have been closed, and those files together with their label schemas.
+ * Once an export specification has been rewritten, its revised schemas replace the per-range state.
+ */
+public class ExportCheckpoint {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportCheckpoint.class);
+
+    private static final int VERSION = 1;
+
+    public static ExportCheckpoint disabled() {
+        return new ExportCheckpoint(null);
+    }
+
+    public static ExportCheckpoint create(Path checkpointFile, boolean resume) throws IOException {
+
+        File file = checkpointFile.toFile();
+        ExportCheckpoint checkpoint = new ExportCheckpoint(file);
+
+        if (resume) {
+            if (file.exists()) {
+                checkpoint.load(new ObjectMapper().readTree(file));
+                logger.info("Resuming export from checkpoint {}", file);
+            } else {
+                logger.info("No checkpoint found at {}, starting a new export", file);
+            }
+        }
+
+        return checkpoint;
+    }
+
+    private final File file;
+    private final Map<String, GraphElementSchemas> completedSpecifications = new LinkedHashMap<>();
+    private final Map<String, LabelCheckpoint> labelCheckpoints = new LinkedHashMap<>();
+
+    private ExportCheckpoint(File file) {
+        this.file = file;
+    }
+
+    public boolean isEnabled() {
+        return file != null;
+    }
+
+    public synchronized GraphElementSchemas completedSchemasFor(ExportSpecification exportSpecification) {
+        return completedSpecifications.get(exportSpecification.description());
+    }
+
+    public RangeFactory rangeFactoryFor(ExportSpecification labelSpecificExportSpecification,
+                                        Supplier<RangeFactory> rangeFactorySupplier) throws IOException {
+        if (!isEnabled()) {
+            return rangeFactorySupplier.get();
+        }
+
+        String key = labelSpecificExportSpecification.description();
+        LabelCheckpoint labelCheckpoint;
+
+        synchronized (this) {
+            labelCheckpoint = labelCheckpoints.get(key);
+        }
+
+        if (labelCheckpoint == null) {
+            // Plan outside the lock, so that labels can be planned concurrently
+            RangeFactory rangeFactory = rangeFactorySupplier.get();
+            labelCheckpoint = new LabelCheckpoint(
+                    CheckpointedRangeFactory.planRanges(rangeFactory),
+                    rangeFactory.numberOfItemsToExport(),
+                    rangeFactory.concurrency());
+            synchronized (this) {
+                labelCheckpoints.put(key, labelCheckpoint);
+                save();
+            }
+        } else {
+            logger.info("Resuming {}: {} of {} ranges already exported",
+                    key,
+                    labelCheckpoint.completedRanges.size(),
+                    labelCheckpoint.ranges.size());
+        }
+
+        return new CheckpointedRangeFactory(labelCheckpoint, labelCheckpoint.ranges, labelCheckpoint.completedRanges);
+    }
+
+    public synchronized FileSpecificLabelSchemas committedFilesFor(ExportSpecification labelSpecificExportSpecification) {
+        FileSpecificLabelSchemas fileSpecificLabelSchemas = new FileSpecificLabelSchemas();
+        LabelCheckpoint labelCheckpoint = labelCheckpoints.get(labelSpecificExportSpecification.description());
+        if (labelCheckpoint != null) {
+            for (FileSpecificLabelSchema file : labelCheckpoint.files) {
+                fileSpecificLabelSchemas.add(file.outputId(), file.getFormat(), file.labelSchema());
+            }
+        }
+        return fileSpecificLabelSchemas;
+    }
+
+    public synchronized int fileIndexFor(ExportSpecification labelSpecificExportSpecification) {
+        LabelCheckpoint labelCheckpoint = labelCheckpoints.get(labelSpecificExportSpecification.description());
+        return labelCheckpoint == null ? 0 : labelCheckpoint.fileIndex;
+    }
+
+    public void commit(RangeFactory rangeFactory,
+                       Range range,
+                       FileSpecificLabelSchemas fileSpecificLabelSchemas,
+                       int fileIndex) throws IOException {
+
+        if (!(rangeFactory instanceof CheckpointedRangeFactory)) {
+            throw new IllegalStateException("Range factory was not created by the export checkpoint");
+        }
+
+        CheckpointedRangeFactory checkpointedRangeFactory = (CheckpointedRangeFactory) rangeFactory;
+        LabelCheckpoint labelCheckpoint = checkpointedRangeFactory.labelCheckpoint();
+
+        synchronized (this) {
+            for (Label label : fileSpecificLabelSchemas.labels()) {
+                for (FileSpecificLabelSchema file : fileSpecificLabelSchemas.fileSpecificLabelSchemasFor(label)) {
+                    labelCheckpoint.files.add(
+                            new FileSpecificLabelSchema(file.outputId(), file.getFormat(), file.labelSchema().createCopy()));
+                }
+            }
+            labelCheckpoint.completedRanges.add(checkpointedRangeFactory.indexOf(range));
+            labelCheckpoint.fileIndex = Math.max(labelCheckpoint.fileIndex, fileIndex);
+            save();
+        }
+    }
+
+    public synchronized void completeSpecification(ExportSpecification exportSpecification,
+                                                   GraphElementSchemas graphElementSchemas) throws IOException {
+        if (!isEnabled()) {
+            return;
+        }
+
+        for (ExportSpecification labelSpecificExportSpecification : exportSpecification.splitByLabel()) {
+            labelCheckpoints.remove(labelSpecificExportSpecification.description());
+        }
+        completedSpecifications.put(exportSpecification.description(), graphElementSchemas);
+        save();
+    }
+
+    /**
+     * Deletes files left behind by an interrupted export that were not recorded in the checkpoint.
+     */
+    public synchronized void deleteUncommittedFiles(Collection<Path> directories) throws IOException {
+
+        if (!isEnabled()) {
+            return;
+        }
+
+        Set<File> committedFiles = new HashSet<>();
+        for (GraphElementSchemas graphElementSchemas : completedSpecifications.values()) {
+            for (Label label : graphElementSchemas.labels()) {
+                for (String outputId : graphElementSchemas.getOutputIdsFor(label)) {
+                    committedFiles.add(new File(outputId).getAbsoluteFile());
+                }
+            }
+        }
+        for (LabelCheckpoint labelCheckpoint : labelCheckpoints.values()) {
+            for (FileSpecificLabelSchema file : labelCheckpoint.files) {
+                committedFiles.add(new File(file.outputId()).getAbsoluteFile());
+            }
+        }
+
+        for (Path directory : directories) {
+            if (!directory.toFile().isDirectory()) {
+                continue;
+            }
+            for (File f : FileUtils.listFiles(directory.toFile(), null, true)) {
+                if (!committedFiles.contains(f.getAbsoluteFile())) {
+                    logger.info("Deleting uncommitted file {}", f);
+                    Files.delete(f.toPath());
+                }
+            }
+        }
+
+        for (LabelCheckpoint labelCheckpoint : labelCheckpoints.values()) {
+            for (FileSpecificLabelSchema file : labelCheckpoint.files) {
+                if (!new File(file.outputId()).exists()) {
+                    throw new IllegalStateException(String.format(
+                            "Unable to resume export because checkpointed file %s no longer exists", file.outputId()));
+                }
+            }
+        }
+    }
+
+    JsonNode toJson() {
+        ObjectNode json = JsonNodeFactory.instance.objectNode();
+        json.put("version", VERSION);
+
+        ArrayNode completedNode = json.putArray("completed");
+        for (Map.Entry<String, GraphElementSchemas> entry : completedSpecifications.entrySet()) {
+            ObjectNode specificationNode = completedNode.addObject();
+            specificationNode.put("description", entry.getKey());
+            specificationNode.set("schemas", entry.getValue().toJson(true));
+        }
+
+        ArrayNode labelsNode = json.putArray("inProgress");
+        for (Map.Entry<String, LabelCheckpoint> entry : labelCheckpoints.entrySet()) {
+            ObjectNode labelNode = entry.getValue().toJson();
+            labelNode.put("description", entry.getKey());
+            labelsNode.add(labelNode);
+        }
+
+        return json;
+    }
+
+    private void load(JsonNode json) {
+
+        int version = json.path("version").asInt();
+        if (version != VERSION) {
+            throw new IllegalStateException(String.format("Unsupported checkpoint version: %s", version));
+        }
+
+        for (JsonNode specificationNode : json.path("completed")) {
+            completedSpecifications.put(
+                    specificationNode.path("description").textValue(),
+                    GraphElementSchemas.fromJson((ArrayNode) specificationNode.path("schemas")));
+        }
+
+        for (JsonNode labelNode : json.path("inProgress")) {
+            labelCheckpoints.put(labelNode.path("description").textValue(), LabelCheckpoint.fromJson(labelNode));
+        }
+    }
+
+    private void save() throws IOException {
+        if (!isEnabled()) {
+            return;
+        }
+
+        File tempFile = new File(file.getParentFile(), file.getName() + ".tmp");
+        String json = new ObjectMapper().writer().withDefaultPrettyPrinter().writeValueAsString(toJson());
+        Files.write(tempFile.toPath(), json.getBytes(StandardCharsets.UTF_8));
+        Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static class LabelCheckpoint {
+
+        private static LabelCheckpoint fromJson(JsonNode json) {
+
+            List<Range> ranges = new ArrayList<>();
+            for (JsonNode rangeNode : json.path("ranges")) {
+                ranges.add(Range.fromJson(rangeNode));
+            }
+
+            LabelCheckpoint labelCheckpoint = new LabelCheckpoint(
+                    ranges,
+                    json.path("numberOfItemsToExport").asLong(),
+                    json.path("concurrency").asInt());
+
+            for (JsonNode indexNode : json.path("completedRanges")) {
+                labelCheckpoint.completedRanges.add(indexNode.asInt());
+            }
+
+            labelCheckpoint.fileIndex = json.path("fileIndex").asInt();
+
+            for (JsonNode fileNode : json.path("files")) {
+                GraphElementSchemas graphElementSchemas = GraphElementSchemas.fromJson((ArrayNode) fileNode.path("schema"));
+                for (Label label : graphElementSchemas.labels()) {
+                    labelCheckpoint.files.add(new FileSpecificLabelSchema(
+                            fileNode.path("outputId").textValue(),
+                            PropertyGraphExportFormat.valueOf(fileNode.path("format").textValue()),
+                            graphElementSchemas.getSchemaFor(label)));
+                }
+            }
+
+            return labelCheckpoint;
+        }
+
+        private final List<Range> ranges;
+        private final long numberOfItemsToExport;
+        private final int concurrency;
+        private final Set<Integer> completedRanges = new TreeSet<>();
+        private final List<FileSpecificLabelSchema> files = new ArrayList<>();
+        private int fileIndex = 0;
+
+        private LabelCheckpoint(List<Range> ranges, long numberOfItemsToExport, int concurrency) {
+            this.ranges = ranges;
+            this.numberOfItemsToExport = numberOfItemsToExport;
+            this.concurrency = concurrency;
+        }
+
+        long numberOfItemsToExport() {
+            return numberOfItemsToExport;
+        }
+
+        int concurrency() {
+            return concurrency;
+        }
+
+        private ObjectNode toJson() {
+            ObjectNode json = JsonNodeFactory.instance.objectNode();
+            json.put("numberOfItemsToExport", numberOfItemsToExport);
+            json.put("concurrency", concurrency);
+            json.put("fileIndex", fileIndex);
+
+            ArrayNode rangesNode = json.putArray("ranges");
+            for (Range range : ranges) {
+                rangesNode.add(range.toJson());
+            }
+
+            ArrayNode completedRangesNode = json.putArray("completedRanges");
+            for (Integer index : completedRanges) {
+                completedRangesNode.add(index);
+            }
+
+            ArrayNode filesNode = json.putArray("files");
+            for (FileSpecificLabelSchema file : files) {
+                GraphElementSchemas graphElementSchemas = new GraphElementSchemas();
+                graphElementSchemas.addLabelSchema(file.labelSchema(), Collections.singletonList(file.outputId()));
+
+                ObjectNode fileNode = filesNode.addObject();
+                fileNode.put("outputId", file.outputId());
+                fileNode.put("format", file.getFormat().name());
+                fileNode.set("schema", graphElementSchemas.toJson());
+            }
+
+            return json;
+        }
+    }
+}
@@ -87,18 +87,28 @@ class ExportPGTaskHandler<T extends PGResult> implements GraphElementHandler<T>
     private void createWriterFor(Label label) {
         try {
             LabelSchema labelSchema = graphElementSchemas.getSchemaFor(label);
+            FileRolloverPolicy rolloverPolicy = targetConfig.rolloverPolicy();
 
-            PropertyGraphPrinter propertyGraphPrinter = writerFactory.createPrinter(
-                    Directories.fileName(label.fullyQualifiedLabel(), index),
-                    labelSchema,
-                    targetConfig);
-            LabelWriter<T> labelWriter = writerFactory.createLabelWriter(propertyGraphPrinter, labelSchema.label());
+            LabelWriter<T> labelWriter = rolloverPolicy.isEnabled() ?
+                    new RollingLabelWriter<>(() -> createLabelWriter(labelSchema), rolloverPolicy) :
+                    createLabelWriter(labelSchema);
 
             labelWriters.put(label, labelWriter);
-            fileSpecificLabelSchemas.add(labelWriter.outputId(), targetConfig.format(), labelSchema);
 
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
     }
+
+    private LabelWriter<T> createLabelWriter(LabelSchema labelSchema) throws IOException {
+        PropertyGraphPrinter propertyGraphPrinter = writerFactory.createPrinter(
+                Directories.fileName(labelSchema.label().fullyQualifiedLabel(), index),
+                labelSchema,
+                targetConfig);
+        LabelWriter<T> labelWriter = writerFactory.createLabelWriter(propertyGraphPrinter, labelSchema.label());
+
+        fileSpecificLabelSchemas.add(labelWriter.outputId(), targetConfig.format(), labelSchema);
+
+        return new MeasuredLabelWriter<>(labelWriter, labelSchema.label());
+    }
 }
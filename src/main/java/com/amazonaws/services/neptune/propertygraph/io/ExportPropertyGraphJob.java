@@ -16,6 +16,8 @@ import com.amazonaws.services.neptune.cluster.ConcurrencyConfig;
 import com.amazonaws.services.neptune.export.FeatureToggles;
 import com.amazonaws.services.neptune.io.Status;
 import com.amazonaws.services.neptune.io.StatusOutputFormat;
+import com.amazonaws.services.neptune.metrics.ExportMetrics;
+import com.amazonaws.services.neptune.metrics.MetricsRegistry;
 import com.amazonaws.services.neptune.propertygraph.GremlinFilters;
 import com.amazonaws.services.neptune.propertygraph.RangeConfig;
 import com.amazonaws.services.neptune.propertygraph.RangeFactory;
@@ -27,20 +29,24 @@ import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSo
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 public class ExportPropertyGraphJob {
 
     private static final Logger logger = LoggerFactory.getLogger(ExportPropertyGraphJob.class);
 
+    private static final long SMALL_LABEL_BATCH_SIZE = 1000;
+
     private final Collection<ExportSpecification> exportSpecifications;
     private final GraphSchema graphSchema;
     private final GraphTraversalSource g;
@@ -50,6 +56,10 @@ public class ExportPropertyGraphJob {
     private final PropertyGraphTargetConfig targetConfig;
     private final FeatureToggles featureToggles;
     private final int maxFileDescriptorCount;
+    private final ExportCheckpoint checkpoint;
+    private final ConcurrencyConfig rewriteConcurrencyConfig;
+    private final boolean pipelineRewrites;
+    private final int serializerConcurrency;
 
     public ExportPropertyGraphJob(Collection<ExportSpecification> exportSpecifications,
                                   GraphSchema graphSchema,
@@ -59,7 +69,8 @@ public class ExportPropertyGraphJob {
                                   ConcurrencyConfig concurrencyConfig,
                                   PropertyGraphTargetConfig targetConfig,
                                   FeatureToggles featureToggles,
-                                  int maxFileDescriptorCount) {
+                                  int maxFileDescriptorCount,
+                                  ExportPropertyGraphJobOptions options) {
         this.exportSpecifications = exportSpecifications;
         this.graphSchema = graphSchema;
         this.g = g;
@@ -69,98 +80,227 @@ public class ExportPropertyGraphJob {
         this.targetConfig = targetConfig;
         this.featureToggles = featureToggles;
         this.maxFileDescriptorCount = maxFileDescriptorCount;
+        this.checkpoint = options.checkpoint();
+        this.rewriteConcurrencyConfig = options.rewriteConcurrencyConfig(concurrencyConfig);
+        this.pipelineRewrites = options.pipelineRewrites();
+        this.serializerConcurrency = options.serializerConcurrency();
     }
 
     public GraphSchema execute() throws Exception {
         Map<GraphElementType, GraphElementSchemas> revisedGraphElementSchemas = new HashMap<>();
+        Collection<SpecificationExport> exports = new ArrayList<>();
+
+        if (checkpoint.isEnabled()) {
+            checkpoint.deleteUncommittedFiles(targetConfig.directories().subdirectories());
+        }
 
         for (ExportSpecification exportSpecification : exportSpecifications) {
-            MasterLabelSchemas masterLabelSchemas =
-                    Timer.timedActivity("exporting " + exportSpecification.description(),
-                            (CheckedActivity.Callable<MasterLabelSchemas>) () -> export(exportSpecification));
-            revisedGraphElementSchemas.put(masterLabelSchemas.graphElementType(), masterLabelSchemas.toGraphElementSchemas());
+            GraphElementSchemas completedSchemas = checkpoint.completedSchemasFor(exportSpecification);
+            if (completedSchemas != null) {
+                System.err.println("Skipping " + exportSpecification.description() + " because it was completed by a previous export");
+                revisedGraphElementSchemas.put(exportSpecification.getGraphElementType(), completedSchemas);
+            } else {
+                if (rangeConfig.lazyRanges() && !checkpoint.isEnabled() && exportSpecification.filtersAfterRange(g)) {
+                    System.err.println("Counting " + exportSpecification.description() + " because a filter is applied after each range, so a short range does not mark the end of the data");
+                }
+                exports.add(new SpecificationExport(exportSpecification));
+            }
         }
 
-        return new GraphSchema(revisedGraphElementSchemas);
-    }
+        if (exports.isEmpty()) {
+            return new GraphSchema(revisedGraphElementSchemas);
+        }
+
+        String description = exports.stream()
+                .map(e -> e.exportSpecification().description())
+                .collect(Collectors.joining(" and "));
+
+        Timer.timedActivity("exporting " + description, (CheckedActivity.Runnable) () -> {
+
+            RewriteCommand rewriteCommand = targetConfig.createRewriteCommand(rewriteConcurrencyConfig, featureToggles);
+            ExecutorService rewriteExecutor = pipelineRewrites ?
+                    Executors.newFixedThreadPool(rewriteConcurrencyConfig.concurrency()) :
+                    null;
+            ExecutorService serializerExecutor = serializerConcurrency > 0 ?
+                    Executors.newFixedThreadPool(serializerConcurrency) :
+                    null;
 
-    private MasterLabelSchemas export(ExportSpecification exportSpecification) throws Exception {
-        Collection<FileSpecificLabelSchemas> fileSpecificLabelSchemas = new ArrayList<>();
-
-        AtomicInteger fileDescriptorCount = new AtomicInteger();
-
-
-        for (ExportSpecification labelSpecificExportSpecification : exportSpecification.splitByLabel()) {
-            Collection<Future<FileSpecificLabelSchemas>> futures = new ArrayList<>();
-            RangeFactory rangeFactory = labelSpecificExportSpecification.createRangeFactory(g, rangeConfig, concurrencyConfig);
-            Status status = new Status(
-                    StatusOutputFormat.Description,
-                    String.format("%s: %s total", labelSpecificExportSpecification.description(), rangeFactory.numberOfItemsToExport()),
-                    () -> String.format(" [%s GB free space]", targetConfig.freeSpaceInGigabytes()));
-
-            String description = String.format("writing %s as %s to %s",
-                    labelSpecificExportSpecification.description(),
-                    targetConfig.format().description(),
-                    targetConfig.output().name());
-
-            System.err.println("Started " + description);
-
-            AtomicInteger fileIndex = new AtomicInteger();
-
-            Timer.timedActivity(description, (CheckedActivity.Runnable) () -> {
-                ExecutorService taskExecutor = Executors.newFixedThreadPool(rangeFactory.concurrency());
-
-                for (int index = 1; index <= rangeFactory.concurrency(); index++) {
-                    ExportPropertyGraphTask exportTask = labelSpecificExportSpecification.createExportTask(
-                            graphSchema,
-                            g,
-                            targetConfig,
-                            gremlinFilters,
-                            rangeFactory,
-                            status,
-                            fileIndex,
-                            fileDescriptorCount,
-                            maxFileDescriptorCount
-                    );
-                    futures.add(taskExecutor.submit(exportTask));
+            try {
+                try (ExportScheduler scheduler = new ExportScheduler(concurrencyConfig.concurrency())) {
+                    AtomicInteger fileDescriptorCount = new AtomicInteger();
+                    MetricsRegistry.global().gauge(ExportMetrics.OPEN_FILES, fileDescriptorCount::get);
+
+                    for (SpecificationExport export : exports) {
+                        scheduler.submit(() -> {
+                            scheduleLabels(scheduler, export, fileDescriptorCount, rewriteCommand, rewriteExecutor, serializerExecutor);
+                            return null;
+                        });
+                    }
+
+                    scheduler.awaitCompletion();
                 }
 
-                taskExecutor.shutdown();
+                for (SpecificationExport export : exports) {
+                    ExportSpecification exportSpecification = export.exportSpecification();
+                    MasterLabelSchemas masterLabelSchemas = pipelineRewrites ?
+                            Timer.timedActivity(
+                                    "waiting for " + exportSpecification.description() + " rewrites",
+                                    (CheckedActivity.Callable<MasterLabelSchemas>) export::rewrittenMasterLabelSchemas) :
+                            rewriteCommand.execute(export.masterLabelSchemas());
+                    GraphElementSchemas graphElementSchemas = masterLabelSchemas.toGraphElementSchemas();
+                    checkpoint.completeSpecification(exportSpecification, graphElementSchemas);
+                    revisedGraphElementSchemas.put(exportSpecification.getGraphElementType(), graphElementSchemas);
 
-                try {
-                    if (!taskExecutor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS)) {
-                        logger.warn("Timeout expired with uncompleted tasks");
+                    // Lazy ranges never count the source, so report what was exported
+                    if (lazyRangesFor(exportSpecification)) {
+                        exportSpecification.getExportStats().setSourceCountsFromExportCounts();
                     }
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    throw new RuntimeException(e);
                 }
+            } finally {
+                if (rewriteExecutor != null) {
+                    rewriteExecutor.shutdownNow();
+                }
+                if (serializerExecutor != null) {
+                    serializerExecutor.shutdownNow();
+                }
+            }
+        });
 
-                updateFileSpecificLabelSchemas(futures, fileSpecificLabelSchemas);
-            });
+        return new GraphSchema(revisedGraphElementSchemas);
+    }
+
+    private void scheduleLabels(ExportScheduler scheduler,
+                                SpecificationExport export,
+                                AtomicInteger fileDescriptorCount,
+                                RewriteCommand rewriteCommand,
+                                ExecutorService rewriteExecutor,
+                                ExecutorService serializerExecutor) throws IOException {
+
+        ExportSpecification exportSpecification = export.exportSpecification();
+
+        // Batching changes the specifications recorded in a checkpoint, and would apply skip and limit to each batch.
+        // It also requires a count of each label, which lazy ranges avoid.
+        boolean batchSmallLabels = !checkpoint.isEnabled() &&
+                !lazyRangesFor(exportSpecification) &&
+                rangeConfig.numberOfItemsToSkip() == 0 &&
+                rangeConfig.numberOfItemsToExport() == Long.MAX_VALUE;
+
+        Map<ExportSpecification, Long> labelSpecificExportSpecifications = new LinkedHashMap<>();
+        if (batchSmallLabels) {
+            long batchSize = rangeConfig.rangeSize() > 0 ? rangeConfig.rangeSize() : SMALL_LABEL_BATCH_SIZE;
+            labelSpecificExportSpecifications.putAll(exportSpecification.splitByLabel(g, batchSize));
+        } else {
+            exportSpecification.splitByLabel().forEach(s -> labelSpecificExportSpecifications.put(s, -1L));
         }
 
-        MasterLabelSchemas masterLabelSchemas = exportSpecification.createMasterLabelSchemas(fileSpecificLabelSchemas);
+        export.addLabelSpecifications(labelSpecificExportSpecifications.keySet());
 
-        RewriteCommand rewriteCommand = targetConfig.createRewriteCommand(concurrencyConfig, featureToggles);
+        for (Map.Entry<ExportSpecification, Long> entry : labelSpecificExportSpecifications.entrySet()) {
+            ExportSpecification labelSpecificExportSpecification = entry.getKey();
+            RangeConfig labelSpecificRangeConfig = rangeConfigFor(labelSpecificExportSpecification, entry.getValue());
 
-        return rewriteCommand.execute(masterLabelSchemas);
+            scheduler.submit(() -> {
+                scheduleRanges(scheduler, export, labelSpecificExportSpecification, labelSpecificRangeConfig, fileDescriptorCount, rewriteCommand, rewriteExecutor, serializerExecutor);
+                return null;
+            });
+        }
     }
 
+    private void scheduleRanges(ExportScheduler scheduler,
+                                SpecificationExport export,
+                                ExportSpecification labelSpecificExportSpecification,
+                                RangeConfig labelSpecificRangeConfig,
+                                AtomicInteger fileDescriptorCount,
+                                RewriteCommand rewriteCommand,
+                                ExecutorService rewriteExecutor,
+                                ExecutorService serializerExecutor) throws IOException {
 
+        RangeFactory rangeFactory = checkpoint.rangeFactoryFor(
+                labelSpecificExportSpecification,
+                () -> labelSpecificExportSpecification.createRangeFactory(g, labelSpecificRangeConfig, concurrencyConfig));
+        Status status = new Status(
+                StatusOutputFormat.Description,
+                rangeFactory.numberOfItemsToExport() < 0 ?
+                        labelSpecificExportSpecification.description() :
+                        String.format("%s: %s total", labelSpecificExportSpecification.description(), rangeFactory.numberOfItemsToExport()),
+                () -> String.format(" [%s GB free space]", targetConfig.freeSpaceInGigabytes()));
 
-    private void updateFileSpecificLabelSchemas(
-            Collection<Future<FileSpecificLabelSchemas>> futures,
-            Collection<FileSpecificLabelSchemas> fileSpecificLabelSchemas) throws Exception {
+        String description = String.format("writing %s as %s to %s",
+                labelSpecificExportSpecification.description(),
+                targetConfig.format().description(),
+                targetConfig.output().name());
 
-        for (Future<FileSpecificLabelSchemas> future : futures) {
-            if (future.isCancelled()) {
-                throw new IllegalStateException("Unable to complete job because at least one task was cancelled");
-            }
-            if (!future.isDone()) {
-                throw new IllegalStateException("Unable to complete job because at least one task has not completed");
-            }
-            fileSpecificLabelSchemas.add(future.get());
+        System.err.println("Started " + description);
+
+        long start = System.currentTimeMillis();
+        AtomicInteger fileIndex = new AtomicInteger(checkpoint.fileIndexFor(labelSpecificExportSpecification));
+        AtomicInteger remainingTasks = new AtomicInteger(rangeFactory.concurrency());
+        Collection<FileSpecificLabelSchemas> fileSpecificLabelSchemas = new ConcurrentLinkedQueue<>();
+        fileSpecificLabelSchemas.add(checkpoint.committedFilesFor(labelSpecificExportSpecification));
+
+        for (int index = 1; index <= rangeFactory.concurrency(); index++) {
+            ExportPropertyGraphTask exportTask = labelSpecificExportSpecification.createExportTask(
+                    graphSchema,
+                    g,
+                    targetConfig,
+                    gremlinFilters,
+                    rangeFactory,
+                    status,
+                    fileIndex,
+                    fileDescriptorCount,
+                    maxFileDescriptorCount,
+                    checkpoint,
+                    labelSpecificRangeConfig.retryPolicy(),
+                    serializerExecutor
+            );
+            scheduler.submit(() -> {
+                fileSpecificLabelSchemas.add(exportTask.call());
+                if (remainingTasks.decrementAndGet() == 0) {
+                    System.err.println(String.format("Completed %s in %s seconds", description, (System.currentTimeMillis() - start) / 1000));
+                    Map<String, Long> rangeMetrics = rangeFactory.metrics();
+                    if (!rangeMetrics.isEmpty()) {
+                        logger.info("Range metrics for {}: {}", labelSpecificExportSpecification.description(), rangeMetrics);
+                        labelSpecificExportSpecification.getExportStats().addRangeMetrics(labelSpecificExportSpecification.description(), rangeMetrics);
+                    }
+                    MasterLabelSchemas completeLabels = export.completeLabelSpecification(labelSpecificExportSpecification, fileSpecificLabelSchemas);
+                    if (rewriteExecutor != null) {
+                        scheduleRewrites(export, completeLabels, rewriteCommand, rewriteExecutor);
+                    }
+                }
+                return null;
+            });
+        }
+    }
+
+    private void scheduleRewrites(SpecificationExport export,
+                                  MasterLabelSchemas completeLabels,
+                                  RewriteCommand rewriteCommand,
+                                  ExecutorService rewriteExecutor) {
+        for (MasterLabelSchema masterLabelSchema : completeLabels.schemas()) {
+            export.addRewrite(rewriteExecutor.submit(() -> {
+                logger.info("Rewriting {} files for label {}",
+                        completeLabels.graphElementType().name(),
+                        masterLabelSchema.labelSchema().label().fullyQualifiedLabel());
+                return rewriteCommand.rewriteLabel(completeLabels.graphElementType(), masterLabelSchema);
+            }));
+        }
+    }
+
+    // Checkpoints plan every range up front, which requires a known end. And lazy ranges stop at the first
+    // short range, which only marks the end of the data if nothing is filtered out of a range after it is applied.
+    private boolean lazyRangesFor(ExportSpecification exportSpecification) {
+        return rangeConfig.lazyRanges() && !checkpoint.isEnabled() && !exportSpecification.filtersAfterRange(g);
+    }
+
+    private RangeConfig rangeConfigFor(ExportSpecification labelSpecificExportSpecification, long approxCount) {
+        RangeConfig labelSpecificRangeConfig = rangeConfig.withLazyRanges(lazyRangesFor(labelSpecificExportSpecification));
+        if (approxCount <= 0) {
+            return labelSpecificRangeConfig;
+        }
+        if (labelSpecificExportSpecification.getGraphElementType() == GraphElementType.nodes) {
+            return labelSpecificRangeConfig.withApproxCounts(approxCount, rangeConfig.approxEdgeCount());
+        } else {
+            return labelSpecificRangeConfig.withApproxCounts(rangeConfig.approxNodeCount(), approxCount);
         }
     }
 }
@@ -0,0 +1,90 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph.io;
+
+import com.amazonaws.services.neptune.cluster.ConcurrencyConfig;
+
+public class ExportPropertyGraphJobOptions {
+
+    public static final ExportPropertyGraphJobOptions DEFAULT_OPTIONS = builder().build();
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private final ExportCheckpoint checkpoint;
+    private final ConcurrencyConfig rewriteConcurrencyConfig;
+    private final boolean pipelineRewrites;
+    private final int serializerConcurrency;
+
+    private ExportPropertyGraphJobOptions(ExportCheckpoint checkpoint,
+                                          ConcurrencyConfig rewriteConcurrencyConfig,
+                                          boolean pipelineRewrites,
+                                          int serializerConcurrency) {
+        this.checkpoint = checkpoint;
+        this.rewriteConcurrencyConfig = rewriteConcurrencyConfig;
+        this.pipelineRewrites = pipelineRewrites;
+        this.serializerConcurrency = serializerConcurrency;
+    }
+
+    public ExportCheckpoint checkpoint() {
+        return checkpoint;
+    }
+
+    public ConcurrencyConfig rewriteConcurrencyConfig(ConcurrencyConfig exportConcurrencyConfig) {
+        return rewriteConcurrencyConfig != null ? rewriteConcurrencyConfig : exportConcurrencyConfig;
+    }
+
+    public boolean pipelineRewrites() {
+        return pipelineRewrites;
+    }
+
+    public int serializerConcurrency() {
+        return serializerConcurrency;
+    }
+
+    public static class Builder {
+        private ExportCheckpoint checkpoint = ExportCheckpoint.disabled();
+        private ConcurrencyConfig rewriteConcurrencyConfig = null;
+        private boolean pipelineRewrites = false;
+        private int serializerConcurrency = 0;
+
+        public Builder setCheckpoint(ExportCheckpoint checkpoint) {
+            this.checkpoint = checkpoint;
+            return this;
+        }
+
+        // Defaults to the concurrency used to run the export
+        public Builder setRewriteConcurrencyConfig(ConcurrencyConfig rewriteConcurrencyConfig) {
+            this.rewriteConcurrencyConfig = rewriteConcurrencyConfig;
+            return this;
+        }
+
+        public Builder setPipelineRewrites(boolean pipelineRewrites) {
+            this.pipelineRewrites = pipelineRewrites;
+            return this;
+        }
+
+        public Builder setSerializerConcurrency(int serializerConcurrency) {
+            if (serializerConcurrency < 0) {
+                throw new IllegalArgumentException("Serializer concurrency must not be negative");
+            }
+            this.serializerConcurrency = serializerConcurrency;
+            return this;
+        }
+
+        public ExportPropertyGraphJobOptions build() {
+            return new ExportPropertyGraphJobOptions(checkpoint, rewriteConcurrencyConfig, pipelineRewrites, serializerConcurrency);
+        }
+    }
+}
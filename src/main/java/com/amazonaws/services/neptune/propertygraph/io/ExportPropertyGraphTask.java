@@ -13,6 +13,8 @@ permissions and limitations under the License.
 package com.amazonaws.services.neptune.propertygraph.io;
 
 import com.amazonaws.services.neptune.io.Status;
+import com.amazonaws.services.neptune.metrics.ExportMetrics;
+import com.amazonaws.services.neptune.metrics.MetricsRegistry;
 import com.amazonaws.services.neptune.propertygraph.*;
 import com.amazonaws.services.neptune.propertygraph.io.result.PGResult;
 import com.amazonaws.services.neptune.propertygraph.schema.FileSpecificLabelSchemas;
@@ -20,8 +22,10 @@ import com.amazonaws.services.neptune.propertygraph.schema.GraphElementSchemas;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class ExportPropertyGraphTask implements Callable<FileSpecificLabelSchemas> {
@@ -37,7 +41,14 @@ public class ExportPropertyGraphTask implements Callable<FileSpecificLabelSchema
     private final GremlinFilters gremlinFilters;
     private final Status status;
     private final AtomicInteger index;
-    private final LabelWriters<PGResult> labelWriters;
+    private final AtomicInteger fileDescriptorCount;
+    private final int maxFileDescriptorCount;
+    private final ExportCheckpoint checkpoint;
+    private final RetryingRangeQuery rangeQuery;
+    private final Executor serializerExecutor;
+    private final boolean shortRangeMarksEnd;
+    private final MetricsRegistry metrics = MetricsRegistry.global();
+    private final boolean timed = metrics.isTimingEnabled();
 
     public ExportPropertyGraphTask(GraphElementSchemas graphElementSchemas,
                                    LabelsFilter labelsFilter,
@@ -49,7 +60,11 @@ public class ExportPropertyGraphTask implements Callable<FileSpecificLabelSchema
                                    Status status,
                                    AtomicInteger index,
                                    AtomicInteger fileDescriptorCount,
-                                   int maxFileDescriptorCount) {
+                                   int maxFileDescriptorCount,
+                                   ExportCheckpoint checkpoint,
+                                   RangeRetryPolicy retryPolicy,
+                                   FaultInjector faultInjector,
+                                   Executor serializerExecutor) {
         this.graphElementSchemas = graphElementSchemas;
         this.labelsFilter = labelsFilter;
         this.graphClient = graphClient;
@@ -59,26 +74,37 @@ public class ExportPropertyGraphTask implements Callable<FileSpecificLabelSchema
         this.gremlinFilters = gremlinFilters;
         this.status = status;
         this.index = index;
-        this.labelWriters = new LabelWriters<>(fileDescriptorCount, maxFileDescriptorCount);
+        this.fileDescriptorCount = fileDescriptorCount;
+        this.maxFileDescriptorCount = maxFileDescriptorCount;
+        this.checkpoint = checkpoint;
+        // Elements filtered out of a range after it has been applied can make a range come back short, and mean
+        // that the number of elements written is not an offset into the range
+        boolean filtersAfterRange = graphClient.filtersAfterRange(gremlinFilters);
+        this.rangeQuery = new RetryingRangeQuery(
+                (range, handler) -> graphClient.queryForValues(handler, range, labelsFilter, gremlinFilters, graphElementSchemas),
+                filtersAfterRange,
+                retryPolicy,
+                faultInjector);
+        this.serializerExecutor = serializerExecutor;
+        this.shortRangeMarksEnd = !filtersAfterRange;
     }
 
     @Override
-    public FileSpecificLabelSchemas call() {
+    public FileSpecificLabelSchemas call() throws Exception {
+
+        if (checkpoint.isEnabled()) {
+            return exportCheckpointedRanges();
+        }
 
         FileSpecificLabelSchemas fileSpecificLabelSchemas = new FileSpecificLabelSchemas();
+        TaskStats stats = new TaskStats(graphClient, graphClient.description());
 
-        CountingHandler handler = new CountingHandler(
-                new ExportPGTaskHandler(
-                        fileSpecificLabelSchemas,
-                        graphElementSchemas,
-                        targetConfig,
-                        writerFactory,
-                        labelWriters,
-                        graphClient,
-                        status,
-                        index,
-                        labelsFilter
-                ));
+        GraphElementHandler<PGResult> writer = createHandler(
+                fileSpecificLabelSchemas,
+                new LabelWriters<>(fileDescriptorCount, maxFileDescriptorCount),
+                stats);
+        TimedHandler<PGResult> timedWriter = createTimedHandler(writer);
+        CountingHandler handler = new CountingHandler<>(timedWriter != null ? timedWriter : writer);
 
         try {
             while (status.allowContinue()) {
@@ -86,21 +112,126 @@ public class ExportPropertyGraphTask implements Callable<FileSpecificLabelSchema
                 if (range.isEmpty()) {
                     status.halt();
                 } else {
-                    graphClient.queryForValues(handler, range, labelsFilter, gremlinFilters, graphElementSchemas);
-                    if (range.sizeExceeds(handler.numberProcessed()) || rangeFactory.isExhausted()) {
+                    long start = System.currentTimeMillis();
+                    long startNanos = System.nanoTime();
+                    long handlerNanos = timedWriter != null ? timedWriter.nanos() : 0;
+                    long numberProcessed = handler.numberProcessed();
+                    rangeQuery.execute(range, handler);
+                    long duration = System.currentTimeMillis() - start;
+                    rangeFactory.rangeCompleted(range, handler.numberProcessed() - numberProcessed, duration);
+                    recordRangeMetrics(duration, startNanos, timedWriter, handlerNanos);
+                    if ((shortRangeMarksEnd && range.sizeExceeds(handler.numberProcessed())) || rangeFactory.isExhausted()) {
                         status.halt();
                     }
                 }
             }
+            flush(writer);
         } finally {
             try {
                 handler.close();
             } catch (Exception e) {
                 logger.error("Error while closing handler", e);
             }
+            stats.flush();
+        }
+
+        return fileSpecificLabelSchemas;
+    }
+
+    private FileSpecificLabelSchemas exportCheckpointedRanges() throws Exception {
+
+        FileSpecificLabelSchemas fileSpecificLabelSchemas = new FileSpecificLabelSchemas();
+
+        // Each range is written to its own files, which are closed before the range is committed to the checkpoint
+        while (status.allowContinue()) {
+            Range range = rangeFactory.nextRange();
+            if (range.isEmpty()) {
+                status.halt();
+            } else {
+                FileSpecificLabelSchemas rangeFileSpecificLabelSchemas = new FileSpecificLabelSchemas();
+                LabelWriters<PGResult> labelWriters = new LabelWriters<>(fileDescriptorCount, maxFileDescriptorCount);
+                TaskStats stats = new TaskStats(graphClient, graphClient.description());
+                GraphElementHandler<PGResult> writer = createHandler(rangeFileSpecificLabelSchemas, labelWriters, stats);
+                TimedHandler<PGResult> timedWriter = createTimedHandler(writer);
+                CountingHandler handler = new CountingHandler<>(timedWriter != null ? timedWriter : writer);
+
+                long start = System.currentTimeMillis();
+                long startNanos = System.nanoTime();
+                boolean written = false;
+                try {
+                    rangeQuery.execute(range, handler);
+                    flush(writer);
+                    written = true;
+                } finally {
+                    if (!written && writer instanceof PipelinedGraphElementHandler) {
+                        ((PipelinedGraphElementHandler<PGResult>) writer).discard();
+                    }
+                    labelWriters.close();
+                }
+                long duration = System.currentTimeMillis() - start;
+                rangeFactory.rangeCompleted(range, handler.numberProcessed(), duration);
+                recordRangeMetrics(duration, startNanos, timedWriter, 0);
+                stats.flush();
+
+                checkpoint.commit(rangeFactory, range, rangeFileSpecificLabelSchemas, index.get());
+                fileSpecificLabelSchemas.addAll(rangeFileSpecificLabelSchemas);
+
+                if ((shortRangeMarksEnd && range.sizeExceeds(handler.numberProcessed())) || rangeFactory.isExhausted()) {
+                    status.halt();
+                }
+            }
         }
 
         return fileSpecificLabelSchemas;
     }
 
+    private GraphElementHandler<PGResult> createHandler(FileSpecificLabelSchemas fileSpecificLabelSchemas,
+                                                        LabelWriters<PGResult> labelWriters,
+                                                        TaskStats stats) {
+        GraphElementHandler<PGResult> taskHandler = new ExportPGTaskHandler(
+                fileSpecificLabelSchemas,
+                graphElementSchemas,
+                targetConfig,
+                writerFactory,
+                labelWriters,
+                stats,
+                status,
+                index,
+                labelsFilter
+        );
+        if (serializerExecutor == null) {
+            return taskHandler;
+        }
+        if (timed) {
+            taskHandler = new TimedHandler<>(taskHandler, metrics.counter(ExportMetrics.WRITE_NANOS, "type", graphClient.description()));
+        }
+        // Elements are written on the serializer pool while this thread continues to iterate query results
+        return new PipelinedGraphElementHandler<>(taskHandler, serializerExecutor);
+    }
+
+    // Time spent outside the writer is time spent waiting for, and iterating, query results. When results are
+    // written on the serializer pool, time spent writing is measured there instead.
+    private TimedHandler<PGResult> createTimedHandler(GraphElementHandler<PGResult> writer) {
+        if (!timed) {
+            return null;
+        }
+        return new TimedHandler<>(
+                writer,
+                serializerExecutor == null ? metrics.counter(ExportMetrics.WRITE_NANOS, "type", graphClient.description()) : null);
+    }
+
+    private void recordRangeMetrics(long durationMillis, long startNanos, TimedHandler<PGResult> timedWriter, long handlerNanosAtStart) {
+        String type = graphClient.description();
+        metrics.latencyHistogram(ExportMetrics.RANGE_LATENCY, "type", type).record(durationMillis);
+        if (timedWriter != null) {
+            long handlerNanos = timedWriter.nanos() - handlerNanosAtStart;
+            metrics.counter(ExportMetrics.QUERY_NANOS, "type", type).add(System.nanoTime() - startNanos - handlerNanos);
+        }
+    }
+
+    private void flush(GraphElementHandler<PGResult> writer) throws IOException {
+        if (writer instanceof PipelinedGraphElementHandler) {
+            ((PipelinedGraphElementHandler<PGResult>) writer).flush();
+        }
+    }
 }
@@ -0,0 +1,58 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph.io;
+
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs the work units of every label and export specification in a job on a single pool of concurrency
+ * threads, so that a thread that finishes one label's work immediately picks up another's. Work units may
+ * schedule further work units; awaitCompletion() waits for all of them.
+ */
+class ExportScheduler implements AutoCloseable {
+
+    private final ExecutorService executor;
+    private final Queue<Future<?>> futures = new ConcurrentLinkedQueue<>();
+
+    ExportScheduler(int concurrency) {
+        this.executor = Executors.newFixedThreadPool(concurrency);
+    }
+
+    void submit(Callable<?> workUnit) {
+        futures.add(executor.submit(workUnit));
+    }
+
+    void awaitCompletion() throws Exception {
+        // A work unit schedules its follow-on work before it completes, so the queue is only
+        // empty once every unit, including those scheduled by other units, has completed
+        Future<?> future;
+        while ((future = futures.poll()) != null) {
+            try {
+                future.get();
+            } catch (Exception e) {
+                futures.forEach(f -> f.cancel(true));
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
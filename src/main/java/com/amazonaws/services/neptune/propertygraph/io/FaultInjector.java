@@ -0,0 +1,55 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph.io;
+
+import com.amazonaws.services.neptune.export.FeatureToggle;
+import com.amazonaws.services.neptune.export.FeatureToggles;
+import com.amazonaws.services.neptune.propertygraph.Range;
+
+/**
+ * Simulates failures while a range is being exported, so that failure handling can be exercised locally.
+ * Called before each element of a range is handled, with the element's position in the range.
+ */
+public interface FaultInjector {
+
+    long LARGE_RANGE_SIZE = 1000;
+
+    FaultInjector NONE = (range, position) -> {
+        // Do nothing
+    };
+
+    FaultInjector FAIL_EVERY_ELEMENT = (range, position) -> {
+        throw new IllegalStateException("Simulated fault");
+    };
+
+    FaultInjector TIME_LIMIT_EXCEEDED_ON_LARGE_RANGES = (range, position) -> {
+        if ((range.sizeExceeds(LARGE_RANGE_SIZE) || range.difference() < 0) && position == LARGE_RANGE_SIZE / 2) {
+            throw new IllegalStateException(String.format(
+                    "{\"code\":\"%s\",\"detailedMessage\":\"Simulated time limit exceeded for %s\"}",
+                    RangeQueryFailure.TIME_LIMIT_EXCEEDED,
+                    range));
+        }
+    };
+
+    static FaultInjector fromFeatureToggles(FeatureToggles featureToggles) {
+        if (featureToggles.containsFeature(FeatureToggle.Inject_Fault)) {
+            return FAIL_EVERY_ELEMENT;
+        }
+        if (featureToggles.containsFeature(FeatureToggle.Inject_Time_Limit_Exceeded)) {
+            return TIME_LIMIT_EXCEEDED_ON_LARGE_RANGES;
+        }
+        return NONE;
+    }
+
+    void beforeElement(Range range, long position);
+}
@@ -0,0 +1,66 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph.io;
+
+import java.io.File;
+
+public class FileRolloverPolicy {
+
+    public static final FileRolloverPolicy NONE = new FileRolloverPolicy(0, 0);
+
+    // Checking the size of a file requires a stat call, so size is only checked periodically
+    private static final long ROWS_BETWEEN_SIZE_CHECKS = 100;
+
+    private final long maxFileSize;
+    private final long maxRowsPerFile;
+
+    public FileRolloverPolicy(long maxFileSize, long maxRowsPerFile) {
+        if (maxFileSize < 0) {
+            throw new IllegalArgumentException("Max file size must be greater than or equal to 0");
+        }
+        if (maxRowsPerFile < 0) {
+            throw new IllegalArgumentException("Max rows per file must be greater than or equal to 0");
+        }
+        this.maxFileSize = maxFileSize;
+        this.maxRowsPerFile = maxRowsPerFile;
+    }
+
+    public long maxFileSize() {
+        return maxFileSize;
+    }
+
+    public long maxRowsPerFile() {
+        return maxRowsPerFile;
+    }
+
+    public boolean isEnabled() {
+        return maxFileSize > 0 || maxRowsPerFile > 0;
+    }
+
+    boolean shouldRollover(long rowCount, String outputId) {
+        if (maxRowsPerFile > 0 && rowCount >= maxRowsPerFile) {
+            return true;
+        }
+        return maxFileSize > 0 &&
+                rowCount % ROWS_BETWEEN_SIZE_CHECKS == 0 &&
+                new File(outputId).length() >= maxFileSize;
+    }
+
+    @Override
+    public String toString() {
+        return "FileRolloverPolicy{" +
+                "maxFileSize=" + maxFileSize +
+                ", maxRowsPerFile=" + maxRowsPerFile +
+                '}';
+    }
+}
@@ -34,6 +34,7 @@ public class JsonPropertyGraphPrinter implements PropertyGraphPrinter {
     private final PrinterOptions printerOptions;
     private boolean isNullable = false;
     private final TokenPrefix tokenPrefix;
+    private final PresentProperties presentProperties = new PresentProperties();
 
     public JsonPropertyGraphPrinter(OutputWriter writer, JsonGenerator generator, LabelSchema labelSchema, PrinterOptions printerOptions) throws IOException {
         this(writer, generator, labelSchema, printerOptions, false);
@@ -68,18 +69,18 @@ public class JsonPropertyGraphPrinter implements PropertyGraphPrinter {
     public void printProperties(Map<?, ?> properties) throws IOException {
 
         // print known properties
-        for (PropertySchema propertySchema : labelSchema.propertySchemas()) {
+        if (allowUpdateSchema || PresentProperties.isSparse(labelSchema, properties)) {
+            printPresentProperties(properties);
+        } else {
+            for (PropertySchema propertySchema : labelSchema.propertySchemas()) {
 
-            Object key = propertySchema.property();
-            Object value = properties.get(key);
+                Object key = propertySchema.property();
+                Object value = properties.get(key);
 
-            if (properties.containsKey(key)) {
-                PropertySchema.PropertyValueMetadata propertyValueMetadata = propertySchema.accept(value, allowUpdateSchema);
-                labelSchema.recordObservation(propertySchema, value, propertyValueMetadata);
-                printProperty(value, propertySchema);
-            } else {
-                if (allowUpdateSchema) {
-                    propertySchema.makeNullable();
+                if (properties.containsKey(key)) {
+                    PropertySchema.PropertyValueMetadata propertyValueMetadata = propertySchema.accept(value, allowUpdateSchema);
+                    labelSchema.recordObservation(propertySchema, value, propertyValueMetadata);
+                    printProperty(value, propertySchema);
                 }
             }
         }
@@ -112,6 +113,24 @@ public class JsonPropertyGraphPrinter implements PropertyGraphPrinter {
 
     }
 
+    // Prints the known properties that are present, in schema order, without probing the row for absent ones
+    private void printPresentProperties(Map<?, ?> properties) throws IOException {
+
+        presentProperties.resolve(labelSchema, properties);
+
+        for (int i = 0; i < presentProperties.size(); i++) {
+            PropertySchema propertySchema = labelSchema.propertySchemaAt(presentProperties.column(i));
+            Object value = properties.get(propertySchema.property());
+            PropertySchema.PropertyValueMetadata propertyValueMetadata = propertySchema.accept(value, allowUpdateSchema);
+            labelSchema.recordObservation(propertySchema, value, propertyValueMetadata);
+            printProperty(value, propertySchema);
+        }
+
+        if (allowUpdateSchema) {
+            presentProperties.makeAbsentPropertiesNullable(labelSchema);
+        }
+    }
+
     private void printProperty(Object value, PropertySchema propertySchema) throws IOException {
 
         DataType dataType = propertySchema.dataType();
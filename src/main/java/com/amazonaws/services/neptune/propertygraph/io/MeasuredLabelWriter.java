@@ -0,0 +1,55 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph.io;
+
+import com.amazonaws.services.neptune.metrics.ExportMetrics;
+import com.amazonaws.services.neptune.metrics.MetricsRegistry;
+import com.amazonaws.services.neptune.propertygraph.Label;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Adds the size of the label's file to the export metrics once the file has been closed. Writers whose output is not
+ * a file, such as a stream, are not measured.
+ */
+class MeasuredLabelWriter<T> implements LabelWriter<T> {
+
+    private final LabelWriter<T> labelWriter;
+    private final Label label;
+
+    MeasuredLabelWriter(LabelWriter<T> labelWriter, Label label) {
+        this.labelWriter = labelWriter;
+        this.label = label;
+    }
+
+    @Override
+    public void handle(T element, boolean allowTokens) throws IOException {
+        labelWriter.handle(element, allowTokens);
+    }
+
+    @Override
+    public String outputId() {
+        return labelWriter.outputId();
+    }
+
+    @Override
+    public void close() throws Exception {
+        String outputId = labelWriter.outputId();
+        labelWriter.close();
+        File file = new File(outputId);
+        if (file.isFile()) {
+            MetricsRegistry.global().counter(ExportMetrics.BYTES, "label", label.fullyQualifiedLabel()).add(file.length());
+        }
+    }
+}
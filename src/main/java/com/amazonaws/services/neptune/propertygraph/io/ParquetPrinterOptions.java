@@ -0,0 +1,70 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph.io;
+
+import com.amazonaws.services.neptune.propertygraph.TokenPrefix;
+
+public class ParquetPrinterOptions {
+
+    public static final long DEFAULT_ROW_GROUP_SIZE = 16 * 1024 * 1024;
+
+    public static Builder builder(){
+        return new Builder();
+    }
+
+    private final long rowGroupSize;
+    private final TokenPrefix tokenPrefix;
+
+    private ParquetPrinterOptions(long rowGroupSize,
+                                  TokenPrefix tokenPrefix) {
+        this.rowGroupSize = rowGroupSize;
+        this.tokenPrefix = tokenPrefix;
+    }
+
+    public long rowGroupSize() {
+        return rowGroupSize;
+    }
+
+    public TokenPrefix tokenPrefix() {
+        return tokenPrefix;
+    }
+
+    public Builder copy(){
+        return new Builder()
+                .setRowGroupSize(rowGroupSize)
+                .setTokenPrefix(tokenPrefix);
+    }
+
+    public static class Builder{
+        private long rowGroupSize = DEFAULT_ROW_GROUP_SIZE;
+        private TokenPrefix tokenPrefix = new TokenPrefix();
+
+        public Builder setRowGroupSize(long rowGroupSize) {
+            if (rowGroupSize <= 0) {
+                throw new IllegalArgumentException("Parquet row group size must be greater than zero");
+            }
+            this.rowGroupSize = rowGroupSize;
+            return this;
+        }
+
+        public Builder setTokenPrefix(TokenPrefix tokenPrefix){
+            this.tokenPrefix = tokenPrefix;
+            return this;
+        }
+
+        public ParquetPrinterOptions build(){
+            return new ParquetPrinterOptions(rowGroupSize, tokenPrefix);
+        }
+
+    }
+}
@@ -0,0 +1,277 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph.io;
+
+import com.amazonaws.services.neptune.io.OutputFileListener;
+import com.amazonaws.services.neptune.io.parquet.ParquetColumn;
+import com.amazonaws.services.neptune.io.parquet.ParquetFileWriter;
+import com.amazonaws.services.neptune.propertygraph.TokenPrefix;
+import com.amazonaws.services.neptune.propertygraph.schema.DataType;
+import com.amazonaws.services.neptune.propertygraph.schema.LabelSchema;
+import com.amazonaws.services.neptune.propertygraph.schema.PropertySchema;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Writes nodes or edges to a Parquet file. The Parquet schema is fixed when the file is opened, so this printer
+ * can only be used when the label schema is already known: with an inferred schema, output is first written to
+ * spill files, and the Parquet files are created from them once the schemas for all files have been merged.
+ */
+public class ParquetPropertyGraphPrinter implements PropertyGraphPrinter {
+
+    private static final String ID = "id";
+    private static final String LABEL = "label";
+    private static final String FROM = "from";
+    private static final String TO = "to";
+    private static final String FROM_LABELS = "fromLabels";
+    private static final String TO_LABELS = "toLabels";
+
+    private final File file;
+    private final LabelSchema labelSchema;
+    private final ParquetPrinterOptions printerOptions;
+    private final String multiValueSeparator;
+    private final boolean gzip;
+    private final int bufferSize;
+    private final OutputFileListener listener;
+    private final Map<String, ParquetColumn> mandatoryColumns = new LinkedHashMap<>();
+    private final Map<Object, ParquetColumn> propertyColumns = new LinkedHashMap<>();
+    private final Map<Object, PropertySchema> propertySchemas = new HashMap<>();
+    private ParquetFileWriter writer;
+    private boolean isClosed = false;
+
+    public ParquetPropertyGraphPrinter(File file,
+                                       LabelSchema labelSchema,
+                                       PrinterOptions printerOptions,
+                                       boolean gzip,
+                                       int bufferSize,
+                                       OutputFileListener listener) {
+        this.file = file;
+        this.labelSchema = labelSchema;
+        this.printerOptions = printerOptions.parquet();
+        this.multiValueSeparator = printerOptions.csv().multiValueSeparator();
+        this.gzip = gzip;
+        this.bufferSize = bufferSize;
+        this.listener = listener;
+    }
+
+    @Override
+    public String outputId() {
+        return file.getAbsolutePath();
+    }
+
+    @Override
+    public void printHeaderMandatoryColumns(String... columns) {
+        TokenPrefix tokenPrefix = printerOptions.tokenPrefix();
+        boolean isEdge = false;
+        for (String column : columns) {
+            isEdge |= column.equals(FROM);
+        }
+        for (String column : columns) {
+            ParquetColumn.Repetition repetition = ParquetColumn.Repetition.REQUIRED;
+            if (column.equals(FROM_LABELS) || column.equals(TO_LABELS) || (column.equals(LABEL) && !isEdge)) {
+                repetition = ParquetColumn.Repetition.REPEATED;
+            }
+            boolean dictionaryEncoded = !column.equals(ID);
+            mandatoryColumns.put(column, new ParquetColumn(
+                    tokenPrefix.format(column),
+                    ParquetColumn.Type.BYTE_ARRAY,
+                    repetition,
+                    ParquetColumn.ConvertedType.UTF8,
+                    dictionaryEncoded));
+        }
+    }
+
+    @Override
+    public void printHeaderRemainingColumns(Collection<PropertySchema> remainingColumns) {
+        for (PropertySchema propertySchema : remainingColumns) {
+            ParquetColumn.Repetition repetition = propertySchema.isMultiValue() ?
+                    ParquetColumn.Repetition.REPEATED :
+                    ParquetColumn.Repetition.OPTIONAL;
+            propertyColumns.put(propertySchema.property(), createColumn(propertySchema, repetition));
+            propertySchemas.put(propertySchema.property(), propertySchema);
+        }
+    }
+
+    private ParquetColumn createColumn(PropertySchema propertySchema, ParquetColumn.Repetition repetition) {
+        String name = String.valueOf(propertySchema.property());
+        switch (propertySchema.dataType()) {
+            case Boolean:
+                return new ParquetColumn(name, ParquetColumn.Type.BOOLEAN, repetition, ParquetColumn.ConvertedType.NONE, false);
+            case Byte:
+                return new ParquetColumn(name, ParquetColumn.Type.INT32, repetition, ParquetColumn.ConvertedType.INT_8, false);
+            case Short:
+                return new ParquetColumn(name, ParquetColumn.Type.INT32, repetition, ParquetColumn.ConvertedType.INT_16, false);
+            case Integer:
+                return new ParquetColumn(name, ParquetColumn.Type.INT32, repetition, ParquetColumn.ConvertedType.NONE, false);
+            case Long:
+                return new ParquetColumn(name, ParquetColumn.Type.INT64, repetition, ParquetColumn.ConvertedType.NONE, false);
+            case Float:
+                return new ParquetColumn(name, ParquetColumn.Type.FLOAT, repetition, ParquetColumn.ConvertedType.NONE, false);
+            case Double:
+                return new ParquetColumn(name, ParquetColumn.Type.DOUBLE, repetition, ParquetColumn.ConvertedType.NONE, false);
+            case Date:
+                return new ParquetColumn(name, ParquetColumn.Type.INT64, repetition, ParquetColumn.ConvertedType.TIMESTAMP_MILLIS, false);
+            default:
+                return new ParquetColumn(name, ParquetColumn.Type.BYTE_ARRAY, repetition, ParquetColumn.ConvertedType.UTF8, false);
+        }
+    }
+
+    @Override
+    public void printProperties(Map<?, ?> properties) throws IOException {
+        for (Map.Entry<Object, ParquetColumn> entry : propertyColumns.entrySet()) {
+
+            Object property = entry.getKey();
+            ParquetColumn column = entry.getValue();
+
+            if (properties.containsKey(property)) {
+                Object value = properties.get(property);
+                PropertySchema propertySchema = propertySchemas.get(property);
+                PropertySchema.PropertyValueMetadata propertyValueMetadata = propertySchema.accept(value, false);
+                labelSchema.recordObservation(propertySchema, value, propertyValueMetadata);
+                column.write(convert(propertySchema, column, value));
+            } else {
+                column.write(null);
+            }
+        }
+    }
+
+    private Object convert(PropertySchema propertySchema, ParquetColumn column, Object value) {
+        if (value == null) {
+            return null;
+        }
+        DataType dataType = propertySchema.dataType();
+        if (value instanceof Collection) {
+            Collection<?> values = (Collection<?>) value;
+            if (column.repetition() == ParquetColumn.Repetition.REPEATED) {
+                return values.stream().map(v -> convert(dataType, v)).collect(Collectors.toList());
+            }
+            if (values.isEmpty()) {
+                return null;
+            }
+            if (values.size() == 1) {
+                return convert(dataType, values.iterator().next());
+            }
+            if (column.type() == ParquetColumn.Type.BYTE_ARRAY) {
+                return values.stream().map(v -> (String) convert(dataType, v)).collect(Collectors.joining(multiValueSeparator));
+            }
+            throw new IllegalStateException(String.format("Unable to write multiple values to single-valued column %s", column.name()));
+        }
+        return convert(dataType, value);
+    }
+
+    private Object convert(DataType dataType, Object value) {
+        switch (dataType) {
+            case Boolean:
+                return value instanceof Boolean ? value : dataType.convert(value);
+            case Byte:
+            case Short:
+            case Integer:
+                return toNumber(dataType, value).intValue();
+            case Long:
+                return toNumber(dataType, value).longValue();
+            case Float:
+                return toNumber(dataType, value).floatValue();
+            case Double:
+                return toNumber(dataType, value).doubleValue();
+            case Date:
+                return ((Date) dataType.convert(value)).getTime();
+            default:
+                return value instanceof Date ? DataType.Date.format(value) : String.valueOf(value);
+        }
+    }
+
+    private Number toNumber(DataType dataType, Object value) {
+        return value instanceof Number ? (Number) value : (Number) dataType.convert(value);
+    }
+
+    @Override
+    public void printProperties(Map<?, ?> properties, boolean applyFormatting) throws IOException {
+        printProperties(properties);
+    }
+
+    @Override
+    public void printProperties(String id, String streamOperation, Map<?, ?> properties) throws IOException {
+        printProperties(properties);
+    }
+
+    @Override
+    public void printEdge(String id, String label, String from, String to) throws IOException {
+        printEdge(id, label, from, to, null, null);
+    }
+
+    @Override
+    public void printEdge(String id, String label, String from, String to, Collection<String> fromLabels, Collection<String> toLabels) throws IOException {
+        mandatoryColumn(ID).write(id);
+        mandatoryColumn(LABEL).write(label);
+        mandatoryColumn(FROM).write(from);
+        mandatoryColumn(TO).write(to);
+        if (mandatoryColumns.containsKey(FROM_LABELS)) {
+            mandatoryColumn(FROM_LABELS).write(fromLabels);
+            mandatoryColumn(TO_LABELS).write(toLabels);
+        }
+    }
+
+    @Override
+    public void printNode(String id, List<String> labels) throws IOException {
+        mandatoryColumn(ID).write(id);
+        mandatoryColumn(LABEL).write(labels);
+    }
+
+    private ParquetColumn mandatoryColumn(String column) {
+        ParquetColumn parquetColumn = mandatoryColumns.get(column);
+        if (parquetColumn == null) {
+            throw new IllegalStateException(String.format("Parquet file %s does not have a %s column", file, column));
+        }
+        return parquetColumn;
+    }
+
+    @Override
+    public void printStartRow() throws IOException {
+        if (writer == null) {
+            List<ParquetColumn> columns = new ArrayList<>(mandatoryColumns.values());
+            columns.addAll(propertyColumns.values());
+            writer = new ParquetFileWriter(
+                    new BufferedOutputStream(new FileOutputStream(file), bufferSize),
+                    columns,
+                    printerOptions.rowGroupSize(),
+                    gzip);
+        }
+    }
+
+    @Override
+    public void printEndRow() throws IOException {
+        writer.endRow();
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (isClosed) {
+            return;
+        }
+        isClosed = true;
+        printStartRow();
+        writer.close();
+        listener.onOutputFileClosed(file);
+    }
+}
@@ -0,0 +1,195 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph.io;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Hands elements from the thread iterating query results to a serializer thread in batches, through a bounded
+ * queue, so that the query thread can request the next results while the previous ones are being written.
+ * Batches are passed to the parent handler in order, by at most one serializer thread at a time. The queue is
+ * drained by short-lived tasks, so a small serializer pool can be shared by many query threads.
+ */
+class PipelinedGraphElementHandler<T> implements GraphElementHandler<T> {
+
+    static final int DEFAULT_BATCH_SIZE = 256;
+    static final int DEFAULT_QUEUE_CAPACITY = 16;
+
+    private final GraphElementHandler<T> parent;
+    private final Executor serializerExecutor;
+    private final int batchSize;
+    private final int queueCapacity;
+    private final BlockingQueue<List<Element<T>>> queue;
+    private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
+    private final Object lock = new Object();
+
+    private List<Element<T>> currentBatch;
+    private long batchesPublished = 0;
+    private long batchesWritten = 0;
+    private volatile Throwable failure;
+
+    PipelinedGraphElementHandler(GraphElementHandler<T> parent, Executor serializerExecutor) {
+        this(parent, serializerExecutor, DEFAULT_BATCH_SIZE, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    PipelinedGraphElementHandler(GraphElementHandler<T> parent, Executor serializerExecutor, int batchSize, int queueCapacity) {
+        this.parent = parent;
+        this.serializerExecutor = serializerExecutor;
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.currentBatch = new ArrayList<>(batchSize);
+    }
+
+    @Override
+    public void handle(T element, boolean allowTokens) throws IOException {
+        checkForFailure();
+        currentBatch.add(new Element<>(element, allowTokens));
+        if (currentBatch.size() >= batchSize) {
+            publishCurrentBatch();
+        }
+    }
+
+    /**
+     * Waits until every element handled so far has been passed to the parent handler.
+     */
+    void flush() throws IOException {
+        publishCurrentBatch();
+        synchronized (lock) {
+            while (batchesWritten < batchesPublished) {
+                checkForFailure();
+                waitOnLock();
+            }
+        }
+        checkForFailure();
+    }
+
+    /**
+     * Drops elements that have not yet been written, and waits for any batch currently being written to complete.
+     */
+    void discard() {
+        currentBatch = new ArrayList<>(batchSize);
+        queue.clear();
+        boolean interrupted = false;
+        synchronized (lock) {
+            while (drainScheduled.get()) {
+                try {
+                    lock.wait(100);
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        try {
+            flush();
+        } finally {
+            parent.close();
+        }
+    }
+
+    private void publishCurrentBatch() throws IOException {
+        if (currentBatch.isEmpty()) {
+            return;
+        }
+        synchronized (lock) {
+            batchesPublished++;
+        }
+        try {
+            while (!queue.offer(currentBatch, 100, TimeUnit.MILLISECONDS)) {
+                checkForFailure();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for serializer", e);
+        }
+        currentBatch = new ArrayList<>(batchSize);
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        if (drainScheduled.compareAndSet(false, true)) {
+            serializerExecutor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            // Yield the serializer thread after a queue's worth of batches, so that other pipelines get a turn
+            List<Element<T>> batch;
+            int count = 0;
+            while (failure == null && count++ < queueCapacity && (batch = queue.poll()) != null) {
+                for (Element<T> element : batch) {
+                    parent.handle(element.element, element.allowTokens);
+                }
+                synchronized (lock) {
+                    batchesWritten++;
+                    lock.notifyAll();
+                }
+            }
+        } catch (Throwable t) {
+            failure = t;
+            queue.clear();
+            synchronized (lock) {
+                lock.notifyAll();
+            }
+        } finally {
+            synchronized (lock) {
+                drainScheduled.set(false);
+                lock.notifyAll();
+            }
+            if (failure == null && !queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+
+    private void checkForFailure() throws IOException {
+        Throwable t = failure;
+        if (t != null) {
+            throw new IOException("Error while serializing elements: " + t.getMessage(), t);
+        }
+    }
+
+    private void waitOnLock() throws IOException {
+        try {
+            lock.wait(100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for serializer", e);
+        }
+    }
+
+    private static class Element<T> {
+        private final T element;
+        private final boolean allowTokens;
+
+        private Element(T element, boolean allowTokens) {
+            this.element = element;
+            this.allowTokens = allowTokens;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph.io;
+
+import com.amazonaws.services.neptune.propertygraph.schema.LabelSchema;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * The columns of a label schema whose properties are present in a row, in column order. Rows of wide labels
+ * often contain only a few of the label's properties, so for these rows printers look up the column of each
+ * property that is present, rather than probing the row for every property in the schema.
+ */
+class PresentProperties {
+
+    private static final int SPARSE_ROW_RATIO = 4;
+
+    static boolean isSparse(LabelSchema labelSchema, Map<?, ?> properties) {
+        return properties.size() * SPARSE_ROW_RATIO <= labelSchema.propertyCount();
+    }
+
+    private int[] columns = new int[16];
+    private int size = 0;
+
+    void resolve(LabelSchema labelSchema, Map<?, ?> properties) {
+        size = 0;
+        for (Object property : properties.keySet()) {
+            int column = labelSchema.columnIndexOf(property);
+            if (column >= 0) {
+                if (size == columns.length) {
+                    columns = Arrays.copyOf(columns, size * 2);
+                }
+                columns[size++] = column;
+            }
+        }
+        Arrays.sort(columns, 0, size);
+    }
+
+    int size() {
+        return size;
+    }
+
+    int column(int i) {
+        return columns[i];
+    }
+
+    void makeAbsentPropertiesNullable(LabelSchema labelSchema) {
+        int next = 0;
+        for (int column = 0; column < labelSchema.propertyCount(); column++) {
+            if (next < size && columns[next] == column) {
+                next++;
+            } else {
+                labelSchema.propertySchemaAt(column).makeNullable();
+            }
+        }
+    }
+}
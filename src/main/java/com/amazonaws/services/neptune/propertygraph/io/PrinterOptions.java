@@ -20,6 +20,7 @@ public class PrinterOptions {
 
     private final CsvPrinterOptions csvPrinterOptions;
     private final JsonPrinterOptions jsonPrinterOptions;
+    private final ParquetPrinterOptions parquetPrinterOptions;
 
     public PrinterOptions(CsvPrinterOptions csvPrinterOptions) {
         this(csvPrinterOptions, JsonPrinterOptions.builder().build());
@@ -30,8 +31,13 @@ public class PrinterOptions {
     }
 
     public PrinterOptions(CsvPrinterOptions csvPrinterOptions, JsonPrinterOptions jsonPrinterOptions) {
+        this(csvPrinterOptions, jsonPrinterOptions, ParquetPrinterOptions.builder().build());
+    }
+
+    public PrinterOptions(CsvPrinterOptions csvPrinterOptions, JsonPrinterOptions jsonPrinterOptions, ParquetPrinterOptions parquetPrinterOptions) {
         this.csvPrinterOptions = csvPrinterOptions;
         this.jsonPrinterOptions = jsonPrinterOptions;
+        this.parquetPrinterOptions = parquetPrinterOptions;
     }
 
     public CsvPrinterOptions csv() {
@@ -41,4 +47,8 @@ public class PrinterOptions {
     public JsonPrinterOptions json() {
         return jsonPrinterOptions;
     }
+
+    public ParquetPrinterOptions parquet() {
+        return parquetPrinterOptions;
+    }
 }
@@ -14,6 +14,8 @@ package com.amazonaws.services.neptune.propertygraph.io;
 
 import com.amazonaws.services.neptune.cluster.ConcurrencyConfig;
 import com.amazonaws.services.neptune.export.FeatureToggles;
+import com.amazonaws.services.neptune.io.CompressionCodec;
+import com.amazonaws.services.neptune.io.FileConfig;
 import com.amazonaws.services.neptune.io.FileExtension;
 import com.amazonaws.services.neptune.io.OutputWriter;
 import com.amazonaws.services.neptune.propertygraph.schema.LabelSchema;
@@ -22,6 +24,7 @@ import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
 import org.apache.commons.io.FilenameUtils;
 
+import java.io.File;
 import java.io.IOException;
 
 public enum PropertyGraphExportFormat implements FileExtension {
@@ -80,8 +83,16 @@ public enum PropertyGraphExportFormat implements FileExtension {
             return "CSV";
         }
 
+        @Override
+        public boolean rewritesInferredSchemaOutput() {
+            return true;
+        }
+
         @Override
         public RewriteCommand createRewriteCommand(PropertyGraphTargetConfig targetConfig, ConcurrencyConfig concurrencyConfig, boolean inferSchema, FeatureToggles featureToggles) {
+            if (targetConfig.spillToFiles()) {
+                return new RewriteSpillFiles(targetConfig, concurrencyConfig, featureToggles);
+            }
             if (targetConfig.mergeFiles()) {
                 return new RewriteAndMergeCsv(targetConfig, concurrencyConfig, featureToggles);
             } else {
@@ -120,8 +131,16 @@ public enum PropertyGraphExportFormat implements FileExtension {
             return "CSV (no headers)";
         }
 
+        @Override
+        public boolean rewritesInferredSchemaOutput() {
+            return true;
+        }
+
         @Override
         public RewriteCommand createRewriteCommand(PropertyGraphTargetConfig targetConfig, ConcurrencyConfig concurrencyConfig, boolean inferSchema, FeatureToggles featureToggles) {
+            if (targetConfig.spillToFiles()) {
+                return new RewriteSpillFiles(targetConfig, concurrencyConfig, featureToggles);
+            }
             if (targetConfig.mergeFiles()) {
                 return new RewriteAndMergeCsv(targetConfig, concurrencyConfig, featureToggles);
             } else {
@@ -133,6 +152,57 @@ public enum PropertyGraphExportFormat implements FileExtension {
             }
         }
     },
+    parquet {
+        @Override
+        public String extension() {
+            return "parquet";
+        }
+
+        @Override
+        PropertyGraphPrinter createPrinter(OutputWriter writer, LabelSchema labelSchema, PrinterOptions printerOptions) {
+            throw new IllegalStateException("Parquet output can only be written to files");
+        }
+
+        @Override
+        PropertyGraphPrinter createPrinterForInferredSchema(OutputWriter writer, LabelSchema labelSchema, PrinterOptions printerOptions) throws IOException {
+            // Only reached when output is discarded (devnull target), in which case just the inferred schema is of interest
+            return new VariableRowCsvPropertyGraphPrinter(writer, labelSchema, printerOptions);
+        }
+
+        @Override
+        PropertyGraphPrinter createFilePrinter(File file, LabelSchema labelSchema, PrinterOptions printerOptions, FileConfig fileConfig) {
+            return new ParquetPropertyGraphPrinter(
+                    file,
+                    labelSchema,
+                    printerOptions,
+                    fileConfig.compressionCodec() == CompressionCodec.gzip,
+                    fileConfig.bufferSize(),
+                    fileConfig.listener());
+        }
+
+        @Override
+        public String description() {
+            return "Parquet";
+        }
+
+        @Override
+        public boolean rewritesInferredSchemaOutput() {
+            return true;
+        }
+
+        @Override
+        public boolean writesBinaryFiles() {
+            return true;
+        }
+
+        @Override
+        public RewriteCommand createRewriteCommand(PropertyGraphTargetConfig targetConfig, ConcurrencyConfig concurrencyConfig, boolean inferSchema, FeatureToggles featureToggles) {
+            if (targetConfig.spillToFiles()) {
+                return new RewriteSpillFiles(targetConfig, concurrencyConfig, featureToggles);
+            }
+            return RewriteCommand.NULL_COMMAND;
+        }
+    },
     neptuneStreamsJson {
         @Override
         public String extension() {
@@ -199,12 +269,28 @@ public enum PropertyGraphExportFormat implements FileExtension {
 
     abstract PropertyGraphPrinter createPrinterForInferredSchema(OutputWriter writer, LabelSchema labelSchema, PrinterOptions printerOptions) throws IOException;
 
+    /**
+     * Binary formats are written directly to a file, bypassing the OutputWriter, and are always produced from spill
+     * files when the schema is inferred.
+     */
+    PropertyGraphPrinter createFilePrinter(File file, LabelSchema labelSchema, PrinterOptions printerOptions, FileConfig fileConfig) throws IOException {
+        throw new IllegalStateException(String.format("%s output is not written directly to files", description()));
+    }
+
     public abstract String description();
 
+    public boolean writesBinaryFiles() {
+        return false;
+    }
+
+    public boolean rewritesInferredSchemaOutput() {
+        return false;
+    }
+
     public abstract RewriteCommand createRewriteCommand(PropertyGraphTargetConfig targetConfig, ConcurrencyConfig concurrencyConfig, boolean inferSchema, FeatureToggles featureToggles);
 
     public String replaceExtension(String filename, String replacement){
-        return String.format("%s.%s",  FilenameUtils.removeExtension(filename), replacement);
+        return String.format("%s.%s",  FilenameUtils.removeExtension(CompressionCodec.removeExtension(filename)), replacement);
     }
 
 }
@@ -15,43 +15,59 @@ package com.amazonaws.services.neptune.propertygraph.io;
 import com.amazonaws.services.neptune.cluster.ConcurrencyConfig;
 import com.amazonaws.services.neptune.export.FeatureToggles;
 import com.amazonaws.services.neptune.io.Directories;
+import com.amazonaws.services.neptune.io.FileConfig;
 import com.amazonaws.services.neptune.io.KinesisConfig;
+import com.amazonaws.services.neptune.io.OutputFileListener;
 import com.amazonaws.services.neptune.io.OutputWriter;
 import com.amazonaws.services.neptune.io.Target;
 import com.amazonaws.services.neptune.propertygraph.schema.LabelSchema;
 import com.amazonaws.services.neptune.propertygraph.schema.MasterLabelSchemas;
 
+import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.function.Supplier;
 
-public class PropertyGraphTargetConfig {
+public class PropertyGraphTargetConfig implements AutoCloseable {
 
     private final Directories directories;
     private final KinesisConfig kinesisConfig;
+    private final FileConfig fileConfig;
     private final PrinterOptions printerOptions;
     private final boolean inferSchema;
     private final PropertyGraphExportFormat format;
     private final Target output;
     private final boolean mergeFiles;
     private final boolean perLabelDirectories;
+    private final boolean useSpillFiles;
+    private final FileRolloverPolicy rolloverPolicy;
 
     public PropertyGraphTargetConfig(Directories directories,
                                      KinesisConfig kinesisConfig,
+                                     FileConfig fileConfig,
                                      PrinterOptions printerOptions,
                                      PropertyGraphExportFormat format,
                                      Target output,
                                      boolean mergeFiles,
                                      boolean perLabelDirectories,
+                                     boolean useSpillFiles,
+                                     FileRolloverPolicy rolloverPolicy,
                                      boolean inferSchema) {
         this.directories = directories;
         this.kinesisConfig = kinesisConfig;
+        this.fileConfig = fileConfig;
         this.printerOptions = printerOptions;
         this.inferSchema = inferSchema;
         this.format = format;
         this.output = output;
         this.mergeFiles = mergeFiles;
         this.perLabelDirectories = perLabelDirectories;
+        this.useSpillFiles = useSpillFiles;
+        this.rolloverPolicy = rolloverPolicy;
+    }
+
+    public Directories directories() {
+        return directories;
     }
 
     public Target output() {
@@ -66,35 +82,52 @@ public class PropertyGraphTargetConfig {
         return mergeFiles;
     }
 
-    public PropertyGraphPrinter createPrinterForQueries(String name, LabelSchema labelSchema) throws IOException {
-        return createPrinterForQueries(() -> directories.createQueryResultsFilePath(labelSchema.label().labelsAsString(), name, format), labelSchema);
+    public FileConfig fileConfig() {
+        return fileConfig;
     }
 
-    private PropertyGraphPrinter createPrinterForQueries(Supplier<Path> pathSupplier, LabelSchema labelSchema) throws IOException {
-        OutputWriter outputWriter = output.createOutputWriter(pathSupplier, kinesisConfig);
-        return createPrinter(labelSchema, outputWriter);
+    public FileRolloverPolicy rolloverPolicy() {
+        return output.isFileBased() ? rolloverPolicy : FileRolloverPolicy.NONE;
     }
 
-    public PropertyGraphPrinter createPrinterForEdges(String name, LabelSchema labelSchema) throws IOException {
-        return createPrinterForEdges(() -> directories.createEdgesFilePath(name, format, labelSchema.label(), perLabelDirectories), labelSchema);
+    public boolean spillToFiles() {
+        return (useSpillFiles || format.writesBinaryFiles()) && output.isFileBased() && isIntermediateOutput();
     }
 
-    private PropertyGraphPrinter createPrinterForEdges(Supplier<Path> pathSupplier, LabelSchema labelSchema) throws IOException {
-        OutputWriter outputWriter = output.createOutputWriter(pathSupplier, kinesisConfig);
-        return createPrinter(labelSchema, outputWriter);
+    private boolean isIntermediateOutput() {
+        return inferSchema && format.rewritesInferredSchemaOutput();
+    }
+
+    public PropertyGraphPrinter createPrinterForQueries(String name, LabelSchema labelSchema) throws IOException {
+        return createPrinter(() -> directories.createQueryResultsFilePath(labelSchema.label().labelsAsString(), name, format), labelSchema);
+    }
+
+    public PropertyGraphPrinter createPrinterForEdges(String name, LabelSchema labelSchema) throws IOException {
+        return createPrinter(() -> directories.createEdgesFilePath(name, format, labelSchema.label(), perLabelDirectories), labelSchema);
     }
 
     public PropertyGraphPrinter createPrinterForNodes(String name, LabelSchema labelSchema) throws IOException {
-        return createPrinterForNodes(() -> directories.createNodesFilePath(name, format, labelSchema.label(), perLabelDirectories), labelSchema);
+        return createPrinter(() -> directories.createNodesFilePath(name, format, labelSchema.label(), perLabelDirectories), labelSchema);
     }
 
-    private PropertyGraphPrinter createPrinterForNodes(Supplier<Path> pathSupplier, LabelSchema labelSchema) throws IOException {
-        OutputWriter outputWriter = output.createOutputWriter(pathSupplier, kinesisConfig);
+    private PropertyGraphPrinter createPrinter(Supplier<Path> pathSupplier, LabelSchema labelSchema) throws IOException {
+        if (spillToFiles()) {
+            File spillFile = new File(format.replaceExtension(pathSupplier.get().toString(), SpillFileWriter.EXTENSION));
+            return new SpillPropertyGraphPrinter(new SpillFileWriter(spillFile, fileConfig.bufferSize()), labelSchema);
+        }
+        // Files that will be rewritten are not final output, so listeners are not notified when they are closed
+        FileConfig outputFileConfig = isIntermediateOutput() ?
+                fileConfig.withListener(OutputFileListener.NULL_LISTENER) :
+                fileConfig;
+        if (format.writesBinaryFiles() && output.isFileBased()) {
+            return format.createFilePrinter(pathSupplier.get().toFile(), labelSchema, printerOptions, outputFileConfig);
+        }
+        OutputWriter outputWriter = output.createOutputWriter(pathSupplier, kinesisConfig, outputFileConfig);
         return createPrinter(labelSchema, outputWriter);
     }
 
     public PropertyGraphTargetConfig forFileConsolidation() {
-        return new PropertyGraphTargetConfig(directories, kinesisConfig, printerOptions, format, output, mergeFiles, perLabelDirectories, false);
+        return new PropertyGraphTargetConfig(directories, kinesisConfig, fileConfig, printerOptions, format, output, mergeFiles, perLabelDirectories, useSpillFiles, rolloverPolicy, false);
     }
 
     private PropertyGraphPrinter createPrinter(LabelSchema labelSchema, OutputWriter outputWriter) throws IOException {
@@ -116,4 +149,11 @@ public class PropertyGraphTargetConfig {
     public long freeSpaceInGigabytes(){
         return directories.freeSpaceInGigabytes();
     }
+
+    @Override
+    public void close() {
+        if (kinesisConfig != null) {
+            kinesisConfig.close();
+        }
+    }
 }
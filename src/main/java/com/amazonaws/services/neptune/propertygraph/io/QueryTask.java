@@ -14,6 +14,8 @@ package com.amazonaws.services.neptune.propertygraph.io;
 
 import com.amazonaws.services.neptune.io.Directories;
 import com.amazonaws.services.neptune.io.Status;
+import com.amazonaws.services.neptune.metrics.ExportMetrics;
+import com.amazonaws.services.neptune.metrics.MetricsRegistry;
 import com.amazonaws.services.neptune.propertygraph.ExportStats;
 import com.amazonaws.services.neptune.propertygraph.Label;
 import com.amazonaws.services.neptune.propertygraph.LabelsFilter;
@@ -152,6 +154,7 @@ public class QueryTask implements Callable<Map<GraphElementType, FileSpecificLab
                               GraphElementSchemas graphElementSchemas,
                               Map<GraphElementType, FileSpecificLabelSchemas> fileSpecificLabelSchemasMap) {
 
+        long start = System.currentTimeMillis();
         ResultSet results = queryClient.submit(namedQuery.query(), timeoutMillis);
 
         GraphElementHandler<Map<?, ?>> handler;
@@ -194,15 +197,21 @@ public class QueryTask implements Callable<Map<GraphElementType, FileSpecificLab
             handler = new StatusHandler(resultsHandler, status);
         }
 
+        long[] numberOfResults = new long[1];
         results.stream().
                 map(r -> castToMap(r.getObject())).
                 forEach(r -> {
                     try {
                         handler.handle(r, true);
+                        numberOfResults[0]++;
                     } catch (IOException e) {
                         throw new RuntimeException(e);
                     }
                 });
+
+        MetricsRegistry metrics = MetricsRegistry.global();
+        metrics.latencyHistogram(ExportMetrics.QUERY_LATENCY, "query", namedQuery.name()).record(System.currentTimeMillis() - start);
+        metrics.counter(ExportMetrics.QUERY_RESULTS, "query", namedQuery.name()).add(numberOfResults[0]);
     }
 
     private HashMap<?, ?> castToMap(Object o) {
@@ -239,16 +248,26 @@ public class QueryTask implements Callable<Map<GraphElementType, FileSpecificLab
                 }
 
                 LabelSchema labelSchema = graphElementSchemas.getSchemaFor(label);
-                PropertyGraphPrinter propertyGraphPrinter =
-                        writerFactory.createPrinter(Directories.fileName(label.fullyQualifiedLabel(), index), labelSchema, targetConfig);
+                FileRolloverPolicy rolloverPolicy = targetConfig.rolloverPolicy();
+
+                LabelWriter<Map<?, ?>> labelWriter = rolloverPolicy.isEnabled() ?
+                        new RollingLabelWriter<>(() -> createLabelWriter(labelSchema), rolloverPolicy) :
+                        createLabelWriter(labelSchema);
 
-                labelWriters.put(label, writerFactory.createLabelWriter(propertyGraphPrinter, label));
+                labelWriters.put(label, labelWriter);
 
-            } catch (IOException e) {
+            } catch (Exception e) {
                 throw new RuntimeException(e);
             }
         }
 
+        private LabelWriter<Map<?, ?>> createLabelWriter(LabelSchema labelSchema) throws IOException {
+            PropertyGraphPrinter propertyGraphPrinter =
+                    writerFactory.createPrinter(Directories.fileName(label.fullyQualifiedLabel(), index), labelSchema, targetConfig);
+
+            return writerFactory.createLabelWriter(propertyGraphPrinter, label);
+        }
+
         @Override
         public void handle(Map<?, ?> properties, boolean allowTokens) throws IOException {
 
@@ -0,0 +1,82 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph.io;
+
+import java.util.concurrent.TimeoutException;
+
+enum RangeQueryFailure {
+
+    sizePressure {
+        @Override
+        boolean isRetryable() {
+            return true;
+        }
+    },
+    transientFailure {
+        @Override
+        boolean isRetryable() {
+            return true;
+        }
+    },
+    fatal {
+        @Override
+        boolean isRetryable() {
+            return false;
+        }
+    };
+
+    static final String TIME_LIMIT_EXCEEDED = "TimeLimitExceededException";
+    static final String MEMORY_LIMIT_EXCEEDED = "MemoryLimitExceededException";
+
+    private static final String[] SIZE_PRESSURE_ERRORS = {
+            TIME_LIMIT_EXCEEDED,
+            MEMORY_LIMIT_EXCEEDED
+    };
+
+    private static final String[] TRANSIENT_ERRORS = {
+            "ThrottlingException",
+            "TooManyRequestsException",
+            "ConcurrentModificationException",
+            "ConnectionException",
+            "ConnectionClosedException"
+    };
+
+    static RangeQueryFailure classify(Throwable throwable) {
+
+        // Neptune errors arrive with their code in the message of a driver exception, which may itself be wrapped
+        Throwable t = throwable;
+        while (t != null) {
+            String description = t.getClass().getSimpleName() + " " + t.getMessage();
+            if (containsAny(description, SIZE_PRESSURE_ERRORS)) {
+                return sizePressure;
+            }
+            if (t instanceof TimeoutException || containsAny(description, TRANSIENT_ERRORS)) {
+                return transientFailure;
+            }
+            t = t.getCause() == t ? null : t.getCause();
+        }
+
+        return fatal;
+    }
+
+    private static boolean containsAny(String s, String[] values) {
+        for (String value : values) {
+            if (s.contains(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    abstract boolean isRetryable();
+}
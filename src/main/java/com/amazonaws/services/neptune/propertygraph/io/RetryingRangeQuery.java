@@ -0,0 +1,144 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph.io;
+
+import com.amazonaws.services.neptune.metrics.ExportMetrics;
+import com.amazonaws.services.neptune.metrics.MetricsRegistry;
+import com.amazonaws.services.neptune.propertygraph.Range;
+import com.amazonaws.services.neptune.propertygraph.RangeRetryPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Queries a range, retrying it with backoff if it fails with a retryable error, and bisecting it if the error
+ * indicates that the range is too large. Elements written before a failure are not written again: an offset range
+ * resumes after the elements it has already written, and a range without a stable order, or one whose elements are
+ * filtered after the range is applied (so that the number written is not an offset into the range), is only retried
+ * if nothing had been written.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+class RetryingRangeQuery {
+
+    private static final Logger logger = LoggerFactory.getLogger(RetryingRangeQuery.class);
+
+    interface RangeQuery {
+        void query(Range range, GraphElementHandler handler);
+    }
+
+    private final RangeQuery query;
+    private final boolean filtersAfterRange;
+    private final RangeRetryPolicy retryPolicy;
+    private final FaultInjector faultInjector;
+
+    RetryingRangeQuery(RangeQuery query, boolean filtersAfterRange, RangeRetryPolicy retryPolicy, FaultInjector faultInjector) {
+        this.query = query;
+        this.filtersAfterRange = filtersAfterRange;
+        this.retryPolicy = retryPolicy;
+        this.faultInjector = faultInjector;
+    }
+
+    void execute(Range range, GraphElementHandler handler) throws InterruptedException {
+        execute(range, handler, 0);
+    }
+
+    private void execute(Range range, GraphElementHandler handler, int depth) throws InterruptedException {
+
+        Range remaining = range;
+        int failures = 0;
+
+        while (true) {
+
+            PositionTrackingHandler trackingHandler = new PositionTrackingHandler(handler, remaining, faultInjector);
+
+            try {
+                query.query(remaining, trackingHandler);
+                return;
+            } catch (RuntimeException e) {
+
+                RangeQueryFailure failure = RangeQueryFailure.classify(e);
+                MetricsRegistry.global().counter(ExportMetrics.RANGE_FAILURES, "kind", failure.name()).increment();
+
+                if (!failure.isRetryable()) {
+                    throw e;
+                }
+
+                long numberWritten = trackingHandler.position();
+
+                if (numberWritten > 0) {
+                    if (filtersAfterRange || !remaining.hasStableOrder()) {
+                        throw new IllegalStateException(String.format(
+                                "Unable to retry %s because %s elements were written before it failed", remaining, numberWritten), e);
+                    }
+                    remaining = remaining.resumeAfter(numberWritten);
+                    failures = 0;
+                }
+
+                if (failure == RangeQueryFailure.sizePressure && depth < retryPolicy.maxBisections()) {
+                    List<Range> halves = remaining.bisect();
+                    if (!halves.isEmpty()) {
+                        logger.warn("Splitting {} into {} and {} after {} elements because of error: {}",
+                                remaining, halves.get(0), halves.get(1), numberWritten, e.getMessage());
+                        for (Range half : halves) {
+                            execute(half, handler, depth + 1);
+                        }
+                        return;
+                    }
+                }
+
+                failures++;
+
+                if (failures >= retryPolicy.maxAttempts()) {
+                    throw e;
+                }
+
+                long backoffMillis = retryPolicy.backoffMillis(failures);
+                logger.warn("Retrying {} in {} ms (attempt {} of {}) after {} elements because of error: {}",
+                        remaining, backoffMillis, failures + 1, retryPolicy.maxAttempts(), numberWritten, e.getMessage());
+                Thread.sleep(backoffMillis);
+            }
+        }
+    }
+
+    private static class PositionTrackingHandler implements GraphElementHandler {
+
+        private final GraphElementHandler parent;
+        private final Range range;
+        private final FaultInjector faultInjector;
+        private long position = 0;
+
+        private PositionTrackingHandler(GraphElementHandler parent, Range range, FaultInjector faultInjector) {
+            this.parent = parent;
+            this.range = range;
+            this.faultInjector = faultInjector;
+        }
+
+        @Override
+        public void handle(Object element, boolean allowTokens) throws IOException {
+            faultInjector.beforeElement(range, position);
+            parent.handle(element, allowTokens);
+            position++;
+        }
+
+        long position() {
+            return position;
+        }
+
+        @Override
+        public void close() {
+            // The parent handler outlives this range
+        }
+    }
+}
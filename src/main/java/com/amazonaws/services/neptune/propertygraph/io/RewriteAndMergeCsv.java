@@ -62,6 +62,12 @@ public class RewriteAndMergeCsv implements RewriteCommand {
                         rewriteFiles(masterLabelSchemas, graphElementType, targetConfig));
     }
 
+    @Override
+    public MasterLabelSchema rewriteLabel(GraphElementType graphElementType,
+                                          MasterLabelSchema masterLabelSchema) throws Exception {
+        return rewriteAndMerge(targetConfig, graphElementType, masterLabelSchema);
+    }
+
     private MasterLabelSchemas rewriteFiles(MasterLabelSchemas masterLabelSchemas,
                                             GraphElementType graphElementType,
                                             PropertyGraphTargetConfig targetConfig) throws Exception {
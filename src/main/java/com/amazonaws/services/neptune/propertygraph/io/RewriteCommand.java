@@ -12,11 +12,23 @@ permissions and limitations under the License.
 
 package com.amazonaws.services.neptune.propertygraph.io;
 
+import com.amazonaws.services.neptune.propertygraph.Label;
+import com.amazonaws.services.neptune.propertygraph.schema.GraphElementType;
+import com.amazonaws.services.neptune.propertygraph.schema.MasterLabelSchema;
 import com.amazonaws.services.neptune.propertygraph.schema.MasterLabelSchemas;
 
+import java.util.Collections;
+
 public interface RewriteCommand {
 
     RewriteCommand NULL_COMMAND = masterLabelSchemas -> masterLabelSchemas;
 
     MasterLabelSchemas execute(MasterLabelSchemas masterLabelSchemas) throws Exception;
+
+    default MasterLabelSchema rewriteLabel(GraphElementType graphElementType,
+                                           MasterLabelSchema masterLabelSchema) throws Exception {
+        Label label = masterLabelSchema.labelSchema().label();
+        MasterLabelSchemas result = execute(new MasterLabelSchemas(Collections.singletonMap(label, masterLabelSchema), graphElementType));
+        return result.schemas().iterator().next();
+    }
 }
@@ -61,6 +61,12 @@ public class RewriteCsv implements RewriteCommand {
                         rewriteFiles(masterLabelSchemas, graphElementType, targetConfig));
     }
 
+    @Override
+    public MasterLabelSchema rewriteLabel(GraphElementType graphElementType,
+                                          MasterLabelSchema masterLabelSchema) throws Exception {
+        return rewrite(targetConfig, graphElementType, masterLabelSchema);
+    }
+
     private MasterLabelSchemas rewriteFiles(MasterLabelSchemas masterLabelSchemas,
                                             GraphElementType graphElementType,
                                             PropertyGraphTargetConfig targetConfig) throws Exception {
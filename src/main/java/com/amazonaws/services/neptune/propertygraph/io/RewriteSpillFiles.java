@@ -0,0 +1,240 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph.io;
+
+import com.amazonaws.services.neptune.cluster.ConcurrencyConfig;
+import com.amazonaws.services.neptune.export.FeatureToggle;
+import com.amazonaws.services.neptune.export.FeatureToggles;
+import com.amazonaws.services.neptune.io.Directories;
+import com.amazonaws.services.neptune.propertygraph.Label;
+import com.amazonaws.services.neptune.propertygraph.schema.*;
+import com.amazonaws.services.neptune.util.CheckedActivity;
+import com.amazonaws.services.neptune.util.Timer;
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+public class RewriteSpillFiles implements RewriteCommand {
+
+    private static final Logger logger = LoggerFactory.getLogger(RewriteSpillFiles.class);
+
+    private final PropertyGraphTargetConfig targetConfig;
+    private final ConcurrencyConfig concurrencyConfig;
+    private final FeatureToggles featureToggles;
+
+    public RewriteSpillFiles(PropertyGraphTargetConfig targetConfig,
+                            ConcurrencyConfig concurrencyConfig,
+                            FeatureToggles featureToggles) {
+        this.targetConfig = targetConfig;
+        this.concurrencyConfig = concurrencyConfig;
+        this.featureToggles = featureToggles;
+    }
+
+    @Override
+    public MasterLabelSchemas execute(MasterLabelSchemas masterLabelSchemas) throws Exception {
+        GraphElementType graphElementType = masterLabelSchemas.graphElementType();
+
+        String activity = targetConfig.mergeFiles() ? "merging" : "writing";
+
+        String description = targetConfig.format().description();
+
+        System.err.println(String.format("%s %s %s files from spill files...", StringUtils.capitalize(activity), graphElementType.name(), description));
+
+        return Timer.timedActivity(String.format("%s %s %s files from spill files", activity, graphElementType.name(), description),
+                (CheckedActivity.Callable<MasterLabelSchemas>) () ->
+                        rewriteFiles(masterLabelSchemas, graphElementType));
+    }
+
+    @Override
+    public MasterLabelSchema rewriteLabel(GraphElementType graphElementType,
+                                          MasterLabelSchema masterLabelSchema) throws Exception {
+        return rewrite(graphElementType, masterLabelSchema);
+    }
+
+    private MasterLabelSchemas rewriteFiles(MasterLabelSchemas masterLabelSchemas,
+                                            GraphElementType graphElementType) throws Exception {
+
+        Map<Label, MasterLabelSchema> updatedSchemas = new HashMap<>();
+
+        Collection<Future<MasterLabelSchema>> futures = new ArrayList<>();
+        ExecutorService taskExecutor = Executors.newFixedThreadPool(concurrencyConfig.concurrency());
+
+        for (MasterLabelSchema masterLabelSchema : masterLabelSchemas.schemas()) {
+            futures.add(taskExecutor.submit(() -> rewrite(graphElementType, masterLabelSchema)));
+        }
+        taskExecutor.shutdown();
+
+        try {
+            taskExecutor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+
+        for (Future<MasterLabelSchema> future : futures) {
+            if (future.isCancelled()) {
+                throw new IllegalStateException("Unable to complete rewrite because at least one task was cancelled");
+            }
+            if (!future.isDone()) {
+                throw new IllegalStateException("Unable to complete rewrite because at least one task has not completed");
+            }
+            MasterLabelSchema masterLabelSchema = future.get();
+            updatedSchemas.put(masterLabelSchema.labelSchema().label(), masterLabelSchema);
+        }
+
+        return new MasterLabelSchemas(updatedSchemas, graphElementType);
+    }
+
+    private MasterLabelSchema rewrite(GraphElementType graphElementType,
+                                      MasterLabelSchema masterLabelSchema) throws Exception {
+
+        // The master schema is the union of the schemas inferred while spilling, so it
+        // already describes every file: only observation counts need refreshing here
+        LabelSchema masterSchema = masterLabelSchema.labelSchema().createCopy();
+        masterSchema.initStats();
+
+        Collection<String> renamedFiles = new ArrayList<>();
+
+        if (targetConfig.mergeFiles()) {
+
+            String targetFilename = Directories.fileName(String.format("%s.consolidated",
+                    masterSchema.label().fullyQualifiedLabel()));
+
+            try (PropertyGraphPrinter printer = graphElementType.writerFactory().createPrinter(
+                    targetFilename,
+                    masterSchema,
+                    targetConfig.forFileConsolidation())) {
+
+                renamedFiles.add(printer.outputId());
+
+                for (FileSpecificLabelSchema fileSpecificLabelSchema : masterLabelSchema.fileSpecificLabelSchemas()) {
+                    File spillFile = new File(fileSpecificLabelSchema.outputId());
+                    if (spillFile.exists()) {
+                        copyRows(spillFile, fileSpecificLabelSchema.labelSchema(), masterSchema, printer);
+                    }
+                }
+            }
+
+        } else {
+
+            for (FileSpecificLabelSchema fileSpecificLabelSchema : masterLabelSchema.fileSpecificLabelSchemas()) {
+
+                LabelSchema labelSchema = fileSpecificLabelSchema.labelSchema();
+                File spillFile = new File(fileSpecificLabelSchema.outputId());
+
+                if (!spillFile.exists()) {
+                    if (labelSchema.label().labels().size() > 1) {
+                        logger.warn("Skipping multi-label file {} because it has already been rewritten under another label", spillFile);
+                        continue;
+                    }
+                }
+
+                try (PropertyGraphPrinter printer = graphElementType.writerFactory().createPrinter(
+                        targetConfig.format().replaceExtension(spillFile.getName(), "modified"),
+                        masterSchema,
+                        targetConfig.forFileConsolidation())) {
+
+                    renamedFiles.add(printer.outputId());
+                    copyRows(spillFile, labelSchema, masterSchema, printer);
+                }
+            }
+        }
+
+        return new MasterLabelSchema(
+                masterSchema,
+                renamedFiles.stream().map(f -> new FileSpecificLabelSchema(f, targetConfig.format(), masterSchema)).collect(Collectors.toList()));
+    }
+
+    private void copyRows(File spillFile,
+                          LabelSchema labelSchema,
+                          LabelSchema masterSchema,
+                          PropertyGraphPrinter printer) throws Exception {
+
+        List<Object> propertyKeys = labelSchema.propertySchemas().stream()
+                .map(PropertySchema::property)
+                .collect(Collectors.toList());
+
+        // Date values in columns whose master type is not Date are written as ISO-8601 strings,
+        // which is how they appeared in the file-specific output
+        Collection<Object> dateToStringKeys = labelSchema.propertySchemas().stream()
+                .filter(p -> p.allTypes().contains(DataType.Date))
+                .map(PropertySchema::property)
+                .filter(p -> masterSchema.getPropertySchema(p).dataType() != DataType.Date)
+                .collect(Collectors.toList());
+
+        try (DeletableFile file = new DeletableFile(spillFile)) {
+
+            if (featureToggles.containsFeature(FeatureToggle.Keep_Rewritten_Files)) {
+                file.doNotDelete();
+            }
+
+            long recordCount = 0;
+
+            try (SpillFileReader reader = new SpillFileReader(spillFile, propertyKeys, targetConfig.fileConfig().bufferSize())) {
+
+                SpillFileReader.Row row = new SpillFileReader.Row();
+
+                while (reader.next(row)) {
+
+                    printer.printStartRow();
+
+                    if (row.labels() != null) {
+                        printer.printNode(row.id(), row.labels());
+                    } else if (row.hasFromAndToLabels()) {
+                        printer.printEdge(row.id(), row.label(), row.from(), row.to(), row.fromLabels(), row.toLabels());
+                    } else {
+                        printer.printEdge(row.id(), row.label(), row.from(), row.to());
+                    }
+
+                    Map<Object, Object> properties = row.properties();
+                    for (Object key : dateToStringKeys) {
+                        Object value = properties.get(key);
+                        if (value != null) {
+                            properties.put(key, datesToStrings(value));
+                        }
+                    }
+
+                    printer.printProperties(properties);
+                    printer.printEndRow();
+
+                    recordCount++;
+                }
+
+            } catch (Exception e) {
+                logger.error("Error while rewriting spill file: {}", spillFile, e);
+                file.doNotDelete();
+                throw e;
+            }
+
+            logger.info("Spill file: {}, Target: {}, RecordCount: {}", file, printer.outputId(), recordCount);
+        }
+    }
+
+    private Object datesToStrings(Object value) {
+        if (value instanceof List<?>) {
+            return ((List<?>) value).stream().map(this::datesToStrings).collect(Collectors.toList());
+        } else if (value instanceof Date) {
+            return DataType.Date.format(value);
+        } else {
+            return value;
+        }
+    }
+}
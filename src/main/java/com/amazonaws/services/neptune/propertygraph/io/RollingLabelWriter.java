@@ -0,0 +1,83 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph.io;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+
+/**
+ * Closes the current file and continues writing to a new file, created by the supplied factory, once the
+ * rollover policy's size or row limit has been reached.
+ */
+class RollingLabelWriter<T> implements LabelWriter<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(RollingLabelWriter.class);
+
+    private final Callable<LabelWriter<T>> labelWriterFactory;
+    private final FileRolloverPolicy rolloverPolicy;
+    private LabelWriter<T> labelWriter;
+    private long rowCount = 0;
+
+    RollingLabelWriter(Callable<LabelWriter<T>> labelWriterFactory, FileRolloverPolicy rolloverPolicy) throws Exception {
+        this.labelWriterFactory = labelWriterFactory;
+        this.rolloverPolicy = rolloverPolicy;
+        this.labelWriter = labelWriterFactory.call();
+    }
+
+    @Override
+    public void handle(T element, boolean allowTokens) throws IOException {
+
+        if (labelWriter == null) {
+            try {
+                labelWriter = labelWriterFactory.call();
+            } catch (IOException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IOException(e);
+            }
+        }
+
+        labelWriter.handle(element, allowTokens);
+        rowCount++;
+
+        if (rolloverPolicy.shouldRollover(rowCount, labelWriter.outputId())) {
+            logger.debug("Rolling over file {} after {} rows", labelWriter.outputId(), rowCount);
+            try {
+                labelWriter.close();
+            } catch (IOException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IOException(e);
+            }
+            // The next file is only created when there is another element to write, so that no empty file is left behind
+            labelWriter = null;
+            rowCount = 0;
+        }
+    }
+
+    @Override
+    public String outputId() {
+        return labelWriter == null ? "" : labelWriter.outputId();
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (labelWriter != null) {
+            labelWriter.close();
+            labelWriter = null;
+        }
+    }
+}
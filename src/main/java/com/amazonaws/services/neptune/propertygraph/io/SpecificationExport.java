@@ -0,0 +1,106 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph.io;
+
+import com.amazonaws.services.neptune.propertygraph.Label;
+import com.amazonaws.services.neptune.propertygraph.schema.ExportSpecification;
+import com.amazonaws.services.neptune.propertygraph.schema.FileSpecificLabelSchema;
+import com.amazonaws.services.neptune.propertygraph.schema.FileSpecificLabelSchemas;
+import com.amazonaws.services.neptune.propertygraph.schema.MasterLabelSchema;
+import com.amazonaws.services.neptune.propertygraph.schema.MasterLabelSchemas;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+/**
+ * Collects the files written by the label-specific exports of an export specification, and tracks which
+ * labels are complete: a label is complete once no unfinished label-specific export can write to it.
+ */
+class SpecificationExport {
+
+    private final ExportSpecification exportSpecification;
+    private final FileSpecificLabelSchemas fileSpecificLabelSchemas = new FileSpecificLabelSchemas();
+    private final Collection<ExportSpecification> unfinishedLabelSpecifications = new ArrayList<>();
+    private final Set<Label> incompleteLabels = new LinkedHashSet<>();
+    private final List<Future<MasterLabelSchema>> rewrites = new ArrayList<>();
+
+    SpecificationExport(ExportSpecification exportSpecification) {
+        this.exportSpecification = exportSpecification;
+    }
+
+    ExportSpecification exportSpecification() {
+        return exportSpecification;
+    }
+
+    synchronized void addLabelSpecifications(Collection<ExportSpecification> labelSpecificExportSpecifications) {
+        unfinishedLabelSpecifications.addAll(labelSpecificExportSpecifications);
+    }
+
+    /**
+     * Records the files written by a label-specific export, and returns the labels that are now complete.
+     */
+    synchronized MasterLabelSchemas completeLabelSpecification(ExportSpecification labelSpecificExportSpecification,
+                                                               Collection<FileSpecificLabelSchemas> labelSpecificFiles) {
+        unfinishedLabelSpecifications.remove(labelSpecificExportSpecification);
+
+        for (FileSpecificLabelSchemas files : labelSpecificFiles) {
+            fileSpecificLabelSchemas.addAll(files);
+            incompleteLabels.addAll(files.labels());
+        }
+
+        FileSpecificLabelSchemas completeLabels = new FileSpecificLabelSchemas();
+        for (Label label : new ArrayList<>(incompleteLabels)) {
+            if (unfinishedLabelSpecifications.stream().allMatch(s -> s.getLabelsFilter().intersection(Collections.singletonList(label)).isEmpty())) {
+                incompleteLabels.remove(label);
+                for (FileSpecificLabelSchema file : fileSpecificLabelSchemas.fileSpecificLabelSchemasFor(label)) {
+                    completeLabels.add(file.outputId(), file.getFormat(), file.labelSchema());
+                }
+            }
+        }
+
+        return exportSpecification.createMasterLabelSchemas(Collections.singletonList(completeLabels));
+    }
+
+    synchronized MasterLabelSchemas masterLabelSchemas() {
+        return exportSpecification.createMasterLabelSchemas(Collections.singletonList(fileSpecificLabelSchemas));
+    }
+
+    synchronized void addRewrite(Future<MasterLabelSchema> rewrite) {
+        rewrites.add(rewrite);
+    }
+
+    MasterLabelSchemas rewrittenMasterLabelSchemas() throws Exception {
+        List<Future<MasterLabelSchema>> futures;
+        synchronized (this) {
+            if (!incompleteLabels.isEmpty()) {
+                throw new IllegalStateException(String.format("Unable to complete rewrite because labels %s are incomplete",
+                        incompleteLabels.stream().map(Label::fullyQualifiedLabel).collect(Collectors.joining(", "))));
+            }
+            futures = new ArrayList<>(rewrites);
+        }
+        Map<Label, MasterLabelSchema> masterLabelSchemas = new HashMap<>();
+        for (Future<MasterLabelSchema> future : futures) {
+            MasterLabelSchema masterLabelSchema = future.get();
+            masterLabelSchemas.put(masterLabelSchema.labelSchema().label(), masterLabelSchema);
+        }
+        return new MasterLabelSchemas(masterLabelSchemas, exportSpecification.getGraphElementType());
+    }
+}
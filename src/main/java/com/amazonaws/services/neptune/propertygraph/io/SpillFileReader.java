@@ -0,0 +1,197 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph.io;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.amazonaws.services.neptune.propertygraph.io.SpillFileWriter.*;
+
+class SpillFileReader implements AutoCloseable {
+
+    private final DataInputStream in;
+    private final List<Object> propertyKeys;
+    private byte[] buffer = new byte[256];
+
+    SpillFileReader(File file, List<Object> propertyKeys, int bufferSize) throws IOException {
+        this(new FileInputStream(file), propertyKeys, bufferSize);
+    }
+
+    SpillFileReader(InputStream in, List<Object> propertyKeys, int bufferSize) {
+        this.in = new DataInputStream(new BufferedInputStream(in, bufferSize));
+        this.propertyKeys = propertyKeys;
+    }
+
+    boolean next(Row row) throws IOException {
+
+        int kind = in.read();
+
+        if (kind < 0) {
+            return false;
+        }
+
+        row.clear();
+
+        switch (kind) {
+            case NODE:
+                row.id = readString();
+                row.labels = readStrings();
+                break;
+            case EDGE:
+            case EDGE_WITH_LABELS:
+                row.id = readString();
+                row.label = readString();
+                row.from = readString();
+                row.to = readString();
+                if (kind == EDGE_WITH_LABELS) {
+                    row.fromLabels = readStrings();
+                    row.toLabels = readStrings();
+                }
+                break;
+            default:
+                throw new IllegalStateException(String.format("Unexpected spill record type: %s", kind));
+        }
+
+        int index = in.readInt();
+        while (index != END_OF_ROW) {
+            row.properties.put(propertyKeys.get(index), readValue());
+            index = in.readInt();
+        }
+
+        return true;
+    }
+
+    private Object readValue() throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case STRING:
+                return readString();
+            case BOOLEAN:
+                return in.readBoolean();
+            case BYTE:
+                return in.readByte();
+            case SHORT:
+                return in.readShort();
+            case INTEGER:
+                return in.readInt();
+            case LONG:
+                return in.readLong();
+            case FLOAT:
+                return in.readFloat();
+            case DOUBLE:
+                return in.readDouble();
+            case DATE:
+                return new Date(in.readLong());
+            case LIST:
+                int size = in.readInt();
+                List<Object> values = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    values.add(readValue());
+                }
+                return values;
+            default:
+                throw new IllegalStateException(String.format("Unexpected spill value type: %s", type));
+        }
+    }
+
+    private List<String> readStrings() throws IOException {
+        int size = in.readInt();
+        List<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(readString());
+        }
+        return values;
+    }
+
+    private String readString() throws IOException {
+        int length = in.readInt();
+        if (length > buffer.length) {
+            buffer = new byte[Math.max(length, buffer.length * 2)];
+        }
+        in.readFully(buffer, 0, length);
+        return new String(buffer, 0, length, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    static class Row {
+
+        private String id;
+        private String label;
+        private String from;
+        private String to;
+        private List<String> labels;
+        private List<String> fromLabels;
+        private List<String> toLabels;
+        private final Map<Object, Object> properties = new HashMap<>();
+
+        String id() {
+            return id;
+        }
+
+        String label() {
+            return label;
+        }
+
+        String from() {
+            return from;
+        }
+
+        String to() {
+            return to;
+        }
+
+        List<String> labels() {
+            return labels;
+        }
+
+        List<String> fromLabels() {
+            return fromLabels;
+        }
+
+        List<String> toLabels() {
+            return toLabels;
+        }
+
+        boolean hasFromAndToLabels() {
+            return fromLabels != null && toLabels != null;
+        }
+
+        Map<Object, Object> properties() {
+            return properties;
+        }
+
+        private void clear() {
+            label = null;
+            from = null;
+            to = null;
+            labels = null;
+            fromLabels = null;
+            toLabels = null;
+            properties.clear();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph.io;
+
+import com.amazonaws.services.neptune.propertygraph.schema.DataType;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+class SpillFileWriter implements AutoCloseable {
+
+    static final String EXTENSION = "spill";
+
+    static final byte NODE = 1;
+    static final byte EDGE = 2;
+    static final byte EDGE_WITH_LABELS = 3;
+
+    static final int END_OF_ROW = -1;
+
+    static final byte STRING = 0;
+    static final byte BOOLEAN = 1;
+    static final byte BYTE = 2;
+    static final byte SHORT = 3;
+    static final byte INTEGER = 4;
+    static final byte LONG = 5;
+    static final byte FLOAT = 6;
+    static final byte DOUBLE = 7;
+    static final byte DATE = 8;
+    static final byte LIST = 9;
+
+    private final String outputId;
+    private final DataOutputStream out;
+
+    SpillFileWriter(File file, int bufferSize) throws IOException {
+        this(file.getAbsolutePath(), new FileOutputStream(file), bufferSize);
+    }
+
+    SpillFileWriter(String outputId, OutputStream out, int bufferSize) {
+        this.outputId = outputId;
+        this.out = new DataOutputStream(new BufferedOutputStream(out, bufferSize));
+    }
+
+    String outputId() {
+        return outputId;
+    }
+
+    void writeNode(String id, Collection<String> labels) throws IOException {
+        out.writeByte(NODE);
+        writeString(id);
+        writeStrings(labels);
+    }
+
+    void writeEdge(String id, String label, String from, String to, Collection<String> fromLabels, Collection<String> toLabels) throws IOException {
+        boolean withLabels = fromLabels != null && toLabels != null;
+        out.writeByte(withLabels ? EDGE_WITH_LABELS : EDGE);
+        writeString(id);
+        writeString(label);
+        writeString(from);
+        writeString(to);
+        if (withLabels) {
+            writeStrings(fromLabels);
+            writeStrings(toLabels);
+        }
+    }
+
+    void writeProperty(int index, Object value) throws IOException {
+        out.writeInt(index);
+        writeValue(value);
+    }
+
+    void endRow() throws IOException {
+        out.writeInt(END_OF_ROW);
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if (value instanceof List<?>) {
+            List<?> values = (List<?>) value;
+            out.writeByte(LIST);
+            out.writeInt(values.size());
+            for (Object v : values) {
+                writeValue(v);
+            }
+        } else if (value instanceof String) {
+            out.writeByte(STRING);
+            writeString((String) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(INTEGER);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Double) {
+            out.writeByte(DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof Float) {
+            out.writeByte(FLOAT);
+            out.writeFloat((Float) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Short) {
+            out.writeByte(SHORT);
+            out.writeShort((Short) value);
+        } else if (value instanceof Byte) {
+            out.writeByte(BYTE);
+            out.writeByte((Byte) value);
+        } else if (value instanceof Date && DataType.dataTypeFor(value.getClass()) == DataType.Date) {
+            out.writeByte(DATE);
+            out.writeLong(((Date) value).getTime());
+        } else {
+            // Any other type is treated as a String by DataType.dataTypeFor()
+            out.writeByte(STRING);
+            writeString(String.valueOf(value));
+        }
+    }
+
+    private void writeStrings(Collection<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) {
+            writeString(value);
+        }
+    }
+
+    private void writeString(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,130 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph.io;
+
+import com.amazonaws.services.neptune.propertygraph.schema.LabelSchema;
+import com.amazonaws.services.neptune.propertygraph.schema.PropertySchema;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class SpillPropertyGraphPrinter implements PropertyGraphPrinter {
+
+    private final SpillFileWriter writer;
+    private final LabelSchema labelSchema;
+    private final Map<Object, Integer> propertyIndexes = new HashMap<>();
+    private boolean isNullable = false;
+
+    SpillPropertyGraphPrinter(SpillFileWriter writer, LabelSchema labelSchema) {
+        this.writer = writer;
+        this.labelSchema = labelSchema;
+        for (PropertySchema propertySchema : labelSchema.propertySchemas()) {
+            propertyIndexes.put(propertySchema.property(), propertyIndexes.size());
+        }
+    }
+
+    @Override
+    public String outputId() {
+        return writer.outputId();
+    }
+
+    @Override
+    public void printHeaderMandatoryColumns(String... columns) {
+        // Do nothing
+    }
+
+    @Override
+    public void printHeaderRemainingColumns(Collection<PropertySchema> remainingColumns) {
+        // Do nothing
+    }
+
+    @Override
+    public void printProperties(Map<?, ?> properties) throws IOException {
+
+        // Check to see whether known properties are present
+        for (PropertySchema propertySchema : labelSchema.propertySchemas()) {
+            if (!properties.containsKey(propertySchema.property())) {
+                propertySchema.makeNullable();
+            }
+        }
+
+        for (Map.Entry<?, ?> property : properties.entrySet()) {
+
+            Object key = property.getKey();
+            Object value = property.getValue();
+
+            PropertySchema propertySchema = labelSchema.getPropertySchema(key);
+
+            if (propertySchema == null) {
+                propertySchema = new PropertySchema(key);
+                PropertySchema.PropertyValueMetadata propertyValueMetadata = propertySchema.accept(value, true);
+                if (isNullable) {
+                    propertySchema.makeNullable();
+                }
+                labelSchema.put(key, propertySchema);
+                labelSchema.recordObservation(propertySchema, value, propertyValueMetadata);
+                propertyIndexes.put(key, propertyIndexes.size());
+            } else {
+                PropertySchema.PropertyValueMetadata propertyValueMetadata = propertySchema.accept(value, true);
+                labelSchema.recordObservation(propertySchema, value, propertyValueMetadata);
+            }
+
+            writer.writeProperty(propertyIndexes.get(key), value);
+        }
+
+        isNullable = true;
+    }
+
+    @Override
+    public void printProperties(Map<?, ?> properties, boolean applyFormatting) throws IOException {
+        printProperties(properties);
+    }
+
+    @Override
+    public void printProperties(String id, String streamOperation, Map<?, ?> properties) throws IOException {
+        printProperties(properties);
+    }
+
+    @Override
+    public void printEdge(String id, String label, String from, String to) throws IOException {
+        printEdge(id, label, from, to, null, null);
+    }
+
+    @Override
+    public void printEdge(String id, String label, String from, String to, Collection<String> fromLabels, Collection<String> toLabels) throws IOException {
+        writer.writeEdge(id, label, from, to, fromLabels, toLabels);
+    }
+
+    @Override
+    public void printNode(String id, List<String> labels) throws IOException {
+        writer.writeNode(id, labels);
+    }
+
+    @Override
+    public void printStartRow() {
+        // Do nothing
+    }
+
+    @Override
+    public void printEndRow() throws IOException {
+        writer.endRow();
+    }
+
+    @Override
+    public void close() throws Exception {
+        writer.close();
+    }
+}
@@ -0,0 +1,67 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph.io;
+
+import com.amazonaws.services.neptune.metrics.ExportMetrics;
+import com.amazonaws.services.neptune.metrics.MetricsRegistry;
+import com.amazonaws.services.neptune.propertygraph.Label;
+import com.amazonaws.services.neptune.propertygraph.StatsContainer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Counts exported elements per label without synchronization, and adds the counts to the shared stats and metrics
+ * when flushed, or every {@link #FLUSH_INTERVAL} elements so that metrics keep up with a long-running task. Used by a
+ * single export task at a time.
+ */
+class TaskStats implements StatsContainer {
+
+    static final int FLUSH_INTERVAL = 10000;
+
+    private final StatsContainer parent;
+    private final String elementType;
+    private final Map<Label, long[]> counts = new HashMap<>();
+    private int unflushedCount = 0;
+
+    TaskStats(StatsContainer parent, String elementType) {
+        this.parent = parent;
+        this.elementType = elementType;
+    }
+
+    @Override
+    public void updateStats(Label label) {
+        long[] count = counts.get(label);
+        if (count == null) {
+            count = new long[1];
+            counts.put(label, count);
+        }
+        count[0]++;
+        if (++unflushedCount >= FLUSH_INTERVAL) {
+            flush();
+        }
+    }
+
+    void flush() {
+        MetricsRegistry metrics = MetricsRegistry.global();
+        for (Map.Entry<Label, long[]> entry : counts.entrySet()) {
+            long count = entry.getValue()[0];
+            if (count > 0) {
+                parent.updateStats(entry.getKey(), count);
+                metrics.counter(ExportMetrics.ELEMENTS, "type", elementType, "label", entry.getKey().fullyQualifiedLabel()).add(count);
+                entry.getValue()[0] = 0;
+            }
+        }
+        unflushedCount = 0;
+    }
+}
@@ -0,0 +1,56 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph.io;
+
+import com.amazonaws.services.neptune.metrics.Counter;
+
+import java.io.IOException;
+
+/**
+ * Measures the time spent in the parent handler, adding it to an optional shared counter as well as to a total that
+ * can be read by the thread using this handler.
+ */
+class TimedHandler<T> implements GraphElementHandler<T> {
+
+    private final GraphElementHandler<T> parent;
+    private final Counter counter;
+    private long nanos = 0;
+
+    TimedHandler(GraphElementHandler<T> parent, Counter counter) {
+        this.parent = parent;
+        this.counter = counter;
+    }
+
+    @Override
+    public void handle(T element, boolean allowTokens) throws IOException {
+        long start = System.nanoTime();
+        try {
+            parent.handle(element, allowTokens);
+        } finally {
+            long duration = System.nanoTime() - start;
+            nanos += duration;
+            if (counter != null) {
+                counter.add(duration);
+            }
+        }
+    }
+
+    long nanos() {
+        return nanos;
+    }
+
+    @Override
+    public void close() throws Exception {
+        parent.close();
+    }
+}
@@ -26,6 +26,7 @@ public class VariableRowCsvPropertyGraphPrinter implements PropertyGraphPrinter
     private final CsvPropertyGraphPrinter csvPropertyGraphPrinter;
     private final OutputWriter writer;
     private final LabelSchema labelSchema;
+    private final PresentProperties presentProperties = new PresentProperties();
     private boolean isNullable = false;
 
     public VariableRowCsvPropertyGraphPrinter(OutputWriter writer,
@@ -67,11 +68,8 @@ public class VariableRowCsvPropertyGraphPrinter implements PropertyGraphPrinter
         csvPropertyGraphPrinter.printProperties(properties);
 
         // Check to see whether known properties are present
-        for (PropertySchema propertySchema : labelSchema.propertySchemas()) {
-            if (!properties.containsKey(propertySchema.property())) {
-                propertySchema.makeNullable();
-            }
-        }
+        presentProperties.resolve(labelSchema, properties);
+        presentProperties.makeAbsentPropertiesNullable(labelSchema);
 
         // Print unknown properties
         for (Map.Entry<?, ?> property : properties.entrySet()) {
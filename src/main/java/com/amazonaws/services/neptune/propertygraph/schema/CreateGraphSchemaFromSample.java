@@ -12,6 +12,7 @@ permissions and limitations under the License.
 
 package com.amazonaws.services.neptune.propertygraph.schema;
 
+import com.amazonaws.services.neptune.propertygraph.LabelDiscovery;
 import com.amazonaws.services.neptune.util.Activity;
 import com.amazonaws.services.neptune.util.Timer;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
@@ -23,13 +24,16 @@ public class CreateGraphSchemaFromSample implements CreateGraphSchemaCommand {
     private final Collection<ExportSpecification> exportSpecifications;
     private final GraphTraversalSource g;
     private final long sampleSize;
+    private final LabelDiscovery labelDiscovery;
 
     public CreateGraphSchemaFromSample(Collection<ExportSpecification> exportSpecifications,
                                        GraphTraversalSource g,
-                                       long sampleSize) {
+                                       long sampleSize,
+                                       LabelDiscovery labelDiscovery) {
         this.exportSpecifications = exportSpecifications;
         this.sampleSize = sampleSize;
         this.g = g;
+        this.labelDiscovery = labelDiscovery;
     }
 
     @Override
@@ -41,7 +45,7 @@ public class CreateGraphSchemaFromSample implements CreateGraphSchemaCommand {
             Timer.timedActivity("creating " + exportSpecification.description() + " schema from sampling graph",
                     (Activity.Runnable) () -> {
                         System.err.println("Creating " + exportSpecification.description() + " schema");
-                        exportSpecification.sample(graphSchema, g, sampleSize);
+                        exportSpecification.sample(graphSchema, g, sampleSize, labelDiscovery);
                     });
         }
 
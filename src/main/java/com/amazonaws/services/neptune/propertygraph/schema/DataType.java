@@ -256,6 +256,16 @@ public enum DataType {
             }
         }
 
+        @Override
+        public void appendTo(StringBuilder builder, Object value, boolean escapeNewline) {
+            java.lang.String s = value.toString();
+            if (!s.isEmpty()) {
+                builder.append('"');
+                appendEscaped(builder, s, escapeNewline);
+                builder.append('"');
+            }
+        }
+
         private String escapeNewlineChar(String value) {
             return value.replace("\n", "\\n");
         }
@@ -275,6 +285,35 @@ public enum DataType {
                             collect(Collectors.joining(options.multiValueSeparator())));
         }
 
+        @Override
+        public void appendListTo(StringBuilder builder, Collection<?> values, CsvPrinterOptions options) {
+            if (values.isEmpty()) {
+                return;
+            }
+
+            java.lang.String separator = options.multiValueSeparator();
+            boolean escapeInPlace = separator.length() == 1 && isPlainSeparator(separator.charAt(0));
+
+            builder.append('"');
+            boolean isFirst = true;
+            for (Object v : values) {
+                if (!isFirst) {
+                    builder.append(separator);
+                }
+                isFirst = false;
+                if (escapeInPlace) {
+                    appendEscaped(builder, v.toString(), separator.charAt(0), options.escapeNewline());
+                } else {
+                    appendEscaped(builder, DataType.escapeSeparators(v, separator), options.escapeNewline());
+                }
+            }
+            builder.append('"');
+        }
+
+        private boolean isPlainSeparator(char separator) {
+            return separator != '\\' && separator != '"' && separator != '\n';
+        }
+
         @Override
         public boolean isNumeric() {
             return false;
@@ -307,6 +346,15 @@ public enum DataType {
             }
         }
 
+        @Override
+        public void appendTo(StringBuilder builder, Object value, boolean escapeNewline) {
+            if (value instanceof java.util.Date) {
+                appendIsoInstant(builder, ((java.util.Date) value).getTime());
+            } else {
+                builder.append(value.toString());
+            }
+        }
+
         @Override
         public void printTo(JsonGenerator generator, Object value) throws IOException {
             generator.writeString(format(value));
@@ -409,6 +457,136 @@ public enum DataType {
         return values.stream().map(v -> format(v, options.escapeNewline())).collect(Collectors.joining(options.multiValueSeparator()));
     }
 
+    /**
+     * Appends the same text as {@link #format(Object, boolean)} to the builder, without creating intermediate
+     * strings: numbers are appended without being converted to strings, and values are escaped as they are
+     * appended.
+     */
+    public void appendTo(StringBuilder builder, Object value, boolean escapeNewline) {
+        appendValue(builder, value);
+    }
+
+    /**
+     * Appends the same text as {@link #formatList(Collection, CsvPrinterOptions)} to the builder.
+     */
+    public void appendListTo(StringBuilder builder, Collection<?> values, CsvPrinterOptions options) {
+        boolean isFirst = true;
+        for (Object v : values) {
+            if (!isFirst) {
+                builder.append(options.multiValueSeparator());
+            }
+            isFirst = false;
+            appendTo(builder, v, options.escapeNewline());
+        }
+    }
+
+    private static void appendValue(StringBuilder builder, Object value) {
+        if (value instanceof java.lang.Integer) {
+            builder.append((int) value);
+        } else if (value instanceof java.lang.Long) {
+            builder.append((long) value);
+        } else if (value instanceof java.lang.Double) {
+            builder.append((double) value);
+        } else if (value instanceof java.lang.Float) {
+            builder.append((float) value);
+        } else if (value instanceof java.lang.Short) {
+            builder.append((short) value);
+        } else if (value instanceof java.lang.Byte) {
+            builder.append((byte) value);
+        } else if (value instanceof java.lang.Boolean) {
+            builder.append((boolean) value);
+        } else {
+            builder.append(value);
+        }
+    }
+
+    private static final long MIN_FOUR_DIGIT_YEAR_MILLIS = -62167219200000L; // 0000-01-01T00:00:00Z
+    private static final long MAX_FOUR_DIGIT_YEAR_MILLIS = 253402300800000L; // 10000-01-01T00:00:00Z
+    private static final long MILLIS_PER_DAY = 86400000L;
+
+    // Appends the same text as DateTimeFormatter.ISO_INSTANT, computing the calendar date arithmetically rather
+    // than through the formatter, for dates with four digit years
+    private static void appendIsoInstant(StringBuilder builder, long epochMillis) {
+        if (epochMillis < MIN_FOUR_DIGIT_YEAR_MILLIS || epochMillis >= MAX_FOUR_DIGIT_YEAR_MILLIS) {
+            DateTimeFormatter.ISO_INSTANT.formatTo(Instant.ofEpochMilli(epochMillis), builder);
+            return;
+        }
+
+        long epochDay = Math.floorDiv(epochMillis, MILLIS_PER_DAY);
+        int millisOfDay = (int) Math.floorMod(epochMillis, MILLIS_PER_DAY);
+
+        // Converts days since the epoch to a proleptic Gregorian year, month and day, using 400 year eras
+        // that start on 1 March, so that the leap day is the last day of each year
+        long days = epochDay + 719468;
+        long era = Math.floorDiv(days, 146097L);
+        int dayOfEra = (int) (days - era * 146097);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int monthFromMarch = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * monthFromMarch + 2) / 5 + 1;
+        int month = monthFromMarch < 10 ? monthFromMarch + 3 : monthFromMarch - 9;
+        int year = (int) (yearOfEra + era * 400) + (month <= 2 ? 1 : 0);
+
+        appendDigits(builder, year, 4);
+        builder.append('-');
+        appendDigits(builder, month, 2);
+        builder.append('-');
+        appendDigits(builder, day, 2);
+        builder.append('T');
+        appendDigits(builder, millisOfDay / 3600000, 2);
+        builder.append(':');
+        appendDigits(builder, (millisOfDay / 60000) % 60, 2);
+        builder.append(':');
+        appendDigits(builder, (millisOfDay / 1000) % 60, 2);
+        int millis = millisOfDay % 1000;
+        if (millis > 0) {
+            builder.append('.');
+            appendDigits(builder, millis, 3);
+        }
+        builder.append('Z');
+    }
+
+    private static void appendDigits(StringBuilder builder, int value, int width) {
+        int divisor = 1;
+        for (int i = 1; i < width; i++) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            builder.append((char) ('0' + (value / divisor) % 10));
+        }
+    }
+
+    // Doubles quotes and, optionally, escapes newlines
+    private static void appendEscaped(StringBuilder builder, String s, boolean escapeNewline) {
+        int start = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || (c == '\n' && escapeNewline)) {
+                builder.append(s, start, i).append(c == '"' ? "\"\"" : "\\n");
+                start = i + 1;
+            }
+        }
+        builder.append(s, start, s.length());
+    }
+
+    // As above, and also escapes separators in the same way as escapeSeparators()
+    private static void appendEscaped(StringBuilder builder, String s, char separator, boolean escapeNewline) {
+        int start = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || (c == '\n' && escapeNewline)) {
+                builder.append(s, start, i).append(c == '"' ? "\"\"" : "\\n");
+                start = i + 1;
+            } else if (c == separator) {
+                // An already escaped separator is escaped only once
+                int end = (i > start && s.charAt(i - 1) == '\\') ? i - 1 : i;
+                builder.append(s, start, end).append('\\').append(separator);
+                start = i + 1;
+            }
+        }
+        builder.append(s, start, s.length());
+    }
+
     public abstract boolean isNumeric();
 
     public abstract Object convert(Object value);
@@ -18,13 +18,16 @@ import com.amazonaws.services.neptune.export.FeatureToggles;
 import com.amazonaws.services.neptune.io.Status;
 import com.amazonaws.services.neptune.io.StatusOutputFormat;
 import com.amazonaws.services.neptune.propertygraph.*;
+import com.amazonaws.services.neptune.propertygraph.io.ExportCheckpoint;
 import com.amazonaws.services.neptune.propertygraph.io.ExportPropertyGraphTask;
+import com.amazonaws.services.neptune.propertygraph.io.FaultInjector;
 import com.amazonaws.services.neptune.propertygraph.io.GraphElementHandler;
 import com.amazonaws.services.neptune.propertygraph.io.PropertyGraphTargetConfig;
 import com.amazonaws.services.neptune.propertygraph.io.result.PGResult;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 
 import java.util.*;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
@@ -65,13 +68,13 @@ public class ExportSpecification {
                 gremlinFilters);
     }
 
-    public void sample(GraphSchema graphSchema, GraphTraversalSource g, long sampleSize) {
+    public void sample(GraphSchema graphSchema, GraphTraversalSource g, long sampleSize, LabelDiscovery labelDiscovery) {
         if (tokensOnly) {
             return;
         }
 
         GraphClient<? extends PGResult> graphClient = graphElementType.graphClient(g, tokensOnly, stats, featureToggles);
-        Collection<Label> labels = labelsFilter.getLabelsUsing(graphClient);
+        Collection<Label> labels = labelsFilter.getLabelsUsing(graphClient, labelDiscovery);
 
         for (Label label : labels) {
             graphClient.queryForSchema(
@@ -96,6 +99,14 @@ public class ExportSpecification {
                 concurrencyConfig);
     }
 
+    /**
+     * Whether elements can be filtered out of a range after it has been applied, in which case a range can return
+     * fewer elements than its size before the end of the data has been reached.
+     */
+    public boolean filtersAfterRange(GraphTraversalSource g) {
+        return graphElementType.graphClient(g, tokensOnly, stats, featureToggles).filtersAfterRange(gremlinFilters);
+    }
+
     public ExportPropertyGraphTask createExportTask(GraphSchema graphSchema,
                                                                          GraphTraversalSource g,
                                                                          PropertyGraphTargetConfig targetConfig,
@@ -104,7 +115,35 @@ public class ExportSpecification {
                                                                          Status status,
                                                                          AtomicInteger index,
                                                                          AtomicInteger fileDescriptorCount,
-                                                                         int maxFileDescriptorCount) {
+                                                                         int maxFileDescriptorCount,
+                                                                         ExportCheckpoint checkpoint) {
+        return createExportTask(
+                graphSchema,
+                g,
+                targetConfig,
+                gremlinFilters,
+                rangeFactory,
+                status,
+                index,
+                fileDescriptorCount,
+                maxFileDescriptorCount,
+                checkpoint,
+                RangeRetryPolicy.DEFAULT,
+                null);
+    }
+
+    public ExportPropertyGraphTask createExportTask(GraphSchema graphSchema,
+                                                    GraphTraversalSource g,
+                                                    PropertyGraphTargetConfig targetConfig,
+                                                    GremlinFilters gremlinFilters,
+                                                    RangeFactory rangeFactory,
+                                                    Status status,
+                                                    AtomicInteger index,
+                                                    AtomicInteger fileDescriptorCount,
+                                                    int maxFileDescriptorCount,
+                                                    ExportCheckpoint checkpoint,
+                                                    RangeRetryPolicy retryPolicy,
+                                                    Executor serializerExecutor) {
         return new ExportPropertyGraphTask(
                 graphSchema.copyOfGraphElementSchemasFor(graphElementType),
                 labelsFilter,
@@ -116,7 +155,11 @@ public class ExportSpecification {
                 status,
                 index,
                 fileDescriptorCount,
-                maxFileDescriptorCount
+                maxFileDescriptorCount,
+                checkpoint,
+                retryPolicy,
+                FaultInjector.fromFeatureToggles(featureToggles),
+                serializerExecutor
         );
     }
 
@@ -169,6 +212,59 @@ public class ExportSpecification {
         }
     }
 
+    /**
+     * Splits this specification by label, using a single grouped count to find labels with fewer than
+     * batchSize elements. Small labels are combined into specifications of up to batchSize elements, so that
+     * each is exported with one range factory and one set of queries. Returns each specification together with
+     * its approximate number of elements.
+     */
+    public Map<ExportSpecification, Long> splitByLabel(GraphTraversalSource g, long batchSize) {
+
+        Collection<ExportSpecification> labelSpecifications = splitByLabel();
+        Map<ExportSpecification, Long> results = new LinkedHashMap<>();
+
+        if (labelSpecifications.size() < 2) {
+            labelSpecifications.forEach(s -> results.put(s, -1L));
+            return results;
+        }
+
+        GraphClient<? extends PGResult> graphClient = graphElementType.graphClient(g, tokensOnly, stats, featureToggles);
+        Map<Label, Long> counts = graphClient.approxCountsByLabel(labelsFilter, gremlinFilters);
+
+        Collection<Label> batch = new ArrayList<>();
+        long batchCount = 0;
+
+        for (ExportSpecification labelSpecification : labelSpecifications) {
+            Collection<Label> labels = labelSpecification.labelsFilter.getLabelsUsing(graphClient, LabelDiscovery.CLIENT_SIDE);
+            long count = counts.entrySet().stream()
+                    .filter(e -> labels.stream().anyMatch(l -> l.isAssignableFrom(e.getKey())))
+                    .mapToLong(Map.Entry::getValue)
+                    .sum();
+
+            if (count >= batchSize) {
+                results.put(labelSpecification, count);
+            } else {
+                if (!batch.isEmpty() && batchCount + count > batchSize) {
+                    results.put(batchOf(batch), batchCount);
+                    batch = new ArrayList<>();
+                    batchCount = 0;
+                }
+                batch.addAll(labels);
+                batchCount += count;
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            results.put(batchOf(batch), batchCount);
+        }
+
+        return results;
+    }
+
+    private ExportSpecification batchOf(Collection<Label> labels) {
+        return new ExportSpecification(graphElementType, labelsFilter.intersection(labels), gremlinFilters, stats, tokensOnly, featureToggles);
+    }
+
     public GraphElementType getGraphElementType() {
         return graphElementType;
     }
@@ -41,6 +41,14 @@ public class FileSpecificLabelSchemas {
         schemas.add(new FileSpecificLabelSchema(outputId, format, labelSchema));
     }
 
+    public void addAll(FileSpecificLabelSchemas other) {
+        for (Label label : other.labels()) {
+            for (FileSpecificLabelSchema schema : other.fileSpecificLabelSchemasFor(label)) {
+                add(schema.outputId(), schema.getFormat(), schema.labelSchema());
+            }
+        }
+    }
+
     public Collection<Label> labels() {
         return fileSpecificLabelSchemas.keySet();
     }
@@ -23,6 +23,7 @@ public class LabelSchema {
     private final Label label;
     private final Map<Object, PropertySchema> propertySchemas = new LinkedHashMap<>();
     private final Map<Object, PropertySchemaStats> propertySchemaStats = new LinkedHashMap<>();
+    private Columns columns;
 
     public LabelSchema(Label label) {
         this.label = label;
@@ -38,6 +39,7 @@ public class LabelSchema {
         }
         propertySchemas.put(property, propertySchema);
         propertySchemaStats.put(property, stats);
+        columns = null;
     }
 
     public boolean containsProperty(Object property) {
@@ -64,6 +66,25 @@ public class LabelSchema {
         return propertySchemaStats.get(property);
     }
 
+    /**
+     * Returns the position of the property in {@link #propertySchemas()}, or -1 if the label has no such property.
+     */
+    public int columnIndexOf(Object property) {
+        Integer index = columns().indexes.get(property);
+        return index == null ? -1 : index;
+    }
+
+    public PropertySchema propertySchemaAt(int columnIndex) {
+        return columns().propertySchemas[columnIndex];
+    }
+
+    private Columns columns() {
+        if (columns == null) {
+            columns = new Columns(propertySchemas.values());
+        }
+        return columns;
+    }
+
     public Collection<PropertySchema> propertySchemas() {
         return propertySchemas.values();
     }
@@ -145,4 +166,17 @@ public class LabelSchema {
 
         return true;
     }
+
+    private static class Columns {
+
+        private final Map<Object, Integer> indexes = new HashMap<>();
+        private final PropertySchema[] propertySchemas;
+
+        private Columns(Collection<PropertySchema> propertySchemas) {
+            this.propertySchemas = propertySchemas.toArray(new PropertySchema[0]);
+            for (int i = 0; i < this.propertySchemas.length; i++) {
+                indexes.put(this.propertySchemas[i].property(), i);
+            }
+        }
+    }
 }
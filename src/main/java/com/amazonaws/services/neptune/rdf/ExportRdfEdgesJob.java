@@ -16,14 +16,28 @@ import com.amazonaws.services.neptune.rdf.io.RdfTargetConfig;
 import com.amazonaws.services.neptune.util.CheckedActivity;
 import com.amazonaws.services.neptune.util.Timer;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 public class ExportRdfEdgesJob implements ExportRdfJob {
 
     private final NeptuneSparqlClient client;
     private final RdfTargetConfig targetConfig;
+    private final RdfPartitionStrategy partitionStrategy;
+    private final int concurrency;
 
     public ExportRdfEdgesJob(NeptuneSparqlClient client, RdfTargetConfig targetConfig) {
+        this(client, targetConfig, RdfPartitionStrategy.none, 1);
+    }
+
+    public ExportRdfEdgesJob(NeptuneSparqlClient client,
+                             RdfTargetConfig targetConfig,
+                             RdfPartitionStrategy partitionStrategy,
+                             int concurrency) {
         this.client = client;
         this.targetConfig = targetConfig;
+        this.partitionStrategy = partitionStrategy;
+        this.concurrency = concurrency;
     }
 
     @Override
@@ -32,13 +46,20 @@ public class ExportRdfEdgesJob implements ExportRdfJob {
                 (CheckedActivity.Runnable) () -> {
                     System.err.println("Creating edge statement files");
 
-                    client.executeGraphQuery("CONSTRUCT {\n" +
-                            "    ?s ?p ?o \n" +
-                            "}\n" +
-                            "WHERE {\n" +
-                            "    ?s ?p ?o . \n" +
-                            "    FILTER(!isLiteral(?o))\n" +
-                            "}", targetConfig);
+                    if (partitionStrategy != RdfPartitionStrategy.none) {
+                        List<String> queries = partitionStrategy.partitions(client).stream()
+                                .map(partition -> String.format("CONSTRUCT { ?s ?p ?o } WHERE { %s ?s ?p ?o . FILTER(!isLiteral(?o)) }", partition))
+                                .collect(Collectors.toList());
+                        client.executePartitionedGraphQueries(queries, concurrency, targetConfig);
+                    } else {
+                        client.executeGraphQuery("CONSTRUCT {\n" +
+                                "    ?s ?p ?o \n" +
+                                "}\n" +
+                                "WHERE {\n" +
+                                "    ?s ?p ?o . \n" +
+                                "    FILTER(!isLiteral(?o))\n" +
+                                "}", targetConfig);
+                    }
                 });
     }
 }
@@ -17,20 +17,35 @@ import com.amazonaws.services.neptune.util.CheckedActivity;
 import com.amazonaws.services.neptune.util.Timer;
 import org.apache.commons.lang.StringUtils;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 public class ExportRdfGraphJob implements ExportRdfJob {
 
     private final NeptuneSparqlClient client;
     private final RdfTargetConfig targetConfig;
     private final String namedGraph;
+    private final RdfPartitionStrategy partitionStrategy;
+    private final int concurrency;
 
     public ExportRdfGraphJob(NeptuneSparqlClient client, RdfTargetConfig targetConfig) {
         this(client, targetConfig, "");
     }
 
     public ExportRdfGraphJob(NeptuneSparqlClient client, RdfTargetConfig targetConfig, String namedGraph) {
+        this(client, targetConfig, namedGraph, RdfPartitionStrategy.none, 1);
+    }
+
+    public ExportRdfGraphJob(NeptuneSparqlClient client,
+                             RdfTargetConfig targetConfig,
+                             String namedGraph,
+                             RdfPartitionStrategy partitionStrategy,
+                             int concurrency) {
         this.client = client;
         this.targetConfig = targetConfig;
         this.namedGraph = namedGraph;
+        this.partitionStrategy = partitionStrategy;
+        this.concurrency = concurrency;
     }
 
     @Override
@@ -38,11 +53,25 @@ public class ExportRdfGraphJob implements ExportRdfJob {
         Timer.timedActivity("exporting RDF as " + targetConfig.format().description(),
                 (CheckedActivity.Runnable) () -> {
                     System.err.println("Creating statement files");
-                    if(StringUtils.isEmpty(namedGraph)) {
+                    if (partitionStrategy != RdfPartitionStrategy.none) {
+                        executePartitionedExport();
+                    } else if(StringUtils.isEmpty(namedGraph)) {
                         client.executeCompleteExport(targetConfig);
                     } else {
                         client.executeNamedGraphExport(targetConfig, namedGraph);
                     }
                 });
     }
+
+    private void executePartitionedExport() throws Exception {
+        String namedGraphFilter = StringUtils.isEmpty(namedGraph) ?
+                "" :
+                String.format(" FILTER(?g = <%s>)", namedGraph);
+
+        List<String> queries = partitionStrategy.partitions(client).stream()
+                .map(partition -> String.format("SELECT * WHERE { %s GRAPH ?g { ?s ?p ?o }%s }", partition, namedGraphFilter))
+                .collect(Collectors.toList());
+
+        client.executePartitionedTupleQueries(queries, concurrency, targetConfig);
+    }
 }
@@ -12,6 +12,8 @@ permissions and limitations under the License.
 
 package com.amazonaws.services.neptune.rdf;
 
+import com.amazonaws.services.neptune.metrics.ExportMetrics;
+import com.amazonaws.services.neptune.metrics.MetricsRegistry;
 import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.repository.RepositoryConnection;
 import org.eclipse.rdf4j.rio.RDFHandler;
@@ -21,6 +23,7 @@ import org.eclipse.rdf4j.rio.RDFWriter;
 class GraphQueryHandler implements RDFHandler {
 
     private final RDFWriter writer;
+    private long numberOfStatements = 0;
 
     public GraphQueryHandler(RDFWriter writer) {
         this.writer = writer;
@@ -34,6 +37,8 @@ class GraphQueryHandler implements RDFHandler {
     @Override
     public void endRDF() throws RDFHandlerException {
         writer.endRDF();
+        MetricsRegistry.global().counter(ExportMetrics.STATEMENTS).add(numberOfStatements);
+        numberOfStatements = 0;
     }
 
     @Override
@@ -44,6 +49,7 @@ class GraphQueryHandler implements RDFHandler {
     @Override
     public void handleStatement(Statement statement) throws RDFHandlerException {
         writer.handleStatement(statement);
+        numberOfStatements++;
     }
 
     @Override
@@ -18,6 +18,8 @@ import com.amazonaws.services.neptune.cluster.ConnectionConfig;
 import com.amazonaws.services.neptune.export.FeatureToggle;
 import com.amazonaws.services.neptune.export.FeatureToggles;
 import com.amazonaws.services.neptune.io.OutputWriter;
+import com.amazonaws.services.neptune.metrics.ExportMetrics;
+import com.amazonaws.services.neptune.metrics.MetricsRegistry;
 import com.amazonaws.services.neptune.rdf.io.NeptuneExportSparqlRepository;
 import com.amazonaws.services.neptune.rdf.io.RdfTargetConfig;
 import com.amazonaws.services.neptune.util.EnvironmentVariableUtils;
@@ -27,7 +29,10 @@ import org.apache.http.client.methods.HttpUriRequest;
 import org.eclipse.rdf4j.http.client.HttpClientSessionManager;
 import org.eclipse.rdf4j.http.client.RDF4JProtocolSession;
 import org.eclipse.rdf4j.http.client.SPARQLProtocolSession;
+import org.eclipse.rdf4j.model.Value;
 import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.TupleQueryResult;
 import org.eclipse.rdf4j.query.resultio.TupleQueryResultFormat;
 import org.eclipse.rdf4j.repository.RepositoryConnection;
 import org.eclipse.rdf4j.repository.base.AbstractRepository;
@@ -42,8 +47,14 @@ import org.joda.time.DateTime;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 public class NeptuneSparqlClient implements AutoCloseable {
@@ -129,7 +140,9 @@ public class NeptuneSparqlClient implements AutoCloseable {
 
             RDFWriter writer = targetConfig.createRDFWriter(outputWriter, featureToggles);
 
+            long start = System.currentTimeMillis();
             connection.prepareTupleQuery(sparql).evaluate(new TupleQueryHandler(writer, factory));
+            recordQueryLatency(start);
 
         } catch (Exception e) {
             if (repository instanceof NeptuneExportSparqlRepository) {
@@ -149,7 +162,9 @@ public class NeptuneSparqlClient implements AutoCloseable {
 
             RDFWriter writer = targetConfig.createRDFWriter(outputWriter, featureToggles);
 
+            long start = System.currentTimeMillis();
             connection.prepareGraphQuery(sparql).evaluate(new GraphQueryHandler(writer));
+            recordQueryLatency(start);
 
         } catch (Exception e) {
             if (repository instanceof NeptuneExportSparqlRepository) {
@@ -177,6 +192,102 @@ public class NeptuneSparqlClient implements AutoCloseable {
         }
     }
 
+    public List<Value> selectDistinct(String sparql, String bindingName) {
+        SPARQLRepository repository = chooseRepository();
+
+        List<Value> values = new ArrayList<>();
+
+        try (RepositoryConnection connection = repository.getConnection();
+             TupleQueryResult result = connection.prepareTupleQuery(sparql).evaluate()) {
+            while (result.hasNext()) {
+                BindingSet bindingSet = result.next();
+                Value value = bindingSet.getValue(bindingName);
+                if (value != null) {
+                    values.add(value);
+                }
+            }
+        } catch (Exception e) {
+            if (repository instanceof NeptuneExportSparqlRepository) {
+                throw new RuntimeException(((NeptuneExportSparqlRepository) repository).getErrorMessageFromTrailers(), e);
+            }
+            else {
+                throw new RuntimeException(e);
+            }
+        }
+
+        return values;
+    }
+
+    public void executePartitionedTupleQueries(List<String> queries, int concurrency, RdfTargetConfig targetConfig) throws IOException {
+        executePartitionedQueries(queries, false, concurrency, targetConfig);
+    }
+
+    public void executePartitionedGraphQueries(List<String> queries, int concurrency, RdfTargetConfig targetConfig) throws IOException {
+        executePartitionedQueries(queries, true, concurrency, targetConfig);
+    }
+
+    private void executePartitionedQueries(List<String> queries,
+                                           boolean isGraphQuery,
+                                           int concurrency,
+                                           RdfTargetConfig targetConfig) throws IOException {
+
+        System.err.println(String.format("Exporting %s partitions using %s threads", queries.size(), concurrency));
+
+        ExecutorService taskExecutor = Executors.newFixedThreadPool(Math.max(1, concurrency));
+        Collection<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < queries.size(); i++) {
+            // Partitions are assigned to repositories round-robin so that every endpoint is used
+            SPARQLRepository repository = chooseRepository(i);
+            String sparql = queries.get(i);
+            String name = String.format("statements-%s", i);
+            futures.add(taskExecutor.submit(() -> executePartition(repository, sparql, isGraphQuery, name, targetConfig)));
+        }
+        taskExecutor.shutdown();
+
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Error while exporting RDF partition", e.getCause());
+        } finally {
+            taskExecutor.shutdownNow();
+        }
+    }
+
+    private void executePartition(SPARQLRepository repository,
+                                  String sparql,
+                                  boolean isGraphQuery,
+                                  String name,
+                                  RdfTargetConfig targetConfig) {
+
+        try (RepositoryConnection connection = repository.getConnection();
+             OutputWriter outputWriter = targetConfig.createOutputWriter(name)) {
+
+            RDFWriter writer = targetConfig.createRDFWriter(outputWriter, featureToggles);
+
+            long start = System.currentTimeMillis();
+            if (isGraphQuery) {
+                connection.prepareGraphQuery(sparql).evaluate(new GraphQueryHandler(writer));
+            } else {
+                connection.prepareTupleQuery(sparql).evaluate(new TupleQueryHandler(writer, repository.getValueFactory()));
+            }
+            recordQueryLatency(start);
+
+        } catch (Exception e) {
+            if (repository instanceof NeptuneExportSparqlRepository) {
+                throw new RuntimeException(((NeptuneExportSparqlRepository) repository).getErrorMessageFromTrailers(), e);
+            }
+            else {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
     void executeGSPExport(RdfTargetConfig targetConfig, String graph) throws IOException {
         HttpClient httpClient = chooseRepository().getHttpClient();
         HttpUriRequest request = new HttpGet(getGSPEndpoint(graph));
@@ -201,10 +312,18 @@ public class NeptuneSparqlClient implements AutoCloseable {
         }
     }
 
+    private static void recordQueryLatency(long start) {
+        MetricsRegistry.global().latencyHistogram(ExportMetrics.QUERY_LATENCY, "query", "sparql").record(System.currentTimeMillis() - start);
+    }
+
     SPARQLRepository chooseRepository() {
         return repositories.get(random.nextInt(repositories.size()));
     }
 
+    SPARQLRepository chooseRepository(int index) {
+        return repositories.get(index % repositories.size());
+    }
+
     @Override
     public void close() {
         repositories.forEach(AbstractRepository::shutDown);
@@ -14,15 +14,16 @@ package com.amazonaws.services.neptune.rdf;
 
 import com.amazonaws.services.neptune.export.FeatureToggle;
 import com.amazonaws.services.neptune.export.FeatureToggles;
+import com.amazonaws.services.neptune.io.CompressionCodec;
+import com.amazonaws.services.neptune.io.FileConfig;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.LineIterator;
 import org.eclipse.rdf4j.rio.RDFWriter;
 
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Writer;
 import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
@@ -62,9 +63,10 @@ public class Prefixes {
 
     public void addTo(Path filePath) throws IOException {
         File source = filePath.toFile();
-        LineIterator lineIterator = FileUtils.lineIterator(source);
+        CompressionCodec compressionCodec = CompressionCodec.forFile(source);
+        LineIterator lineIterator = new LineIterator(CompressionCodec.newReader(source));
         File tempFile = File.createTempFile(source.getName(), ".tmp");
-        BufferedWriter writer = new BufferedWriter(new FileWriter(tempFile));
+        Writer writer = compressionCodec.newWriter(tempFile, FileConfig.DEFAULT_BUFFER_SIZE);
         try {
             writer.write(allHeaders());
             while (lineIterator.hasNext()) {
@@ -0,0 +1,72 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.rdf;
+
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.rio.helpers.NTriplesUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Splits an RDF export into partitions that can be exported concurrently. Each partition is a SPARQL fragment
+ * that is added to the export query's WHERE clause to restrict it to a disjoint subset of the statements.
+ */
+public enum RdfPartitionStrategy {
+    none {
+        @Override
+        public List<String> partitions(NeptuneSparqlClient client) {
+            return Collections.singletonList("");
+        }
+    },
+    namedGraph {
+        @Override
+        public List<String> partitions(NeptuneSparqlClient client) {
+            return valuesPartitions(client, "g", "SELECT DISTINCT ?g WHERE { GRAPH ?g { ?s ?p ?o } }");
+        }
+    },
+    predicate {
+        @Override
+        public List<String> partitions(NeptuneSparqlClient client) {
+            return valuesPartitions(client, "p", "SELECT DISTINCT ?p WHERE { ?s ?p ?o }");
+        }
+    },
+    subject {
+        @Override
+        public List<String> partitions(NeptuneSparqlClient client) {
+            List<String> partitions = new ArrayList<>();
+            for (char c : HEX_DIGITS.toCharArray()) {
+                partitions.add(String.format("FILTER(isIRI(?s) && STRSTARTS(MD5(STR(?s)), \"%s\"))", c));
+            }
+            // Blank node labels are not stable across queries, so blank node subjects are exported together
+            partitions.add("FILTER(!isIRI(?s))");
+            return partitions;
+        }
+    };
+
+    private static final String HEX_DIGITS = "0123456789abcdef";
+
+    private static List<String> valuesPartitions(NeptuneSparqlClient client, String variable, String sparql) {
+        return client.selectDistinct(sparql, variable).stream()
+                .map(v -> String.format("VALUES ?%s { %s }", variable, toSparql(v)))
+                .collect(Collectors.toList());
+    }
+
+    private static String toSparql(Value value) {
+        return NTriplesUtil.toNTriplesString(value);
+    }
+
+    public abstract List<String> partitions(NeptuneSparqlClient client);
+}
@@ -12,6 +12,8 @@ permissions and limitations under the License.
 
 package com.amazonaws.services.neptune.rdf;
 
+import com.amazonaws.services.neptune.metrics.ExportMetrics;
+import com.amazonaws.services.neptune.metrics.MetricsRegistry;
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.rdf4j.model.*;
 import org.eclipse.rdf4j.query.BindingSet;
@@ -26,6 +28,7 @@ import java.util.List;
 class TupleQueryHandler implements TupleQueryResultHandler {
 
     private final RDFWriter writer;
+    private long numberOfStatements = 0;
     private final ValueFactory factory;
 
     public TupleQueryHandler(RDFWriter writer, ValueFactory factory) {
@@ -51,6 +54,8 @@ class TupleQueryHandler implements TupleQueryResultHandler {
     @Override
     public void endQueryResult() throws TupleQueryResultHandlerException {
         writer.endRDF();
+        MetricsRegistry.global().counter(ExportMetrics.STATEMENTS).add(numberOfStatements);
+        numberOfStatements = 0;
     }
 
     @Override
@@ -72,6 +77,7 @@ class TupleQueryHandler implements TupleQueryResultHandler {
         Statement statement = factory.createStatement(subject, predicate, o, graph);
 
         writer.handleStatement(statement);
+        numberOfStatements++;
     }
 
     private IRI getNonDefaultNamedGraph(Value g, ValueFactory factory) {
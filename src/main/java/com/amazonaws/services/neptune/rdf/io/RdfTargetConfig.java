@@ -14,6 +14,7 @@ package com.amazonaws.services.neptune.rdf.io;
 
 import com.amazonaws.services.neptune.export.FeatureToggles;
 import com.amazonaws.services.neptune.io.Directories;
+import com.amazonaws.services.neptune.io.FileConfig;
 import com.amazonaws.services.neptune.io.KinesisConfig;
 import com.amazonaws.services.neptune.io.OutputWriter;
 import com.amazonaws.services.neptune.io.Target;
@@ -22,24 +23,31 @@ import org.eclipse.rdf4j.rio.RDFWriter;
 
 import java.io.IOException;
 
-public class RdfTargetConfig {
+public class RdfTargetConfig implements AutoCloseable {
 
     private final Directories directories;
     private final Target output;
     private final KinesisConfig kinesisConfig;
+    private final FileConfig fileConfig;
     private final RdfExportFormat format;
 
-    public RdfTargetConfig(Directories directories, KinesisConfig kinesisConfig, Target output, RdfExportFormat format) {
+    public RdfTargetConfig(Directories directories, KinesisConfig kinesisConfig, FileConfig fileConfig, Target output, RdfExportFormat format) {
         this.directories = directories;
         this.output = output;
         this.kinesisConfig = kinesisConfig;
+        this.fileConfig = fileConfig;
         this.format = format;
     }
 
     public OutputWriter createOutputWriter() throws IOException {
+        return createOutputWriter("statements");
+    }
+
+    public OutputWriter createOutputWriter(String name) throws IOException {
         return output.createOutputWriter(
-                () -> directories.createStatementsFilePath("statements", format),
-                kinesisConfig);
+                () -> directories.createStatementsFilePath(name, format),
+                kinesisConfig,
+                fileConfig);
     }
 
     public RDFWriter createRDFWriter(OutputWriter outputWriter, FeatureToggles featureToggles) {
@@ -49,4 +57,11 @@ public class RdfTargetConfig {
     public RdfExportFormat format() {
         return format;
     }
+
+    @Override
+    public void close() {
+        if (kinesisConfig != null) {
+            kinesisConfig.close();
+        }
+    }
 }
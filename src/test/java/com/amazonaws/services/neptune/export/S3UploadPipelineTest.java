@@ -0,0 +1,185 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.export;
+
+import com.amazonaws.services.neptune.util.S3ObjectInfo;
+import com.amazonaws.services.s3.model.ObjectTagging;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.transfer.TransferManager;
+import com.amazonaws.services.s3.transfer.Upload;
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class S3UploadPipelineTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldUploadClosedFilesRelativeToRootDirectory() throws Exception {
+        File root = folder.newFolder("export");
+        File file = createFile(root, "nodes/person-1.csv", "a,b");
+
+        TransferManager transferManager = mockTransferManager();
+
+        try (S3UploadPipeline pipeline = createPipeline(transferManager, root, 2, 2)) {
+            pipeline.submit(file);
+            pipeline.awaitCompletion();
+
+            ArgumentCaptor<PutObjectRequest> captor = ArgumentCaptor.forClass(PutObjectRequest.class);
+            verify(transferManager).upload(captor.capture());
+
+            PutObjectRequest request = captor.getValue();
+            assertEquals("bucket", request.getBucketName());
+            assertEquals("prefix/export-1/nodes/person-1.csv", request.getKey());
+            assertEquals(file, request.getFile());
+            assertEquals(1, pipeline.uploadedFileCount());
+            assertTrue(pipeline.pendingFiles().isEmpty());
+        }
+    }
+
+    @Test
+    public void shouldReportFilesThatWereNotUploadedOrHaveChanged() throws Exception {
+        File root = folder.newFolder("export");
+        File uploaded = createFile(root, "nodes/person-1.csv", "a,b");
+        File modified = createFile(root, "nodes/person-2.csv", "a,b");
+        File notSubmitted = createFile(root, "edges/knows-1.csv", "a,b");
+
+        TransferManager transferManager = mockTransferManager();
+
+        try (S3UploadPipeline pipeline = createPipeline(transferManager, root, 1, 1)) {
+            pipeline.submit(uploaded);
+            pipeline.submit(modified);
+            pipeline.awaitCompletion();
+
+            FileUtils.writeStringToFile(modified, "a,b\nc,d", UTF_8);
+
+            List<File> pendingFiles = new ArrayList<>(pipeline.pendingFiles());
+            Collections.sort(pendingFiles);
+
+            assertEquals(2, pendingFiles.size());
+            assertEquals(notSubmitted, pendingFiles.get(0));
+            assertEquals(modified, pendingFiles.get(1));
+        }
+    }
+
+    @Test
+    public void shouldTreatFailedUploadsAsPending() throws Exception {
+        File root = folder.newFolder("export");
+        File file = createFile(root, "nodes/person-1.csv", "a,b");
+
+        TransferManager transferManager = mock(TransferManager.class);
+        when(transferManager.upload(any(PutObjectRequest.class))).thenThrow(new IllegalStateException("S3 unavailable"));
+
+        try (S3UploadPipeline pipeline = createPipeline(transferManager, root, 1, 1)) {
+            pipeline.submit(file);
+            pipeline.awaitCompletion();
+
+            assertEquals(0, pipeline.uploadedFileCount());
+            assertEquals(Collections.singletonList(file), pipeline.pendingFiles());
+        }
+    }
+
+    @Test
+    public void shouldIgnoreFilesOutsideRootDirectory() throws Exception {
+        File root = folder.newFolder("export");
+        File other = createFile(folder.newFolder("other"), "file.csv", "a,b");
+
+        TransferManager transferManager = mockTransferManager();
+
+        try (S3UploadPipeline pipeline = createPipeline(transferManager, root, 1, 1)) {
+            pipeline.submit(other);
+            pipeline.awaitCompletion();
+
+            verify(transferManager, never()).upload(any(PutObjectRequest.class));
+        }
+    }
+
+    @Test
+    public void shouldRunUploadOnCallingThreadWhenQueueIsFull() throws Exception {
+        File root = folder.newFolder("export");
+        File first = createFile(root, "1.csv", "a");
+        File second = createFile(root, "2.csv", "b");
+        File third = createFile(root, "3.csv", "c");
+
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> uploadThreads = Collections.synchronizedList(new ArrayList<>());
+
+        Upload upload = mock(Upload.class);
+        TransferManager transferManager = mock(TransferManager.class);
+        when(transferManager.upload(any(PutObjectRequest.class))).thenAnswer(invocation -> {
+            uploadThreads.add(Thread.currentThread().getName());
+            if (!Thread.currentThread().getName().equals("caller")) {
+                release.await(10, TimeUnit.SECONDS);
+            }
+            return upload;
+        });
+
+        try (S3UploadPipeline pipeline = createPipeline(transferManager, root, 1, 1)) {
+            Thread caller = new Thread(() -> {
+                pipeline.submit(first);
+                pipeline.submit(second);
+                pipeline.submit(third);
+            }, "caller");
+            caller.start();
+            caller.join(10000);
+
+            // One file is being uploaded, one is queued, so the third is uploaded by the caller
+            assertTrue(uploadThreads.contains("caller"));
+
+            release.countDown();
+            pipeline.awaitCompletion();
+
+            assertEquals(3, pipeline.uploadedFileCount());
+        }
+    }
+
+    private S3UploadPipeline createPipeline(TransferManager transferManager, File root, int concurrency, int queueCapacity) {
+        return new S3UploadPipeline(
+                transferManager,
+                root,
+                new S3ObjectInfo("s3://bucket/prefix/export-1"),
+                null,
+                new ObjectTagging(new ArrayList<>()),
+                concurrency,
+                queueCapacity);
+    }
+
+    private TransferManager mockTransferManager() {
+        TransferManager transferManager = mock(TransferManager.class);
+        when(transferManager.upload(any(PutObjectRequest.class))).thenReturn(mock(Upload.class));
+        return transferManager;
+    }
+
+    private File createFile(File parent, String path, String contents) throws IOException {
+        File file = new File(parent, path);
+        FileUtils.writeStringToFile(file, contents, UTF_8);
+        return file;
+    }
+}
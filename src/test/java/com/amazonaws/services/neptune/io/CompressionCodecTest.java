@@ -0,0 +1,79 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.io;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.*;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.assertEquals;
+
+public class CompressionCodecTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldDetectCodecFromFileExtension() {
+        assertEquals(CompressionCodec.gzip, CompressionCodec.forFile(new File("nodes-1.csv.gz")));
+        assertEquals(CompressionCodec.none, CompressionCodec.forFile(new File("nodes-1.csv")));
+    }
+
+    @Test
+    public void shouldRemoveCompressionExtensionOnly() {
+        assertEquals("nodes-1.csv", CompressionCodec.removeExtension("nodes-1.csv.gz"));
+        assertEquals("nodes-1.csv", CompressionCodec.removeExtension("nodes-1.csv"));
+    }
+
+    @Test
+    public void shouldReadWhatWasWrittenForEachCodec() throws IOException {
+        for (CompressionCodec codec : CompressionCodec.values()) {
+            File file = new File(folder.getRoot(), "file.csv" + codec.extension());
+
+            try (Writer writer = codec.newWriter(file, 16)) {
+                writer.write("a,b,c\n1,2,3\n");
+            }
+
+            try (Reader reader = CompressionCodec.newReader(file)) {
+                assertEquals("a,b,c\n1,2,3\n", IOUtils.toString(reader));
+            }
+        }
+    }
+
+    @Test
+    public void filesTargetShouldWriteGzipFileWhenCompressionEnabled() throws Exception {
+        FileConfig fileConfig = new FileConfig(
+                FileConfig.DEFAULT_BUFFER_SIZE,
+                CommitPolicy.EVERY_COMMIT,
+                OutputFileListener.NULL_LISTENER,
+                CompressionCodec.gzip);
+
+        File expectedFile = new File(folder.getRoot(), "nodes-1.csv.gz");
+
+        try (OutputWriter writer = Target.files.createOutputWriter(
+                () -> new File(folder.getRoot(), "nodes-1.csv").toPath(), null, fileConfig)) {
+            assertEquals(expectedFile.getAbsolutePath(), writer.outputId());
+            writer.startCommit();
+            writer.print("1,person\n");
+            writer.endCommit();
+        }
+
+        try (InputStream in = new GZIPInputStream(new FileInputStream(expectedFile))) {
+            assertEquals("1,person\n", IOUtils.toString(in));
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.io;
+
+import com.amazonaws.services.kinesis.producer.IKinesisProducer;
+import com.amazonaws.services.kinesis.producer.Metric;
+import com.amazonaws.services.kinesis.producer.UserRecord;
+import com.amazonaws.services.kinesis.producer.UserRecordResult;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records the user records added to it, instead of sending them to Kinesis, and completes each one immediately.
+ */
+class FakeKinesisProducer implements IKinesisProducer {
+
+    private final List<String> records = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> partitionKeys = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger flushCount = new AtomicInteger();
+
+    List<String> records() {
+        synchronized (records) {
+            return new ArrayList<>(records);
+        }
+    }
+
+    List<String> partitionKeys() {
+        synchronized (partitionKeys) {
+            return new ArrayList<>(partitionKeys);
+        }
+    }
+
+    int flushCount() {
+        return flushCount.get();
+    }
+
+    protected void beforeAdd(String record) {
+        // Do nothing
+    }
+
+    @Override
+    public ListenableFuture<UserRecordResult> addUserRecord(String stream, String partitionKey, ByteBuffer data) {
+        return addUserRecord(stream, partitionKey, null, data);
+    }
+
+    @Override
+    public ListenableFuture<UserRecordResult> addUserRecord(UserRecord userRecord) {
+        return addUserRecord(userRecord.getStreamName(), userRecord.getPartitionKey(), userRecord.getExplicitHashKey(), userRecord.getData());
+    }
+
+    @Override
+    public ListenableFuture<UserRecordResult> addUserRecord(String stream, String partitionKey, String explicitHashKey, ByteBuffer data) {
+        byte[] bytes = new byte[data.remaining()];
+        data.get(bytes);
+        String record = new String(bytes, StandardCharsets.UTF_8);
+        beforeAdd(record);
+        records.add(record);
+        partitionKeys.add(partitionKey);
+        return Futures.immediateFuture(new UserRecordResult(Collections.emptyList(), "1", "shard-1", true));
+    }
+
+    @Override
+    public int getOutstandingRecordsCount() {
+        return 0;
+    }
+
+    @Override
+    public List<Metric> getMetrics(String metricName, int windowSeconds) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<Metric> getMetrics(String metricName) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<Metric> getMetrics() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<Metric> getMetrics(int windowSeconds) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public void destroy() {
+        // Do nothing
+    }
+
+    @Override
+    public void flush(String stream) {
+        flushCount.incrementAndGet();
+    }
+
+    @Override
+    public void flush() {
+        flushCount.incrementAndGet();
+    }
+
+    @Override
+    public void flushSync() {
+        flushCount.incrementAndGet();
+    }
+}
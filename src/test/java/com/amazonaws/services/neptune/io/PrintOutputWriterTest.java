@@ -0,0 +1,112 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.io;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+public class PrintOutputWriterTest {
+
+    @Test
+    public void shouldFlushOnEveryCommitByDefault() {
+        FlushCountingWriter out = new FlushCountingWriter();
+
+        try (PrintOutputWriter writer = new PrintOutputWriter("test", out)) {
+            commitRecords(writer, 10);
+            assertEquals(10, out.flushCount);
+        }
+    }
+
+    @Test
+    public void shouldOnlyFlushWhenThresholdExceeded() {
+        FlushCountingWriter out = new FlushCountingWriter();
+
+        try (PrintOutputWriter writer = new PrintOutputWriter("test", true, out, new CommitPolicy(20, Long.MAX_VALUE))) {
+            // Each record is 7 characters, so the threshold is crossed every third record
+            commitRecords(writer, 10);
+            assertEquals(3, out.flushCount);
+        }
+    }
+
+    @Test
+    public void shouldFlushWhenIntervalExceeded() throws InterruptedException {
+        FlushCountingWriter out = new FlushCountingWriter();
+
+        try (PrintOutputWriter writer = new PrintOutputWriter("test", true, out, new CommitPolicy(Long.MAX_VALUE, 10))) {
+            commitRecords(writer, 1);
+            assertEquals(0, out.flushCount);
+
+            Thread.sleep(20);
+
+            commitRecords(writer, 1);
+            assertEquals(1, out.flushCount);
+        }
+    }
+
+    @Test
+    public void shouldWriteAllContentOnClose() {
+        FlushCountingWriter out = new FlushCountingWriter();
+
+        PrintOutputWriter writer = new PrintOutputWriter("test", true, out, new CommitPolicy(Long.MAX_VALUE, Long.MAX_VALUE));
+        commitRecords(writer, 3);
+        writer.close();
+
+        assertEquals("record\nrecord\nrecord\n", out.toString());
+    }
+
+    @Test
+    public void shouldRejectNegativeCommitPolicyValues() {
+        assertThrows(IllegalArgumentException.class, () -> new CommitPolicy(-1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new CommitPolicy(0, -1));
+    }
+
+    @Test
+    public void shouldNotifyListenerOnceWhenClosed() {
+        List<File> closedFiles = new ArrayList<>();
+
+        PrintOutputWriter writer = new PrintOutputWriter("/tmp/test.csv", true, new StringWriter(), CommitPolicy.EVERY_COMMIT, closedFiles::add);
+        commitRecords(writer, 1);
+        writer.close();
+        writer.close();
+
+        assertEquals(1, closedFiles.size());
+        assertEquals(new File("/tmp/test.csv"), closedFiles.get(0));
+    }
+
+    private void commitRecords(PrintOutputWriter writer, int count) {
+        for (int i = 0; i < count; i++) {
+            writer.startCommit();
+            writer.print("record");
+            writer.print('\n');
+            writer.endCommit();
+        }
+    }
+
+    private static class FlushCountingWriter extends StringWriter {
+
+        private int flushCount = 0;
+
+        @Override
+        public void flush() {
+            flushCount++;
+            super.flush();
+        }
+    }
+}
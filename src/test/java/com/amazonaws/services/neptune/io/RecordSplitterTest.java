@@ -18,6 +18,7 @@ import com.fasterxml.jackson.databind.node.ArrayNode;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 import static org.junit.Assert.assertEquals;
@@ -108,6 +109,41 @@ public class RecordSplitterTest {
         assertStringCollections(testFixture.expectedOutputs(), records);
     }
 
+    @Test
+    public void shouldSplitUtf8EncodedRecords() throws IOException {
+        TestFixture testFixture = new TestFixture("t2.json", getClass());
+
+        RecordSplitter recordSplitter = new RecordSplitter(160, STRATEGY);
+        Collection<String> records = recordSplitter.split(testFixture.input().getBytes(StandardCharsets.UTF_8));
+
+        assertStringCollections(testFixture.expectedOutputs(), records);
+    }
+
+    @Test
+    public void shouldAddOpNumToEventsWithoutOne(){
+
+        RecordSplitter recordSplitter = new RecordSplitter(160, STRATEGY);
+        Collection<String> records = recordSplitter.split("[{\"eventId\":{\"commitNum\":1},\"data\":{\"stmt\":\"<s> <p> <o> .\\n\"},\"op\":\"ADD\"}]");
+
+        assertStringCollections(
+                Collections.singletonList("[{\"eventId\":{\"commitNum\":1,\"opNum\":1},\"data\":{\"stmt\":\"<s> <p> <o> .\\n\"},\"op\":\"ADD\"}]"),
+                records);
+    }
+
+    @Test
+    public void shouldReturnMalformedRecordUnchangedAndRecoverForNextRecord(){
+
+        RecordSplitter recordSplitter = new RecordSplitter(160, STRATEGY);
+
+        assertStringCollections(Collections.singletonList("[{\"a\":{\"b\":"), recordSplitter.split("[{\"a\":{\"b\":"));
+        assertStringCollections(Collections.singletonList("[{\"a\":1}]"), recordSplitter.split("[{\"a\":1}]"));
+    }
+
+    @Test
+    public void shouldSplitStringIntoSingleCharactersIfNoRoomLeft(){
+        assertStringCollections(Arrays.asList("a", "b", "c"), RecordSplitter.splitByLength("abc", 0));
+    }
+
     private void assertStringCollections(Collection<String> expectedOutputs, Collection<String> records) {
 
         String msg = String.format("Expected: %s\nActual: %s", expectedOutputs, records);
@@ -0,0 +1,89 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.io;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class StatusTest {
+
+    @Test
+    public void shouldCountUpdatesFromConcurrentThreads() throws InterruptedException {
+        Status status = new Status(StatusOutputFormat.Description);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            threads.add(new Thread(() -> {
+                for (int j = 0; j < 10000; j++) {
+                    status.update();
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(80000, status.count());
+    }
+
+    @Test
+    public void shouldPrintOneDotForEveryTenThousandUpdatesSinceLastReport() {
+        Status status = new Status(StatusOutputFormat.Dot);
+        status.halt();
+
+        PrintStream err = System.err;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(output));
+        try {
+            for (int i = 0; i < 25000; i++) {
+                status.update();
+            }
+            status.report();
+            for (int i = 0; i < 5000; i++) {
+                status.update();
+            }
+            status.report();
+            status.report();
+        } finally {
+            System.setErr(err);
+        }
+
+        assertEquals("...", output.toString());
+    }
+
+    @Test
+    public void shouldReportProgressSinceLastReportWhenHalted() {
+        Status status = new Status(StatusOutputFormat.Dot);
+
+        PrintStream err = System.err;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(output));
+        try {
+            for (int i = 0; i < 20000; i++) {
+                status.update();
+            }
+            status.halt();
+        } finally {
+            System.setErr(err);
+        }
+
+        assertEquals("..", output.toString());
+    }
+}
@@ -0,0 +1,231 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.io;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class StreamOutputWriterTest {
+
+    @Test
+    public void shouldPublishEachCommitAsARecordAndFlushStreamOnClose() throws Exception {
+        FakeKinesisProducer producer = new FakeKinesisProducer();
+        StreamPublisher publisher = new StreamPublisher(createStream(producer), 2, 4);
+
+        StreamOutputWriter writer = new StreamOutputWriter("nodes-1", publisher);
+        for (int i = 1; i <= 3; i++) {
+            writer.startCommit();
+            writer.startOp();
+            writer.print(String.format("{\"id\":\"v%s\"}", i));
+            writer.endOp();
+            writer.startOp();
+            writer.print(String.format("{\"id\":\"e%s\"}", i));
+            writer.endOp();
+            writer.endCommit();
+        }
+        writer.close();
+
+        assertEquals("nodes-1 [for stream test]", writer.outputId());
+        assertEquals(
+                Arrays.asList(
+                        "[{\"id\":\"v1\"},{\"id\":\"e1\"}]",
+                        "[{\"id\":\"v2\"},{\"id\":\"e2\"}]",
+                        "[{\"id\":\"v3\"},{\"id\":\"e3\"}]"),
+                producer.records().stream().sorted().collect(Collectors.toList()));
+        assertEquals(1, producer.flushCount());
+    }
+
+    @Test
+    public void shouldBlockWriterWhileQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        FakeKinesisProducer producer = new FakeKinesisProducer() {
+            @Override
+            protected void beforeAdd(String record) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        StreamPublisher publisher = new StreamPublisher(createStream(producer), 1, 1);
+        StreamOutputWriter writer = new StreamOutputWriter("nodes-1", publisher);
+
+        // The first record is taken by the publisher thread, the second fills the queue, and the third blocks
+        Thread thread = new Thread(() -> {
+            for (int i = 1; i <= 3; i++) {
+                writer.startCommit();
+                writer.startOp();
+                writer.print(String.format("{\"id\":\"v%s\"}", i));
+                writer.endCommit();
+            }
+            writer.close();
+        });
+        thread.start();
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (thread.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(Thread.State.WAITING, thread.getState());
+        assertEquals(0, producer.records().size());
+
+        release.countDown();
+        thread.join(TimeUnit.SECONDS.toMillis(5));
+
+        assertEquals(3, producer.records().size());
+        assertEquals(1, producer.flushCount());
+    }
+
+    @Test
+    public void shouldThrowExceptionOnCloseIfARecordCannotBePublished() throws Exception {
+        FakeKinesisProducer producer = new FakeKinesisProducer() {
+            @Override
+            protected void beforeAdd(String record) {
+                throw new IllegalArgumentException("Invalid record");
+            }
+        };
+        StreamPublisher publisher = new StreamPublisher(createStream(producer), 1, 4);
+        StreamOutputWriter writer = new StreamOutputWriter("nodes-1", publisher);
+
+        writer.startCommit();
+        writer.startOp();
+        writer.print("{\"id\":\"v1\"}");
+        writer.endCommit();
+
+        try {
+            writer.close();
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            assertEquals("Unable to publish all records to stream test", e.getMessage());
+            assertTrue(e.getCause() instanceof IllegalArgumentException);
+        }
+        assertEquals(0, producer.flushCount());
+    }
+
+    @Test
+    public void shouldStopPublisherThreadsWhenClosed() throws Exception {
+        FakeKinesisProducer producer = new FakeKinesisProducer();
+        StreamPublisher publisher = new StreamPublisher(createStream(producer), 2, 4);
+
+        StreamOutputWriter writer = new StreamOutputWriter("nodes-1", publisher);
+        writer.startCommit();
+        writer.startOp();
+        writer.print("{\"id\":\"v1\"}");
+        writer.endCommit();
+        writer.close();
+
+        assertTrue(publisher.isPublishing());
+
+        publisher.close();
+
+        assertFalse(publisher.isPublishing());
+        assertEquals(1, producer.records().size());
+
+        try {
+            publisher.newTracker().publish("{\"id\":\"v2\"}");
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            assertEquals("Stream publisher for stream test has been closed", e.getMessage());
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void shouldNotWaitForRecordWhoseSubmissionWasInterrupted() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        FakeKinesisProducer producer = new FakeKinesisProducer() {
+            @Override
+            protected void beforeAdd(String record) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        StreamPublisher publisher = new StreamPublisher(createStream(producer), 1, 1);
+        StreamPublisher.Tracker tracker = publisher.newTracker();
+
+        // The first record is taken by the publisher thread, the second fills the queue, and the third blocks
+        AtomicBoolean interrupted = new AtomicBoolean(false);
+        Thread thread = new Thread(() -> {
+            try {
+                for (int i = 1; i <= 3; i++) {
+                    tracker.publish(String.format("{\"id\":\"v%s\"}", i));
+                }
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+            }
+        });
+        thread.start();
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (thread.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        thread.interrupt();
+        thread.join();
+        release.countDown();
+
+        tracker.awaitPublished();
+
+        assertTrue(interrupted.get());
+        assertEquals(2, producer.records().size());
+
+        publisher.close();
+    }
+
+    @Test
+    public void shouldKeepPublishingAfterAnErrorIsThrown() throws Exception {
+        FakeKinesisProducer producer = new FakeKinesisProducer() {
+            @Override
+            protected void beforeAdd(String record) {
+                if (record.contains("v1")) {
+                    throw new AssertionError("Unexpected record");
+                }
+            }
+        };
+        StreamPublisher publisher = new StreamPublisher(createStream(producer), 1, 4);
+
+        StreamPublisher.Tracker tracker1 = publisher.newTracker();
+        tracker1.publish("{\"id\":\"v1\"}");
+        try {
+            tracker1.awaitPublished();
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getCause() instanceof AssertionError);
+        }
+
+        StreamPublisher.Tracker tracker2 = publisher.newTracker();
+        tracker2.publish("{\"id\":\"v2\"}");
+        tracker2.awaitPublished();
+
+        assertEquals(Arrays.asList("{\"id\":\"v2\"}"), producer.records());
+
+        publisher.close();
+    }
+
+    private static Stream createStream(FakeKinesisProducer producer) {
+        return new Stream(producer, "test", LargeStreamRecordHandlingStrategy.splitAndShred);
+    }
+}
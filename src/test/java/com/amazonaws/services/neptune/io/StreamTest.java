@@ -0,0 +1,136 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.io;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+public class StreamTest {
+
+    @Test
+    public void shouldPublishEachRecordWithNewPartitionKeyByDefault() {
+        FakeKinesisProducer producer = new FakeKinesisProducer();
+        Stream stream = new Stream(producer, "test", LargeStreamRecordHandlingStrategy.splitAndShred);
+
+        stream.publish("[{\"id\":\"v1\"}]");
+        stream.publish("[{\"id\":\"v1\"}]");
+        stream.flushRecords();
+
+        assertEquals(Arrays.asList("[{\"id\":\"v1\"}]", "[{\"id\":\"v1\"}]"), producer.records());
+        assertEquals(Arrays.asList("1", "2"), producer.partitionKeys());
+    }
+
+    @Test
+    public void shouldUseSamePartitionKeyForRecordsWithSameElementId() {
+        FakeKinesisProducer producer = new FakeKinesisProducer();
+        Stream stream = new Stream(producer, "test", LargeStreamRecordHandlingStrategy.splitAndShred, PartitionKeyStrategy.elementId, false);
+
+        stream.publish(record("v1", "name"));
+        stream.publish(record("v2", "name"));
+        stream.publish(record("v1", "age"));
+        stream.flushRecords();
+
+        List<String> partitionKeys = producer.partitionKeys();
+        assertEquals(3, partitionKeys.size());
+        assertEquals(partitionKeys.get(0), partitionKeys.get(2));
+        assertNotEquals(partitionKeys.get(0), partitionKeys.get(1));
+    }
+
+    @Test
+    public void shouldPackRecordsUpToMaxSize() {
+        FakeKinesisProducer producer = new FakeKinesisProducer();
+        Stream stream = new Stream(producer, "test", LargeStreamRecordHandlingStrategy.splitAndShred, PartitionKeyStrategy.counter, true, 20);
+
+        stream.publish("[{\"a\":1}]");
+        stream.publish("[{\"b\":2}]");
+        stream.publish("[{\"c\":3}]");
+        stream.flushRecords();
+
+        assertEquals(Arrays.asList("[{\"a\":1},{\"b\":2}]", "[{\"c\":3}]"), producer.records());
+        assertEquals(1, producer.flushCount());
+    }
+
+    @Test
+    public void shouldNotPackRecordsWithDifferentPartitionKeys() {
+        FakeKinesisProducer producer = new FakeKinesisProducer();
+        Stream stream = new Stream(producer, "test", LargeStreamRecordHandlingStrategy.splitAndShred, PartitionKeyStrategy.elementId, true);
+
+        stream.publish(record("v1", "name"));
+        stream.publish(record("v1", "age"));
+        stream.publish(record("v2", "name"));
+        stream.flushRecords();
+
+        List<String> records = producer.records();
+        assertEquals(2, records.size());
+        assertEquals(String.format("[%s,%s]", event("v1", "name"), event("v1", "age")), records.get(0));
+        assertEquals(String.format("[%s]", event("v2", "name")), records.get(1));
+        assertNotEquals(producer.partitionKeys().get(0), producer.partitionKeys().get(1));
+    }
+
+    @Test
+    public void shouldNotLoseRecordsPublishedConcurrently() throws Exception {
+        FakeKinesisProducer producer = new FakeKinesisProducer();
+        Stream stream = new Stream(producer, "test", LargeStreamRecordHandlingStrategy.splitAndShred, PartitionKeyStrategy.counter, true, 1000);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    stream.publish(String.format("[{\"id\":\"%s-%s\"}]", thread, i));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        stream.flushRecords();
+
+        HashSet<String> ids = new HashSet<>();
+        for (String record : producer.records()) {
+            for (String event : record.substring(1, record.length() - 1).split(",")) {
+                ids.add(event);
+            }
+        }
+        assertEquals(4000, ids.size());
+    }
+
+    @Test
+    public void shouldReturnElementIdOfFirstEventOrSubjectOfFirstStatement() {
+        assertEquals("v1", PartitionKeyStrategy.elementIdOf(String.format("[%s,%s]", event("v1", "name"), event("v2", "name"))));
+        assertEquals("<http://example.org/s>", PartitionKeyStrategy.elementIdOf(
+                "[{\"eventId\":{\"commitNum\":-1,\"opNum\":0},\"data\":{\"stmt\":\"<http://example.org/s> <http://example.org/p> \\\"o\\\" .\\n\"},\"op\":\"ADD\"}]"));
+        assertNull(PartitionKeyStrategy.elementIdOf("not json"));
+    }
+
+    private static String record(String id, String key) {
+        return String.format("[%s]", event(id, key));
+    }
+
+    private static String event(String id, String key) {
+        return String.format("{\"eventId\":{\"commitNum\":-1,\"opNum\":0},\"data\":{\"id\":\"%s\",\"type\":\"vp\",\"key\":\"%s\",\"value\":{\"value\":\"x\",\"dataType\":\"String\"}},\"op\":\"ADD\"}", id, key);
+    }
+}
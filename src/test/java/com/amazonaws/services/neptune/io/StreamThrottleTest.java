@@ -0,0 +1,57 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.io;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class StreamThrottleTest {
+
+    @Test
+    public void shouldBlockWhileOutstandingRecordsExceedHighWatermarkUntilRecordsComplete() throws Exception {
+        StreamThrottle throttle = new StreamThrottle();
+
+        // A window of ten 500 KB records limits the number of outstanding records to 20
+        for (int i = 0; i < 10; i++) {
+            throttle.recalculateMaxBufferSize(500000);
+        }
+        for (int i = 0; i < 22; i++) {
+            throttle.recordAdded();
+        }
+
+        CountDownLatch resumed = new CountDownLatch(1);
+        Thread thread = new Thread(() -> {
+            try {
+                throttle.throttle();
+                resumed.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        thread.start();
+
+        assertFalse(resumed.await(200, TimeUnit.MILLISECONDS));
+
+        throttle.recordCompleted();
+        throttle.recordCompleted();
+
+        assertTrue(resumed.await(5, TimeUnit.SECONDS));
+        assertEquals(20, throttle.outstandingRecords());
+    }
+}
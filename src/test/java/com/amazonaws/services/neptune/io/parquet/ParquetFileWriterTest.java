@@ -0,0 +1,172 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.io.parquet;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class ParquetFileWriterTest {
+
+    private TemporaryFolder tempFolder;
+
+    @Before
+    public void setUp() throws IOException {
+        tempFolder = new TemporaryFolder();
+        tempFolder.create();
+    }
+
+    @After
+    public void tearDown() {
+        tempFolder.delete();
+    }
+
+    @Test
+    public void shouldWriteValuesOfEachType() throws Exception {
+        File file = write(false, 1024 * 1024, 3);
+
+        ParquetTestReader reader = new ParquetTestReader(file);
+
+        assertEquals(Arrays.asList("id", "labels", "flag", "count", "total", "ratio", "score", "note"), reader.columnNames());
+        assertEquals(1, reader.rowGroupCount());
+        assertEquals(3, reader.rows().size());
+
+        Map<String, Object> row = reader.rows().get(1);
+        assertEquals("id-1", row.get("id"));
+        assertEquals(Arrays.asList("a", "b"), row.get("labels"));
+        assertEquals(false, row.get("flag"));
+        assertEquals(-1, row.get("count"));
+        assertEquals(Long.MAX_VALUE - 1, row.get("total"));
+        assertEquals(0.5f, row.get("ratio"));
+        assertEquals(-2.25, row.get("score"));
+        assertEquals("note é 1", row.get("note"));
+
+        Map<String, Object> rowWithNulls = reader.rows().get(0);
+        assertEquals(Collections.emptyList(), rowWithNulls.get("labels"));
+        assertNull(rowWithNulls.get("note"));
+
+        assertEquals(0, reader.repetition("id"));
+        assertEquals(2, reader.repetition("labels"));
+        assertEquals(1, reader.repetition("note"));
+        assertEquals(Integer.valueOf(0), reader.convertedType("note"));
+        assertNull(reader.convertedType("count"));
+    }
+
+    @Test
+    public void shouldDictionaryEncodeColumnsWithRepeatedValues() throws Exception {
+        File file = write(false, 1024 * 1024, 100);
+
+        ParquetTestReader reader = new ParquetTestReader(file);
+
+        assertTrue(reader.encodings("labels").contains(ParquetColumn.ENCODING_PLAIN_DICTIONARY));
+        assertFalse(reader.encodings("id").contains(ParquetColumn.ENCODING_PLAIN_DICTIONARY));
+        for (int i = 0; i < 100; i++) {
+            Map<String, Object> row = reader.rows().get(i);
+            assertEquals(labels(i), row.get("labels"));
+        }
+    }
+
+    @Test
+    public void shouldStartNewRowGroupWhenRowGroupSizeIsReached() throws Exception {
+        File file = write(false, 200, 100);
+
+        ParquetTestReader reader = new ParquetTestReader(file);
+
+        assertTrue(reader.rowGroupCount() > 1);
+        assertEquals(100, reader.rows().size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals("id-" + i, reader.rows().get(i).get("id"));
+            assertEquals(i == 1 ? Long.valueOf(Long.MAX_VALUE - 1) : i % 3 == 0 ? null : Long.valueOf(i * 10L), reader.rows().get(i).get("total"));
+        }
+    }
+
+    @Test
+    public void shouldCompressPagesWithGzip() throws Exception {
+        File uncompressed = write(false, 1024 * 1024, 1000);
+        File compressed = write(true, 1024 * 1024, 1000);
+
+        ParquetTestReader reader = new ParquetTestReader(compressed);
+
+        assertEquals(2, reader.codec("id"));
+        assertTrue(compressed.length() < uncompressed.length());
+        assertEquals(new ParquetTestReader(uncompressed).rows(), reader.rows());
+    }
+
+    @Test
+    public void shouldWriteEmptyFile() throws Exception {
+        File file = write(false, 1024, 0);
+
+        ParquetTestReader reader = new ParquetTestReader(file);
+
+        assertEquals(0, reader.rowGroupCount());
+        assertTrue(reader.rows().isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectMissingValueForRequiredColumn() {
+        new ParquetColumn("id", ParquetColumn.Type.BYTE_ARRAY, ParquetColumn.Repetition.REQUIRED, ParquetColumn.ConvertedType.UTF8, false)
+                .write(null);
+    }
+
+    private File write(boolean gzip, long rowGroupSize, int rowCount) throws Exception {
+        File file = new File(tempFolder.getRoot(), String.format("test-%s-%s-%s.parquet", gzip, rowGroupSize, rowCount));
+
+        List<ParquetColumn> columns = Arrays.asList(
+                new ParquetColumn("id", ParquetColumn.Type.BYTE_ARRAY, ParquetColumn.Repetition.REQUIRED, ParquetColumn.ConvertedType.UTF8, false),
+                new ParquetColumn("labels", ParquetColumn.Type.BYTE_ARRAY, ParquetColumn.Repetition.REPEATED, ParquetColumn.ConvertedType.UTF8, true),
+                new ParquetColumn("flag", ParquetColumn.Type.BOOLEAN, ParquetColumn.Repetition.OPTIONAL, ParquetColumn.ConvertedType.NONE, false),
+                new ParquetColumn("count", ParquetColumn.Type.INT32, ParquetColumn.Repetition.OPTIONAL, ParquetColumn.ConvertedType.NONE, false),
+                new ParquetColumn("total", ParquetColumn.Type.INT64, ParquetColumn.Repetition.OPTIONAL, ParquetColumn.ConvertedType.NONE, false),
+                new ParquetColumn("ratio", ParquetColumn.Type.FLOAT, ParquetColumn.Repetition.OPTIONAL, ParquetColumn.ConvertedType.NONE, false),
+                new ParquetColumn("score", ParquetColumn.Type.DOUBLE, ParquetColumn.Repetition.OPTIONAL, ParquetColumn.ConvertedType.NONE, false),
+                new ParquetColumn("note", ParquetColumn.Type.BYTE_ARRAY, ParquetColumn.Repetition.OPTIONAL, ParquetColumn.ConvertedType.UTF8, false));
+
+        try (ParquetFileWriter writer = new ParquetFileWriter(new FileOutputStream(file), columns, rowGroupSize, gzip)) {
+            for (int i = 0; i < rowCount; i++) {
+                columns.get(0).write("id-" + i);
+                columns.get(1).write(labels(i));
+                columns.get(2).write(i % 2 == 0);
+                columns.get(3).write(i == 1 ? -1 : i);
+                columns.get(4).write(i == 1 ? Long.valueOf(Long.MAX_VALUE - 1) : i % 3 == 0 ? null : Long.valueOf(i * 10L));
+                columns.get(5).write(i * 0.5f);
+                columns.get(6).write(i == 1 ? -2.25 : i * 1.5);
+                columns.get(7).write(i % 2 == 0 ? null : "note é " + i);
+                writer.endRow();
+            }
+        }
+
+        return file;
+    }
+
+    private static List<String> labels(int i) {
+        switch (i % 3) {
+            case 0:
+                return Collections.emptyList();
+            case 1:
+                return Arrays.asList("a", "b");
+            default:
+                return Collections.singletonList("c");
+        }
+    }
+}
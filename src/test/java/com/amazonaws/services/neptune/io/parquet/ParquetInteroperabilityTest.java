@@ -0,0 +1,255 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.io.parquet;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.column.Encoding;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.ParquetReader;
+import org.apache.parquet.hadoop.example.GroupReadSupport;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.hadoop.util.HadoopInputFile;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType;
+import org.apache.parquet.schema.Type;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Reads files written by ParquetFileWriter with parquet-mr, rather than with ParquetTestReader, to check that
+ * other Parquet implementations can read them.
+ */
+public class ParquetInteroperabilityTest {
+
+    private TemporaryFolder tempFolder;
+
+    @Before
+    public void setUp() throws IOException {
+        tempFolder = new TemporaryFolder();
+        tempFolder.create();
+    }
+
+    @After
+    public void tearDown() {
+        tempFolder.delete();
+    }
+
+    @Test
+    public void shouldWriteSchemaReadableByParquetMr() throws Exception {
+        File file = write(false, 1024 * 1024, 10);
+
+        MessageType schema = readFooter(file).getFileMetaData().getSchema();
+
+        assertEquals(10, schema.getFieldCount());
+        assertPrimitiveField(schema.getType("id"), PrimitiveType.PrimitiveTypeName.BINARY, Type.Repetition.REQUIRED);
+        assertPrimitiveField(schema.getType("labels"), PrimitiveType.PrimitiveTypeName.BINARY, Type.Repetition.REPEATED);
+        assertPrimitiveField(schema.getType("flag"), PrimitiveType.PrimitiveTypeName.BOOLEAN, Type.Repetition.OPTIONAL);
+        assertPrimitiveField(schema.getType("count"), PrimitiveType.PrimitiveTypeName.INT32, Type.Repetition.OPTIONAL);
+        assertPrimitiveField(schema.getType("total"), PrimitiveType.PrimitiveTypeName.INT64, Type.Repetition.OPTIONAL);
+        assertPrimitiveField(schema.getType("ratio"), PrimitiveType.PrimitiveTypeName.FLOAT, Type.Repetition.OPTIONAL);
+        assertPrimitiveField(schema.getType("score"), PrimitiveType.PrimitiveTypeName.DOUBLE, Type.Repetition.OPTIONAL);
+        assertPrimitiveField(schema.getType("note"), PrimitiveType.PrimitiveTypeName.BINARY, Type.Repetition.OPTIONAL);
+        assertPrimitiveField(schema.getType("small"), PrimitiveType.PrimitiveTypeName.INT32, Type.Repetition.OPTIONAL);
+        assertPrimitiveField(schema.getType("created"), PrimitiveType.PrimitiveTypeName.INT64, Type.Repetition.OPTIONAL);
+
+        assertEquals(LogicalTypeAnnotation.stringType(), schema.getType("id").getLogicalTypeAnnotation());
+        assertEquals(LogicalTypeAnnotation.intType(8, true), schema.getType("small").getLogicalTypeAnnotation());
+        assertEquals(
+                LogicalTypeAnnotation.timestampType(true, LogicalTypeAnnotation.TimeUnit.MILLIS),
+                schema.getType("created").getLogicalTypeAnnotation());
+        assertNull(schema.getType("count").getLogicalTypeAnnotation());
+    }
+
+    @Test
+    public void shouldWriteValuesReadableByParquetMr() throws Exception {
+        File file = write(false, 1024 * 1024, 100);
+
+        assertRowsReadableByParquetMr(file, 100);
+    }
+
+    @Test
+    public void shouldWriteColumnChunkMetadataReadableByParquetMr() throws Exception {
+        File file = write(false, 1024 * 1024, 100);
+
+        ParquetMetadata footer = readFooter(file);
+
+        assertEquals(1, footer.getBlocks().size());
+        assertEquals(100, footer.getBlocks().get(0).getRowCount());
+        assertEquals("neptune-export", footer.getFileMetaData().getCreatedBy());
+
+        ColumnChunkMetaData labels = columnChunk(footer, 0, "labels");
+        assertTrue(labels.hasDictionaryPage());
+        assertTrue(labels.getEncodings().containsAll(Arrays.asList(Encoding.PLAIN, Encoding.PLAIN_DICTIONARY, Encoding.RLE)));
+
+        ColumnChunkMetaData id = columnChunk(footer, 0, "id");
+        assertFalse(id.hasDictionaryPage());
+        assertTrue(id.getEncodings().containsAll(Arrays.asList(Encoding.PLAIN, Encoding.RLE)));
+        assertFalse(id.getEncodings().contains(Encoding.PLAIN_DICTIONARY));
+        assertEquals(CompressionCodecName.UNCOMPRESSED, id.getCodec());
+    }
+
+    @Test
+    public void shouldWriteGzipCompressedPagesReadableByParquetMr() throws Exception {
+        File file = write(true, 1024 * 1024, 1000);
+
+        assertEquals(CompressionCodecName.GZIP, columnChunk(readFooter(file), 0, "labels").getCodec());
+        assertRowsReadableByParquetMr(file, 1000);
+    }
+
+    @Test
+    public void shouldWriteMultipleRowGroupsReadableByParquetMr() throws Exception {
+        File file = write(false, 200, 100);
+
+        ParquetMetadata footer = readFooter(file);
+
+        assertTrue(footer.getBlocks().size() > 1);
+        long rowCount = 0;
+        for (int i = 0; i < footer.getBlocks().size(); i++) {
+            rowCount += footer.getBlocks().get(i).getRowCount();
+        }
+        assertEquals(100, rowCount);
+        assertRowsReadableByParquetMr(file, 100);
+    }
+
+    @Test
+    public void shouldWriteEmptyFileReadableByParquetMr() throws Exception {
+        File file = write(false, 1024, 0);
+
+        assertTrue(readFooter(file).getBlocks().isEmpty());
+        assertRowsReadableByParquetMr(file, 0);
+    }
+
+    private void assertRowsReadableByParquetMr(File file, int expectedRowCount) throws IOException {
+        List<Group> rows = new ArrayList<>();
+        try (ParquetReader<Group> reader = ParquetReader.builder(new GroupReadSupport(), new Path(file.toURI())).build()) {
+            Group row;
+            while ((row = reader.read()) != null) {
+                rows.add(row);
+            }
+        }
+
+        assertEquals(expectedRowCount, rows.size());
+
+        for (int i = 0; i < rows.size(); i++) {
+            Group row = rows.get(i);
+
+            assertEquals("id-" + i, row.getString("id", 0));
+
+            List<String> labels = new ArrayList<>();
+            for (int j = 0; j < row.getFieldRepetitionCount("labels"); j++) {
+                labels.add(row.getString("labels", j));
+            }
+            assertEquals(labels(i), labels);
+
+            assertEquals(i % 2 == 0, row.getBoolean("flag", 0));
+            assertEquals(i == 1 ? -1 : i, row.getInteger("count", 0));
+            if (i % 3 == 0) {
+                assertEquals(0, row.getFieldRepetitionCount("total"));
+            } else {
+                assertEquals(i == 1 ? Long.MAX_VALUE - 1 : i * 10L, row.getLong("total", 0));
+            }
+            assertEquals(i * 0.5f, row.getFloat("ratio", 0), 0.0f);
+            assertEquals(i == 1 ? -2.25 : i * 1.5, row.getDouble("score", 0), 0.0);
+            if (i % 2 == 0) {
+                assertEquals(0, row.getFieldRepetitionCount("note"));
+            } else {
+                assertEquals("note é " + i, row.getString("note", 0));
+            }
+            assertEquals(i % 128, row.getInteger("small", 0));
+            assertEquals(1600000000000L + i, row.getLong("created", 0));
+        }
+    }
+
+    private static void assertPrimitiveField(Type field, PrimitiveType.PrimitiveTypeName typeName, Type.Repetition repetition) {
+        assertTrue(field.isPrimitive());
+        assertEquals(typeName, field.asPrimitiveType().getPrimitiveTypeName());
+        assertEquals(repetition, field.getRepetition());
+    }
+
+    private static ParquetMetadata readFooter(File file) throws IOException {
+        try (ParquetFileReader reader = ParquetFileReader.open(HadoopInputFile.fromPath(new Path(file.toURI()), new Configuration()))) {
+            return reader.getFooter();
+        }
+    }
+
+    private static ColumnChunkMetaData columnChunk(ParquetMetadata footer, int rowGroup, String column) {
+        for (ColumnChunkMetaData chunk : footer.getBlocks().get(rowGroup).getColumns()) {
+            if (chunk.getPath().toDotString().equals(column)) {
+                return chunk;
+            }
+        }
+        throw new IllegalArgumentException(String.format("No column chunk for %s", column));
+    }
+
+    private File write(boolean gzip, long rowGroupSize, int rowCount) throws Exception {
+        File file = new File(tempFolder.getRoot(), String.format("test-%s-%s-%s.parquet", gzip, rowGroupSize, rowCount));
+
+        List<ParquetColumn> columns = Arrays.asList(
+                new ParquetColumn("id", ParquetColumn.Type.BYTE_ARRAY, ParquetColumn.Repetition.REQUIRED, ParquetColumn.ConvertedType.UTF8, false),
+                new ParquetColumn("labels", ParquetColumn.Type.BYTE_ARRAY, ParquetColumn.Repetition.REPEATED, ParquetColumn.ConvertedType.UTF8, true),
+                new ParquetColumn("flag", ParquetColumn.Type.BOOLEAN, ParquetColumn.Repetition.OPTIONAL, ParquetColumn.ConvertedType.NONE, false),
+                new ParquetColumn("count", ParquetColumn.Type.INT32, ParquetColumn.Repetition.OPTIONAL, ParquetColumn.ConvertedType.NONE, false),
+                new ParquetColumn("total", ParquetColumn.Type.INT64, ParquetColumn.Repetition.OPTIONAL, ParquetColumn.ConvertedType.NONE, false),
+                new ParquetColumn("ratio", ParquetColumn.Type.FLOAT, ParquetColumn.Repetition.OPTIONAL, ParquetColumn.ConvertedType.NONE, false),
+                new ParquetColumn("score", ParquetColumn.Type.DOUBLE, ParquetColumn.Repetition.OPTIONAL, ParquetColumn.ConvertedType.NONE, false),
+                new ParquetColumn("note", ParquetColumn.Type.BYTE_ARRAY, ParquetColumn.Repetition.OPTIONAL, ParquetColumn.ConvertedType.UTF8, false),
+                new ParquetColumn("small", ParquetColumn.Type.INT32, ParquetColumn.Repetition.OPTIONAL, ParquetColumn.ConvertedType.INT_8, false),
+                new ParquetColumn("created", ParquetColumn.Type.INT64, ParquetColumn.Repetition.OPTIONAL, ParquetColumn.ConvertedType.TIMESTAMP_MILLIS, false));
+
+        try (ParquetFileWriter writer = new ParquetFileWriter(new FileOutputStream(file), columns, rowGroupSize, gzip)) {
+            for (int i = 0; i < rowCount; i++) {
+                columns.get(0).write("id-" + i);
+                columns.get(1).write(labels(i));
+                columns.get(2).write(i % 2 == 0);
+                columns.get(3).write(i == 1 ? -1 : i);
+                columns.get(4).write(i == 1 ? Long.valueOf(Long.MAX_VALUE - 1) : i % 3 == 0 ? null : Long.valueOf(i * 10L));
+                columns.get(5).write(i * 0.5f);
+                columns.get(6).write(i == 1 ? -2.25 : i * 1.5);
+                columns.get(7).write(i % 2 == 0 ? null : "note é " + i);
+                columns.get(8).write(i % 128);
+                columns.get(9).write(1600000000000L + i);
+                writer.endRow();
+            }
+        }
+
+        return file;
+    }
+
+    private static List<String> labels(int i) {
+        switch (i % 3) {
+            case 0:
+                return Collections.emptyList();
+            case 1:
+                return Arrays.asList("a", "b");
+            default:
+                return Collections.singletonList("c");
+        }
+    }
+}
@@ -0,0 +1,347 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.io.parquet;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Minimal Parquet reader for tests: decodes the flat files written by ParquetFileWriter.
+ */
+public class ParquetTestReader {
+
+    private final List<String> columnNames = new ArrayList<>();
+    private final Map<String, Map<Integer, Object>> schemaElements = new HashMap<>();
+    private final List<Map<String, Object>> rows = new ArrayList<>();
+    private final int rowGroupCount;
+    private final Map<String, Integer> codecs = new HashMap<>();
+    private final Map<String, Set<Integer>> encodings = new HashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public ParquetTestReader(File file) throws IOException {
+        byte[] bytes = FileUtils.readFileToByteArray(file);
+
+        if (!new String(bytes, 0, 4, StandardCharsets.US_ASCII).equals("PAR1") ||
+                !new String(bytes, bytes.length - 4, 4, StandardCharsets.US_ASCII).equals("PAR1")) {
+            throw new IllegalStateException("Not a Parquet file: " + file);
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        int footerLength = buffer.getInt(bytes.length - 8);
+        seek(buffer, bytes.length - 8 - footerLength);
+        Map<Integer, Object> fileMetadata = readStruct(buffer);
+
+        List<Object> schema = (List<Object>) fileMetadata.get(2);
+        for (Object o : schema.subList(1, schema.size())) {
+            Map<Integer, Object> element = (Map<Integer, Object>) o;
+            String name = new String((byte[]) element.get(4), StandardCharsets.UTF_8);
+            columnNames.add(name);
+            schemaElements.put(name, element);
+        }
+
+        long numRows = (Long) fileMetadata.get(3);
+        List<Object> rowGroups = (List<Object>) fileMetadata.get(4);
+        rowGroupCount = rowGroups.size();
+
+        for (Object rg : rowGroups) {
+            Map<Integer, Object> rowGroup = (Map<Integer, Object>) rg;
+            int rowGroupRows = ((Long) rowGroup.get(3)).intValue();
+            List<Map<String, Object>> groupRows = new ArrayList<>();
+            for (int i = 0; i < rowGroupRows; i++) {
+                groupRows.add(new LinkedHashMap<>());
+            }
+            List<Object> chunks = (List<Object>) rowGroup.get(1);
+            for (int i = 0; i < chunks.size(); i++) {
+                Map<Integer, Object> metadata = (Map<Integer, Object>) ((Map<Integer, Object>) chunks.get(i)).get(3);
+                String name = columnNames.get(i);
+                codecs.put(name, (Integer) metadata.get(4));
+                for (Object encoding : (List<Object>) metadata.get(2)) {
+                    encodings.computeIfAbsent(name, k -> new HashSet<>()).add((Integer) encoding);
+                }
+                readColumnChunk(bytes, name, metadata, groupRows);
+            }
+            rows.addAll(groupRows);
+        }
+
+        if (rows.size() != numRows) {
+            throw new IllegalStateException(String.format("Expected %s rows but read %s", numRows, rows.size()));
+        }
+    }
+
+    public List<String> columnNames() {
+        return columnNames;
+    }
+
+    public List<Map<String, Object>> rows() {
+        return rows;
+    }
+
+    public int rowGroupCount() {
+        return rowGroupCount;
+    }
+
+    public int type(String column) {
+        return (Integer) schemaElements.get(column).get(1);
+    }
+
+    public int repetition(String column) {
+        return (Integer) schemaElements.get(column).get(3);
+    }
+
+    public Integer convertedType(String column) {
+        return (Integer) schemaElements.get(column).get(6);
+    }
+
+    public int codec(String column) {
+        return codecs.get(column);
+    }
+
+    public Set<Integer> encodings(String column) {
+        return encodings.get(column);
+    }
+
+    private void readColumnChunk(byte[] bytes, String name, Map<Integer, Object> metadata, List<Map<String, Object>> groupRows) throws IOException {
+        int type = type(name);
+        int repetition = repetition(name);
+        int codec = (Integer) metadata.get(4);
+
+        List<Object> dictionary = null;
+        if (metadata.containsKey(11)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+            seek(buffer, ((Long) metadata.get(11)).intValue());
+            Map<Integer, Object> header = readStruct(buffer);
+            int numValues = (Integer) ((Map<?, ?>) header.get(7)).get(1);
+            ByteBuffer page = pageData(buffer, header, codec);
+            dictionary = readPlain(page, type, numValues);
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        seek(buffer, ((Long) metadata.get(9)).intValue());
+        Map<Integer, Object> header = readStruct(buffer);
+        int numLevels = (Integer) ((Map<?, ?>) header.get(5)).get(1);
+        ByteBuffer page = pageData(buffer, header, codec);
+
+        int[] repetitionLevels = repetition == 2 ? readLevels(page, numLevels) : new int[numLevels];
+        int[] definitionLevels = repetition != 0 ? readLevels(page, numLevels) : filled(numLevels);
+
+        int valueCount = 0;
+        for (int level : definitionLevels) {
+            valueCount += level;
+        }
+
+        List<Object> values;
+        if (dictionary != null) {
+            int bitWidth = page.get();
+            values = new ArrayList<>();
+            for (int index : readHybrid(page, bitWidth, valueCount)) {
+                values.add(dictionary.get(index));
+            }
+        } else {
+            values = readPlain(page, type, valueCount);
+        }
+
+        int row = -1;
+        int valueIndex = 0;
+        for (int i = 0; i < numLevels; i++) {
+            if (repetitionLevels[i] == 0) {
+                row++;
+            }
+            Object value = definitionLevels[i] == 1 ? values.get(valueIndex++) : null;
+            if (repetition == 2) {
+                @SuppressWarnings("unchecked")
+                List<Object> list = (List<Object>) groupRows.get(row).computeIfAbsent(name, k -> new ArrayList<>());
+                if (value != null) {
+                    list.add(value);
+                }
+            } else {
+                groupRows.get(row).put(name, value);
+            }
+        }
+    }
+
+    private ByteBuffer pageData(ByteBuffer buffer, Map<Integer, Object> header, int codec) throws IOException {
+        byte[] data = new byte[(Integer) header.get(3)];
+        buffer.get(data);
+        if (codec == 2) {
+            data = IOUtils.toByteArray(new GZIPInputStream(new ByteArrayInputStream(data)));
+        }
+        if (data.length != (Integer) header.get(2)) {
+            throw new IllegalStateException("Unexpected uncompressed page size");
+        }
+        return ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private int[] readLevels(ByteBuffer page, int count) {
+        int length = page.getInt();
+        ByteBuffer levels = page.slice();
+        ((Buffer) levels).limit(length);
+        seek(page, page.position() + length);
+        return readHybrid(levels, 1, count);
+    }
+
+    private int[] readHybrid(ByteBuffer buffer, int bitWidth, int count) {
+        int[] values = new int[count];
+        int i = 0;
+        while (i < count) {
+            int header = (int) readVarint(buffer);
+            if ((header & 1) == 0) {
+                int runLength = header >>> 1;
+                int value = 0;
+                for (int b = 0; b < (bitWidth + 7) / 8; b++) {
+                    value |= (buffer.get() & 0xFF) << (b * 8);
+                }
+                for (int j = 0; j < runLength && i < count; j++) {
+                    values[i++] = value;
+                }
+            } else {
+                int groups = header >>> 1;
+                byte[] packed = new byte[groups * bitWidth];
+                buffer.get(packed);
+                long bitPosition = 0;
+                for (int j = 0; j < groups * 8; j++) {
+                    int value = 0;
+                    for (int bit = 0; bit < bitWidth; bit++) {
+                        if ((packed[(int) (bitPosition >>> 3)] & (1 << (bitPosition & 7))) != 0) {
+                            value |= 1 << bit;
+                        }
+                        bitPosition++;
+                    }
+                    if (i < count) {
+                        values[i++] = value;
+                    }
+                }
+            }
+        }
+        return values;
+    }
+
+    private List<Object> readPlain(ByteBuffer buffer, int type, int count) {
+        List<Object> values = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            switch (type) {
+                case 0:
+                    values.add((buffer.get(buffer.position() + i / 8) & (1 << (i % 8))) != 0);
+                    break;
+                case 1:
+                    values.add(buffer.getInt());
+                    break;
+                case 2:
+                    values.add(buffer.getLong());
+                    break;
+                case 4:
+                    values.add(buffer.getFloat());
+                    break;
+                case 5:
+                    values.add(buffer.getDouble());
+                    break;
+                case 6:
+                    byte[] bytes = new byte[buffer.getInt()];
+                    buffer.get(bytes);
+                    values.add(new String(bytes, StandardCharsets.UTF_8));
+                    break;
+                default:
+                    throw new IllegalStateException("Unsupported type: " + type);
+            }
+        }
+        if (type == 0) {
+            seek(buffer, buffer.position() + (count + 7) / 8);
+        }
+        return values;
+    }
+
+    private static void seek(ByteBuffer buffer, int position) {
+        // Cast so that classes compiled on newer JDKs still run on Java 8
+        ((Buffer) buffer).position(position);
+    }
+
+    private static int[] filled(int count) {
+        int[] levels = new int[count];
+        Arrays.fill(levels, 1);
+        return levels;
+    }
+
+    private static Map<Integer, Object> readStruct(ByteBuffer buffer) {
+        Map<Integer, Object> struct = new HashMap<>();
+        int lastFieldId = 0;
+        while (true) {
+            int header = buffer.get() & 0xFF;
+            if (header == 0) {
+                return struct;
+            }
+            int type = header & 0x0F;
+            int delta = header >>> 4;
+            int fieldId = delta != 0 ? lastFieldId + delta : (int) zigzag(readVarint(buffer));
+            struct.put(fieldId, readValue(buffer, type));
+            lastFieldId = fieldId;
+        }
+    }
+
+    private static Object readValue(ByteBuffer buffer, int type) {
+        switch (type) {
+            case 1:
+                return true;
+            case 2:
+                return false;
+            case 5:
+                return (int) zigzag(readVarint(buffer));
+            case 6:
+                return zigzag(readVarint(buffer));
+            case 8:
+                byte[] bytes = new byte[(int) readVarint(buffer)];
+                buffer.get(bytes);
+                return bytes;
+            case 9:
+                int header = buffer.get() & 0xFF;
+                int size = header >>> 4;
+                if (size == 15) {
+                    size = (int) readVarint(buffer);
+                }
+                List<Object> list = new ArrayList<>();
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(buffer, header & 0x0F));
+                }
+                return list;
+            case 12:
+                return readStruct(buffer);
+            default:
+                throw new IllegalStateException("Unsupported Thrift type: " + type);
+        }
+    }
+
+    private static long readVarint(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        while (true) {
+            int b = buffer.get() & 0xFF;
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+            shift += 7;
+        }
+    }
+
+    private static long zigzag(long n) {
+        return (n >>> 1) ^ -(n & 1);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.metrics;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MetricsRegistryTest {
+
+    @Test
+    public void shouldReturnSameCounterForSameNameAndLabels() {
+        MetricsRegistry registry = new MetricsRegistry();
+
+        registry.counter("elements_total", "label", "person").add(2);
+        registry.counter("elements_total", "label", "person").increment();
+        registry.counter("elements_total", "label", "software").increment();
+
+        assertEquals(3, registry.counter("elements_total", "label", "person").value());
+        assertEquals(1, registry.counter("elements_total", "label", "software").value());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowExceptionIfLabelsAreNotKeyValuePairs() {
+        new MetricsRegistry().counter("elements_total", "label");
+    }
+
+    @Test
+    public void shouldCalculateApproximateQuantilesFromBuckets() {
+        Histogram histogram = new MetricsRegistry().latencyHistogram("latency_ms");
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i < 95 ? 20 : 4000);
+        }
+
+        assertEquals(100, histogram.count());
+        assertEquals(94 * 20 + 6 * 4000, histogram.sum());
+        assertEquals(4000, histogram.max());
+        assertEquals(25, histogram.quantile(0.5));
+        assertEquals(4000, histogram.quantile(0.99));
+    }
+
+    @Test
+    public void shouldWriteMetricsInPrometheusTextFormat() {
+        MetricsRegistry registry = new MetricsRegistry();
+        AtomicLong openFiles = new AtomicLong(3);
+
+        registry.counter("elements_total", "type", "node", "label", "per\"son").add(5);
+        registry.gauge("open_files", openFiles::get);
+        registry.latencyHistogram("latency_ms").record(7);
+
+        String text = registry.toPrometheusText();
+
+        assertTrue(text, text.contains("# TYPE elements_total counter\nelements_total{type=\"node\",label=\"per\\\"son\"} 5\n"));
+        assertTrue(text, text.contains("# TYPE open_files gauge\nopen_files 3\n"));
+        assertTrue(text, text.contains("# TYPE latency_ms histogram\nlatency_ms_bucket{le=\"5\"} 0\nlatency_ms_bucket{le=\"10\"} 1\n"));
+        assertTrue(text, text.contains("latency_ms_bucket{le=\"+Inf\"} 1\nlatency_ms_sum 7\nlatency_ms_count 1\n"));
+    }
+
+    @Test
+    public void shouldWriteMetricsAsJson() {
+        MetricsRegistry registry = new MetricsRegistry();
+
+        registry.counter("elements_total", "label", "person").add(5);
+        registry.gauge("open_files", () -> 3);
+        registry.latencyHistogram("latency_ms").record(7);
+
+        ObjectNode json = registry.toJson();
+
+        assertEquals(5, json.path("counters").path("elements_total{label=\"person\"}").asLong());
+        assertEquals(3, json.path("gauges").path("open_files").asLong());
+        assertEquals(1, json.path("histograms").path("latency_ms").path("count").asLong());
+        assertEquals(7, json.path("histograms").path("latency_ms").path("p99").asLong());
+    }
+
+    @Test
+    public void shouldExposeMetricsThroughJmx() throws Exception {
+        MetricsRegistry registry = MetricsRegistry.global();
+        registry.clear();
+        try {
+            registry.counter("test_elements_total").add(42);
+            registry.registerMBean();
+
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            assertEquals(42L, server.getAttribute(new ObjectName(MetricsRegistry.OBJECT_NAME), "test_elements_total"));
+        } finally {
+            registry.clear();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.metrics;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertTrue;
+
+public class MetricsReporterTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void shouldWriteFormatBasedOnFileExtensionWhenClosed() throws Exception {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("elements_total").add(5);
+
+        Path jsonFile = temp.getRoot().toPath().resolve("metrics.json");
+        Path prometheusFile = temp.getRoot().toPath().resolve("metrics.prom");
+
+        new MetricsReporter(registry, jsonFile, 60).close();
+        new MetricsReporter(registry, prometheusFile, 60).close();
+
+        String json = new String(Files.readAllBytes(jsonFile), StandardCharsets.UTF_8);
+        String text = new String(Files.readAllBytes(prometheusFile), StandardCharsets.UTF_8);
+        assertTrue(json, json.contains("\"elements_total\" : 5"));
+        assertTrue(text, text.contains("elements_total 5\n"));
+    }
+}
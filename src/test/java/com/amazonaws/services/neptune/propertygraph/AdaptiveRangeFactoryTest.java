@@ -0,0 +1,152 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph;
+
+import com.amazonaws.services.neptune.cluster.ConcurrencyConfig;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AdaptiveRangeFactoryTest {
+
+    @Test
+    public void shouldStartWithInitialRangeSize() {
+        AdaptiveRangeFactory rangeFactory = createRangeFactory(1000, 1000000, 4);
+
+        assertEquals("range(0, 1000)", rangeFactory.nextRange().toString());
+        assertEquals("range(1000, 2000)", rangeFactory.nextRange().toString());
+    }
+
+    @Test
+    public void shouldGrowRangesWhenQueriesAreFasterThanTargetLatency() {
+        AdaptiveRangeFactory rangeFactory = createRangeFactory(1000, 1000000, 4);
+
+        // 1000 items in 100 ms -> 10000 items would meet the 1000 ms target, but growth is limited to 2x
+        rangeFactory.rangeCompleted(rangeFactory.nextRange(), 1000, 100);
+        assertEquals(2000, rangeFactory.rangeSize());
+
+        rangeFactory.rangeCompleted(rangeFactory.nextRange(), 2000, 200);
+        assertEquals(4000, rangeFactory.rangeSize());
+
+        Range range = rangeFactory.nextRange();
+        assertEquals("range(3000, 7000)", range.toString());
+    }
+
+    @Test
+    public void shouldShrinkRangesWhenQueriesAreSlowerThanTargetLatency() {
+        AdaptiveRangeFactory rangeFactory = createRangeFactory(1000, 1000000, 4);
+
+        rangeFactory.rangeCompleted(rangeFactory.nextRange(), 1000, 1600);
+        assertEquals(625, rangeFactory.rangeSize());
+
+        // Observed throughput is smoothed: (0.5 * 0.0625) + (0.5 * 0.625) items/ms
+        rangeFactory.rangeCompleted(rangeFactory.nextRange(), 625, 10000);
+        assertEquals(343, rangeFactory.rangeSize());
+    }
+
+    @Test
+    public void shouldNotResizeRangesForEmptyResults() {
+        AdaptiveRangeFactory rangeFactory = createRangeFactory(1000, 1000000, 4);
+
+        rangeFactory.rangeCompleted(rangeFactory.nextRange(), 0, 5);
+
+        assertEquals(1000, rangeFactory.rangeSize());
+        assertEquals(0L, (long) rangeFactory.metrics().get("resizes"));
+    }
+
+    @Test
+    public void shouldSplitRemainingWorkBetweenWorkers() {
+        AdaptiveRangeFactory rangeFactory = createRangeFactory(1000, 6000, 4);
+
+        assertEquals("range(0, 1000)", rangeFactory.nextRange().toString());
+        assertEquals("range(1000, 2000)", rangeFactory.nextRange().toString());
+
+        // 4000 remaining <= 4 workers * 1000, so the remainder is divided between the workers
+        assertEquals("range(2000, 3000)", rangeFactory.nextRange().toString());
+        assertEquals("range(3000, 3750)", rangeFactory.nextRange().toString());
+        assertEquals("range(3750, 4313)", rangeFactory.nextRange().toString());
+
+        Range range;
+        Range lastRange = null;
+        while (!(range = rangeFactory.nextRange()).isEmpty()) {
+            assertTrue(range.difference() < 0 || range.difference() <= 563);
+            lastRange = range;
+        }
+
+        assertTrue(lastRange.toString().endsWith(", -1)"));
+        assertTrue(rangeFactory.isExhausted());
+
+        Map<String, Long> metrics = rangeFactory.metrics();
+        assertTrue(metrics.get("tailRangesIssued") > 0);
+        assertEquals(1000L, (long) metrics.get("maxRangeSize"));
+    }
+
+    @Test
+    public void shouldExportUntilRangeComesBackShortWhenCountIsUnknown() {
+        AdaptiveRangeFactory rangeFactory = createRangeFactory(1000, -1, 4);
+
+        for (int i = 0; i < 10; i++) {
+            Range range = rangeFactory.nextRange();
+            assertEquals(1000, range.difference());
+            rangeFactory.rangeCompleted(range, 1000, 1000);
+        }
+        assertFalse(rangeFactory.isExhausted());
+        assertEquals(0L, (long) rangeFactory.metrics().get("tailRangesIssued"));
+
+        rangeFactory.rangeCompleted(rangeFactory.nextRange(), 10, 10);
+
+        assertTrue(rangeFactory.isExhausted());
+        assertTrue(rangeFactory.nextRange().isEmpty());
+    }
+
+    @Test
+    public void shouldRespectLimitAndSkip() {
+        AdaptiveRangeFactory rangeFactory = new AdaptiveRangeFactory("nodes", 1000, 1000, 1500, 10, 1000000, 1);
+
+        assertEquals("range(10, 1010)", rangeFactory.nextRange().toString());
+        assertEquals("range(1010, 1510)", rangeFactory.nextRange().toString());
+        assertTrue(rangeFactory.isExhausted());
+        assertTrue(rangeFactory.nextRange().isEmpty());
+        assertEquals(1500, rangeFactory.numberOfItemsToExport());
+    }
+
+    @Test
+    public void shouldCreateAdaptiveRangeFactoryFromRangeConfig() {
+        GraphClient<?> graphClient = mock(GraphClient.class);
+        when(graphClient.approxCount(any(), any(), any())).thenReturn(100000L);
+        when(graphClient.description()).thenReturn("node");
+
+        RangeFactory rangeFactory = RangeFactory.create(
+                graphClient,
+                new AllLabels(NodeLabelStrategy.nodeLabelsOnly),
+                GremlinFilters.EMPTY,
+                new RangeConfig(-1, 0, Long.MAX_VALUE, -1, -1, RangeStrategy.adaptive, 2000),
+                new ConcurrencyConfig(4));
+
+        assertTrue(rangeFactory instanceof AdaptiveRangeFactory);
+        assertEquals(4, rangeFactory.concurrency());
+        assertFalse(rangeFactory.isExhausted());
+        assertEquals("range(0, " + AdaptiveRangeFactory.DEFAULT_INITIAL_RANGE_SIZE + ")", rangeFactory.nextRange().toString());
+    }
+
+    private AdaptiveRangeFactory createRangeFactory(long initialRangeSize, long numberOfItems, int concurrency) {
+        return new AdaptiveRangeFactory("nodes", initialRangeSize, 1000, Long.MAX_VALUE, 0, numberOfItems, concurrency);
+    }
+}
@@ -0,0 +1,82 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class GremlinFiltersTest {
+
+    private final GraphTraversalSource g = EmptyGraph.instance().traversal();
+
+    @Test
+    public void shouldAppendFilterStepsToTraversal() {
+        GremlinFilters gremlinFilters = new GremlinFilters("has('age', gt(30)).has('name')", null, null, false);
+
+        GraphTraversal<? extends Element, ?> traversal = gremlinFilters.applyToNodes(g.V().hasLabel("person"));
+
+        List<Bytecode.Instruction> instructions = traversal.asAdmin().getBytecode().getStepInstructions();
+        assertEquals(4, instructions.size());
+        assertEquals("V", instructions.get(0).getOperator());
+        assertEquals("hasLabel", instructions.get(1).getOperator());
+        assertEquals("has", instructions.get(2).getOperator());
+        assertEquals("has", instructions.get(3).getOperator());
+    }
+
+    @Test
+    public void shouldReplayCompiledFilterOnEachTraversal() {
+        GremlinFilters gremlinFilters = new GremlinFilters(null, null, "has('weight', lt(0.5))", false);
+
+        GraphTraversal<? extends Element, ?> traversal1 = gremlinFilters.applyToEdges(g.E());
+        GraphTraversal<? extends Element, ?> traversal2 = gremlinFilters.applyToEdges(g.E());
+
+        assertEquals(traversal1.asAdmin().getBytecode(), traversal2.asAdmin().getBytecode());
+
+        Bytecode.Instruction has1 = traversal1.asAdmin().getBytecode().getStepInstructions().get(1);
+        Bytecode.Instruction has2 = traversal2.asAdmin().getBytecode().getStepInstructions().get(1);
+        assertSame(has1.getArguments()[1], has2.getArguments()[1]);
+    }
+
+    @Test
+    public void shouldPreferNodeAndEdgeSpecificFilters() {
+        GremlinFilters gremlinFilters = new GremlinFilters("has('a')", "has('b')", null, false);
+
+        Bytecode.Instruction nodeFilter = gremlinFilters.applyToNodes(g.V()).asAdmin().getBytecode().getStepInstructions().get(1);
+        Bytecode.Instruction edgeFilter = gremlinFilters.applyToEdges(g.E()).asAdmin().getBytecode().getStepInstructions().get(1);
+
+        assertEquals("b", nodeFilter.getArguments()[0]);
+        assertEquals("a", edgeFilter.getArguments()[0]);
+    }
+
+    @Test
+    public void shouldRejectMutatingSteps() {
+        GremlinFilters gremlinFilters = new GremlinFilters("has('a').drop()", null, null, false);
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                gremlinFilters.applyToNodes(g.V());
+                fail("Expected IllegalArgumentException");
+            } catch (IllegalArgumentException e) {
+                assertEquals("Invalid operator: 'drop'. Gremlin filter cannot contain side effect or mutating step.", e.getMessage());
+            }
+        }
+    }
+}
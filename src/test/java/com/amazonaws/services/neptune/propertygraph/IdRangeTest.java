@@ -0,0 +1,81 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class IdRangeTest {
+
+    @Test
+    public void shouldIndicateThatUnboundedRangeCoversAll(){
+        assertTrue(new IdRange(null, null).isAll());
+        assertFalse(new IdRange(1, null).isAll());
+        assertFalse(new IdRange(null, 1).isAll());
+        assertFalse(new IdRange(1, 2).isEmpty());
+    }
+
+    @Test
+    public void shouldNotUseNumberOfResultsToDetectEndOfBoundedRange(){
+        assertFalse(new IdRange(1, 2).sizeExceeds(0));
+        assertFalse(new IdRange(null, 2).sizeExceeds(0));
+        assertTrue(new IdRange(null, null).sizeExceeds(0));
+    }
+
+    @Test
+    public void shouldFormatRangeAsGremlinSteps(){
+        assertEquals("has(T.id, gte('a'))", new IdRange("a", null).toString());
+        assertEquals("has(T.id, lt(10))", new IdRange(null, 10).toString());
+        assertEquals("has(T.id, gte('a\\'b')).has(T.id, lt('c'))", new IdRange("a'b", "c").toString());
+    }
+
+    @Test
+    public void shouldRoundTripRangesThroughJson(){
+        assertEquals("has(T.id, gte('a')).has(T.id, lt('m'))", Range.fromJson(new IdRange("a", "m").toJson()).toString());
+        assertEquals("has(T.id, lt(10))", Range.fromJson(new IdRange(null, 10).toJson()).toString());
+        assertEquals("has(T.id, gte(5000000000))", Range.fromJson(new IdRange(5000000000L, null).toJson()).toString());
+        assertTrue(Range.fromJson(new IdRange(null, null).toJson()) instanceof IdRange);
+        assertEquals("range(10, 20)", Range.fromJson(new Range(10, 20).toJson()).toString());
+    }
+
+    @Test
+    public void shouldPartitionElementsByIdWithoutGapsOrOverlaps(){
+        GraphTraversalSource g = TinkerFactory.createModern().traversal();
+
+        List<Object> ids = new ArrayList<>();
+        ids.addAll(new IdRange(null, 3).applyRange(g.V()).id().toList());
+        ids.addAll(new IdRange(3, 5).applyRange(g.V()).id().toList());
+        ids.addAll(new IdRange(5, null).applyRange(g.V()).id().toList());
+
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6), ids);
+    }
+
+    @Test
+    public void shouldBisectRangeWithIntegralBounds(){
+        assertEquals("[has(T.id, gte(10)).has(T.id, lt(15)), has(T.id, gte(15)).has(T.id, lt(20))]", new IdRange(10, 20).bisect().toString());
+        assertEquals(Integer.class, ((IdRange) new IdRange(10, 20).bisect().get(0)).toJson().path("upperBound").numberValue().getClass());
+        assertTrue(new IdRange("a", "m").bisect().isEmpty());
+        assertTrue(new IdRange(null, 20).bisect().isEmpty());
+        assertTrue(new IdRange(10, 11).bisect().isEmpty());
+        assertFalse(new IdRange(10, 20).hasStableOrder());
+    }
+}
@@ -0,0 +1,140 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.amazonaws.services.neptune.propertygraph.EdgeLabelStrategy.edgeAndVertexLabels;
+import static com.amazonaws.services.neptune.propertygraph.EdgeLabelStrategy.edgeLabelsOnly;
+import static com.amazonaws.services.neptune.propertygraph.NodeLabelStrategy.nodeLabelsOnly;
+import static org.junit.Assert.assertEquals;
+
+public class LabelDiscoveryTest {
+
+    private static final String SUMMARY = "{\"payload\":{\"graphSummary\":{" +
+            "\"nodeLabels\":[\"person\",\"software\",\"city\"]," +
+            "\"edgeLabels\":[\"knows\",\"created\",\"livesIn\"]}}}";
+
+    private final GraphTraversalSource gmodern = TinkerFactory.createModern().traversal();
+
+    @Before
+    public void clearCache() {
+        CachingLabelDiscovery.clearCache();
+    }
+
+    @Test
+    public void shouldDiscoverSameLabelsAsClientSideDiscovery() {
+        for (LabelStrategy labelStrategy : Arrays.asList(nodeLabelsOnly, edgeLabelsOnly, edgeAndVertexLabels)) {
+            Collection<Label> expected = LabelDiscovery.CLIENT_SIDE.getLabels(gmodern, labelStrategy);
+
+            assertEquals(expected, new HashSet<>(new GroupCountLabelDiscovery(1).getLabels(gmodern, labelStrategy)));
+            assertEquals(expected, new HashSet<>(new GroupCountLabelDiscovery(3).getLabels(gmodern, labelStrategy)));
+        }
+    }
+
+    @Test
+    public void shouldDiscoverEdgeAndVertexLabelsUsingGroupCount() {
+        Collection<Label> labels = new GroupCountLabelDiscovery(2).getLabels(gmodern, edgeAndVertexLabels);
+
+        Collection<Label> expected = new HashSet<>();
+        expected.add(new Label("knows", "person", "person"));
+        expected.add(new Label("created", "person", "software"));
+
+        assertEquals(expected, new HashSet<>(labels));
+    }
+
+    @Test
+    public void shouldDiscoverLabelsInEmptyGraph() {
+        GraphTraversalSource g = TinkerGraph.open().traversal();
+
+        assertEquals(0, new GroupCountLabelDiscovery(4).getLabels(g, nodeLabelsOnly).size());
+    }
+
+    @Test
+    public void shouldReadLabelsFromGraphSummary() throws IOException {
+        JsonNode summary = new ObjectMapper().readTree(SUMMARY);
+        LabelDiscovery labelDiscovery = new SummaryLabelDiscovery(() -> summary);
+
+        assertEquals(
+                new HashSet<>(Arrays.asList(new Label("person"), new Label("software"), new Label("city"))),
+                new HashSet<>(labelDiscovery.getLabels(gmodern, nodeLabelsOnly)));
+        assertEquals(
+                new HashSet<>(Arrays.asList(new Label("knows"), new Label("created"), new Label("livesIn"))),
+                new HashSet<>(labelDiscovery.getLabels(gmodern, edgeLabelsOnly)));
+    }
+
+    @Test
+    public void shouldFallBackWhenGraphSummaryCannotDescribeLabels() throws IOException {
+        JsonNode summary = new ObjectMapper().readTree(SUMMARY);
+        LabelDiscovery labelDiscovery = new SummaryLabelDiscovery(() -> summary)
+                .withFallback(new GroupCountLabelDiscovery(1));
+
+        assertEquals(
+                LabelDiscovery.CLIENT_SIDE.getLabels(gmodern, edgeAndVertexLabels),
+                new HashSet<>(labelDiscovery.getLabels(gmodern, edgeAndVertexLabels)));
+    }
+
+    @Test
+    public void shouldFallBackWhenGraphSummaryIsUnavailable() {
+        LabelDiscovery labelDiscovery = new SummaryLabelDiscovery(() -> {
+            throw new IOException("Not found");
+        }).withFallback(new GroupCountLabelDiscovery(1));
+
+        assertEquals(
+                LabelDiscovery.CLIENT_SIDE.getLabels(gmodern, nodeLabelsOnly),
+                new HashSet<>(labelDiscovery.getLabels(gmodern, nodeLabelsOnly)));
+    }
+
+    @Test
+    public void shouldFallBackWhenGraphHasMultiLabelNodes() throws IOException {
+        GraphTraversalSource g = TinkerGraph.open().traversal();
+        g.addV("person::employee").iterate();
+
+        JsonNode summary = new ObjectMapper().readTree(SUMMARY);
+        LabelDiscovery labelDiscovery = new SummaryLabelDiscovery(() -> summary)
+                .withFallback(new GroupCountLabelDiscovery(1));
+
+        assertEquals(
+                new HashSet<>(Arrays.asList(new Label(Arrays.asList("person", "employee")))),
+                new HashSet<>(labelDiscovery.getLabels(g, nodeLabelsOnly)));
+    }
+
+    @Test
+    public void shouldCacheLabelsPerClusterAndLabelStrategy() {
+        AtomicInteger invocations = new AtomicInteger();
+        LabelDiscovery counting = (g, labelStrategy) -> {
+            invocations.incrementAndGet();
+            return LabelDiscovery.CLIENT_SIDE.getLabels(g, labelStrategy);
+        };
+
+        new CachingLabelDiscovery("cluster-1:8182", counting).getLabels(gmodern, nodeLabelsOnly);
+        new CachingLabelDiscovery("cluster-1:8182", counting).getLabels(gmodern, nodeLabelsOnly);
+        assertEquals(1, invocations.get());
+
+        new CachingLabelDiscovery("cluster-1:8182", counting).getLabels(gmodern, edgeLabelsOnly);
+        new CachingLabelDiscovery("cluster-2:8182", counting).getLabels(gmodern, nodeLabelsOnly);
+        assertEquals(3, invocations.get());
+    }
+}
@@ -0,0 +1,82 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph;
+
+import com.amazonaws.services.neptune.cluster.ConcurrencyConfig;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class LazyRangeFactoryTest {
+
+    @Test
+    public void shouldIssueRangesUntilRangeComesBackShort() {
+        LazyRangeFactory rangeFactory = new LazyRangeFactory(100, Long.MAX_VALUE, 0, 2);
+
+        Range range1 = rangeFactory.nextRange();
+        Range range2 = rangeFactory.nextRange();
+        assertEquals("range(0, 100)", range1.toString());
+        assertEquals("range(100, 200)", range2.toString());
+
+        rangeFactory.rangeCompleted(range1, 100, 10);
+        assertFalse(rangeFactory.isExhausted());
+
+        rangeFactory.rangeCompleted(range2, 42, 10);
+        assertTrue(rangeFactory.isExhausted());
+        assertTrue(rangeFactory.nextRange().isEmpty());
+        assertEquals(-1, rangeFactory.numberOfItemsToExport());
+    }
+
+    @Test
+    public void shouldIssueSingleRangeWhenNoRangeSize() {
+        LazyRangeFactory rangeFactory = new LazyRangeFactory(-1, Long.MAX_VALUE, 10, 1);
+
+        assertEquals("range(10, -1)", rangeFactory.nextRange().toString());
+        assertTrue(rangeFactory.isExhausted());
+    }
+
+    @Test
+    public void shouldRespectLimitAndSkip() {
+        LazyRangeFactory rangeFactory = new LazyRangeFactory(100, 150, 10, 2);
+
+        assertEquals("range(10, 110)", rangeFactory.nextRange().toString());
+        assertEquals("range(110, 160)", rangeFactory.nextRange().toString());
+        assertTrue(rangeFactory.isExhausted());
+        assertEquals(150, rangeFactory.numberOfItemsToExport());
+    }
+
+    @Test
+    public void shouldNotCountItemsWhenCreatingLazyRanges() {
+        GraphClient<?> graphClient = mock(GraphClient.class);
+        when(graphClient.description()).thenReturn("node");
+
+        RangeConfig rangeConfig = new RangeConfig(-1, 0, Long.MAX_VALUE, -1, -1, RangeStrategy.offset, RangeConfig.DEFAULT_TARGET_RANGE_LATENCY_MILLIS, true);
+
+        RangeFactory offsetRangeFactory = RangeFactory.create(graphClient, new AllLabels(NodeLabelStrategy.nodeLabelsOnly), GremlinFilters.EMPTY, rangeConfig, new ConcurrencyConfig(4));
+        RangeFactory adaptiveRangeFactory = RangeFactory.create(graphClient, new AllLabels(NodeLabelStrategy.nodeLabelsOnly), GremlinFilters.EMPTY,
+                new RangeConfig(-1, 0, Long.MAX_VALUE, -1, -1, RangeStrategy.adaptive, 1000, true), new ConcurrencyConfig(4));
+
+        verify(graphClient, never()).approxCount(any(), any(), any());
+
+        assertTrue(offsetRangeFactory instanceof LazyRangeFactory);
+        assertEquals("range(0, " + LazyRangeFactory.DEFAULT_RANGE_SIZE + ")", offsetRangeFactory.nextRange().toString());
+        assertEquals(-1, adaptiveRangeFactory.numberOfItemsToExport());
+    }
+}
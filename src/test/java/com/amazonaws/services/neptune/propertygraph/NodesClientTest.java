@@ -126,4 +126,12 @@ public class NodesClientTest {
         assertEquals(Arrays.asList("1","2","3","4","5","6"), ids);
     }
 
+    @Test
+    public void testSampleIds() {
+        List<Object> ids = new ArrayList<>(client.sampleIds(new AllLabels(NodeLabelStrategy.nodeLabelsOnly), GremlinFilters.EMPTY, 1.0));
+
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6), ids);
+        assertTrue(client.sampleIds(new AllLabels(NodeLabelStrategy.nodeLabelsOnly), GremlinFilters.EMPTY, 0.0).isEmpty());
+    }
+
 }
@@ -15,16 +15,19 @@ package com.amazonaws.services.neptune.propertygraph;
 import com.amazonaws.services.neptune.cluster.ConcurrencyConfig;
 import com.amazonaws.services.neptune.propertygraph.io.result.PGResult;
 import com.amazonaws.services.neptune.util.NotImplementedException;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Map;
 
 import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -36,6 +39,16 @@ public class RangeFactoryTest {
             throw new NotImplementedException();
         }
 
+        @Override
+        public GraphTraversal<? extends Element, ? extends Element> elements(GraphTraversalSource g) {
+            throw new NotImplementedException();
+        }
+
+        @Override
+        public Traversal<?, Map<String, Object>> labelKey() {
+            throw new NotImplementedException();
+        }
+
         @Override
         public Label getLabelFor(Map<String, Object> input) {
             throw new NotImplementedException();
@@ -174,5 +187,83 @@ public class RangeFactoryTest {
         assertTrue(rangeFactory.isExhausted());
     }
 
+    @Test
+    public void shouldReturnIdRangesBetweenSampledBoundariesForKeysetStrategy(){
+
+        GraphClient<?> graphClient = mock(GraphClient.class);
+        when(graphClient.approxCount(any(), any(), any())).thenReturn(3000L);
+        when(graphClient.sampleIds(any(), any(), anyDouble())).thenReturn(Arrays.asList("f", "b", "d", "a", "c", "e"));
+
+        RangeFactory rangeFactory = RangeFactory.create(
+                graphClient,
+                ALL_LABELS,
+                GremlinFilters.EMPTY,
+                new RangeConfig(1000, 0, Long.MAX_VALUE, -1, -1, RangeStrategy.keyset),
+                new ConcurrencyConfig(1));
+
+        assertEquals("has(T.id, lt('c'))", rangeFactory.nextRange().toString());
+        assertEquals("has(T.id, gte('c')).has(T.id, lt('e'))", rangeFactory.nextRange().toString());
+        assertFalse(rangeFactory.isExhausted());
+
+        Range range3 = rangeFactory.nextRange();
+        assertEquals("has(T.id, gte('e'))", range3.toString());
+        assertTrue(rangeFactory.isExhausted());
+
+        assertTrue(rangeFactory.nextRange().isEmpty());
+
+        rangeFactory.reset();
+        assertEquals("has(T.id, lt('c'))", rangeFactory.nextRange().toString());
+    }
+
+    @Test
+    public void shouldReturnSingleRangeForAllForKeysetStrategyIfRangeSizeIsMinusOne(){
+
+        GraphClient<?> graphClient = mock(GraphClient.class);
+        when(graphClient.approxCount(any(), any(), any())).thenReturn(2250L);
+
+        RangeFactory rangeFactory = RangeFactory.create(
+                graphClient,
+                ALL_LABELS,
+                GremlinFilters.EMPTY,
+                new RangeConfig(-1, 0, Long.MAX_VALUE, -1, -1, RangeStrategy.keyset),
+                new ConcurrencyConfig(1));
+
+        Range range1 = rangeFactory.nextRange();
+        assertTrue(range1.isAll());
+        assertTrue(rangeFactory.isExhausted());
+        assertTrue(rangeFactory.nextRange().isEmpty());
+    }
+
+    @Test
+    public void shouldCreateOneKeysetRangePerThreadForUnboundedParallelExecution(){
+
+        GraphClient<?> graphClient = mock(GraphClient.class);
+        when(graphClient.approxCount(any(), any(), any())).thenReturn(2000L);
+        when(graphClient.sampleIds(any(), any(), anyDouble())).thenReturn(Arrays.asList(40L, 10L, 30L, 20L));
+
+        RangeFactory rangeFactory = RangeFactory.create(
+                graphClient,
+                ALL_LABELS,
+                GremlinFilters.EMPTY,
+                new RangeConfig(-1, 0, Long.MAX_VALUE, -1, -1, RangeStrategy.keyset),
+                new ConcurrencyConfig(2));
+
+        assertEquals(2, rangeFactory.concurrency());
+        assertEquals("has(T.id, lt(30))", rangeFactory.nextRange().toString());
+        assertEquals("has(T.id, gte(30))", rangeFactory.nextRange().toString());
+        assertTrue(rangeFactory.isExhausted());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowSkipWithKeysetStrategy(){
 
-}
\ No newline at end of file
+        GraphClient<?> graphClient = mock(GraphClient.class);
+
+        RangeFactory.create(
+                graphClient,
+                ALL_LABELS,
+                GremlinFilters.EMPTY,
+                new RangeConfig(10, 20, Long.MAX_VALUE, -1, -1, RangeStrategy.keyset),
+                new ConcurrencyConfig(1));
+    }
+}
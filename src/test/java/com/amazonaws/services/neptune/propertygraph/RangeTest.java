@@ -14,6 +14,7 @@ package com.amazonaws.services.neptune.propertygraph;
 
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -41,4 +42,18 @@ public class RangeTest {
         assertFalse(new Range(0, 100).sizeExceeds(200));
         assertFalse(new Range(-1, -1).sizeExceeds(1));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldBisectBoundedRange(){
+        assertEquals("[range(10, 15), range(15, 21)]", new Range(10, 21).bisect().toString());
+        assertTrue(new Range(10, 11).bisect().isEmpty());
+        assertTrue(new Range(0, -1).bisect().isEmpty());
+        assertTrue(new Range(-1, -1).bisect().isEmpty());
+    }
+
+    @Test
+    public void shouldResumeRangeAfterElementsAlreadyWritten(){
+        assertEquals("range(13, 20)", new Range(10, 20).resumeAfter(3).toString());
+        assertEquals("range(3, -1)", new Range(0, -1).resumeAfter(3).toString());
+    }
+}
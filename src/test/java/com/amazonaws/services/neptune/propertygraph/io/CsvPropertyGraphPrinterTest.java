@@ -223,5 +223,40 @@ public class CsvPropertyGraphPrinterTest {
         }
     }
 
+    @Test
+    public void shouldPrintEmptyColumnsForAbsentPropertiesOfWideLabel() throws Exception {
+
+        StringWriter stringWriter = new StringWriter();
+
+        LabelSchema labelSchema = new LabelSchema(new Label("Entity"));
+        for (int i = 0; i < 600; i++) {
+            labelSchema.put("property" + i, new PropertySchema("property" + i, false, DataType.Integer, false, EnumSet.noneOf(DataType.class)));
+        }
+
+        HashMap<String, Integer> props = new HashMap<String, Integer>() {{
+            put("property599", 599);
+            put("property1", 1);
+            put("property300", 300);
+        }};
+
+        CsvPropertyGraphPrinter printer = new CsvPropertyGraphPrinter(
+                new PrintOutputWriter("outputId", stringWriter),
+                labelSchema,
+                new PrinterOptions(CsvPrinterOptions.builder().build()));
+
+        printer.printProperties(props);
+
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 600; i++) {
+            if (i > 0) {
+                expected.append(",");
+            }
+            if (props.containsKey("property" + i)) {
+                expected.append(i);
+            }
+        }
+
+        assertEquals(expected.toString(), stringWriter.toString());
+    }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,235 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph.io;
+
+import com.amazonaws.services.neptune.export.FeatureToggles;
+import com.amazonaws.services.neptune.propertygraph.AllLabels;
+import com.amazonaws.services.neptune.propertygraph.GremlinFilters;
+import com.amazonaws.services.neptune.propertygraph.IdRange;
+import com.amazonaws.services.neptune.propertygraph.Label;
+import com.amazonaws.services.neptune.propertygraph.NodeLabelStrategy;
+import com.amazonaws.services.neptune.propertygraph.Range;
+import com.amazonaws.services.neptune.propertygraph.RangeFactory;
+import com.amazonaws.services.neptune.propertygraph.schema.ExportSpecification;
+import com.amazonaws.services.neptune.propertygraph.schema.FileSpecificLabelSchema;
+import com.amazonaws.services.neptune.propertygraph.schema.FileSpecificLabelSchemas;
+import com.amazonaws.services.neptune.propertygraph.schema.GraphElementSchemas;
+import com.amazonaws.services.neptune.propertygraph.schema.GraphElementType;
+import com.amazonaws.services.neptune.propertygraph.schema.LabelSchema;
+import com.amazonaws.services.neptune.propertygraph.schema.PropertySchema;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ExportCheckpointTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private final ExportSpecification nodes = new ExportSpecification(
+            GraphElementType.nodes,
+            new AllLabels(NodeLabelStrategy.nodeLabelsOnly),
+            GremlinFilters.EMPTY,
+            null,
+            false,
+            new FeatureToggles(Collections.emptySet()));
+
+    @Test
+    public void shouldReturnUnderlyingRangeFactoryWhenDisabled() throws IOException {
+        RangeFactory rangeFactory = new ListRangeFactory(new Range(0, 10));
+
+        ExportCheckpoint checkpoint = ExportCheckpoint.disabled();
+
+        assertFalse(checkpoint.isEnabled());
+        assertTrue(rangeFactory == checkpoint.rangeFactoryFor(nodes, () -> rangeFactory));
+    }
+
+    @Test
+    public void shouldSkipRangesCommittedByPreviousExport() throws IOException {
+        Path checkpointFile = temp.getRoot().toPath().resolve("checkpoint.json");
+
+        ExportCheckpoint checkpoint = ExportCheckpoint.create(checkpointFile, false);
+        RangeFactory rangeFactory = checkpoint.rangeFactoryFor(nodes, () -> new ListRangeFactory(
+                new IdRange(null, "b"),
+                new IdRange("b", 10L),
+                new IdRange(10L, null)));
+
+        Range range1 = rangeFactory.nextRange();
+        Range range2 = rangeFactory.nextRange();
+        Range range3 = rangeFactory.nextRange();
+        assertTrue(rangeFactory.isExhausted());
+
+        checkpoint.commit(rangeFactory, range1, files("nodes-1.csv"), 1);
+        checkpoint.commit(rangeFactory, range3, files("nodes-3.csv"), 3);
+
+        ExportCheckpoint resumedCheckpoint = ExportCheckpoint.create(checkpointFile, true);
+        RangeFactory resumedRangeFactory = resumedCheckpoint.rangeFactoryFor(nodes, () -> {
+            fail("Range factory should be restored from checkpoint");
+            return null;
+        });
+
+        assertEquals(100, resumedRangeFactory.numberOfItemsToExport());
+        assertEquals(2, resumedRangeFactory.concurrency());
+        assertFalse(resumedRangeFactory.isExhausted());
+        assertEquals(range2.toString(), resumedRangeFactory.nextRange().toString());
+        assertTrue(resumedRangeFactory.nextRange().isEmpty());
+        assertTrue(resumedRangeFactory.isExhausted());
+
+        assertEquals(3, resumedCheckpoint.fileIndexFor(nodes));
+    }
+
+    @Test
+    public void shouldRestoreCommittedFilesAndSchemas() throws IOException {
+        Path checkpointFile = temp.getRoot().toPath().resolve("checkpoint.json");
+
+        ExportCheckpoint checkpoint = ExportCheckpoint.create(checkpointFile, false);
+        RangeFactory rangeFactory = checkpoint.rangeFactoryFor(nodes, () -> new ListRangeFactory(new Range(0, 10)));
+        checkpoint.commit(rangeFactory, rangeFactory.nextRange(), files("nodes-1.csv"), 1);
+
+        FileSpecificLabelSchemas fileSpecificLabelSchemas =
+                ExportCheckpoint.create(checkpointFile, true).committedFilesFor(nodes);
+
+        Label label = new Label("Person");
+        Collection<FileSpecificLabelSchema> schemas = fileSpecificLabelSchemas.fileSpecificLabelSchemasFor(label);
+
+        assertEquals(1, schemas.size());
+        FileSpecificLabelSchema schema = schemas.iterator().next();
+        assertEquals(new File(temp.getRoot(), "nodes-1.csv").getAbsolutePath(), schema.outputId());
+        assertEquals(PropertyGraphExportFormat.csv, schema.getFormat());
+        assertTrue(schema.labelSchema().containsProperty("name"));
+    }
+
+    @Test
+    public void shouldRestoreSchemasForCompletedSpecification() throws IOException {
+        Path checkpointFile = temp.getRoot().toPath().resolve("checkpoint.json");
+
+        GraphElementSchemas graphElementSchemas = new GraphElementSchemas();
+        graphElementSchemas.addLabelSchema(labelSchema(), Collections.singletonList("/tmp/nodes/Person.csv"));
+
+        ExportCheckpoint checkpoint = ExportCheckpoint.create(checkpointFile, false);
+        assertNull(checkpoint.completedSchemasFor(nodes));
+        checkpoint.completeSpecification(nodes, graphElementSchemas);
+
+        GraphElementSchemas restoredSchemas = ExportCheckpoint.create(checkpointFile, true).completedSchemasFor(nodes);
+
+        assertEquals(graphElementSchemas.toJson(true), restoredSchemas.toJson(true));
+    }
+
+    @Test
+    public void shouldStartNewCheckpointWhenResumingWithoutCheckpointFile() throws IOException {
+        Path checkpointFile = temp.getRoot().toPath().resolve("checkpoint.json");
+
+        ExportCheckpoint checkpoint = ExportCheckpoint.create(checkpointFile, true);
+        RangeFactory rangeFactory = checkpoint.rangeFactoryFor(nodes, () -> new ListRangeFactory(new Range(0, -1)));
+
+        assertTrue(checkpointFile.toFile().exists());
+        assertEquals("range(0, -1)", rangeFactory.nextRange().toString());
+    }
+
+    @Test
+    public void shouldDeleteFilesNotRecordedInCheckpoint() throws IOException {
+        Path checkpointFile = temp.getRoot().toPath().resolve("checkpoint.json");
+        File nodesDirectory = temp.newFolder("nodes");
+
+        ExportCheckpoint checkpoint = ExportCheckpoint.create(checkpointFile, false);
+        RangeFactory rangeFactory = checkpoint.rangeFactoryFor(nodes, () -> new ListRangeFactory(new Range(0, 10), new Range(10, 20)));
+        Range range = rangeFactory.nextRange();
+        File committedFile = new File(nodesDirectory, "nodes-1.csv");
+        File uncommittedFile = new File(nodesDirectory, "nodes-2.csv");
+        assertTrue(committedFile.createNewFile());
+        assertTrue(uncommittedFile.createNewFile());
+        checkpoint.commit(rangeFactory, range, files("nodes/nodes-1.csv"), 2);
+
+        ExportCheckpoint.create(checkpointFile, true)
+                .deleteUncommittedFiles(Collections.singletonList(nodesDirectory.toPath()));
+
+        assertTrue(committedFile.exists());
+        assertFalse(uncommittedFile.exists());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldThrowExceptionIfCommittedFileIsMissing() throws IOException {
+        Path checkpointFile = temp.getRoot().toPath().resolve("checkpoint.json");
+
+        ExportCheckpoint checkpoint = ExportCheckpoint.create(checkpointFile, false);
+        RangeFactory rangeFactory = checkpoint.rangeFactoryFor(nodes, () -> new ListRangeFactory(new Range(0, 10)));
+        checkpoint.commit(rangeFactory, rangeFactory.nextRange(), files("nodes-1.csv"), 1);
+
+        ExportCheckpoint.create(checkpointFile, true).deleteUncommittedFiles(Collections.emptyList());
+    }
+
+    private FileSpecificLabelSchemas files(String filename) {
+        FileSpecificLabelSchemas fileSpecificLabelSchemas = new FileSpecificLabelSchemas();
+        fileSpecificLabelSchemas.add(
+                new File(temp.getRoot(), filename).getAbsolutePath(),
+                PropertyGraphExportFormat.csv,
+                labelSchema());
+        return fileSpecificLabelSchemas;
+    }
+
+    private LabelSchema labelSchema() {
+        LabelSchema labelSchema = new LabelSchema(new Label("Person"));
+        labelSchema.put("name", new PropertySchema("name"));
+        return labelSchema;
+    }
+
+    private static class ListRangeFactory implements RangeFactory {
+
+        private final List<Range> ranges;
+        private int index = 0;
+
+        private ListRangeFactory(Range... ranges) {
+            this.ranges = new ArrayList<>(Arrays.asList(ranges));
+        }
+
+        @Override
+        public Range nextRange() {
+            return isExhausted() ? new Range(-1, -1) : ranges.get(index++);
+        }
+
+        @Override
+        public long numberOfItemsToExport() {
+            return 100;
+        }
+
+        @Override
+        public boolean isExhausted() {
+            return index >= ranges.size();
+        }
+
+        @Override
+        public int concurrency() {
+            return 2;
+        }
+
+        @Override
+        public void reset() {
+            index = 0;
+        }
+    }
+}
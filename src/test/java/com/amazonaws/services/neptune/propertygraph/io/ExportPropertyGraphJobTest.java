@@ -0,0 +1,380 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph.io;
+
+import com.amazonaws.services.neptune.cli.PrinterOptionsModule;
+import com.amazonaws.services.neptune.cluster.ConcurrencyConfig;
+import com.amazonaws.services.neptune.export.FeatureToggles;
+import com.amazonaws.services.neptune.io.CompressionCodec;
+import com.amazonaws.services.neptune.io.Directories;
+import com.amazonaws.services.neptune.io.DirectoryStructure;
+import com.amazonaws.services.neptune.io.FileConfig;
+import com.amazonaws.services.neptune.io.OutputFileListener;
+import com.amazonaws.services.neptune.io.Status;
+import com.amazonaws.services.neptune.io.StatusOutputFormat;
+import com.amazonaws.services.neptune.io.Target;
+import com.amazonaws.services.neptune.propertygraph.AllLabels;
+import com.amazonaws.services.neptune.propertygraph.EdgeLabelStrategy;
+import com.amazonaws.services.neptune.propertygraph.ExportStats;
+import com.amazonaws.services.neptune.propertygraph.GremlinFilters;
+import com.amazonaws.services.neptune.propertygraph.Label;
+import com.amazonaws.services.neptune.propertygraph.NodeLabelStrategy;
+import com.amazonaws.services.neptune.propertygraph.RangeConfig;
+import com.amazonaws.services.neptune.propertygraph.RangeFactory;
+import com.amazonaws.services.neptune.propertygraph.RangeStrategy;
+import com.amazonaws.services.neptune.propertygraph.SpecifiedLabels;
+import com.amazonaws.services.neptune.propertygraph.schema.ExportSpecification;
+import com.amazonaws.services.neptune.propertygraph.schema.GraphElementType;
+import com.amazonaws.services.neptune.propertygraph.schema.GraphSchema;
+import org.apache.commons.io.FileUtils;
+import org.apache.tinkerpop.gremlin.process.remote.EmbeddedRemoteConnection;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.AnonymousTraversalSource.traversal;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ExportPropertyGraphJobTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private final GraphTraversalSource g = TinkerFactory.createModern().traversal();
+    private final RangeConfig rangeConfig = new RangeConfig(2, 0, Long.MAX_VALUE, -1, -1);
+    private final ConcurrencyConfig concurrencyConfig = new ConcurrencyConfig(1);
+
+    @Test
+    public void shouldResumeInterruptedExportFromCheckpoint() throws Exception {
+        Directories directories = Directories.createFor(DirectoryStructure.PropertyGraph, tempFolder.getRoot(), "export", "", "");
+        PropertyGraphTargetConfig targetConfig = createTargetConfig(directories);
+        ExportSpecification nodes = createNodesExportSpecification();
+
+        ExportCheckpoint interruptedCheckpoint = ExportCheckpoint.create(directories.checkpointFilePath(), false);
+        RangeFactory rangeFactory = interruptedCheckpoint.rangeFactoryFor(
+                nodes,
+                () -> nodes.createRangeFactory(g, rangeConfig, concurrencyConfig));
+
+        // The first two ranges were in flight when the export was interrupted, so are never committed
+        rangeFactory.nextRange();
+        rangeFactory.nextRange();
+
+        nodes.createExportTask(
+                new GraphSchema(),
+                g,
+                targetConfig,
+                GremlinFilters.EMPTY,
+                rangeFactory,
+                new Status(StatusOutputFormat.Description),
+                new AtomicInteger(),
+                new AtomicInteger(),
+                100,
+                interruptedCheckpoint).call();
+
+        File uncommittedFile = directories.rootDirectory().resolve("nodes").resolve("uncommitted.csv").toFile();
+        FileUtils.writeStringToFile(uncommittedFile, "partial", StandardCharsets.UTF_8);
+
+        ExportCheckpoint checkpoint = ExportCheckpoint.create(directories.checkpointFilePath(), true);
+
+        GraphSchema graphSchema = createJob(nodes, targetConfig, checkpoint).execute();
+
+        assertFalse(uncommittedFile.exists());
+        assertEquals(2, graphSchema.graphElementSchemasFor(GraphElementType.nodes).labels().size());
+        assertEquals(Collections.nCopies(6, 1), countsOfExportedIds(directories));
+
+        GraphSchema resumedGraphSchema = createJob(
+                nodes,
+                targetConfig,
+                ExportCheckpoint.create(directories.checkpointFilePath(), true)).execute();
+
+        assertEquals(graphSchema.toJson(true), resumedGraphSchema.toJson(true));
+        assertEquals(Collections.nCopies(6, 1), countsOfExportedIds(directories));
+    }
+
+    @Test
+    public void shouldExportSameNodesWithAndWithoutCheckpoint() throws Exception {
+        Directories directories = Directories.createFor(DirectoryStructure.PropertyGraph, tempFolder.getRoot(), "export", "", "");
+        PropertyGraphTargetConfig targetConfig = createTargetConfig(directories);
+
+        createJob(
+                createNodesExportSpecification(),
+                targetConfig,
+                ExportCheckpoint.create(directories.checkpointFilePath(), false)).execute();
+
+        assertTrue(directories.checkpointFilePath().toFile().exists());
+        assertEquals(Collections.nCopies(6, 1), countsOfExportedIds(directories));
+    }
+
+    @Test
+    public void shouldExportNodesAndBatchedEdgeLabelsOnSharedScheduler() throws Exception {
+        Directories directories = Directories.createFor(DirectoryStructure.PropertyGraph, tempFolder.getRoot(), "export", "", "");
+        PropertyGraphTargetConfig targetConfig = createTargetConfig(directories);
+
+        ExportSpecification edges = new ExportSpecification(
+                GraphElementType.edges,
+                new SpecifiedLabels(Arrays.asList(new Label("knows"), new Label("created")), EdgeLabelStrategy.edgeLabelsOnly),
+                GremlinFilters.EMPTY,
+                new ExportStats(),
+                false,
+                new FeatureToggles(Collections.emptyList()));
+
+        GraphSchema graphSchema = new ExportPropertyGraphJob(
+                Arrays.asList(createNodesExportSpecification(), edges),
+                new GraphSchema(),
+                g,
+                new RangeConfig(-1, 0, Long.MAX_VALUE, -1, -1),
+                GremlinFilters.EMPTY,
+                new ConcurrencyConfig(2),
+                targetConfig,
+                new FeatureToggles(Collections.emptyList()),
+                100,
+                ExportPropertyGraphJobOptions.DEFAULT_OPTIONS).execute();
+
+        assertEquals(2, graphSchema.graphElementSchemasFor(GraphElementType.nodes).labels().size());
+        assertEquals(2, graphSchema.graphElementSchemasFor(GraphElementType.edges).labels().size());
+        assertEquals(Collections.nCopies(6, 1), countsOfExportedIds(directories));
+
+        int numberOfEdges = 0;
+        for (File file : FileUtils.listFiles(directories.rootDirectory().resolve("edges").toFile(), null, true)) {
+            numberOfEdges += FileUtils.readLines(file, StandardCharsets.UTF_8).size() - 1;
+        }
+        assertEquals(6, numberOfEdges);
+    }
+
+    @Test
+    public void shouldRewriteLabelsWhileExportIsStillRunningWhenPipelined() throws Exception {
+        Directories directories = Directories.createFor(DirectoryStructure.PropertyGraph, tempFolder.getRoot(), "export", "", "");
+        PropertyGraphTargetConfig targetConfig = createTargetConfig(directories, true);
+
+        ExportSpecification edges = new ExportSpecification(
+                GraphElementType.edges,
+                new AllLabels(EdgeLabelStrategy.edgeLabelsOnly),
+                GremlinFilters.EMPTY,
+                new ExportStats(),
+                false,
+                new FeatureToggles(Collections.emptyList()));
+
+        GraphSchema graphSchema = new ExportPropertyGraphJob(
+                Arrays.asList(createNodesExportSpecification(), edges),
+                new GraphSchema(),
+                g,
+                new RangeConfig(-1, 0, Long.MAX_VALUE, -1, -1),
+                GremlinFilters.EMPTY,
+                new ConcurrencyConfig(2),
+                targetConfig,
+                new FeatureToggles(Collections.emptyList()),
+                100,
+                ExportPropertyGraphJobOptions.builder()
+                        .setRewriteConcurrencyConfig(new ConcurrencyConfig(1))
+                        .setPipelineRewrites(true)
+                        .build()).execute();
+
+        assertEquals(2, graphSchema.graphElementSchemasFor(GraphElementType.nodes).labels().size());
+        assertEquals(2, graphSchema.graphElementSchemasFor(GraphElementType.edges).labels().size());
+        assertEquals(Collections.nCopies(6, 1), countsOfExportedIds(directories));
+
+        // Merged output leaves a single file per label
+        assertEquals(2, FileUtils.listFiles(directories.rootDirectory().resolve("nodes").toFile(), null, true).size());
+        assertEquals(2, FileUtils.listFiles(directories.rootDirectory().resolve("edges").toFile(), null, true).size());
+    }
+
+    @Test
+    public void shouldExportWithoutCountingWhenUsingLazyRanges() throws Exception {
+        Directories directories = Directories.createFor(DirectoryStructure.PropertyGraph, tempFolder.getRoot(), "export", "", "");
+        PropertyGraphTargetConfig targetConfig = createTargetConfig(directories);
+
+        ExportStats stats = new ExportStats();
+        ExportSpecification nodes = new ExportSpecification(
+                GraphElementType.nodes,
+                new AllLabels(NodeLabelStrategy.nodeLabelsOnly),
+                GremlinFilters.EMPTY,
+                stats,
+                false,
+                new FeatureToggles(Collections.emptyList()));
+
+        GraphSchema graphSchema = new ExportPropertyGraphJob(
+                Collections.singletonList(nodes),
+                new GraphSchema(),
+                g,
+                new RangeConfig(2, 0, Long.MAX_VALUE, -1, -1, RangeStrategy.offset, RangeConfig.DEFAULT_TARGET_RANGE_LATENCY_MILLIS, true),
+                GremlinFilters.EMPTY,
+                new ConcurrencyConfig(2),
+                targetConfig,
+                new FeatureToggles(Collections.emptyList()),
+                100,
+                ExportPropertyGraphJobOptions.DEFAULT_OPTIONS).execute();
+
+        assertEquals(Collections.nCopies(6, 1), countsOfExportedIds(directories));
+        assertTrue(stats.formatStats(graphSchema).contains("Source:" + System.lineSeparator() + "  Nodes: 6"));
+    }
+
+    @Test
+    public void shouldCountBeforeExportingWhenLazyRangesAreUsedWithCheckpoint() throws Exception {
+        Directories directories = Directories.createFor(DirectoryStructure.PropertyGraph, tempFolder.getRoot(), "export", "", "");
+
+        createJob(
+                createNodesExportSpecification(),
+                createTargetConfig(directories),
+                ExportCheckpoint.create(directories.checkpointFilePath(), false),
+                new RangeConfig(2, 0, Long.MAX_VALUE, -1, -1, RangeStrategy.offset, RangeConfig.DEFAULT_TARGET_RANGE_LATENCY_MILLIS, true)).execute();
+
+        assertEquals(Collections.nCopies(6, 1), countsOfExportedIds(directories));
+    }
+
+    @Test
+    public void shouldNotStopAtFirstShortRangeWhenLazyRangesAreFilteredAfterRange() throws Exception {
+        Directories directories = Directories.createFor(DirectoryStructure.PropertyGraph, tempFolder.getRoot(), "export", "", "");
+
+        // Without --filter-edges-early, the edge filter is applied after each range, so the first range, which
+        // contains only 'knows' edges, comes back empty. Filters are appended to the traversal's bytecode, so the
+        // export goes through a remote connection, as it would with Neptune.
+        GraphTraversalSource remoteG = traversal().withRemote(new EmbeddedRemoteConnection(g));
+        GremlinFilters gremlinFilters = new GremlinFilters(null, null, "hasLabel('created')", false);
+        ExportSpecification edges = new ExportSpecification(
+                GraphElementType.edges,
+                new AllLabels(EdgeLabelStrategy.edgeLabelsOnly),
+                gremlinFilters,
+                new ExportStats(),
+                false,
+                new FeatureToggles(Collections.emptyList()));
+
+        new ExportPropertyGraphJob(
+                Collections.singletonList(edges),
+                new GraphSchema(),
+                remoteG,
+                new RangeConfig(2, 0, Long.MAX_VALUE, -1, -1, RangeStrategy.offset, RangeConfig.DEFAULT_TARGET_RANGE_LATENCY_MILLIS, true),
+                gremlinFilters,
+                concurrencyConfig,
+                createTargetConfig(directories),
+                new FeatureToggles(Collections.emptyList()),
+                100,
+                ExportPropertyGraphJobOptions.DEFAULT_OPTIONS).execute();
+
+        List<String> edgeIds = new ArrayList<>();
+        for (File file : FileUtils.listFiles(directories.rootDirectory().resolve("edges").toFile(), null, true)) {
+            List<String> lines = FileUtils.readLines(file, StandardCharsets.UTF_8);
+            for (String line : lines.subList(1, lines.size())) {
+                edgeIds.add(line.substring(1, line.indexOf('"', 1)));
+            }
+        }
+        Collections.sort(edgeIds);
+
+        assertEquals(Arrays.asList("10", "11", "12", "9"), edgeIds);
+    }
+
+    @Test
+    public void shouldWriteResultsOnSerializerThreadsWithAndWithoutCheckpoint() throws Exception {
+        for (boolean checkpointEnabled : new boolean[]{false, true}) {
+            Directories directories = Directories.createFor(DirectoryStructure.PropertyGraph, tempFolder.newFolder(), "export", "", "");
+
+            new ExportPropertyGraphJob(
+                    Collections.singletonList(createNodesExportSpecification()),
+                    new GraphSchema(),
+                    g,
+                    rangeConfig,
+                    GremlinFilters.EMPTY,
+                    concurrencyConfig,
+                    createTargetConfig(directories),
+                    new FeatureToggles(Collections.emptyList()),
+                    100,
+                    ExportPropertyGraphJobOptions.builder()
+                            .setCheckpoint(checkpointEnabled ?
+                                    ExportCheckpoint.create(directories.checkpointFilePath(), false) :
+                                    ExportCheckpoint.disabled())
+                            .setSerializerConcurrency(1)
+                            .build()).execute();
+
+            assertEquals(Collections.nCopies(6, 1), countsOfExportedIds(directories));
+        }
+    }
+
+    private ExportPropertyGraphJob createJob(ExportSpecification nodes,
+                                             PropertyGraphTargetConfig targetConfig,
+                                             ExportCheckpoint checkpoint) {
+        return createJob(nodes, targetConfig, checkpoint, rangeConfig);
+    }
+
+    private ExportPropertyGraphJob createJob(ExportSpecification nodes,
+                                             PropertyGraphTargetConfig targetConfig,
+                                             ExportCheckpoint checkpoint,
+                                             RangeConfig rangeConfig) {
+        return new ExportPropertyGraphJob(
+                Collections.singletonList(nodes),
+                new GraphSchema(),
+                g,
+                rangeConfig,
+                GremlinFilters.EMPTY,
+                concurrencyConfig,
+                targetConfig,
+                new FeatureToggles(Collections.emptyList()),
+                100,
+                ExportPropertyGraphJobOptions.builder().setCheckpoint(checkpoint).build());
+    }
+
+    private List<Integer> countsOfExportedIds(Directories directories) throws IOException {
+        int[] counts = new int[6];
+        for (File file : FileUtils.listFiles(directories.rootDirectory().resolve("nodes").toFile(), null, true)) {
+            List<String> lines = FileUtils.readLines(file, StandardCharsets.UTF_8);
+            for (String line : lines.subList(1, lines.size())) {
+                counts[Integer.parseInt(line.substring(1, line.indexOf('"', 1))) - 1]++;
+            }
+        }
+        List<Integer> results = new ArrayList<>();
+        for (int count : counts) {
+            results.add(count);
+        }
+        return results;
+    }
+
+    private ExportSpecification createNodesExportSpecification() {
+        return new ExportSpecification(
+                GraphElementType.nodes,
+                new AllLabels(NodeLabelStrategy.nodeLabelsOnly),
+                GremlinFilters.EMPTY,
+                new ExportStats(),
+                false,
+                new FeatureToggles(Collections.emptyList()));
+    }
+
+    private PropertyGraphTargetConfig createTargetConfig(Directories directories) {
+        return createTargetConfig(directories, false);
+    }
+
+    private PropertyGraphTargetConfig createTargetConfig(Directories directories, boolean mergeFiles) {
+        return new PropertyGraphTargetConfig(
+                directories,
+                null,
+                new FileConfig(FileConfig.DEFAULT_BUFFER_SIZE, FileConfig.DEFAULT.commitPolicy(), OutputFileListener.NULL_LISTENER, CompressionCodec.none),
+                new PrinterOptionsModule().config(),
+                PropertyGraphExportFormat.csv,
+                Target.files,
+                mergeFiles,
+                false,
+                false,
+                FileRolloverPolicy.NONE,
+                true);
+    }
+}
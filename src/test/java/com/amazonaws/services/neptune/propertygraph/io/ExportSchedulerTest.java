@@ -0,0 +1,63 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph.io;
+
+import org.junit.Test;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ExportSchedulerTest {
+
+    @Test
+    public void shouldWaitForWorkUnitsScheduledByOtherWorkUnits() throws Exception {
+        AtomicInteger completed = new AtomicInteger();
+
+        try (ExportScheduler scheduler = new ExportScheduler(2)) {
+            for (int i = 0; i < 3; i++) {
+                scheduler.submit(() -> {
+                    for (int j = 0; j < 5; j++) {
+                        scheduler.submit(() -> {
+                            Thread.sleep(10);
+                            return completed.incrementAndGet();
+                        });
+                    }
+                    return null;
+                });
+            }
+            scheduler.awaitCompletion();
+        }
+
+        assertEquals(15, completed.get());
+    }
+
+    @Test
+    public void shouldRethrowFailureFromWorkUnit() throws Exception {
+        try (ExportScheduler scheduler = new ExportScheduler(2)) {
+            scheduler.submit(() -> {
+                scheduler.submit(() -> {
+                    throw new IllegalStateException("Query failed");
+                });
+                return null;
+            });
+            scheduler.awaitCompletion();
+            fail("Expected ExecutionException");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+}
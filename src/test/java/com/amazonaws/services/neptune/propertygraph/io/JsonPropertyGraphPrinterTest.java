@@ -306,4 +306,55 @@ public class JsonPropertyGraphPrinterTest {
             printer.printEndRow();
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldPrintPresentPropertiesOfWideLabelInSchemaOrder() throws Exception {
+        StringWriter stringWriter = new StringWriter();
+
+        LabelSchema labelSchema = new LabelSchema(new Label("Entity"));
+        for (int i = 0; i < 20; i++) {
+            labelSchema.put("property" + i, new PropertySchema("property" + i, false, DataType.Integer, false, EnumSet.noneOf(DataType.class)));
+        }
+
+        Map<String, Integer> props = new LinkedHashMap<>();
+        props.put("property12", 12);
+        props.put("property3", 3);
+
+        try (PropertyGraphPrinter propertyGraphPrinter = PropertyGraphExportFormat.json.createPrinter(new PrintOutputWriter("outputId", stringWriter), labelSchema, PrinterOptions.NULL_OPTIONS)) {
+            propertyGraphPrinter.printStartRow();
+            propertyGraphPrinter.printProperties(props);
+            propertyGraphPrinter.printEndRow();
+        }
+
+        assertEquals(
+                "{\"property3\":3,\"property12\":12}",
+                stringWriter.toString());
+    }
+
+    @Test
+    public void shouldMakeAbsentPropertiesNullableWhenInferringSchema() throws Exception {
+        StringWriter stringWriter = new StringWriter();
+
+        LabelSchema labelSchema = new LabelSchema(new Label("Entity"));
+        for (int i = 0; i < 20; i++) {
+            labelSchema.put("property" + i, new PropertySchema("property" + i, false, DataType.Integer, false, EnumSet.noneOf(DataType.class)));
+        }
+
+        try (PropertyGraphPrinter propertyGraphPrinter = PropertyGraphExportFormat.json.createPrinterForInferredSchema(new PrintOutputWriter("outputId", stringWriter), labelSchema, PrinterOptions.NULL_OPTIONS)) {
+            propertyGraphPrinter.printStartRow();
+            propertyGraphPrinter.printProperties(map(entry("property3", 3), entry("property12", 12), entry("newProperty", 1)));
+            propertyGraphPrinter.printEndRow();
+        }
+
+        assertEquals(
+                "{\"property3\":3,\"property12\":12,\"newProperty\":1}",
+                stringWriter.toString());
+        for (PropertySchema propertySchema : labelSchema.propertySchemas()) {
+            boolean isPresent = propertySchema.property().equals("property3") ||
+                    propertySchema.property().equals("property12") ||
+                    propertySchema.property().equals("newProperty");
+            assertEquals(propertySchema.property().toString(), !isPresent, propertySchema.isNullable());
+        }
+    }
+
+}
@@ -0,0 +1,182 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph.io;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PipelinedGraphElementHandlerTest {
+
+    private final ExecutorService serializerExecutor = Executors.newSingleThreadExecutor();
+
+    @After
+    public void shutdown() {
+        serializerExecutor.shutdownNow();
+    }
+
+    @Test
+    public void shouldWriteAllElementsInOrderOnSerializerThread() throws Exception {
+        RecordingHandler parent = new RecordingHandler();
+        PipelinedGraphElementHandler<Integer> handler = new PipelinedGraphElementHandler<>(parent, serializerExecutor, 3, 2);
+
+        for (int i = 0; i < 100; i++) {
+            handler.handle(i, false);
+        }
+        handler.flush();
+
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            expected.add(i);
+        }
+        assertEquals(expected, parent.elements);
+        assertTrue(parent.threads.stream().noneMatch(t -> t == Thread.currentThread()));
+
+        handler.close();
+        assertTrue(parent.closed);
+    }
+
+    @Test
+    public void shouldBlockProducerWhenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingHandler parent = new RecordingHandler() {
+            @Override
+            public void handle(Integer element, boolean allowTokens) throws IOException {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                super.handle(element, allowTokens);
+            }
+        };
+        PipelinedGraphElementHandler<Integer> handler = new PipelinedGraphElementHandler<>(parent, serializerExecutor, 1, 2);
+
+        AtomicBoolean producerFinished = new AtomicBoolean(false);
+        Thread producer = new Thread(() -> {
+            try {
+                for (int i = 0; i < 10; i++) {
+                    handler.handle(i, false);
+                }
+                handler.flush();
+                producerFinished.set(true);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        producer.start();
+
+        // One batch is being written and two are queued, so the producer cannot get past the fourth element
+        Thread.sleep(200);
+        assertTrue(!producerFinished.get());
+
+        release.countDown();
+        producer.join(TimeUnit.SECONDS.toMillis(10));
+
+        assertTrue(producerFinished.get());
+        assertEquals(10, parent.elements.size());
+    }
+
+    @Test
+    public void shouldPropagateSerializerFailureToProducer() throws Exception {
+        RecordingHandler parent = new RecordingHandler() {
+            @Override
+            public void handle(Integer element, boolean allowTokens) throws IOException {
+                if (element == 5) {
+                    throw new IOException("Disk full");
+                }
+                super.handle(element, allowTokens);
+            }
+        };
+        PipelinedGraphElementHandler<Integer> handler = new PipelinedGraphElementHandler<>(parent, serializerExecutor, 2, 2);
+
+        try {
+            for (int i = 0; i < 1000; i++) {
+                handler.handle(i, false);
+            }
+            handler.flush();
+            fail("Expected IOException");
+        } catch (IOException e) {
+            assertEquals("Disk full", e.getCause().getMessage());
+        }
+
+        assertEquals(5, parent.elements.size());
+    }
+
+    @Test
+    public void shouldDiscardElementsThatHaveNotBeenWritten() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingHandler parent = new RecordingHandler() {
+            @Override
+            public void handle(Integer element, boolean allowTokens) throws IOException {
+                writing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                super.handle(element, allowTokens);
+            }
+        };
+        PipelinedGraphElementHandler<Integer> handler = new PipelinedGraphElementHandler<>(parent, serializerExecutor, 1, 4);
+
+        for (int i = 0; i < 4; i++) {
+            handler.handle(i, false);
+        }
+        writing.await();
+
+        Thread discarder = new Thread(handler::discard);
+        discarder.start();
+        Thread.sleep(100);
+
+        // Discard waits for the batch currently being written
+        assertTrue(discarder.isAlive());
+
+        release.countDown();
+        discarder.join(TimeUnit.SECONDS.toMillis(10));
+
+        assertEquals(Collections.singletonList(0), parent.elements);
+    }
+
+    private static class RecordingHandler implements GraphElementHandler<Integer> {
+
+        final List<Integer> elements = Collections.synchronizedList(new ArrayList<>());
+        final List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+        volatile boolean closed = false;
+
+        @Override
+        public void handle(Integer element, boolean allowTokens) throws IOException {
+            elements.add(element);
+            threads.add(Thread.currentThread());
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
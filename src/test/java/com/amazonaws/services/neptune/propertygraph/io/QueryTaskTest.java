@@ -168,6 +168,7 @@ public class QueryTaskTest {
         PropertyGraphTargetConfig targetConfig = mock(PropertyGraphTargetConfig.class);
         when(targetConfig.createPrinterForEdges(any(), any())).thenReturn(mock(PropertyGraphPrinter.class));
         when(targetConfig.createPrinterForNodes(any(), any())).thenReturn(mock(PropertyGraphPrinter.class));
+        when(targetConfig.rolloverPolicy()).thenReturn(FileRolloverPolicy.NONE);
 
         return  new QueryTask(mockQueries,
                 getMockClient(traversal),
@@ -0,0 +1,215 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph.io;
+
+import com.amazonaws.services.neptune.propertygraph.IdRange;
+import com.amazonaws.services.neptune.propertygraph.Range;
+import com.amazonaws.services.neptune.propertygraph.RangeRetryPolicy;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RetryingRangeQueryTest {
+
+    private static final RangeRetryPolicy RETRY_POLICY = new RangeRetryPolicy(3, 0, 8);
+
+    private final List<Object> written = new ArrayList<>();
+    private final List<String> queriedRanges = new ArrayList<>();
+
+    @Test
+    public void shouldResumeRangeAfterTransientFailureWithoutWritingDuplicates() throws Exception {
+        AtomicInteger failures = new AtomicInteger();
+
+        createRangeQuery((range, position) -> {
+            if (position == 3 && failures.getAndIncrement() == 0) {
+                throw new IllegalStateException("{\"code\":\"ThrottlingException\"}");
+            }
+        }).execute(new Range(0, 10), handler());
+
+        assertEquals(expected(0, 10), written);
+        assertEquals("[range(0, 10), range(3, 10)]", queriedRanges.toString());
+    }
+
+    @Test
+    public void shouldBisectRangeThatExceedsTimeLimit() throws Exception {
+        createRangeQuery((range, position) -> {
+            if (range.difference() > 4 && position == 2) {
+                throw new RuntimeException(new IllegalStateException("{\"code\":\"TimeLimitExceededException\"}"));
+            }
+        }).execute(new Range(0, 20), handler());
+
+        assertEquals(expected(0, 20), written);
+        assertEquals("range(0, 20)", queriedRanges.get(0));
+        assertTrue(queriedRanges.contains("range(2, 11)"));
+    }
+
+    @Test
+    public void shouldResumeOpenEndedRangeThatExceedsTimeLimit() throws Exception {
+        createRangeQuery((range, position) -> {
+            if (range.difference() < 0 && position == 4) {
+                throw new IllegalStateException("{\"code\":\"MemoryLimitExceededException\"}");
+            }
+        }).execute(new Range(0, -1), handler());
+
+        assertEquals(expected(0, 20), written);
+        assertEquals("[range(0, -1), range(4, -1), range(8, -1), range(12, -1), range(16, -1)]", queriedRanges.toString());
+    }
+
+    @Test
+    public void shouldNotRetryFatalFailure() throws Exception {
+        try {
+            createRangeQuery(FaultInjector.FAIL_EVERY_ELEMENT).execute(new Range(0, 10), handler());
+            fail("Expected exception");
+        } catch (IllegalStateException e) {
+            assertEquals("Simulated fault", e.getMessage());
+        }
+        assertEquals(1, queriedRanges.size());
+    }
+
+    @Test
+    public void shouldGiveUpAfterMaxAttempts() throws Exception {
+        try {
+            createRangeQuery((range, position) -> {
+                throw new IllegalStateException("TooManyRequestsException");
+            }).execute(new Range(0, 10), handler());
+            fail("Expected exception");
+        } catch (IllegalStateException e) {
+            assertEquals(3, queriedRanges.size());
+        }
+    }
+
+    @Test
+    public void shouldNotRetryRangeWithoutStableOrderOncePartiallyWritten() throws Exception {
+        try {
+            createRangeQuery((range, position) -> {
+                if (position == 1) {
+                    throw new IllegalStateException("TimeLimitExceededException");
+                }
+            }).execute(new IdRange("a", "z"), handler());
+            fail("Expected exception");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage().startsWith("Unable to retry"));
+        }
+    }
+
+    @Test
+    public void shouldClassifyNeptuneErrors() {
+        assertEquals(RangeQueryFailure.sizePressure, RangeQueryFailure.classify(new RuntimeException(new Exception("{\"code\":\"MemoryLimitExceededException\"}"))));
+        assertEquals(RangeQueryFailure.transientFailure, RangeQueryFailure.classify(new RuntimeException(new TimeoutException())));
+        assertEquals(RangeQueryFailure.fatal, RangeQueryFailure.classify(new RuntimeException(new IOException("Disk full"))));
+    }
+
+    @Test
+    public void shouldNotResumeRangeFilteredAfterRangeOncePartiallyWritten() throws Exception {
+        AtomicInteger failures = new AtomicInteger();
+
+        try {
+            new RetryingRangeQuery(this::queryEvenElements, true, RETRY_POLICY, (range, position) -> {
+                if (position == 3 && failures.getAndIncrement() == 0) {
+                    throw new IllegalStateException("{\"code\":\"ThrottlingException\"}");
+                }
+            }).execute(new Range(0, 20), handler());
+            fail("Expected exception");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage().startsWith("Unable to retry"));
+        }
+
+        assertEquals(Arrays.asList(0L, 2L, 4L), written);
+        assertEquals("[range(0, 20)]", queriedRanges.toString());
+    }
+
+    @Test
+    public void shouldRetryRangeFilteredAfterRangeIfNothingWasWritten() throws Exception {
+        AtomicInteger failures = new AtomicInteger();
+
+        new RetryingRangeQuery(this::queryEvenElements, true, RETRY_POLICY, (range, position) -> {
+            if (position == 0 && failures.getAndIncrement() == 0) {
+                throw new IllegalStateException("{\"code\":\"MemoryLimitExceededException\"}");
+            }
+        }).execute(new Range(0, 20), handler());
+
+        assertEquals(expected(0, 20).stream().filter(i -> (Long) i % 2 == 0).collect(Collectors.toList()), written);
+        assertEquals(new HashSet<>(written).size(), written.size());
+    }
+
+    private RetryingRangeQuery createRangeQuery(FaultInjector faultInjector) {
+        return new RetryingRangeQuery(this::query, false, RETRY_POLICY, faultInjector);
+    }
+
+    // Simulates a filter applied after the range, which drops the odd elements
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private void queryEvenElements(Range range, GraphElementHandler handler) {
+        query(range, new GraphElementHandler<Object>() {
+            @Override
+            public void handle(Object element, boolean allowTokens) throws IOException {
+                if ((Long) element % 2 == 0) {
+                    handler.handle(element, allowTokens);
+                }
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+    }
+
+    // Simulates 20 elements returned in a stable order, honouring offset and ID ranges
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private void query(Range range, GraphElementHandler handler) {
+        queriedRanges.add(range.toString());
+        String s = range.toString();
+        long start = 0;
+        long end = 20;
+        if (s.startsWith("range(")) {
+            String[] bounds = s.substring(6, s.length() - 1).split(", ");
+            start = Long.parseLong(bounds[0]);
+            end = Long.parseLong(bounds[1]) < 0 ? 20 : Long.parseLong(bounds[1]);
+        }
+        for (long i = start; i < end; i++) {
+            try {
+                handler.handle(i, false);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    private GraphElementHandler<Object> handler() {
+        return new GraphElementHandler<Object>() {
+            @Override
+            public void handle(Object element, boolean allowTokens) {
+                written.add(element);
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    private static List<Object> expected(long start, long end) {
+        return LongStream.range(start, end).boxed().collect(Collectors.toList());
+    }
+}
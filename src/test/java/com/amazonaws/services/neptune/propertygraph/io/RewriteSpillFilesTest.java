@@ -0,0 +1,229 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph.io;
+
+import com.amazonaws.services.neptune.cli.PrinterOptionsModule;
+import com.amazonaws.services.neptune.cluster.ConcurrencyConfig;
+import com.amazonaws.services.neptune.export.FeatureToggles;
+import com.amazonaws.services.neptune.io.*;
+import com.amazonaws.services.neptune.io.parquet.ParquetTestReader;
+import com.amazonaws.services.neptune.propertygraph.Label;
+import com.amazonaws.services.neptune.propertygraph.schema.*;
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.*;
+
+import static com.amazonaws.services.neptune.util.MapUtils.entry;
+import static com.amazonaws.services.neptune.util.MapUtils.map;
+import static org.junit.Assert.*;
+
+public class RewriteSpillFilesTest {
+
+    private TemporaryFolder tempFolder;
+
+    @Before
+    public void setUp() throws IOException {
+        tempFolder = new TemporaryFolder();
+        tempFolder.create();
+    }
+
+    @After
+    public void tearDown() {
+        tempFolder.delete();
+    }
+
+    @Test
+    public void shouldProduceSameCsvFilesAsRewriteCsv() throws Exception {
+        Map<String, String> expected = export(false, false);
+        Map<String, String> actual = export(true, false);
+
+        assertEquals(2, actual.size());
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void shouldProduceSameMergedCsvFileAsRewriteAndMergeCsv() throws Exception {
+        Map<String, String> expected = export(false, true);
+        Map<String, String> actual = export(true, true);
+
+        assertEquals(1, actual.size());
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void shouldRewriteCompressedFiles() throws Exception {
+        Map<String, String> expected = export(false, false);
+
+        for (boolean useSpillFiles : new boolean[]{false, true}) {
+            Map<String, String> actual = export(useSpillFiles, false, CompressionCodec.gzip);
+
+            assertEquals(2, actual.size());
+            for (Map.Entry<String, String> entry : expected.entrySet()) {
+                assertEquals(entry.getValue(), actual.get(entry.getKey() + ".gz"));
+            }
+        }
+    }
+
+    @Test
+    public void shouldComputeMasterSchemaFromSpilledFiles() throws Exception {
+        Directories directories = createDirectories("schema");
+        PropertyGraphTargetConfig targetConfig = createTargetConfig(directories, true, false);
+
+        MasterLabelSchemas masterLabelSchemas = targetConfig
+                .createRewriteCommand(new ConcurrencyConfig(1), new FeatureToggles(Collections.emptyList()))
+                .execute(spill(targetConfig));
+
+        LabelSchema labelSchema = masterLabelSchemas.schemas().iterator().next().labelSchema();
+
+        assertEquals(DataType.String, labelSchema.getPropertySchema("age").dataType());
+        assertEquals(DataType.Date, labelSchema.getPropertySchema("born").dataType());
+        assertEquals(DataType.String, labelSchema.getPropertySchema("updated").dataType());
+        assertTrue(labelSchema.getPropertySchema("tags").isMultiValue());
+        assertTrue(labelSchema.getPropertySchema("born").isNullable());
+        assertEquals(3, labelSchema.getPropertySchemaStats("name").observationCount());
+        assertEquals(0, Objects.requireNonNull(directories.rootDirectory().resolve("nodes").toFile()
+                .listFiles((dir, name) -> name.endsWith(".spill"))).length);
+    }
+
+    @Test
+    public void shouldWriteParquetFilesFromSpillFiles() throws Exception {
+        Directories directories = createDirectories("parquet");
+        PropertyGraphTargetConfig targetConfig = createTargetConfig(directories, false, true, CompressionCodec.none, PropertyGraphExportFormat.parquet);
+
+        assertTrue(targetConfig.spillToFiles());
+
+        targetConfig.createRewriteCommand(new ConcurrencyConfig(1), new FeatureToggles(Collections.emptyList()))
+                .execute(spill(targetConfig));
+
+        File[] files = Objects.requireNonNull(directories.rootDirectory().resolve("nodes").toFile().listFiles());
+        assertEquals(1, files.length);
+        assertTrue(files[0].getName().endsWith(".parquet"));
+
+        ParquetTestReader reader = new ParquetTestReader(files[0]);
+
+        assertEquals(Arrays.asList("~id", "~label", "name", "updated", "age", "tags", "born", "score", "active"), reader.columnNames());
+        assertEquals(2, reader.repetition("tags"));
+        assertEquals(Integer.valueOf(9), reader.convertedType("born"));
+
+        List<Map<String, Object>> rows = reader.rows();
+        assertEquals(3, rows.size());
+
+        assertEquals("p1-0", rows.get(0).get("~id"));
+        assertEquals(Collections.singletonList("person"), rows.get(0).get("~label"));
+        assertEquals("Alice \"Al\"", rows.get(0).get("name"));
+        assertEquals("30", rows.get(0).get("age"));
+        assertEquals(Arrays.asList("a", "b;c"), rows.get(0).get("tags"));
+        assertEquals(DataType.Date.format(new Date(1500000000000L)), rows.get(0).get("updated"));
+        assertNull(rows.get(0).get("born"));
+
+        assertEquals(1600000000000L, rows.get(1).get("born"));
+        assertEquals(Collections.emptyList(), rows.get(1).get("tags"));
+
+        assertEquals("unknown", rows.get(2).get("age"));
+        assertEquals(true, rows.get(2).get("active"));
+        assertEquals(1.5, rows.get(2).get("score"));
+        assertEquals("never", rows.get(2).get("updated"));
+    }
+
+    private Map<String, String> export(boolean useSpillFiles, boolean mergeFiles) throws Exception {
+        return export(useSpillFiles, mergeFiles, CompressionCodec.none);
+    }
+
+    private Map<String, String> export(boolean useSpillFiles, boolean mergeFiles, CompressionCodec compressionCodec) throws Exception {
+        Directories directories = createDirectories(String.format("%s-%s-%s", useSpillFiles, mergeFiles, compressionCodec));
+        PropertyGraphTargetConfig targetConfig = createTargetConfig(directories, useSpillFiles, mergeFiles, compressionCodec);
+
+        targetConfig.createRewriteCommand(new ConcurrencyConfig(1), new FeatureToggles(Collections.emptyList()))
+                .execute(spill(targetConfig));
+
+        Map<String, String> results = new TreeMap<>();
+        for (File file : Objects.requireNonNull(directories.rootDirectory().resolve("nodes").toFile().listFiles())) {
+            try (Reader reader = CompressionCodec.newReader(file)) {
+                results.put(file.getName(), IOUtils.toString(reader));
+            }
+        }
+        return results;
+    }
+
+    private MasterLabelSchemas spill(PropertyGraphTargetConfig targetConfig) throws Exception {
+
+        FileSpecificLabelSchemas fileSpecificLabelSchemas = new FileSpecificLabelSchemas();
+
+        LabelSchema labelSchema1 = new LabelSchema(new Label("person"));
+        try (PropertyGraphPrinter printer = targetConfig.createPrinterForNodes("person-1", labelSchema1)) {
+            printNodes(printer, "p1",
+                    map(entry("name", "Alice \"Al\""), entry("age", 30), entry("tags", Arrays.asList("a", "b;c")), entry("updated", new Date(1500000000000L))),
+                    map(entry("name", "Bob\nSmith"), entry("born", new Date(1600000000000L))));
+            fileSpecificLabelSchemas.add(printer.outputId(), targetConfig.format(), labelSchema1);
+        }
+
+        LabelSchema labelSchema2 = new LabelSchema(new Label("person"));
+        try (PropertyGraphPrinter printer = targetConfig.createPrinterForNodes("person-2", labelSchema2)) {
+            printNodes(printer, "p2",
+                    map(entry("age", "unknown"), entry("name", "Carol"), entry("active", true), entry("score", 1.5), entry("updated", "never")));
+            fileSpecificLabelSchemas.add(printer.outputId(), targetConfig.format(), labelSchema2);
+        }
+
+        LabelSchema masterLabelSchema = labelSchema1.union(labelSchema2);
+
+        Collection<FileSpecificLabelSchema> schemas = fileSpecificLabelSchemas.fileSpecificLabelSchemasFor(new Label("person"));
+        Map<Label, MasterLabelSchema> masterLabelSchemas = new HashMap<>();
+        masterLabelSchemas.put(new Label("person"), new MasterLabelSchema(masterLabelSchema, schemas));
+
+        return new MasterLabelSchemas(masterLabelSchemas, GraphElementType.nodes);
+    }
+
+    private void printNodes(PropertyGraphPrinter printer, String idPrefix, Map<?, ?>... rows) throws Exception {
+        int i = 0;
+        for (Map<?, ?> row : rows) {
+            printer.printStartRow();
+            printer.printNode(String.format("%s-%s", idPrefix, i++), Collections.singletonList("person"));
+            printer.printProperties(row);
+            printer.printEndRow();
+        }
+    }
+
+    private Directories createDirectories(String exportId) throws IOException {
+        return Directories.createFor(DirectoryStructure.PropertyGraph, tempFolder.getRoot(), exportId, "", "");
+    }
+
+    private PropertyGraphTargetConfig createTargetConfig(Directories directories, boolean useSpillFiles, boolean mergeFiles) {
+        return createTargetConfig(directories, useSpillFiles, mergeFiles, CompressionCodec.none);
+    }
+
+    private PropertyGraphTargetConfig createTargetConfig(Directories directories, boolean useSpillFiles, boolean mergeFiles, CompressionCodec compressionCodec) {
+        return createTargetConfig(directories, useSpillFiles, mergeFiles, compressionCodec, PropertyGraphExportFormat.csv);
+    }
+
+    private PropertyGraphTargetConfig createTargetConfig(Directories directories, boolean useSpillFiles, boolean mergeFiles, CompressionCodec compressionCodec, PropertyGraphExportFormat format) {
+        return new PropertyGraphTargetConfig(
+                directories,
+                null,
+                new FileConfig(FileConfig.DEFAULT_BUFFER_SIZE, FileConfig.DEFAULT.commitPolicy(), OutputFileListener.NULL_LISTENER, compressionCodec),
+                new PrinterOptionsModule().config(),
+                format,
+                Target.files,
+                mergeFiles,
+                false,
+                useSpillFiles,
+                FileRolloverPolicy.NONE,
+                true);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph.io;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.*;
+
+public class RollingLabelWriterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldRollOverToNewFileWhenRowLimitReached() throws Exception {
+        List<FileLabelWriter> writers = new ArrayList<>();
+
+        try (RollingLabelWriter<String> writer = new RollingLabelWriter<>(() -> createWriter(writers), new FileRolloverPolicy(0, 2))) {
+            for (int i = 0; i < 5; i++) {
+                writer.handle("row" + i, true);
+            }
+        }
+
+        assertEquals(3, writers.size());
+        assertEquals("row0\nrow1\n", contentsOf(writers.get(0)));
+        assertEquals("row2\nrow3\n", contentsOf(writers.get(1)));
+        assertEquals("row4\n", contentsOf(writers.get(2)));
+        for (FileLabelWriter w : writers) {
+            assertTrue(w.closed);
+        }
+    }
+
+    @Test
+    public void shouldNotCreateEmptyFileWhenLastRowFillsFile() throws Exception {
+        List<FileLabelWriter> writers = new ArrayList<>();
+
+        try (RollingLabelWriter<String> writer = new RollingLabelWriter<>(() -> createWriter(writers), new FileRolloverPolicy(0, 2))) {
+            for (int i = 0; i < 4; i++) {
+                writer.handle("row" + i, true);
+            }
+        }
+
+        assertEquals(2, writers.size());
+    }
+
+    @Test
+    public void shouldRollOverToNewFileWhenSizeLimitReached() throws Exception {
+        List<FileLabelWriter> writers = new ArrayList<>();
+
+        // Each row is 5 bytes and size is checked every 100 rows, so each file holds 100 rows
+        try (RollingLabelWriter<String> writer = new RollingLabelWriter<>(() -> createWriter(writers), new FileRolloverPolicy(200, 0))) {
+            for (int i = 0; i < 250; i++) {
+                writer.handle("row" + (i % 10), true);
+            }
+        }
+
+        assertEquals(3, writers.size());
+        assertEquals(500, new File(writers.get(0).outputId()).length());
+        assertEquals(500, new File(writers.get(1).outputId()).length());
+        assertEquals(250, new File(writers.get(2).outputId()).length());
+    }
+
+    @Test
+    public void shouldRejectNegativeLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new FileRolloverPolicy(-1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new FileRolloverPolicy(0, -1));
+        assertFalse(FileRolloverPolicy.NONE.isEnabled());
+    }
+
+    private FileLabelWriter createWriter(List<FileLabelWriter> writers) throws IOException {
+        FileLabelWriter writer = new FileLabelWriter(new File(folder.getRoot(), "part-" + writers.size() + ".txt"));
+        writers.add(writer);
+        return writer;
+    }
+
+    private String contentsOf(FileLabelWriter writer) throws IOException {
+        return FileUtils.readFileToString(new File(writer.outputId()), UTF_8);
+    }
+
+    private static class FileLabelWriter implements LabelWriter<String> {
+
+        private final File file;
+        private final Writer writer;
+        private boolean closed = false;
+
+        private FileLabelWriter(File file) throws IOException {
+            this.file = file;
+            this.writer = new FileWriter(file);
+        }
+
+        @Override
+        public void handle(String element, boolean allowTokens) throws IOException {
+            writer.write(element);
+            writer.write("\n");
+            writer.flush();
+        }
+
+        @Override
+        public String outputId() {
+            return file.getAbsolutePath();
+        }
+
+        @Override
+        public void close() throws Exception {
+            writer.close();
+            closed = true;
+        }
+    }
+}
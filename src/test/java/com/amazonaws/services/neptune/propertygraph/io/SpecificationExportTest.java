@@ -0,0 +1,123 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph.io;
+
+import com.amazonaws.services.neptune.export.FeatureToggles;
+import com.amazonaws.services.neptune.propertygraph.AllLabels;
+import com.amazonaws.services.neptune.propertygraph.GremlinFilters;
+import com.amazonaws.services.neptune.propertygraph.Label;
+import com.amazonaws.services.neptune.propertygraph.LabelsFilter;
+import com.amazonaws.services.neptune.propertygraph.NodeLabelStrategy;
+import com.amazonaws.services.neptune.propertygraph.SpecifiedLabels;
+import com.amazonaws.services.neptune.propertygraph.schema.ExportSpecification;
+import com.amazonaws.services.neptune.propertygraph.schema.FileSpecificLabelSchemas;
+import com.amazonaws.services.neptune.propertygraph.schema.GraphElementType;
+import com.amazonaws.services.neptune.propertygraph.schema.LabelSchema;
+import com.amazonaws.services.neptune.propertygraph.schema.MasterLabelSchema;
+import com.amazonaws.services.neptune.propertygraph.schema.MasterLabelSchemas;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SpecificationExportTest {
+
+    private final ExportSpecification nodes = exportSpecification(new AllLabels(NodeLabelStrategy.nodeLabelsOnly));
+
+    @Test
+    public void shouldCompleteLabelOnceNoUnfinishedLabelSpecificExportCanWriteToIt() {
+        ExportSpecification person = exportSpecification(
+                new SpecifiedLabels(Collections.singletonList(new Label("person")), NodeLabelStrategy.nodeLabelsOnly));
+        ExportSpecification software = exportSpecification(
+                new SpecifiedLabels(Collections.singletonList(new Label("software")), NodeLabelStrategy.nodeLabelsOnly));
+
+        SpecificationExport export = new SpecificationExport(nodes);
+        export.addLabelSpecifications(Arrays.asList(person, software));
+
+        MasterLabelSchemas completeLabels = export.completeLabelSpecification(person, files("person"));
+
+        assertEquals(Collections.singletonList("person"), labelsOf(completeLabels));
+        assertTrue(labelsOf(export.completeLabelSpecification(software, files("software"))).contains("software"));
+        assertEquals(2, export.masterLabelSchemas().schemas().size());
+    }
+
+    @Test
+    public void shouldNotCompleteLabelWhileOverlappingLabelSpecificExportIsUnfinished() {
+        ExportSpecification person = exportSpecification(
+                new SpecifiedLabels(Collections.singletonList(new Label("person")), NodeLabelStrategy.nodeLabelsOnly));
+        ExportSpecification all = exportSpecification(new AllLabels(NodeLabelStrategy.nodeLabelsOnly));
+
+        SpecificationExport export = new SpecificationExport(nodes);
+        export.addLabelSpecifications(Arrays.asList(person, all));
+
+        assertTrue(export.completeLabelSpecification(person, files("person")).schemas().isEmpty());
+        assertEquals(Collections.singletonList("person"), labelsOf(export.completeLabelSpecification(all, files("person"))));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldThrowExceptionIfRewritesRequestedBeforeAllLabelsAreComplete() throws Exception {
+        ExportSpecification all = exportSpecification(new AllLabels(NodeLabelStrategy.nodeLabelsOnly));
+
+        SpecificationExport export = new SpecificationExport(nodes);
+        export.addLabelSpecifications(Arrays.asList(all, exportSpecification(new AllLabels(NodeLabelStrategy.nodeLabelsOnly))));
+        export.completeLabelSpecification(all, files("person"));
+
+        export.rewrittenMasterLabelSchemas();
+    }
+
+    @Test
+    public void shouldCollectRewrittenLabels() throws Exception {
+        ExportSpecification person = exportSpecification(
+                new SpecifiedLabels(Collections.singletonList(new Label("person")), NodeLabelStrategy.nodeLabelsOnly));
+
+        SpecificationExport export = new SpecificationExport(nodes);
+        export.addLabelSpecifications(Collections.singletonList(person));
+
+        for (MasterLabelSchema masterLabelSchema : export.completeLabelSpecification(person, files("person")).schemas()) {
+            export.addRewrite(CompletableFuture.completedFuture(masterLabelSchema));
+        }
+
+        assertEquals(Collections.singletonList("person"), labelsOf(export.rewrittenMasterLabelSchemas()));
+    }
+
+    private Collection<FileSpecificLabelSchemas> files(String label) {
+        FileSpecificLabelSchemas fileSpecificLabelSchemas = new FileSpecificLabelSchemas();
+        fileSpecificLabelSchemas.add(label + ".csv", PropertyGraphExportFormat.csv, new LabelSchema(new Label(label)));
+        return Collections.singletonList(fileSpecificLabelSchemas);
+    }
+
+    private static List<String> labelsOf(MasterLabelSchemas masterLabelSchemas) {
+        List<String> labels = new ArrayList<>();
+        for (MasterLabelSchema masterLabelSchema : masterLabelSchemas.schemas()) {
+            labels.add(masterLabelSchema.labelSchema().label().fullyQualifiedLabel());
+        }
+        return labels;
+    }
+
+    private static ExportSpecification exportSpecification(LabelsFilter labelsFilter) {
+        return new ExportSpecification(
+                GraphElementType.nodes,
+                labelsFilter,
+                GremlinFilters.EMPTY,
+                null,
+                false,
+                new FeatureToggles(Collections.emptySet()));
+    }
+}
@@ -0,0 +1,131 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph.io;
+
+import com.amazonaws.services.neptune.propertygraph.Label;
+import com.amazonaws.services.neptune.propertygraph.schema.DataType;
+import com.amazonaws.services.neptune.propertygraph.schema.LabelSchema;
+import com.amazonaws.services.neptune.propertygraph.schema.PropertySchema;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.amazonaws.services.neptune.util.MapUtils.entry;
+import static com.amazonaws.services.neptune.util.MapUtils.map;
+import static org.junit.Assert.*;
+
+public class SpillPropertyGraphPrinterTest {
+
+    @Test
+    public void inferSchemaInTheSameWayAsVariableRowCsvPrinter() throws Exception {
+
+        LabelSchema labelSchema = new LabelSchema(new Label("my-label"));
+
+        SpillPropertyGraphPrinter printer = new SpillPropertyGraphPrinter(
+                new SpillFileWriter("test", new ByteArrayOutputStream(), 1024),
+                labelSchema);
+
+        printNodes(printer,
+                map(entry("p-1", 10), entry("p-2", 20)),
+                map(entry("p-2", "forty"), entry("p-3", 50)),
+                map(entry("p-1", 60), entry("p-2", 70), entry("p-4", 80.5))
+        );
+
+        assertEquals(4, labelSchema.propertyCount());
+        assertTrue(labelSchema.getPropertySchema("p-1").isNullable());
+        assertFalse(labelSchema.getPropertySchema("p-2").isNullable());
+        assertTrue(labelSchema.getPropertySchema("p-3").isNullable());
+        assertTrue(labelSchema.getPropertySchema("p-4").isNullable());
+        assertEquals(DataType.Integer, labelSchema.getPropertySchema("p-1").dataType());
+        assertEquals(DataType.String, labelSchema.getPropertySchema("p-2").dataType());
+        assertEquals(DataType.Double, labelSchema.getPropertySchema("p-4").dataType());
+    }
+
+    @Test
+    public void spillFileRoundTripsTypedValues() throws Exception {
+
+        LabelSchema labelSchema = new LabelSchema(new Label("my-label"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        Date date = new Date(1600000000000L);
+
+        try (SpillPropertyGraphPrinter printer = new SpillPropertyGraphPrinter(
+                new SpillFileWriter("test", out, 1024),
+                labelSchema)) {
+
+            printer.printStartRow();
+            printer.printNode("node-1", Arrays.asList("label-1", "label-2"));
+            printer.printProperties(map(entry("name", "name-1"), entry("age", 30), entry("tags", Arrays.asList("a", "b"))));
+            printer.printEndRow();
+
+            printer.printStartRow();
+            printer.printEdge("edge-1", "knows", "node-1", "node-2", Collections.singletonList("from"), Collections.singletonList("to"));
+            printer.printProperties(map(entry("since", date), entry("weight", 0.5f), entry("flag", true), entry("count", 5L)));
+            printer.printEndRow();
+
+            printer.printStartRow();
+            printer.printEdge("edge-2", "knows", "node-2", "node-3");
+            printer.printProperties(map());
+            printer.printEndRow();
+        }
+
+        List<Object> propertyKeys = labelSchema.propertySchemas().stream()
+                .map(PropertySchema::property)
+                .collect(Collectors.toList());
+
+        try (SpillFileReader reader = new SpillFileReader(new ByteArrayInputStream(out.toByteArray()), propertyKeys, 1024)) {
+
+            SpillFileReader.Row row = new SpillFileReader.Row();
+
+            assertTrue(reader.next(row));
+            assertEquals("node-1", row.id());
+            assertEquals(Arrays.asList("label-1", "label-2"), row.labels());
+            assertEquals(map(entry("name", "name-1"), entry("age", 30), entry("tags", Arrays.asList("a", "b"))), row.properties());
+
+            assertTrue(reader.next(row));
+            assertNull(row.labels());
+            assertEquals("edge-1", row.id());
+            assertEquals("knows", row.label());
+            assertEquals("node-1", row.from());
+            assertEquals("node-2", row.to());
+            assertTrue(row.hasFromAndToLabels());
+            assertEquals(Collections.singletonList("from"), row.fromLabels());
+            assertEquals(Collections.singletonList("to"), row.toLabels());
+            assertEquals(map(entry("since", date), entry("weight", 0.5f), entry("flag", true), entry("count", 5L)), row.properties());
+
+            assertTrue(reader.next(row));
+            assertEquals("edge-2", row.id());
+            assertFalse(row.hasFromAndToLabels());
+            assertTrue(row.properties().isEmpty());
+
+            assertFalse(reader.next(row));
+        }
+    }
+
+    private void printNodes(PropertyGraphPrinter printer, Map<?, ?>... rows) throws Exception {
+        int i = 0;
+        for (Map<?, ?> row : rows) {
+            printer.printStartRow();
+            printer.printNode(String.valueOf(i++), Collections.singletonList("my-label"));
+            printer.printProperties(row);
+            printer.printEndRow();
+        }
+    }
+}
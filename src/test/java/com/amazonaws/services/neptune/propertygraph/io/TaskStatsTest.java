@@ -0,0 +1,54 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph.io;
+
+import com.amazonaws.services.neptune.propertygraph.ExportStats;
+import com.amazonaws.services.neptune.propertygraph.Label;
+import com.amazonaws.services.neptune.propertygraph.StatsContainer;
+import com.amazonaws.services.neptune.propertygraph.schema.GraphSchema;
+import org.junit.Test;
+
+import static org.junit.Assert.assertTrue;
+
+public class TaskStatsTest {
+
+    @Test
+    public void shouldAddCountsToParentOnlyWhenFlushed() {
+        ExportStats exportStats = new ExportStats();
+        StatsContainer parent = new StatsContainer() {
+            @Override
+            public void updateStats(Label label) {
+                exportStats.incrementNodeStats(label);
+            }
+
+            @Override
+            public void updateStats(Label label, long count) {
+                exportStats.incrementNodeStats(label, count);
+            }
+        };
+
+        TaskStats taskStats = new TaskStats(parent, "node");
+        for (int i = 0; i < 3; i++) {
+            taskStats.updateStats(new Label("person"));
+        }
+        taskStats.updateStats(new Label("software"));
+
+        assertTrue(exportStats.formatStats(new GraphSchema()).contains("Export:" + System.lineSeparator() + "  Nodes: 0"));
+
+        taskStats.flush();
+        taskStats.flush();
+
+        String stats = exportStats.formatStats(new GraphSchema());
+        assertTrue(stats, stats.contains("Export:" + System.lineSeparator() + "  Nodes: 4"));
+    }
+}
@@ -12,6 +12,7 @@ permissions and limitations under the License.
 
 package com.amazonaws.services.neptune.propertygraph.schema;
 
+import com.amazonaws.services.neptune.propertygraph.io.CsvPrinterOptions;
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
@@ -20,7 +21,14 @@ import org.junit.Test;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
+import java.util.Random;
 
 import static org.junit.Assert.assertEquals;
 
@@ -153,6 +161,65 @@ public class DataTypeTest {
     }
 
 
+    @Test
+    public void appendToShouldAppendSameTextAsFormat() {
+        Object[] values = {1, -42L, 3.14159, 1.0e-7, Float.MAX_VALUE, (short) 12, (byte) -3, true,
+                new Date(1500000000000L), new Date(1500000000123L), "", "plain", "One \"two\" three", "line\nbreak"};
+
+        for (DataType dataType : DataType.values()) {
+            for (Object value : values) {
+                for (boolean escapeNewline : new boolean[]{false, true}) {
+                    StringBuilder builder = new StringBuilder("prefix");
+                    dataType.appendTo(builder, value, escapeNewline);
+                    assertEquals(dataType + " " + value, "prefix" + dataType.format(value, escapeNewline), builder.toString());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void appendToShouldFormatDatesInSameWayAsIsoInstantFormatter() {
+        List<Long> millis = new ArrayList<>(Arrays.asList(
+                0L, -1L, 1L, 951782400000L, 951868800000L, 4107542400000L, 253402300799999L, 253402300800000L,
+                -62167219200000L, -62167219200001L, -30610224000000L));
+        Random random = new Random(1);
+        for (int i = 0; i < 10000; i++) {
+            millis.add(random.nextLong() % 300000000000000L);
+        }
+
+        for (long value : millis) {
+            StringBuilder builder = new StringBuilder();
+            DataType.Date.appendTo(builder, new Date(value), false);
+            assertEquals(String.valueOf(value), DateTimeFormatter.ISO_INSTANT.format(Instant.ofEpochMilli(value)), builder.toString());
+        }
+    }
+
+    @Test
+    public void appendListToShouldAppendSameTextAsFormatList() {
+        List<List<?>> lists = Arrays.asList(
+                Collections.emptyList(),
+                Arrays.asList(1, 2, 3),
+                Arrays.asList(new Date(1500000000000L), new Date(1500000000123L)),
+                Arrays.asList("a", "", "b\"c", "line\nbreak"),
+                Arrays.asList("semi;colon", "escaped\\;semi", "double\\\\;escaped", ";", "pipe|"));
+
+        for (String separator : new String[]{";", "|", "", "::", "\""}) {
+            for (boolean escapeNewline : new boolean[]{false, true}) {
+                CsvPrinterOptions options = CsvPrinterOptions.builder()
+                        .setMultiValueSeparator(separator)
+                        .setEscapeNewline(escapeNewline)
+                        .build();
+                for (DataType dataType : Arrays.asList(DataType.String, DataType.Integer, DataType.Date)) {
+                    for (List<?> list : lists) {
+                        StringBuilder builder = new StringBuilder();
+                        dataType.appendListTo(builder, list, options);
+                        assertEquals(dataType + " " + list, dataType.formatList(list, options), builder.toString());
+                    }
+                }
+            }
+        }
+    }
+
     private String createJsonArray(UseDataType useDataType) throws IOException {
         StringWriter writer = new StringWriter();
         JsonGenerator jsonGenerator = new JsonFactory().createGenerator(writer);
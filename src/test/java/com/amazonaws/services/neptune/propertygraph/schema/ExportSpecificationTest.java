@@ -0,0 +1,88 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph.schema;
+
+import com.amazonaws.services.neptune.export.FeatureToggles;
+import com.amazonaws.services.neptune.propertygraph.AllLabels;
+import com.amazonaws.services.neptune.propertygraph.EdgeLabelStrategy;
+import com.amazonaws.services.neptune.propertygraph.ExportStats;
+import com.amazonaws.services.neptune.propertygraph.GremlinFilters;
+import com.amazonaws.services.neptune.propertygraph.Label;
+import com.amazonaws.services.neptune.propertygraph.NodeLabelStrategy;
+import com.amazonaws.services.neptune.propertygraph.SpecifiedLabels;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+public class ExportSpecificationTest {
+
+    private final GraphTraversalSource gmodern = TinkerFactory.createModern().traversal();
+
+    private final ExportSpecification edges = new ExportSpecification(
+            GraphElementType.edges,
+            new SpecifiedLabels(
+                    Arrays.asList(new Label("knows"), new Label("created"), new Label("missing")),
+                    EdgeLabelStrategy.edgeLabelsOnly),
+            GremlinFilters.EMPTY,
+            new ExportStats(),
+            false,
+            new FeatureToggles(Collections.emptyList()));
+
+    @Test
+    public void shouldBatchSmallLabelsUsingGroupedCount() {
+        Map<ExportSpecification, Long> specifications = edges.splitByLabel(gmodern, 3);
+
+        List<String> descriptions = new ArrayList<>();
+        specifications.forEach((s, count) -> descriptions.add(s.description() + "=" + count));
+
+        assertEquals(Arrays.asList(
+                "edges with label(s) 'created'=4",
+                "edges with label(s) 'knows' or 'missing'=2"), sorted(descriptions));
+    }
+
+    @Test
+    public void shouldCombineAllLabelsIntoOneBatchIfTheyFit() {
+        Map<ExportSpecification, Long> specifications = edges.splitByLabel(gmodern, 1000);
+
+        assertEquals(1, specifications.size());
+        assertEquals(6L, specifications.values().iterator().next().longValue());
+    }
+
+    @Test
+    public void shouldNotCountSpecificationThatIsNotSplit() {
+        ExportSpecification nodes = new ExportSpecification(
+                GraphElementType.nodes,
+                new AllLabels(NodeLabelStrategy.nodeLabelsOnly),
+                GremlinFilters.EMPTY,
+                new ExportStats(),
+                false,
+                new FeatureToggles(Collections.emptyList()));
+
+        Map<ExportSpecification, Long> specifications = nodes.splitByLabel(gmodern, 1000);
+
+        assertEquals(Collections.singletonMap(nodes, -1L), specifications);
+    }
+
+    private static List<String> sorted(List<String> values) {
+        Collections.sort(values);
+        return values;
+    }
+}
@@ -161,4 +161,21 @@ public class LabelSchemaTest {
 
         assertFalse(labelSchema1.isSameAs(labelSchema2));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldReturnColumnIndexOfEachProperty(){
+        LabelSchema labelSchema = new LabelSchema(new Label("my-label"));
+        labelSchema.put("p1", new PropertySchema("p1"));
+        labelSchema.put("p2", new PropertySchema("p2"));
+
+        assertEquals(0, labelSchema.columnIndexOf("p1"));
+        assertEquals(1, labelSchema.columnIndexOf("p2"));
+        assertEquals(-1, labelSchema.columnIndexOf("p3"));
+
+        PropertySchema p3 = new PropertySchema("p3");
+        labelSchema.put("p3", p3);
+
+        assertEquals(2, labelSchema.columnIndexOf("p3"));
+        assertSame(p3, labelSchema.propertySchemaAt(2));
+    }
+}
@@ -126,7 +126,7 @@ public class NeptuneSparqlClientTest {
     }
 
     private RdfTargetConfig getMockTargetConfig(Writer outputWriter) throws IOException {
-        RdfTargetConfig target = spy(new RdfTargetConfig(null, null, null, RdfExportFormat.ntriples));
+        RdfTargetConfig target = spy(new RdfTargetConfig(null, null, null, null, RdfExportFormat.ntriples));
         doReturn(new PrintOutputWriter("TestOutputWriter", outputWriter)).when(target).createOutputWriter();
 
         return target;
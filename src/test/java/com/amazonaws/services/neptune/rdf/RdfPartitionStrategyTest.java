@@ -0,0 +1,155 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.rdf;
+
+import com.amazonaws.services.neptune.cluster.ConnectionConfig;
+import com.amazonaws.services.neptune.export.FeatureToggles;
+import com.amazonaws.services.neptune.io.PrintOutputWriter;
+import com.amazonaws.services.neptune.rdf.io.RdfExportFormat;
+import com.amazonaws.services.neptune.rdf.io.RdfTargetConfig;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.sail.SailRepository;
+import org.eclipse.rdf4j.repository.sparql.SPARQLRepository;
+import org.eclipse.rdf4j.sail.memory.MemoryStore;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class RdfPartitionStrategyTest {
+
+    private static final String NS = "http://example.com/";
+
+    private final Map<String, StringWriter> outputs = new ConcurrentHashMap<>();
+    private final List<SPARQLRepository> repositories = new ArrayList<>();
+    private NeptuneSparqlClient client;
+    private RdfTargetConfig targetConfig;
+
+    @Before
+    public void setup() throws Exception {
+        SailRepository sailRepository = new SailRepository(new MemoryStore());
+        ValueFactory vf = sailRepository.getValueFactory();
+
+        try (RepositoryConnection connection = sailRepository.getConnection()) {
+            IRI knows = vf.createIRI(NS, "knows");
+            IRI name = vf.createIRI(NS, "name");
+            for (int i = 0; i < 40; i++) {
+                IRI graph = vf.createIRI(NS, "graph-" + (i % 3));
+                IRI person = vf.createIRI(NS, "person-" + i);
+                connection.add(person, name, vf.createLiteral("Person " + i), graph);
+                connection.add(person, knows, vf.createIRI(NS, "person-" + ((i + 1) % 40)), graph);
+            }
+            connection.add(vf.createBNode("b1"), name, vf.createLiteral("Anonymous"), vf.createIRI(NS, "graph-0"));
+        }
+
+        for (int i = 0; i < 2; i++) {
+            SPARQLRepository repository = mock(SPARQLRepository.class);
+            doAnswer(invocation -> sailRepository.getConnection()).when(repository).getConnection();
+            doReturn(vf).when(repository).getValueFactory();
+            repositories.add(repository);
+        }
+
+        client = spy(NeptuneSparqlClient.create(mock(ConnectionConfig.class), new FeatureToggles(Collections.emptyList())));
+        doReturn(repositories.get(0)).when(client).chooseRepository();
+        doAnswer(invocation -> repositories.get((Integer) invocation.getArgument(0) % repositories.size()))
+                .when(client).chooseRepository(anyInt());
+
+        targetConfig = spy(new RdfTargetConfig(null, null, null, null, RdfExportFormat.nquads));
+        doAnswer(invocation -> {
+            String name = invocation.getArgument(0);
+            StringWriter writer = new StringWriter();
+            outputs.put(name, writer);
+            return new PrintOutputWriter(name, writer);
+        }).when(targetConfig).createOutputWriter(anyString());
+    }
+
+    @Test
+    public void shouldPartitionByNamedGraph() throws Exception {
+        new ExportRdfGraphJob(client, targetConfig, null, RdfPartitionStrategy.namedGraph, 2).execute();
+
+        assertEquals(3, outputs.size());
+        for (StringWriter output : outputs.values()) {
+            Set<String> graphs = new HashSet<>();
+            for (String line : lines(output)) {
+                graphs.add(line.substring(line.lastIndexOf('<'), line.lastIndexOf('>') + 1));
+            }
+            assertEquals(1, graphs.size());
+        }
+        assertEquals(81, allLines().size());
+    }
+
+    @Test
+    public void shouldPartitionByPredicate() throws Exception {
+        new ExportRdfGraphJob(client, targetConfig, null, RdfPartitionStrategy.predicate, 2).execute();
+
+        assertEquals(2, outputs.size());
+        assertEquals(81, allLines().size());
+    }
+
+    @Test
+    public void shouldPartitionBySubjectHash() throws Exception {
+        new ExportRdfGraphJob(client, targetConfig, null, RdfPartitionStrategy.subject, 4).execute();
+
+        assertEquals(17, outputs.size());
+        assertEquals(81, allLines().size());
+        assertEquals(1, lines(outputs.get("statements-16")).size());
+        verify(repositories.get(0), atLeastOnce()).getConnection();
+        verify(repositories.get(1), atLeastOnce()).getConnection();
+    }
+
+    @Test
+    public void shouldRestrictPartitionsToNamedGraph() throws Exception {
+        new ExportRdfGraphJob(client, targetConfig, NS + "graph-1", RdfPartitionStrategy.subject, 4).execute();
+
+        assertEquals(26, allLines().size());
+    }
+
+    @Test
+    public void shouldPartitionEdges() throws Exception {
+        new ExportRdfEdgesJob(client, targetConfig, RdfPartitionStrategy.predicate, 2).execute();
+
+        List<String> lines = allLines();
+        assertEquals(40, lines.size());
+        for (String line : lines) {
+            assertTrue(line.contains("<" + NS + "knows>"));
+        }
+    }
+
+    private List<String> allLines() {
+        List<String> lines = new ArrayList<>();
+        for (StringWriter output : outputs.values()) {
+            lines.addAll(lines(output));
+        }
+        assertEquals(new HashSet<>(lines).size(), lines.size());
+        return lines;
+    }
+
+    private static List<String> lines(StringWriter output) {
+        List<String> lines = new ArrayList<>();
+        for (String line : output.toString().split("\n")) {
+            if (!line.trim().isEmpty()) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+}